@@ -0,0 +1,51 @@
+package com.pichebanking.benchmark;
+
+import com.pichebanking.dao.entity.Account;
+import com.pichebanking.service.AccountService;
+import com.pichebanking.util.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keyset pages of accounts starting at a random position, the page cost should not depend on the table size.
+ */
+@State(Scope.Benchmark)
+public class AccountPageBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int accountCount;
+
+    @Param({"100"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private long[] accountIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("account_page_benchmark");
+        accountService = context.getBean(AccountService.class);
+        accountIds = BenchmarkApplication.seedAccounts(context, accountCount, Money.of("10"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Account> getAccounts() {
+        var afterId = accountIds[ThreadLocalRandom.current().nextInt(accountIds.length)];
+        return accountService.getAccounts(afterId, pageSize);
+    }
+}
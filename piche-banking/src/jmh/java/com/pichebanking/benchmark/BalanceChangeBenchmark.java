@@ -0,0 +1,61 @@
+package com.pichebanking.benchmark;
+
+import com.pichebanking.service.TransactionService;
+import com.pichebanking.util.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Single deposits and withdrawals on random accounts, through {@link TransactionService}
+ * so the transaction record and the commit are part of the measurement.
+ */
+@State(Scope.Benchmark)
+public class BalanceChangeBenchmark {
+
+    private static final Money FUNDS = Money.of("1");
+    private static final Money INITIAL_BALANCE = Money.of("1000000000");
+
+    @Param({"1000"})
+    public int accountCount;
+
+    @Param({"PESSIMISTIC", "OPTIMISTIC", "CONDITIONAL_UPDATE", "IN_MEMORY_LEDGER"})
+    public String engineMode;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private long[] accountIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("balance_change_benchmark", "piche.engine.mode=" + engineMode);
+        transactionService = context.getBean(TransactionService.class);
+        accountIds = BenchmarkApplication.seedAccounts(context, accountCount, INITIAL_BALANCE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void depositFunds() {
+        transactionService.depositFunds(randomAccount(), FUNDS);
+    }
+
+    @Benchmark
+    public void withdrawFunds() {
+        transactionService.withdrawFunds(randomAccount(), FUNDS);
+    }
+
+    private long randomAccount() {
+        return accountIds[ThreadLocalRandom.current().nextInt(accountIds.length)];
+    }
+}
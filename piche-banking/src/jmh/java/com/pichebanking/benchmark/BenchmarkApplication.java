@@ -0,0 +1,102 @@
+package com.pichebanking.benchmark;
+
+import com.pichebanking.PicheBankingApplication;
+import com.pichebanking.dao.entity.Account;
+import com.pichebanking.dao.repository.AccountRepository;
+import com.pichebanking.service.ledger.LedgerEngine;
+import com.pichebanking.util.model.Money;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Boots the application on its own H2 database and ledger directory, one per benchmark trial.
+ */
+final class BenchmarkApplication {
+
+    private static final int SEED_CHUNK_SIZE = 1_000;
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String database, String... properties) {
+        var url = "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1";
+        return new SpringApplicationBuilder(PicheBankingApplication.class)
+                .properties(withDefaults(database, "spring.datasource.url=" + url, properties))
+                .run();
+    }
+
+    /**
+     * Boots with the {@code prod} profile on a new file database in a temporary directory.
+     */
+    static ConfigurableApplicationContext startProduction(String database, String... properties) {
+        var directory = createTempDirectory(database + "-db");
+        return new SpringApplicationBuilder(PicheBankingApplication.class)
+                .profiles("prod")
+                .properties(withDefaults(database, "piche.database.directory=" + directory, properties))
+                .run();
+    }
+
+    /**
+     * Boots with the {@code reactive} profile, the API is served by WebFlux over R2DBC on the same database.
+     */
+    static ConfigurableApplicationContext startReactive(String database, String... properties) {
+        var url = "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1";
+        var r2dbcUrl = "r2dbc:h2:mem:///" + database + "?options=DB_CLOSE_DELAY=-1";
+        return new SpringApplicationBuilder(PicheBankingApplication.class)
+                .profiles("reactive")
+                .properties(withDefaults(database, "spring.datasource.url=" + url,
+                        Stream.concat(Stream.of("piche.datasource.r2dbc.url=" + r2dbcUrl), Stream.of(properties))
+                                .toArray(String[]::new)))
+                .run();
+    }
+
+    /**
+     * Inserts accounts in chunks and returns their ids in ascending order. The accounts are also opened
+     * in the ledger when it is the active engine.
+     */
+    static long[] seedAccounts(ConfigurableApplicationContext context, int count, Money balance) {
+        var repository = context.getBean(AccountRepository.class);
+        var ids = new long[count];
+        var created = 0;
+        while (created < count) {
+            var chunk = new ArrayList<Account>(SEED_CHUNK_SIZE);
+            for (var i = 0; i < SEED_CHUNK_SIZE && created + i < count; i++) {
+                chunk.add(new Account().setFullName("Benchmark " + (created + i)).setBalance(balance));
+            }
+            List<Account> saved = repository.saveAll(chunk);
+            for (var account : saved) {
+                ids[created++] = account.getId();
+            }
+        }
+        context.getBeanProvider(LedgerEngine.class).ifAvailable(ledgerEngine -> {
+            for (var id : ids) {
+                ledgerEngine.openAccount(id, balance.minorUnits());
+            }
+        });
+        return ids;
+    }
+
+    private static String[] withDefaults(String database, String databaseProperty, String... properties) {
+        var defaults = Stream.of(
+                "server.port=0",
+                "logging.level.root=WARN",
+                databaseProperty,
+                "piche.engine.ledger.directory=" + createTempDirectory(database + "-ledger"));
+        return Stream.concat(defaults, Stream.of(properties)).toArray(String[]::new);
+    }
+
+    private static String createTempDirectory(String prefix) {
+        try {
+            return Files.createTempDirectory(prefix).toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.pichebanking.benchmark;
+
+import com.pichebanking.util.model.Money;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of {@code POST /v1/transactions} over HTTP with many concurrent clients, comparing Tomcat
+ * on its platform thread pool with one virtual thread per request. Reports throughput and the latency
+ * distribution, failed requests are counted as {@code errors}. Change the client count with {@code -t}.
+ */
+@State(Scope.Benchmark)
+@Threads(256)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HttpTransferLoadBenchmark {
+
+    private static final Money INITIAL_BALANCE = Money.of("1000000000");
+    private static final String TRANSFER_BODY = "{\"sourceAccountId\":%d,\"targetAccountId\":%d,\"funds\":1}";
+
+    @Param({"1000"})
+    public int accountCount;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private URI transfersUri;
+    private long[] accountIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("http_transfer_load_benchmark",
+                "spring.threads.virtual.enabled=" + virtualThreads);
+        accountIds = BenchmarkApplication.seedAccounts(context, accountCount, INITIAL_BALANCE);
+        var port = context.getEnvironment().getRequiredProperty("local.server.port");
+        transfersUri = URI.create("http://localhost:" + port + "/v1/transactions");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int transferFunds(Outcomes outcomes) throws IOException, InterruptedException {
+        var random = ThreadLocalRandom.current();
+        var source = random.nextInt(accountIds.length);
+        var target = (source + 1 + random.nextInt(accountIds.length - 1)) % accountIds.length;
+        var request = HttpRequest.newBuilder(transfersUri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        TRANSFER_BODY.formatted(accountIds[source], accountIds[target])))
+                .build();
+        var status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status >= 300) {
+            outcomes.errors++;
+        }
+        return status;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+
+        public long errors;
+    }
+}
@@ -0,0 +1,156 @@
+package com.pichebanking.benchmark;
+
+import com.pichebanking.util.model.Money;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds many idle client connections open against the servlet and the reactive stack on the same fixed heap,
+ * each one a started {@code POST /v1/transactions} whose body never arrives, like a slow gateway client.
+ * Measures the latency of account reads on a fresh connection next to them; reads that time out are counted
+ * as {@code timeouts}. Every trial prints how many idle connections were established and the heap in use.
+ * The process needs a file descriptor limit of more than twice the largest {@code idleConnections}.
+ */
+@State(Scope.Benchmark)
+@Threads(16)
+@Fork(value = 1, jvmArgsAppend = {"-Xms256m", "-Xmx256m"})
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class IdleConnectionBenchmark {
+
+    private static final Money INITIAL_BALANCE = Money.of("1000");
+    private static final Duration PROBE_TIMEOUT = Duration.ofSeconds(2);
+    private static final String STALLED_REQUEST = "POST /v1/transactions HTTP/1.1\r\n"
+            + "Host: localhost\r\n"
+            + "Content-Type: application/json\r\n"
+            + "Content-Length: 1024\r\n"
+            + "\r\n"
+            + "{";
+
+    @Param({"servlet", "reactive"})
+    public String stack;
+
+    @Param({"0", "1000", "4000"})
+    public int idleConnections;
+
+    @Param({"1000"})
+    public int accountCount;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String accountsUri;
+    private long[] accountIds;
+    private final List<Socket> idleSockets = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var database = "idle_connection_benchmark_" + stack;
+        context = "reactive".equals(stack)
+                ? BenchmarkApplication.startReactive(database, "server.tomcat.max-connections=10000")
+                : BenchmarkApplication.start(database, "server.tomcat.max-connections=10000");
+        accountIds = BenchmarkApplication.seedAccounts(context, accountCount, INITIAL_BALANCE);
+        var port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+        accountsUri = "http://localhost:" + port + "/v1/accounts/";
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(PROBE_TIMEOUT)
+                .build();
+        openIdleConnections(port);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.gc();
+        var heapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        System.out.printf("%n%s stack: %d of %d idle connections established, %d MB heap in use%n",
+                stack, idleSockets.size(), idleConnections, heapUsed / (1024 * 1024));
+        for (var socket : idleSockets) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // closing anyway
+            }
+        }
+        idleSockets.clear();
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int getAccount(Outcomes outcomes) throws IOException, InterruptedException {
+        var id = accountIds[ThreadLocalRandom.current().nextInt(accountIds.length)];
+        var request = HttpRequest.newBuilder(URI.create(accountsUri + id))
+                .timeout(PROBE_TIMEOUT)
+                .GET()
+                .build();
+        try {
+            var status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status >= 300) {
+                outcomes.errors++;
+            }
+            return status;
+        } catch (HttpTimeoutException e) {
+            outcomes.timeouts++;
+            return 0;
+        }
+    }
+
+    /**
+     * Stops at the first connection the server refuses, the count of established ones is printed on tear down.
+     */
+    private void openIdleConnections(int port) {
+        var request = STALLED_REQUEST.getBytes(StandardCharsets.US_ASCII);
+        for (var i = 0; i < idleConnections; i++) {
+            var socket = new Socket();
+            try {
+                socket.connect(new InetSocketAddress("localhost", port), (int) PROBE_TIMEOUT.toMillis());
+                socket.getOutputStream().write(request);
+                socket.getOutputStream().flush();
+                idleSockets.add(socket);
+            } catch (IOException e) {
+                try {
+                    socket.close();
+                } catch (IOException ignored) {
+                    // the connection failed anyway
+                }
+                return;
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+
+        public long errors;
+        public long timeouts;
+    }
+}
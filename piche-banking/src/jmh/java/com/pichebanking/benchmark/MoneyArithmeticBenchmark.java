@@ -0,0 +1,90 @@
+package com.pichebanking.benchmark;
+
+import com.pichebanking.util.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The balance math of a transfer, check the source, debit it and credit the target, done the previous way
+ * with {@link BigDecimal} and with {@link Money}. Results are stored back like entity fields, so they escape.
+ * Compare {@code gc.alloc.rate.norm} next to the time per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MoneyArithmeticBenchmark {
+
+    private static final int ACCOUNTS = 1024;
+
+    private final BigDecimal[] decimalBalances = new BigDecimal[ACCOUNTS];
+    private final Money[] moneyBalances = new Money[ACCOUNTS];
+    private final BigDecimal[] decimalAmounts = new BigDecimal[ACCOUNTS];
+    private final Money[] moneyAmounts = new Money[ACCOUNTS];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        var random = new SplittableRandom(42);
+        for (var i = 0; i < ACCOUNTS; i++) {
+            var balance = random.nextLong(1_000_000, 100_000_000);
+            var amount = random.nextLong(1, 10_000);
+            decimalBalances[i] = BigDecimal.valueOf(balance, Money.SCALE);
+            moneyBalances[i] = Money.ofMinorUnits(balance);
+            decimalAmounts[i] = BigDecimal.valueOf(amount, Money.SCALE);
+            moneyAmounts[i] = Money.ofMinorUnits(amount);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal transferBigDecimal() {
+        var source = next++ & (ACCOUNTS - 1);
+        var target = (source + 1) & (ACCOUNTS - 1);
+        var amount = decimalAmounts[source];
+        if (decimalBalances[source].compareTo(amount) < 0) {
+            return decimalBalances[source];
+        }
+        decimalBalances[source] = decimalBalances[source].subtract(amount);
+        decimalBalances[target] = decimalBalances[target].add(amount);
+        return decimalBalances[target];
+    }
+
+    @Benchmark
+    public Money transferMoney() {
+        var source = next++ & (ACCOUNTS - 1);
+        var target = (source + 1) & (ACCOUNTS - 1);
+        var amount = moneyAmounts[source];
+        if (moneyBalances[source].isLessThan(amount)) {
+            return moneyBalances[source];
+        }
+        moneyBalances[source] = moneyBalances[source].subtract(amount);
+        moneyBalances[target] = moneyBalances[target].add(amount);
+        return moneyBalances[target];
+    }
+
+    /**
+     * Summing shard balances, only the result escapes.
+     */
+    @Benchmark
+    public BigDecimal sumBigDecimal() {
+        var sum = BigDecimal.ZERO;
+        for (var balance : decimalBalances) {
+            sum = sum.add(balance);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Money sumMoney() {
+        return Money.sum(Money.ZERO, Arrays.asList(moneyBalances));
+    }
+}
@@ -0,0 +1,88 @@
+package com.pichebanking.benchmark;
+
+import com.pichebanking.util.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to boot the application and latency of the first request it serves, on the in-memory database
+ * with Hibernate updating the schema against the {@code prod} profile with a file database validated
+ * after Flyway. Both start from an empty database. Only the first iteration of a fork is cold, so run it
+ * with many forks: {@code -Pjmh.includes=StartupBenchmark -Pjmh.args="-f 10 -wi 0 -i 1"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StartupBenchmark {
+
+    @Param({"in-memory", "prod"})
+    public String setup;
+
+    private ConfigurableApplicationContext context;
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+            context = null;
+        }
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext coldStart() {
+        context = start(setup);
+        return context;
+    }
+
+    @Benchmark
+    public int firstRequest(RunningApplication application) throws IOException, InterruptedException {
+        var request = HttpRequest.newBuilder(application.accountUri).GET().build();
+        return application.client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static ConfigurableApplicationContext start(String setup) {
+        var database = "startup_benchmark_" + System.nanoTime();
+        return "prod".equals(setup)
+                ? BenchmarkApplication.startProduction(database)
+                : BenchmarkApplication.start(database);
+    }
+
+    @State(Scope.Benchmark)
+    public static class RunningApplication {
+
+        private ConfigurableApplicationContext context;
+        private HttpClient client;
+        private URI accountUri;
+
+        @Setup(Level.Iteration)
+        public void setUp(StartupBenchmark benchmark) {
+            context = start(benchmark.setup);
+            var accountId = BenchmarkApplication.seedAccounts(context, 1, Money.of("10"))[0];
+            var port = context.getEnvironment().getRequiredProperty("local.server.port");
+            accountUri = URI.create("http://localhost:" + port + "/v1/accounts/" + accountId);
+            client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() {
+            client.close();
+            context.close();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.pichebanking.benchmark;
+
+import com.pichebanking.api.dto.request.TransferFundsRequest;
+import com.pichebanking.service.TransactionService;
+import com.pichebanking.util.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Concurrent transfers between random accounts. With the {@code HOT_ACCOUNT} distribution most transfers
+ * involve one of a few accounts, which measures how the engine behaves under row lock contention.
+ * {@code OPTIMISTIC} runs the same low and high contention workloads without row locks.
+ */
+@State(Scope.Benchmark)
+@Threads(4)
+public class TransferBenchmark {
+
+    private static final Money FUNDS = Money.of("1");
+    private static final Money INITIAL_BALANCE = Money.of("1000000000");
+    private static final int HOT_ACCOUNTS = 4;
+    private static final int HOT_ACCOUNT_PERCENT = 80;
+
+    @Param({"1000"})
+    public int accountCount;
+
+    @Param({"UNIFORM", "HOT_ACCOUNT"})
+    public Distribution distribution;
+
+    @Param({"PESSIMISTIC", "OPTIMISTIC"})
+    public String engineMode;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private long[] accountIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("transfer_benchmark", "piche.engine.mode=" + engineMode);
+        transactionService = context.getBean(TransactionService.class);
+        accountIds = BenchmarkApplication.seedAccounts(context, accountCount, INITIAL_BALANCE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void transferFunds() {
+        var random = ThreadLocalRandom.current();
+        var source = pickAccount(random);
+        var target = pickAccount(random);
+        while (target == source) {
+            target = pickAccount(random);
+        }
+        transactionService.transferFunds(new TransferFundsRequest(accountIds[source], accountIds[target], FUNDS));
+    }
+
+    private int pickAccount(ThreadLocalRandom random) {
+        if (distribution == Distribution.HOT_ACCOUNT && random.nextInt(100) < HOT_ACCOUNT_PERCENT) {
+            return random.nextInt(HOT_ACCOUNTS);
+        }
+        return random.nextInt(accountIds.length);
+    }
+
+    public enum Distribution {
+        UNIFORM,
+        HOT_ACCOUNT
+    }
+}
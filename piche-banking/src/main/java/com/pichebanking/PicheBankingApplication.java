@@ -2,8 +2,16 @@ package com.pichebanking;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
-@SpringBootApplication
+/**
+ * The R2DBC connection factory of the reactive API is created by {@code ReactiveConfig} only when the application
+ * runs reactive. A second transaction manager bean would make the one of {@code @Transactional} ambiguous.
+ */
+@SpringBootApplication(exclude = {R2dbcAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class})
+@ConfigurationPropertiesScan
 public class PicheBankingApplication {
 
     public static void main(String[] args) {
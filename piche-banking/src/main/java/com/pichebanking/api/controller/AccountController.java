@@ -1,39 +1,251 @@
 package com.pichebanking.api.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.pichebanking.api.dto.request.BatchCreateAccountsRequest;
 import com.pichebanking.api.dto.request.CreateAccountRequest;
-import com.pichebanking.api.dto.request.FundsRequest;
-import com.pichebanking.api.dto.request.TransferFundsRequest;
+import com.pichebanking.api.dto.request.ShardAccountRequest;
 import com.pichebanking.api.dto.response.AccountResponse;
+import com.pichebanking.api.dto.response.TransactionResponse;
+import com.pichebanking.dao.entity.Account;
+import com.pichebanking.helper.cursor.KeysetCursor;
+import com.pichebanking.helper.export.StatementWriter;
+import com.pichebanking.service.AccountImportService;
 import com.pichebanking.service.AccountService;
+import com.pichebanking.service.StatementService;
+import com.pichebanking.service.TransactionService;
+import com.pichebanking.service.feed.BalanceFeed;
+import com.pichebanking.util.enums.StatementFormat;
+import com.pichebanking.util.enums.TransactionType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.core.convert.ConversionService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
 
 @Validated
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 public class AccountController implements AccountControllerApi {
 
+    private static final String GZIP_ENCODING = "gzip";
+    private static final String ANY_ENCODING = "*";
+
     private final AccountService accountService;
+    private final TransactionService transactionService;
     private final ConversionService conversionService;
+    private final ObjectMapper objectMapper;
+    private final StatementService statementService;
+    private final AccountImportService accountImportService;
+    private final BalanceFeed balanceFeed;
 
     @Override
     public AccountResponse createAccount(CreateAccountRequest request) {
         return conversionService.convert(accountService.createAccount(request), AccountResponse.class);
     }
 
+    @Override
+    public List<AccountResponse> createAccounts(BatchCreateAccountsRequest request) {
+        return accountService.createAccounts(request.accounts()).stream()
+                .map(account -> conversionService.convert(account, AccountResponse.class))
+                .toList();
+    }
+
+    /**
+     * Rejected rows are buffered, the response is flushed with every progress line and at the end, so the client
+     * sees the progress while the body is still being read.
+     */
+    @Override
+    public ResponseEntity<StreamingResponseBody> importAccounts(MediaType contentType, InputStream body) {
+        var format = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)
+                ? StatementFormat.NDJSON
+                : StatementFormat.CSV;
+        var charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        var writer = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        StreamingResponseBody responseBody = outputStream -> {
+            var bufferedStream = new BufferedOutputStream(outputStream);
+            var result = accountImportService.importAccounts(new InputStreamReader(body, charset), format,
+                    error -> writeLine(writer, bufferedStream, error, false),
+                    progress -> writeLine(writer, bufferedStream, progress, true));
+            writeLine(writer, bufferedStream, result, true);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(responseBody);
+    }
+
     @Override
     public AccountResponse getAccount(long id) {
-        return conversionService.convert(accountService.getAccount(id), AccountResponse.class);
+        return accountService.getAccountSnapshot(id);
     }
 
     @Override
-    public List<AccountResponse> getAccounts() {
-        return accountService.getAccounts().stream()
-                .map(account -> conversionService.convert(account, AccountResponse.class))
-                .toList();
+    public ResponseEntity<List<AccountResponse>> getAccounts(String cursor, int limit) {
+        var accounts = accountService.getAccounts(KeysetCursor.decode(cursor), limit);
+        var response = ResponseEntity.ok();
+        KeysetCursor.next(accounts, limit, Account::getId)
+                .ifPresent(nextCursor -> response.header(NEXT_CURSOR_HEADER, nextCursor));
+        return response.body(accountService.toResponses(accounts));
+    }
+
+    /**
+     * Accounts are written through a buffer and only flushed once at the end.
+     */
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamAccounts() {
+        var writer = objectMapper.writerFor(AccountResponse.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        StreamingResponseBody body = outputStream -> {
+            var bufferedStream = new BufferedOutputStream(outputStream);
+            accountService.streamAccounts(account -> {
+                try {
+                    writer.writeValue(bufferedStream, account);
+                    bufferedStream.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            bufferedStream.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportStatements(StatementFormat format, LocalDateTime from,
+                                                                  LocalDateTime to, String acceptEncoding) {
+        return streamStatement("statements", format, acceptEncoding,
+                writer -> statementService.exportStatements(from, to, writer));
+    }
+
+    @Override
+    public AccountResponse shardAccount(long id, ShardAccountRequest request) {
+        return accountService.shardAccount(id, request.shardCount());
+    }
+
+    @Override
+    public ResponseEntity<List<TransactionResponse>> getTransactions(long id, TransactionType type,
+                                                                     LocalDateTime from, LocalDateTime to,
+                                                                     String cursor, int limit) {
+        var transactions = transactionService.getTransactions(id, type, from, to,
+                KeysetCursor.decode(cursor, Long.MAX_VALUE), limit);
+        var response = ResponseEntity.ok();
+        KeysetCursor.next(transactions, limit, TransactionResponse::transactionId)
+                .ifPresent(nextCursor -> response.header(NEXT_CURSOR_HEADER, nextCursor));
+        return response.body(transactions);
+    }
+
+    /**
+     * The account is checked up front, once streaming has started the status can't change anymore.
+     */
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportStatement(long id, StatementFormat format,
+                                                                 LocalDateTime from, LocalDateTime to,
+                                                                 String acceptEncoding) {
+        accountService.checkAccountExists(id);
+        return streamStatement("statement-" + id, format, acceptEncoding,
+                writer -> statementService.exportStatement(id, from, to, writer));
+    }
+
+    @Override
+    public SseEmitter streamBalanceChanges(long id) {
+        return balanceFeed.subscribe(id);
+    }
+
+    private static void writeLine(ObjectWriter writer, OutputStream outputStream, Object line, boolean flush) {
+        try {
+            writer.writeValue(outputStream, line);
+            outputStream.write('\n');
+            if (flush) {
+                outputStream.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ResponseEntity<StreamingResponseBody> streamStatement(String fileName, StatementFormat format,
+                                                                  String acceptEncoding,
+                                                                  Consumer<StatementWriter> export) {
+        var gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = outputStream -> {
+            try (var writer = StatementWriter.open(format,
+                    gzip ? new GZIPOutputStream(outputStream) : outputStream, objectMapper)) {
+                export.accept(writer);
+            }
+        };
+        var response = ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(fileName + "." + format.extension())
+                        .build()
+                        .toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING);
+        }
+        return response.body(body);
+    }
+
+    /**
+     * An explicit {@code gzip} coding wins over {@code *}, either is refused by a zero quality value.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        var anyAccepted = false;
+        for (var coding : acceptEncoding.split(",")) {
+            var parameters = coding.split(";");
+            var name = parameters[0].trim();
+            var accepted = Arrays.stream(parameters).skip(1).noneMatch(AccountController::isZeroQuality);
+            if (name.equalsIgnoreCase(GZIP_ENCODING)) {
+                return accepted;
+            }
+            if (name.equals(ANY_ENCODING)) {
+                anyAccepted = accepted;
+            }
+        }
+        return anyAccepted;
+    }
+
+    /**
+     * A malformed quality value counts as zero, the response is then sent uncompressed.
+     */
+    private static boolean isZeroQuality(String parameter) {
+        var nameAndValue = parameter.split("=", 2);
+        if (nameAndValue.length < 2 || !nameAndValue[0].trim().equalsIgnoreCase("q")) {
+            return false;
+        }
+        try {
+            return Double.parseDouble(nameAndValue[1].trim()) <= 0;
+        } catch (NumberFormatException e) {
+            return true;
+        }
     }
 }
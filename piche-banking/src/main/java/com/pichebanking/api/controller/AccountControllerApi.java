@@ -1,29 +1,138 @@
 package com.pichebanking.api.controller;
 
+import com.pichebanking.api.dto.request.BatchCreateAccountsRequest;
 import com.pichebanking.api.dto.request.CreateAccountRequest;
+import com.pichebanking.api.dto.request.ShardAccountRequest;
 import com.pichebanking.api.dto.response.AccountResponse;
+import com.pichebanking.api.dto.response.TransactionResponse;
+import com.pichebanking.util.enums.StatementFormat;
+import com.pichebanking.util.enums.TransactionType;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RequestMapping(value = "/v1/accounts", produces = MediaType.APPLICATION_JSON_VALUE)
 public interface AccountControllerApi {
 
+    String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    String TEXT_CSV_VALUE = "text/csv";
+
     @ResponseStatus(HttpStatus.CREATED)
     @PostMapping
     AccountResponse createAccount(@RequestBody @Valid CreateAccountRequest request);
 
+    /**
+     * Creates all accounts in one transaction, the accounts are returned in request order.
+     */
+    @ResponseStatus(HttpStatus.CREATED)
+    @PostMapping("/batch")
+    List<AccountResponse> createAccounts(@RequestBody @Valid BatchCreateAccountsRequest request);
+
+    /**
+     * Creates accounts from a CSV body with a {@code full_name,initial_balance} header or from an NDJSON body
+     * of account requests, of any size. Answers with NDJSON: a {@code line} and {@code errorMessage} for every
+     * rejected row, the progress after every inserted chunk and the completed progress last.
+     */
+    @PostMapping(value = "/import", consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    ResponseEntity<StreamingResponseBody> importAccounts(@RequestHeader(HttpHeaders.CONTENT_TYPE)
+                                                         MediaType contentType,
+                                                         InputStream body);
+
     @GetMapping("/{id}")
     AccountResponse getAccount(@PathVariable long id);
 
+    /**
+     * Returns one keyset page of accounts ordered by account number. When the page is full,
+     * the cursor of the next page is returned in the {@value #NEXT_CURSOR_HEADER} header.
+     */
     @GetMapping
-    List<AccountResponse> getAccounts();
+    ResponseEntity<List<AccountResponse>> getAccounts(@RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "100") @Min(1) @Max(1000)
+                                                      int limit);
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    ResponseEntity<StreamingResponseBody> streamAccounts();
+
+    /**
+     * Streams all transactions created in the {@code [from, to)} range oldest first, as CSV or NDJSON.
+     * The body is gzip compressed when the client accepts it.
+     */
+    @GetMapping(value = "/statements", produces = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    ResponseEntity<StreamingResponseBody> exportStatements(@RequestParam(defaultValue = "CSV") StatementFormat format,
+                                                           @RequestParam
+                                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                           LocalDateTime from,
+                                                           @RequestParam
+                                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                           LocalDateTime to,
+                                                           @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING,
+                                                                   required = false) String acceptEncoding);
+
+    /**
+     * Splits the balance of a hot account across sub-balance rows, so concurrent deposits to it
+     * don't queue on a single row lock. The reported balance stays the sum of all shards.
+     */
+    @PutMapping("/{id}/shards")
+    AccountResponse shardAccount(@PathVariable long id, @RequestBody @Valid ShardAccountRequest request);
+
+    /**
+     * Returns one keyset page of the account transactions, newest first, optionally filtered by type
+     * and by the {@code [from, to)} creation time range.
+     */
+    @GetMapping("/{id}/transactions")
+    ResponseEntity<List<TransactionResponse>> getTransactions(@PathVariable long id,
+                                                              @RequestParam(required = false) TransactionType type,
+                                                              @RequestParam(required = false)
+                                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                              LocalDateTime from,
+                                                              @RequestParam(required = false)
+                                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                              LocalDateTime to,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = "100") @Min(1) @Max(1000)
+                                                              int limit);
+
+    /**
+     * Streams the account transactions oldest first, optionally limited to the {@code [from, to)} creation time
+     * range, as CSV or NDJSON. The body is gzip compressed when the client accepts it.
+     */
+    @GetMapping(value = "/{id}/statement", produces = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    ResponseEntity<StreamingResponseBody> exportStatement(@PathVariable long id,
+                                                          @RequestParam(defaultValue = "CSV") StatementFormat format,
+                                                          @RequestParam(required = false)
+                                                          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                          LocalDateTime from,
+                                                          @RequestParam(required = false)
+                                                          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                          LocalDateTime to,
+                                                          @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING,
+                                                                  required = false) String acceptEncoding);
+
+    /**
+     * Streams the balance of the account as server-sent {@code balance} events, starting with the current balance
+     * and followed by one event per committed movement. Idle streams receive a heartbeat comment.
+     */
+    @GetMapping(value = "/{id}/balance-changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter streamBalanceChanges(@PathVariable long id);
 }
@@ -0,0 +1,32 @@
+package com.pichebanking.api.controller;
+
+import com.pichebanking.api.dto.response.BalanceMismatchResponse;
+import com.pichebanking.api.dto.response.ReconciliationRunResponse;
+import com.pichebanking.service.ReconciliationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Validated
+@RestController
+@RequiredArgsConstructor
+public class ReconciliationController implements ReconciliationControllerApi {
+
+    private final ReconciliationService reconciliationService;
+    private final ConversionService conversionService;
+
+    @Override
+    public List<BalanceMismatchResponse> getMismatches(int limit) {
+        return reconciliationService.getMismatches(limit).stream()
+                .map(mismatch -> conversionService.convert(mismatch, BalanceMismatchResponse.class))
+                .toList();
+    }
+
+    @Override
+    public ReconciliationRunResponse reconcile() {
+        return conversionService.convert(reconciliationService.reconcile(), ReconciliationRunResponse.class);
+    }
+}
@@ -0,0 +1,29 @@
+package com.pichebanking.api.controller;
+
+import com.pichebanking.api.dto.response.BalanceMismatchResponse;
+import com.pichebanking.api.dto.response.ReconciliationRunResponse;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
+
+@RequestMapping(value = "/v1/reconciliation", produces = MediaType.APPLICATION_JSON_VALUE)
+public interface ReconciliationControllerApi {
+
+    /**
+     * Returns the most recently detected balance mismatches, newest first.
+     */
+    @GetMapping("/mismatches")
+    List<BalanceMismatchResponse> getMismatches(@RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit);
+
+    /**
+     * Runs a reconciliation right away instead of waiting for the scheduled one.
+     */
+    @PostMapping("/runs")
+    ReconciliationRunResponse reconcile();
+}
@@ -1,31 +1,71 @@
 package com.pichebanking.api.controller;
 
+import com.pichebanking.api.dto.request.BatchTransferFundsRequest;
 import com.pichebanking.api.dto.request.FundsRequest;
 import com.pichebanking.api.dto.request.TransferFundsRequest;
+import com.pichebanking.api.dto.response.BatchTransferResponse;
+import com.pichebanking.api.dto.response.TransferInboxResponse;
+import com.pichebanking.service.BatchTransferService;
+import com.pichebanking.service.IdempotencyService;
 import com.pichebanking.service.TransactionService;
+import com.pichebanking.service.TransferInboxService;
+import com.pichebanking.service.lane.AccountLanes;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.convert.ConversionService;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.RestController;
 
+import static com.pichebanking.service.IdempotencyService.fingerprint;
+import static com.pichebanking.util.enums.TransactionType.*;
+
 @Validated
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 public class TransactionController implements TransactionControllerApi {
 
     private final TransactionService transactionService;
+    private final BatchTransferService batchTransferService;
+    private final IdempotencyService idempotencyService;
+    private final TransferInboxService transferInboxService;
+    private final ConversionService conversionService;
+    private final AccountLanes accountLanes;
+
+    @Override
+    public void transferFunds(String idempotencyKey, TransferFundsRequest request) {
+        accountLanes.execute(request.sourceAccountId(), request.targetAccountId(), () ->
+                idempotencyService.execute(idempotencyKey, fingerprint(TRANSFER, request.sourceAccountId(),
+                                request.targetAccountId(), request.funds().minorUnits()),
+                        () -> transactionService.transferFunds(request)));
+    }
+
+    @Override
+    public BatchTransferResponse transferFundsBatch(BatchTransferFundsRequest request) {
+        return batchTransferService.transferFunds(request.transfers());
+    }
+
+    @Override
+    public TransferInboxResponse submitTransfer(TransferFundsRequest request) {
+        return conversionService.convert(transferInboxService.submit(request), TransferInboxResponse.class);
+    }
 
     @Override
-    public void transferFunds(TransferFundsRequest request) {
-        transactionService.transferFunds(request);
+    public TransferInboxResponse getInboxTransfer(Long id) {
+        return conversionService.convert(transferInboxService.getTransfer(id), TransferInboxResponse.class);
     }
 
     @Override
-    public void depositFunds(Long id, FundsRequest request) {
-        transactionService.depositFunds(id, request.funds());
+    public void depositFunds(Long id, String idempotencyKey, FundsRequest request) {
+        accountLanes.execute(id, () ->
+                idempotencyService.execute(idempotencyKey, fingerprint(DEPOSIT, id, request.funds().minorUnits()),
+                        () -> transactionService.depositFunds(id, request.funds())));
     }
 
     @Override
-    public void withdrawFunds(Long id, FundsRequest request) {
-        transactionService.withdrawFunds(id, request.funds());
+    public void withdrawFunds(Long id, String idempotencyKey, FundsRequest request) {
+        accountLanes.execute(id, () ->
+                idempotencyService.execute(idempotencyKey, fingerprint(WITHDRAW, id, request.funds().minorUnits()),
+                        () -> transactionService.withdrawFunds(id, request.funds())));
     }
 }
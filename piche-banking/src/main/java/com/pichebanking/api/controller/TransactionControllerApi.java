@@ -1,8 +1,12 @@
 package com.pichebanking.api.controller;
 
+import com.pichebanking.api.dto.request.BatchTransferFundsRequest;
 import com.pichebanking.api.dto.request.FundsRequest;
 import com.pichebanking.api.dto.request.TransferFundsRequest;
+import com.pichebanking.api.dto.response.BatchTransferResponse;
+import com.pichebanking.api.dto.response.TransferInboxResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
@@ -10,15 +14,43 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping(value = "/v1/transactions", produces = MediaType.APPLICATION_JSON_VALUE)
 public interface TransactionControllerApi {
 
+    /**
+     * Optional on single movements, a repeated request with the same key is answered without moving money again.
+     */
+    String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     @ResponseStatus(HttpStatus.ACCEPTED)
     @PostMapping
-    void transferFunds(@RequestBody @Valid TransferFundsRequest request);
+    void transferFunds(@RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) @Size(min = 1, max = 64)
+                       String idempotencyKey,
+                       @RequestBody @Valid TransferFundsRequest request);
+
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @PostMapping("/batch")
+    BatchTransferResponse transferFundsBatch(@RequestBody @Valid BatchTransferFundsRequest request);
+
+    /**
+     * Only stores the transfer, it is applied in the background. Poll {@link #getInboxTransfer} for the outcome.
+     * Accepted transfers touching the same account are applied in the order they were accepted.
+     */
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @PostMapping("/inbox")
+    TransferInboxResponse submitTransfer(@RequestBody @Valid TransferFundsRequest request);
+
+    @GetMapping("/inbox/{id}")
+    TransferInboxResponse getInboxTransfer(@PathVariable Long id);
 
     @ResponseStatus(HttpStatus.ACCEPTED)
     @PatchMapping("/accounts/{id}/deposit")
-    void depositFunds(@PathVariable Long id, @RequestBody @Valid FundsRequest request);
+    void depositFunds(@PathVariable Long id,
+                      @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) @Size(min = 1, max = 64)
+                      String idempotencyKey,
+                      @RequestBody @Valid FundsRequest request);
 
     @ResponseStatus(HttpStatus.ACCEPTED)
     @PatchMapping("/accounts/{id}/withdraw")
-    void withdrawFunds(@PathVariable Long id, @RequestBody @Valid FundsRequest request);
+    void withdrawFunds(@PathVariable Long id,
+                       @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) @Size(min = 1, max = 64)
+                       String idempotencyKey,
+                       @RequestBody @Valid FundsRequest request);
 }
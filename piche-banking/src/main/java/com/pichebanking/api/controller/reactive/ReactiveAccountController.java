@@ -0,0 +1,71 @@
+package com.pichebanking.api.controller.reactive;
+
+import com.pichebanking.api.dto.request.CreateAccountRequest;
+import com.pichebanking.api.dto.response.AccountResponse;
+import com.pichebanking.api.dto.response.TransactionResponse;
+import com.pichebanking.helper.cursor.KeysetCursor;
+import com.pichebanking.service.reactive.ReactiveAccountService;
+import com.pichebanking.service.reactive.ReactiveTransactionService;
+import com.pichebanking.util.enums.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.pichebanking.api.controller.AccountControllerApi.NEXT_CURSOR_HEADER;
+
+@Validated
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveAccountController implements ReactiveAccountControllerApi {
+
+    private final ReactiveAccountService accountService;
+    private final ReactiveTransactionService transactionService;
+
+    @Override
+    public Mono<AccountResponse> createAccount(CreateAccountRequest request) {
+        return accountService.createAccount(request);
+    }
+
+    @Override
+    public Mono<AccountResponse> getAccount(long id) {
+        return accountService.getAccount(id);
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<AccountResponse>>> getAccounts(String cursor, int limit) {
+        return accountService.getAccounts(KeysetCursor.decode(cursor), limit)
+                .map(accounts -> {
+                    var response = ResponseEntity.ok();
+                    KeysetCursor.next(accounts, limit, AccountResponse::accountNumber)
+                            .ifPresent(nextCursor -> response.header(NEXT_CURSOR_HEADER, nextCursor));
+                    return response.body(accounts);
+                });
+    }
+
+    @Override
+    public Flux<AccountResponse> streamAccounts() {
+        return accountService.streamAccounts();
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<TransactionResponse>>> getTransactions(long id, TransactionType type,
+                                                                           LocalDateTime from, LocalDateTime to,
+                                                                           String cursor, int limit) {
+        return transactionService.getTransactions(id, type, from, to, KeysetCursor.decode(cursor, Long.MAX_VALUE),
+                        limit)
+                .map(transactions -> {
+                    var response = ResponseEntity.ok();
+                    KeysetCursor.next(transactions, limit, TransactionResponse::transactionId)
+                            .ifPresent(nextCursor -> response.header(NEXT_CURSOR_HEADER, nextCursor));
+                    return response.body(transactions);
+                });
+    }
+}
@@ -0,0 +1,69 @@
+package com.pichebanking.api.controller.reactive;
+
+import com.pichebanking.api.controller.AccountControllerApi;
+import com.pichebanking.api.dto.request.CreateAccountRequest;
+import com.pichebanking.api.dto.response.AccountResponse;
+import com.pichebanking.api.dto.response.TransactionResponse;
+import com.pichebanking.util.enums.TransactionType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The account endpoints of {@link AccountControllerApi} served by WebFlux, with the same paths, parameters
+ * and bodies. Bulk creation, import, statements and sharding are only served by the servlet API.
+ */
+@RequestMapping(value = "/v1/accounts", produces = MediaType.APPLICATION_JSON_VALUE)
+public interface ReactiveAccountControllerApi {
+
+    @ResponseStatus(HttpStatus.CREATED)
+    @PostMapping
+    Mono<AccountResponse> createAccount(@RequestBody @Valid CreateAccountRequest request);
+
+    @GetMapping("/{id}")
+    Mono<AccountResponse> getAccount(@PathVariable long id);
+
+    /**
+     * See {@link AccountControllerApi#getAccounts}.
+     */
+    @GetMapping
+    Mono<ResponseEntity<List<AccountResponse>>> getAccounts(@RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "100") @Min(1) @Max(1000)
+                                                            int limit);
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    Flux<AccountResponse> streamAccounts();
+
+    /**
+     * See {@link AccountControllerApi#getTransactions}.
+     */
+    @GetMapping("/{id}/transactions")
+    Mono<ResponseEntity<List<TransactionResponse>>> getTransactions(@PathVariable long id,
+                                                                    @RequestParam(required = false)
+                                                                    TransactionType type,
+                                                                    @RequestParam(required = false)
+                                                                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                                    LocalDateTime from,
+                                                                    @RequestParam(required = false)
+                                                                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                                    LocalDateTime to,
+                                                                    @RequestParam(required = false) String cursor,
+                                                                    @RequestParam(defaultValue = "100")
+                                                                    @Min(1) @Max(1000) int limit);
+}
@@ -0,0 +1,43 @@
+package com.pichebanking.api.controller.reactive;
+
+import com.pichebanking.api.dto.request.FundsRequest;
+import com.pichebanking.api.dto.request.TransferFundsRequest;
+import com.pichebanking.service.reactive.ReactiveIdempotencyService;
+import com.pichebanking.service.reactive.ReactiveTransactionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import static com.pichebanking.service.IdempotencyService.fingerprint;
+import static com.pichebanking.util.enums.TransactionType.*;
+
+@Validated
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveTransactionController implements ReactiveTransactionControllerApi {
+
+    private final ReactiveTransactionService transactionService;
+    private final ReactiveIdempotencyService idempotencyService;
+
+    @Override
+    public Mono<Void> transferFunds(String idempotencyKey, TransferFundsRequest request) {
+        return idempotencyService.execute(idempotencyKey, fingerprint(TRANSFER, request.sourceAccountId(),
+                        request.targetAccountId(), request.funds().minorUnits()),
+                transactionService.transferFunds(request));
+    }
+
+    @Override
+    public Mono<Void> depositFunds(Long id, String idempotencyKey, FundsRequest request) {
+        return idempotencyService.execute(idempotencyKey, fingerprint(DEPOSIT, id, request.funds().minorUnits()),
+                transactionService.depositFunds(id, request.funds()));
+    }
+
+    @Override
+    public Mono<Void> withdrawFunds(Long id, String idempotencyKey, FundsRequest request) {
+        return idempotencyService.execute(idempotencyKey, fingerprint(WITHDRAW, id, request.funds().minorUnits()),
+                transactionService.withdrawFunds(id, request.funds()));
+    }
+}
@@ -0,0 +1,47 @@
+package com.pichebanking.api.controller.reactive;
+
+import com.pichebanking.api.controller.TransactionControllerApi;
+import com.pichebanking.api.dto.request.FundsRequest;
+import com.pichebanking.api.dto.request.TransferFundsRequest;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import reactor.core.publisher.Mono;
+
+import static com.pichebanking.api.controller.TransactionControllerApi.IDEMPOTENCY_KEY_HEADER;
+
+/**
+ * The single movements of {@link TransactionControllerApi} served by WebFlux, with the same paths, headers
+ * and bodies. Batches and the transfer inbox are only served by the servlet API.
+ */
+@RequestMapping(value = "/v1/transactions", produces = MediaType.APPLICATION_JSON_VALUE)
+public interface ReactiveTransactionControllerApi {
+
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @PostMapping
+    Mono<Void> transferFunds(@RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) @Size(min = 1, max = 64)
+                             String idempotencyKey,
+                             @RequestBody @Valid TransferFundsRequest request);
+
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @PatchMapping("/accounts/{id}/deposit")
+    Mono<Void> depositFunds(@PathVariable Long id,
+                            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) @Size(min = 1, max = 64)
+                            String idempotencyKey,
+                            @RequestBody @Valid FundsRequest request);
+
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @PatchMapping("/accounts/{id}/withdraw")
+    Mono<Void> withdrawFunds(@PathVariable Long id,
+                             @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) @Size(min = 1, max = 64)
+                             String idempotencyKey,
+                             @RequestBody @Valid FundsRequest request);
+}
@@ -0,0 +1,12 @@
+package com.pichebanking.api.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchCreateAccountsRequest(@NotEmpty @Size(max = 10_000)
+                                         List<@NotNull @Valid CreateAccountRequest> accounts) {
+}
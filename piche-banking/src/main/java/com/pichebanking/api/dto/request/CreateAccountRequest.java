@@ -1,11 +1,11 @@
 package com.pichebanking.api.dto.request;
 
+import com.pichebanking.util.model.Money;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 
-import java.math.BigDecimal;
-
-public record CreateAccountRequest(@NotBlank String fullName,
-                                   @NotNull @Positive BigDecimal initialBalance) {
+public record CreateAccountRequest(@NotBlank @Size(max = 128) String fullName,
+                                   @NotNull @Positive Money initialBalance) {
 }
@@ -1,9 +1,8 @@
 package com.pichebanking.api.dto.request;
 
+import com.pichebanking.util.model.Money;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 
-import java.math.BigDecimal;
-
-public record FundsRequest(@NotNull @Positive BigDecimal funds) {
+public record FundsRequest(@NotNull @Positive Money funds) {
 }
@@ -0,0 +1,11 @@
+package com.pichebanking.api.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Number of balance shards of the account, {@code 1} turns it back into a regular account.
+ */
+public record ShardAccountRequest(@NotNull @Min(1) @Max(64) Integer shardCount) {
+}
@@ -1,14 +1,13 @@
 package com.pichebanking.api.dto.request;
 
+import com.pichebanking.util.model.Money;
 import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 
-import java.math.BigDecimal;
-
 public record TransferFundsRequest(@NotNull Long sourceAccountId,
                                    @NotNull Long targetAccountId,
-                                   @NotNull @Positive BigDecimal funds) {
+                                   @NotNull @Positive Money funds) {
 
     @AssertTrue
     public boolean isSourceAccountIsNotEqualTarget() {
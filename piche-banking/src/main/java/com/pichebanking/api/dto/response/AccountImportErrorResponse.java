@@ -0,0 +1,5 @@
+package com.pichebanking.api.dto.response;
+
+public record AccountImportErrorResponse(long line,
+                                         String errorMessage) {
+}
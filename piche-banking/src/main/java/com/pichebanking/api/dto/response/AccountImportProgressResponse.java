@@ -0,0 +1,7 @@
+package com.pichebanking.api.dto.response;
+
+public record AccountImportProgressResponse(long processed,
+                                            long created,
+                                            long failed,
+                                            boolean completed) {
+}
@@ -1,8 +1,8 @@
 package com.pichebanking.api.dto.response;
 
-import java.math.BigDecimal;
+import com.pichebanking.util.model.Money;
 
 public record AccountResponse(String fullName,
                               long accountNumber,
-                              BigDecimal balance) {
+                              Money balance) {
 }
@@ -0,0 +1,12 @@
+package com.pichebanking.api.dto.response;
+
+import com.pichebanking.util.model.Money;
+
+/**
+ * Balance of the account after a movement, {@code transaction} is {@code null} in the first event
+ * of a subscription, which carries the balance at the time of subscribing.
+ */
+public record BalanceChangeResponse(long accountNumber,
+                                    Money balance,
+                                    TransactionResponse transaction) {
+}
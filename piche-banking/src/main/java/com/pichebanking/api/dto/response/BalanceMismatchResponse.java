@@ -0,0 +1,12 @@
+package com.pichebanking.api.dto.response;
+
+import com.pichebanking.util.model.Money;
+
+import java.time.LocalDateTime;
+
+public record BalanceMismatchResponse(Long accountNumber,
+                                      Long watermark,
+                                      Money expectedBalance,
+                                      Money actualBalance,
+                                      LocalDateTime detectedAt) {
+}
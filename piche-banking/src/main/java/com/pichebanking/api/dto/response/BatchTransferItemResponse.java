@@ -0,0 +1,17 @@
+package com.pichebanking.api.dto.response;
+
+import com.pichebanking.util.enums.TransferStatus;
+
+public record BatchTransferItemResponse(int index,
+                                        TransferStatus status,
+                                        Long transactionId,
+                                        String errorMessage) {
+
+    public static BatchTransferItemResponse completed(int index, Long transactionId) {
+        return new BatchTransferItemResponse(index, TransferStatus.COMPLETED, transactionId, null);
+    }
+
+    public static BatchTransferItemResponse failed(int index, String errorMessage) {
+        return new BatchTransferItemResponse(index, TransferStatus.FAILED, null, errorMessage);
+    }
+}
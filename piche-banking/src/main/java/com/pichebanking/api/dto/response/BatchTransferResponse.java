@@ -0,0 +1,8 @@
+package com.pichebanking.api.dto.response;
+
+import java.util.List;
+
+public record BatchTransferResponse(int completed,
+                                    int failed,
+                                    List<BatchTransferItemResponse> items) {
+}
@@ -0,0 +1,11 @@
+package com.pichebanking.api.dto.response;
+
+import java.time.LocalDateTime;
+
+public record ReconciliationRunResponse(Long runId,
+                                        Long watermark,
+                                        Long transactions,
+                                        Long accounts,
+                                        Long mismatches,
+                                        LocalDateTime finishedAt) {
+}
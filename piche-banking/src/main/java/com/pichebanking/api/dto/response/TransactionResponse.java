@@ -0,0 +1,14 @@
+package com.pichebanking.api.dto.response;
+
+import com.pichebanking.util.enums.TransactionType;
+import com.pichebanking.util.model.Money;
+
+import java.time.LocalDateTime;
+
+public record TransactionResponse(long transactionId,
+                                  TransactionType transactionType,
+                                  Money funds,
+                                  Long sourceAccountNumber,
+                                  Long targetAccountNumber,
+                                  LocalDateTime createdAt) {
+}
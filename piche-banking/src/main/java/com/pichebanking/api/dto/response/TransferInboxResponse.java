@@ -0,0 +1,16 @@
+package com.pichebanking.api.dto.response;
+
+import com.pichebanking.util.enums.TransferStatus;
+import com.pichebanking.util.model.Money;
+
+import java.time.LocalDateTime;
+
+public record TransferInboxResponse(Long transactionId,
+                                    TransferStatus status,
+                                    Long sourceAccountId,
+                                    Long targetAccountId,
+                                    Money funds,
+                                    String errorMessage,
+                                    LocalDateTime createdAt,
+                                    LocalDateTime processedAt) {
+}
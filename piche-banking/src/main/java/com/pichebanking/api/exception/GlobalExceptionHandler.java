@@ -1,15 +1,29 @@
 package com.pichebanking.api.exception;
 
+import com.pichebanking.exception.AccountLaneBusyException;
 import com.pichebanking.exception.AccountNotFoundException;
+import com.pichebanking.exception.BalanceFeedFullException;
+import com.pichebanking.exception.BalanceFeedUnavailableException;
+import com.pichebanking.exception.IdempotencyKeyInProgressException;
+import com.pichebanking.exception.IdempotencyKeyReusedException;
 import com.pichebanking.exception.InsufficientFundsException;
+import com.pichebanking.exception.InvalidCursorException;
+import com.pichebanking.exception.TransferInboxUnavailableException;
+import com.pichebanking.exception.TransferNotFoundException;
 import com.pichebanking.util.model.ErrorResponse;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.time.LocalDateTime;
 
+import static com.pichebanking.util.constant.ExceptionMessage.SERVICE_BUSY_MSG;
+
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
@@ -27,6 +41,89 @@ public class GlobalExceptionHandler {
                 .body(toErrorResponse(e.getMessage(), LocalDateTime.now()));
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursorException(InvalidCursorException e) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST.value())
+                .body(toErrorResponse(e.getMessage(), LocalDateTime.now()));
+    }
+
+    @ExceptionHandler(TransferNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleTransferNotFoundException(TransferNotFoundException e) {
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND.value())
+                .body(toErrorResponse(e.getMessage(), LocalDateTime.now()));
+    }
+
+    @ExceptionHandler(TransferInboxUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleTransferInboxUnavailableException(
+            TransferInboxUnavailableException e) {
+        return ResponseEntity
+                .status(HttpStatus.NOT_IMPLEMENTED.value())
+                .body(toErrorResponse(e.getMessage(), LocalDateTime.now()));
+    }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ErrorResponse> handleConstraintViolationException(ConstraintViolationException e) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST.value())
+                .body(toErrorResponse(e.getMessage(), LocalDateTime.now()));
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyReusedException(IdempotencyKeyReusedException e) {
+        return ResponseEntity
+                .status(HttpStatus.UNPROCESSABLE_ENTITY.value())
+                .body(toErrorResponse(e.getMessage(), LocalDateTime.now()));
+    }
+
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyInProgressException(IdempotencyKeyInProgressException e) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT.value())
+                .body(toErrorResponse(e.getMessage(), LocalDateTime.now()));
+    }
+
+    /**
+     * No pooled connection became free within the connection timeout. The request is shed instead of
+     * queueing more work on the database, the client is asked to come back later.
+     */
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ErrorResponse> handleCannotCreateTransactionException(CannotCreateTransactionException e) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(toErrorResponse(SERVICE_BUSY_MSG, LocalDateTime.now()));
+    }
+
+    @ExceptionHandler(AccountLaneBusyException.class)
+    public ResponseEntity<ErrorResponse> handleAccountLaneBusyException(AccountLaneBusyException e) {
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(toErrorResponse(e.getMessage(), LocalDateTime.now()));
+    }
+
+    /**
+     * The content type is set up front, event stream clients accept nothing but {@code text/event-stream}.
+     */
+    @ExceptionHandler(BalanceFeedFullException.class)
+    public ResponseEntity<ErrorResponse> handleBalanceFeedFullException(BalanceFeedFullException e) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(toErrorResponse(e.getMessage(), LocalDateTime.now()));
+    }
+
+    @ExceptionHandler(BalanceFeedUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleBalanceFeedUnavailableException(BalanceFeedUnavailableException e) {
+        return ResponseEntity
+                .status(HttpStatus.NOT_IMPLEMENTED.value())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(toErrorResponse(e.getMessage(), LocalDateTime.now()));
+    }
+
     private ErrorResponse toErrorResponse(String errorMessage, LocalDateTime timestamp) {
         return new ErrorResponse(
                 errorMessage,
@@ -0,0 +1,15 @@
+package com.pichebanking.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param maximumSize number of account snapshots kept before the least used ones are evicted
+ * @param timeToLive  how long a snapshot is served after it was loaded
+ */
+@ConfigurationProperties(prefix = "piche.cache.accounts")
+public record AccountCacheProperties(@DefaultValue("100000") long maximumSize,
+                                     @DefaultValue("30s") Duration timeToLive) {
+}
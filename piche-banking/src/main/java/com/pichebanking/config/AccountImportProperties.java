@@ -0,0 +1,12 @@
+package com.pichebanking.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param chunkSize number of imported accounts inserted in one database transaction and one JDBC batch,
+ *                  progress is reported after every chunk
+ */
+@ConfigurationProperties(prefix = "piche.account.import")
+public record AccountImportProperties(@DefaultValue("1000") int chunkSize) {
+}
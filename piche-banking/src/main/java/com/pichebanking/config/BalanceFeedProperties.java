@@ -0,0 +1,19 @@
+package com.pichebanking.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param bufferSize        events queued for one subscriber, a subscriber that falls further behind is evicted
+ * @param maxSubscribers    open subscriptions per node, further subscribers are rejected until some leave
+ * @param heartbeatInterval idle subscriptions receive a comment this often, so dead connections are noticed
+ * @param timeout           a subscription is closed after this long, the client is expected to reconnect
+ */
+@ConfigurationProperties(prefix = "piche.balance-feed")
+public record BalanceFeedProperties(@DefaultValue("32") int bufferSize,
+                                    @DefaultValue("50000") int maxSubscribers,
+                                    @DefaultValue("30s") Duration heartbeatInterval,
+                                    @DefaultValue("30m") Duration timeout) {
+}
@@ -0,0 +1,11 @@
+package com.pichebanking.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param chunkSize number of transfers applied in one database transaction
+ */
+@ConfigurationProperties(prefix = "piche.transaction.batch")
+public record BatchProperties(@DefaultValue("500") int chunkSize) {
+}
@@ -0,0 +1,34 @@
+package com.pichebanking.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@EnableCaching
+@Configuration
+public class CacheConfig {
+
+    public static final String ACCOUNTS_CACHE = "accounts";
+
+    /**
+     * Evictions issued inside a transaction are applied only after it commits, so a snapshot
+     * can't be dropped and reloaded while the new balance is still invisible to other transactions.
+     */
+    @Bean
+    public CacheManager cacheManager(AccountCacheProperties properties) {
+        var cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.timeToLive())
+                .recordStats());
+        cacheManager.setCacheNames(List.of(ACCOUNTS_CACHE));
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
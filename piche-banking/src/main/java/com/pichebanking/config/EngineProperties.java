@@ -0,0 +1,19 @@
+package com.pichebanking.config;
+
+import com.pichebanking.util.enums.EngineMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Selects how balances are changed.
+ *
+ * @param mode {@link EngineMode#PESSIMISTIC} locks the account row, changes the balance in Java and saves it;
+ *             {@link EngineMode#OPTIMISTIC} reads the account without a lock and saves it only if its version
+ *             is unchanged, contended accounts fall back to row locks, see {@link OptimisticLockingProperties};
+ *             {@link EngineMode#CONDITIONAL_UPDATE} changes deposits and withdrawals with a single guarded
+ *             {@code UPDATE} statement; {@link EngineMode#IN_MEMORY_LEDGER} keeps balances in memory
+ *             and changes them on a single writer thread, see {@link LedgerProperties}
+ */
+@ConfigurationProperties(prefix = "piche.engine")
+public record EngineProperties(@DefaultValue("PESSIMISTIC") EngineMode mode) {
+}
@@ -0,0 +1,19 @@
+package com.pichebanking.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param timeToLive      how long a completed request is replayed for its key
+ * @param maximumCached   number of completed keys answered from memory without reading the database
+ * @param purgeInterval   pause between two runs of the expired key purge, ISO-8601 since {@code @Scheduled} reads it too
+ * @param purgeBatchSize  number of expired keys deleted in one database transaction
+ */
+@ConfigurationProperties(prefix = "piche.idempotency")
+public record IdempotencyProperties(@DefaultValue("24h") Duration timeToLive,
+                                    @DefaultValue("100000") long maximumCached,
+                                    @DefaultValue("PT1M") Duration purgeInterval,
+                                    @DefaultValue("1000") int purgeBatchSize) {
+}
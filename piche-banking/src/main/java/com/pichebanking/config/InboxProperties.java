@@ -0,0 +1,18 @@
+package com.pichebanking.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param workers      number of threads applying accepted transfers, each owns a share of the partitions
+ * @param batchSize    number of pending transfers a worker reads at once
+ * @param pollInterval how long an idle worker waits before looking for pending transfers again, a new
+ *                     transfer wakes its worker right away
+ */
+@ConfigurationProperties(prefix = "piche.transaction.inbox")
+public record InboxProperties(@DefaultValue("4") int workers,
+                              @DefaultValue("100") int batchSize,
+                              @DefaultValue("1s") Duration pollInterval) {
+}
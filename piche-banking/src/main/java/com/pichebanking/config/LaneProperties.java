@@ -0,0 +1,15 @@
+package com.pichebanking.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param enabled       run single account movements on the lane of their account instead of the request thread
+ * @param lanes         number of lane threads, each holds at most one connection, so keep it below the pool size
+ * @param queueCapacity operations a lane accepts before further requests for its accounts are rejected
+ */
+@ConfigurationProperties(prefix = "piche.transaction.lanes")
+public record LaneProperties(@DefaultValue("false") boolean enabled,
+                             @DefaultValue("8") int lanes,
+                             @DefaultValue("256") int queueCapacity) {
+}
@@ -0,0 +1,34 @@
+package com.pichebanking.config;
+
+import com.pichebanking.dao.repository.AccountRepository;
+import com.pichebanking.service.ledger.LedgerEngine;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@Conditional(OnLedgerEngineCondition.class)
+public class LedgerConfig {
+
+    /**
+     * Accounts missing in the recovered ledger are opened with their balance from the database. That covers
+     * the first start on an existing database and an account saved right before a crash. The transaction is not
+     * read-only, so the balances come from the primary and never from a lagging read replica.
+     */
+    @Bean(destroyMethod = "close")
+    public LedgerEngine ledgerEngine(LedgerProperties properties, AccountRepository accountRepository,
+                                     PlatformTransactionManager transactionManager) {
+        var ledgerEngine = new LedgerEngine(properties);
+        ledgerEngine.start();
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (var accounts = accountRepository.streamAllAsResponses()) {
+                accounts.forEach(account -> ledgerEngine.openAccount(account.accountNumber(),
+                        account.balance().minorUnits()));
+            }
+        });
+        return ledgerEngine;
+    }
+}
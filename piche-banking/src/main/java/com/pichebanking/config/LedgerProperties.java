@@ -0,0 +1,25 @@
+package com.pichebanking.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+/**
+ * Settings of the in-memory ledger, used only when {@code piche.engine.mode} is {@code in-memory-ledger}.
+ *
+ * @param directory          where the journal and the snapshot are kept
+ * @param journalSize        size of one journal file, a full journal is folded into a new snapshot
+ * @param ringBufferSize     number of commands waiting for the writer thread, a power of two
+ * @param forceWrites        forces journal records to disk before acknowledging them, otherwise they survive
+ *                           a crash of the process but not of the machine
+ * @param snapshotOnShutdown writes a snapshot on a graceful shutdown, so the next start replays nothing
+ */
+@ConfigurationProperties(prefix = "piche.engine.ledger")
+public record LedgerProperties(@DefaultValue("data/ledger") Path directory,
+                               @DefaultValue("64MB") DataSize journalSize,
+                               @DefaultValue("8192") int ringBufferSize,
+                               @DefaultValue("false") boolean forceWrites,
+                               @DefaultValue("true") boolean snapshotOnShutdown) {
+}
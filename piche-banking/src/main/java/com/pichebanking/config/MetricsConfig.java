@@ -0,0 +1,37 @@
+package com.pichebanking.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    public static final String POOL_SATURATION_GAUGE = "piche.datasource.pool.saturation";
+
+    /**
+     * Share of the pool in use, connections requested by waiting threads included, so saturation goes above 1
+     * once requests queue for a connection. One gauge per pool, tagged with the pool name, as the read replica
+     * has a pool of its own. The per-pool {@code hikaricp.*} meters are registered by Spring Boot.
+     */
+    @Bean
+    public MeterBinder poolSaturationMetrics(ObjectProvider<HikariDataSource> dataSources) {
+        return registry -> dataSources.orderedStream().forEach(dataSource ->
+                Gauge.builder(POOL_SATURATION_GAUGE, dataSource, MetricsConfig::poolSaturation)
+                        .description("In-use and awaited connections relative to the maximum pool size")
+                        .tag("pool", dataSource.getPoolName())
+                        .register(registry));
+    }
+
+    private static double poolSaturation(HikariDataSource dataSource) {
+        var pool = dataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return 0;
+        }
+        return (double) (pool.getActiveConnections() + pool.getThreadsAwaitingConnection())
+                / dataSource.getMaximumPoolSize();
+    }
+}
@@ -0,0 +1,22 @@
+package com.pichebanking.config;
+
+import com.pichebanking.util.enums.EngineMode;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * Matches when {@code piche.engine.mode} is {@link EngineMode#IN_MEMORY_LEDGER}, binding the value
+ * the same relaxed way as {@link EngineProperties}.
+ */
+public class OnLedgerEngineCondition implements Condition {
+
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        return Binder.get(context.getEnvironment())
+                .bind("piche.engine.mode", EngineMode.class)
+                .map(EngineMode.IN_MEMORY_LEDGER::equals)
+                .orElse(false);
+    }
+}
@@ -0,0 +1,24 @@
+package com.pichebanking.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of {@link com.pichebanking.util.enums.EngineMode#OPTIMISTIC}.
+ *
+ * @param conflictThreshold share of optimistic attempts on an account that may end in a version conflict
+ *                          before the account is switched to row locks
+ * @param minimumAttempts   attempts within a window before the conflict share is trusted
+ * @param window            period conflicts are counted in, counting starts over afterwards
+ * @param pessimisticFor    how long a contended account stays on row locks before it is tried optimistically again
+ * @param maximumTracked    number of accounts whose conflicts are counted at the same time
+ */
+@ConfigurationProperties(prefix = "piche.engine.optimistic")
+public record OptimisticLockingProperties(@DefaultValue("0.2") double conflictThreshold,
+                                          @DefaultValue("20") int minimumAttempts,
+                                          @DefaultValue("10s") Duration window,
+                                          @DefaultValue("1m") Duration pessimisticFor,
+                                          @DefaultValue("100000") long maximumTracked) {
+}
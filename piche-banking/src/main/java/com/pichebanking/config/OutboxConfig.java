@@ -0,0 +1,23 @@
+package com.pichebanking.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pichebanking.service.outbox.InMemoryOutboxSink;
+import com.pichebanking.service.outbox.NdjsonFileOutboxSink;
+import com.pichebanking.service.outbox.OutboxSink;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OutboxConfig {
+
+    /**
+     * Closed by Spring when it is {@link java.io.Closeable}, after the relay has stopped.
+     */
+    @Bean
+    public OutboxSink outboxSink(OutboxProperties properties, ObjectMapper objectMapper) {
+        return switch (properties.sink()) {
+            case NDJSON -> new NdjsonFileOutboxSink(properties.file(), objectMapper);
+            case MEMORY -> new InMemoryOutboxSink();
+        };
+    }
+}
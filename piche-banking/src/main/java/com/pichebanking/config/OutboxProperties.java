@@ -0,0 +1,21 @@
+package com.pichebanking.config;
+
+import com.pichebanking.util.enums.OutboxSinkType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * @param sink         where the relay publishes transaction events
+ * @param file         file the {@code ndjson} sink appends to, one event per line
+ * @param batchSize    number of events read, published and deleted together
+ * @param pollInterval pause of the relay after it found fewer events than a full batch
+ */
+@ConfigurationProperties(prefix = "piche.outbox")
+public record OutboxProperties(@DefaultValue("ndjson") OutboxSinkType sink,
+                               @DefaultValue("data/outbox/transactions.ndjson") Path file,
+                               @DefaultValue("500") int batchSize,
+                               @DefaultValue("100ms") Duration pollInterval) {
+}
@@ -0,0 +1,89 @@
+package com.pichebanking.config;
+
+import com.pichebanking.util.enums.EngineMode;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.reactive.config.BlockingExecutionConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
+
+import java.time.Duration;
+
+/**
+ * Database access of the reactive API. Money movements run in R2DBC transactions through a
+ * {@link TransactionalOperator}. Neither the connection factory nor its transaction manager are beans: the JDBC
+ * data source backs off when it finds a connection factory bean, and {@code @Transactional} keeps using the JPA
+ * transaction manager. Controller methods with a blocking return type run on virtual threads
+ * instead of the event loop.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveConfig implements WebFluxConfigurer {
+
+    private final ConnectionFactory connectionFactory;
+
+    public ReactiveConfig(EngineProperties engineProperties, ReactiveDataSourceProperties properties) {
+        if (engineProperties.mode() == EngineMode.IN_MEMORY_LEDGER) {
+            throw new IllegalStateException("The reactive API changes balances in the database, "
+                    + "it can't run with the " + EngineMode.IN_MEMORY_LEDGER + " engine");
+        }
+        this.connectionFactory = ConnectionFactories.get(ConnectionFactoryOptions.parse(properties.url()).mutate()
+                .option(ConnectionFactoryOptions.USER, properties.username())
+                .option(ConnectionFactoryOptions.PASSWORD, properties.password())
+                .build());
+    }
+
+    /**
+     * H2 runs embedded and its R2DBC driver executes statements on the subscribing thread, row lock waits
+     * included. Database flows are subscribed here so a lock wait never parks an event loop; with a networked
+     * database driver this would be {@link Schedulers#immediate()}.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler databaseScheduler() {
+        return Schedulers.newBoundedElastic(Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE,
+                Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "r2dbc-h2");
+    }
+
+    @Bean
+    public DatabaseClient databaseClient() {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator() {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+
+    /**
+     * The reactive counterpart of {@code @RetryOnLockFailure}, with the same limits.
+     */
+    @Bean
+    public RetryBackoffSpec lockFailureRetry(@Value("${piche.transaction.retry.max-attempts}") int maxAttempts,
+                                             @Value("${piche.transaction.retry.initial-delay}") long initialDelay,
+                                             @Value("${piche.transaction.retry.max-delay}") long maxDelay) {
+        return Retry.backoff(maxAttempts - 1, Duration.ofMillis(initialDelay))
+                .maxBackoff(Duration.ofMillis(maxDelay))
+                .jitter(0.5)
+                .filter(e -> e instanceof ConcurrencyFailureException || e instanceof QueryTimeoutException)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    @Override
+    public void configureBlockingExecution(BlockingExecutionConfigurer configurer) {
+        configurer.setExecutor(new VirtualThreadTaskExecutor("reactive-blocking-"));
+    }
+}
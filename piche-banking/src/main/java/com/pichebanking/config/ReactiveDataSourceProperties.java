@@ -0,0 +1,15 @@
+package com.pichebanking.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * R2DBC connection of the reactive API, it must point to the same database as {@code spring.datasource}.
+ *
+ * @param url e.g. {@code r2dbc:h2:mem:///piche_bank?options=DB_CLOSE_DELAY=-1} for the in-memory database
+ */
+@ConfigurationProperties(prefix = "piche.datasource.r2dbc")
+public record ReactiveDataSourceProperties(String url,
+                                           @DefaultValue("sa") String username,
+                                           @DefaultValue("") String password) {
+}
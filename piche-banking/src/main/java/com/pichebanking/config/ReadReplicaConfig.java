@@ -0,0 +1,57 @@
+package com.pichebanking.config;
+
+import com.pichebanking.helper.datasource.ReadReplicaRoutingDataSource;
+import com.pichebanking.helper.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Replaces the single pool with one pool for the primary and one for the read replica, each sized on its own.
+ * Read-only transactions go to the replica while it lags no more than {@code max-staleness} behind,
+ * everything else and every read during a replica outage goes to the primary.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "piche.datasource.read", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource writeDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("piche.datasource.read.hikari")
+    public HikariDataSource readDataSource(ReadReplicaProperties properties, DataSourceProperties primary) {
+        return DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(primary.determineDriverClassName())
+                .url(properties.url())
+                .username(properties.username())
+                .password(properties.password())
+                .build();
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(HikariDataSource writeDataSource, HikariDataSource readDataSource,
+                                               ReadReplicaProperties properties) {
+        return new ReplicaLagMonitor(writeDataSource, readDataSource, properties.maxStaleness());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource writeDataSource, HikariDataSource readDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadReplicaRoutingDataSource(writeDataSource, readDataSource, replicaLagMonitor));
+    }
+}
@@ -0,0 +1,21 @@
+package com.pichebanking.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Pool settings of the read replica are bound from {@code piche.datasource.read.hikari}.
+ *
+ * @param maxStaleness     how far the replica may lag behind the primary before reads go to the primary
+ * @param lagCheckInterval pause between two heartbeat checks, ISO-8601 since {@code @Scheduled} reads it too
+ */
+@ConfigurationProperties(prefix = "piche.datasource.read")
+public record ReadReplicaProperties(@DefaultValue("false") boolean enabled,
+                                    String url,
+                                    String username,
+                                    String password,
+                                    @DefaultValue("5s") Duration maxStaleness,
+                                    @DefaultValue("PT1S") Duration lagCheckInterval) {
+}
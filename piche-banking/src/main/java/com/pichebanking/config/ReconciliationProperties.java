@@ -0,0 +1,16 @@
+package com.pichebanking.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param interval   pause between two reconciliation runs, ISO-8601 since {@code @Scheduled} reads it too
+ * @param settleTime age a transaction must reach before a run covers it. Ids are handed out before commit,
+ *                   so a younger transaction may still be followed by an uncommitted one with a lower id
+ */
+@ConfigurationProperties(prefix = "piche.reconciliation")
+public record ReconciliationProperties(@DefaultValue("PT5M") Duration interval,
+                                       @DefaultValue("1m") Duration settleTime) {
+}
@@ -1,17 +1,15 @@
 package com.pichebanking.dao.entity;
 
+import com.pichebanking.dao.generator.PooledLoSequence;
+import com.pichebanking.util.model.Money;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 import jakarta.persistence.Id;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Column;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.Version;
 import lombok.Data;
 import lombok.experimental.Accessors;
 
-import java.math.BigDecimal;
-
 @Data
 @Entity
 @Table(name = "account")
@@ -19,8 +17,7 @@ import java.math.BigDecimal;
 public class Account {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "BaseGenerator")
-    @SequenceGenerator(name = "BaseGenerator", sequenceName = "base_sequence", allocationSize = 1)
+    @PooledLoSequence(sequenceName = "base_sequence", blockSizeProperty = "piche.id-generation.account.block-size")
     @Column
     private Long id;
 
@@ -28,5 +25,19 @@ public class Account {
     private String fullName;
 
     @Column
-    private BigDecimal balance;
+    private Money balance;
+
+    /**
+     * Number of balance shards, {@code 0} for a regular account.
+     */
+    @Column
+    private int shardCount;
+
+    @Version
+    @Column
+    private Long version;
+
+    public boolean isSharded() {
+        return shardCount > 0;
+    }
 }
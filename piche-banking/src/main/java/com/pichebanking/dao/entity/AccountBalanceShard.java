@@ -0,0 +1,25 @@
+package com.pichebanking.dao.entity;
+
+import com.pichebanking.util.model.Money;
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * Part of the balance of a sharded account, the account balance is the sum of all its shards.
+ */
+@Data
+@Entity
+@Table(name = "account_balance_shard")
+@Accessors(chain = true)
+public class AccountBalanceShard {
+
+    @EmbeddedId
+    private AccountBalanceShardId id;
+
+    @Column
+    private Money balance;
+}
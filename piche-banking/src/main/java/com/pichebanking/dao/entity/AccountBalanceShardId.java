@@ -0,0 +1,22 @@
+package com.pichebanking.dao.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountBalanceShardId implements Serializable {
+
+    @Column
+    private Long accountId;
+
+    @Column
+    private Integer shardNo;
+}
@@ -0,0 +1,29 @@
+package com.pichebanking.dao.entity;
+
+import com.pichebanking.util.model.Money;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * Balance of an account after all transactions up to {@code watermark}, as verified by reconciliation.
+ */
+@Data
+@Entity
+@Table(name = "account_balance_snapshot")
+@Accessors(chain = true)
+public class AccountBalanceSnapshot {
+
+    @Id
+    @Column
+    private Long accountId;
+
+    @Column
+    private Money balance;
+
+    @Column
+    private Long watermark;
+}
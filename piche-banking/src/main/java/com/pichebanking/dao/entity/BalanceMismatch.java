@@ -0,0 +1,41 @@
+package com.pichebanking.dao.entity;
+
+import com.pichebanking.util.model.Money;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+
+/**
+ * An account whose balance at the watermark differs from its previous snapshot plus the transactions since.
+ */
+@Data
+@Entity
+@Table(name = "balance_mismatch")
+@Accessors(chain = true)
+public class BalanceMismatch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column
+    private Long id;
+
+    @Column
+    private Long runId;
+
+    @Column
+    private Long accountId;
+
+    @Column
+    private Long watermark;
+
+    @Column
+    private Money expectedBalance;
+
+    @Column
+    private Money actualBalance;
+
+    @Column
+    private LocalDateTime detectedAt;
+}
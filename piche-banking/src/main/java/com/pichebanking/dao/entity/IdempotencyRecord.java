@@ -0,0 +1,30 @@
+package com.pichebanking.dao.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+
+/**
+ * A completed request, a repeat with the same key is answered without running it again.
+ */
+@Data
+@Entity
+@Table(name = "idempotency_key")
+@Accessors(chain = true)
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idempotency_key")
+    private String idempotencyKey;
+
+    @Column
+    private String requestFingerprint;
+
+    @Column
+    private LocalDateTime expiresAt;
+}
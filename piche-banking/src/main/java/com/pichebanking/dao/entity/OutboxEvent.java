@@ -0,0 +1,48 @@
+package com.pichebanking.dao.entity;
+
+import com.pichebanking.dao.generator.PooledLoSequence;
+import com.pichebanking.util.enums.TransactionType;
+import com.pichebanking.util.model.Money;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.experimental.Accessors;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A recorded movement waiting to be published. Ids are taken while the accounts are locked,
+ * so the events of one account are in id order.
+ */
+@Data
+@Entity
+@Table(name = "transaction_outbox")
+@Accessors(chain = true)
+public class OutboxEvent {
+
+    @Id
+    @PooledLoSequence(sequenceName = "transaction_outbox_sequence",
+            blockSizeProperty = "piche.id-generation.transaction-outbox.block-size")
+    @Column
+    private Long id;
+
+    @Column
+    private Long transactionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column
+    private TransactionType transactionType;
+
+    @Column
+    private Long sourceAccountId;
+
+    @Column
+    private Long targetAccountId;
+
+    @Column
+    private Money funds;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+}
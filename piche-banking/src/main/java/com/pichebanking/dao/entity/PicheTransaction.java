@@ -1,11 +1,14 @@
 package com.pichebanking.dao.entity;
 
+import com.pichebanking.dao.generator.PooledLoSequence;
 import com.pichebanking.util.enums.TransactionType;
+import com.pichebanking.util.model.Money;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.experimental.Accessors;
+import org.hibernate.annotations.CreationTimestamp;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Data
 @Entity
@@ -14,13 +17,13 @@ import java.math.BigDecimal;
 public class PicheTransaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "BaseGenerator")
-    @SequenceGenerator(name = "BaseGenerator", sequenceName = "base_sequence", allocationSize = 1)
+    @PooledLoSequence(sequenceName = "piche_transaction_sequence",
+            blockSizeProperty = "piche.id-generation.piche-transaction.block-size")
     @Column
     private Long id;
 
     @Column
-    private BigDecimal funds;
+    private Money funds;
 
     @Enumerated(EnumType.STRING)
     @Column
@@ -34,4 +37,8 @@ public class PicheTransaction {
     @JoinColumn(name = "target_account_id", referencedColumnName = "id", updatable = false)
     private Account targetAccount;
 
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
 }
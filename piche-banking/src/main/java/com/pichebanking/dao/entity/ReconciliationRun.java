@@ -0,0 +1,37 @@
+package com.pichebanking.dao.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "reconciliation_run")
+@Accessors(chain = true)
+public class ReconciliationRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column
+    private Long id;
+
+    /**
+     * Highest transaction id covered by the run, the next run starts after it.
+     */
+    @Column
+    private Long watermark;
+
+    @Column
+    private Long transactions;
+
+    @Column
+    private Long accounts;
+
+    @Column
+    private Long mismatches;
+
+    @Column
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,53 @@
+package com.pichebanking.dao.entity;
+
+import com.pichebanking.dao.generator.PooledLoSequence;
+import com.pichebanking.util.enums.TransferStatus;
+import com.pichebanking.util.model.Money;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.experimental.Accessors;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A transfer accepted by the asynchronous endpoint, applied later by the worker owning its partition.
+ */
+@Data
+@Entity
+@Table(name = "transfer_inbox")
+@Accessors(chain = true)
+public class TransferInboxEntry {
+
+    @Id
+    @PooledLoSequence(sequenceName = "transfer_inbox_sequence",
+            blockSizeProperty = "piche.id-generation.transfer-inbox.block-size")
+    @Column
+    private Long id;
+
+    @Column
+    private Long sourceAccountId;
+
+    @Column
+    private Long targetAccountId;
+
+    @Column
+    private Money funds;
+
+    @Column
+    private Integer partitionNo;
+
+    @Enumerated(EnumType.STRING)
+    @Column
+    private TransferStatus status;
+
+    @Column
+    private String errorMessage;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column
+    private LocalDateTime processedAt;
+}
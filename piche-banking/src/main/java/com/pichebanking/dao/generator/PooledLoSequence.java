@@ -0,0 +1,27 @@
+package com.pichebanking.dao.generator;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Sequence based id generation which reserves a whole block of ids per database round trip.
+ * The block size is read from the {@link #blockSizeProperty()} Hibernate setting and must match
+ * the {@code INCREMENT BY} of the database sequence, otherwise the application fails on startup.
+ */
+@IdGeneratorType(PooledLoSequenceGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface PooledLoSequence {
+
+    String sequenceName();
+
+    String blockSizeProperty();
+
+    int defaultBlockSize() default 50;
+}
@@ -0,0 +1,36 @@
+package com.pichebanking.dao.generator;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.lang.reflect.Member;
+import java.util.Properties;
+
+public class PooledLoSequenceGenerator extends SequenceStyleGenerator {
+
+    private final PooledLoSequence config;
+
+    public PooledLoSequenceGenerator(PooledLoSequence config, Member member, CustomIdGeneratorCreationContext context) {
+        this.config = config;
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        var settings = serviceRegistry.requireService(ConfigurationService.class).getSettings();
+        var blockSize = ConfigurationHelper.getInt(config.blockSizeProperty(), settings, config.defaultBlockSize());
+        if (blockSize < 1) {
+            throw new MappingException("Block size of the [%s] sequence must be positive but was [%d]"
+                    .formatted(config.sequenceName(), blockSize));
+        }
+        parameters.put(SEQUENCE_PARAM, config.sequenceName());
+        parameters.put(INCREMENT_PARAM, String.valueOf(blockSize));
+        parameters.put(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
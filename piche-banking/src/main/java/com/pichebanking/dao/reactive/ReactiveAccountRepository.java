@@ -0,0 +1,163 @@
+package com.pichebanking.dao.reactive;
+
+import com.pichebanking.api.dto.request.CreateAccountRequest;
+import com.pichebanking.api.dto.response.AccountResponse;
+import com.pichebanking.util.model.Money;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Accounts and their balance shards, read and changed with plain SQL over R2DBC. Writes touch the same
+ * columns as the JPA entities, the account version included, so both stacks can serve the same database.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveAccountRepository {
+
+    private static final String SELECT_ACCOUNT_RESPONSE = "SELECT a.id, a.full_name, "
+            + "CASE WHEN a.shard_count = 0 THEN a.balance ELSE (SELECT SUM(s.balance) FROM account_balance_shard s "
+            + "WHERE s.account_id = a.id) END AS balance "
+            + "FROM account a ";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Takes one value of the account sequence. Each value starts a block the JPA generator would use whole,
+     * so the ids never collide with accounts created by the other stack.
+     */
+    public Mono<Long> nextId() {
+        return databaseClient.sql("SELECT NEXT VALUE FOR base_sequence")
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    public Mono<Void> insert(long id, CreateAccountRequest request) {
+        return databaseClient.sql("INSERT INTO account (id, full_name, balance, shard_count, version) "
+                        + "VALUES (:id, :fullName, :balance, 0, 0)")
+                .bind("id", id)
+                .bind("fullName", request.fullName())
+                .bind("balance", request.initialBalance().toBigDecimal())
+                .then();
+    }
+
+    public Mono<AccountResponse> findResponseById(long id) {
+        return databaseClient.sql(SELECT_ACCOUNT_RESPONSE + "WHERE a.id = :id")
+                .bind("id", id)
+                .map(ReactiveAccountRepository::toResponse)
+                .one();
+    }
+
+    public Flux<AccountResponse> findResponsesAfter(long afterId, int limit) {
+        return databaseClient.sql(SELECT_ACCOUNT_RESPONSE + "WHERE a.id > :afterId ORDER BY a.id LIMIT :limit")
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(ReactiveAccountRepository::toResponse)
+                .all();
+    }
+
+    public Flux<AccountResponse> findAllResponses() {
+        return databaseClient.sql(SELECT_ACCOUNT_RESPONSE + "ORDER BY a.id")
+                .map(ReactiveAccountRepository::toResponse)
+                .all();
+    }
+
+    public Mono<Boolean> existsById(long id) {
+        return databaseClient.sql("SELECT 1 FROM account WHERE id = :id")
+                .bind("id", id)
+                .map(row -> Boolean.TRUE)
+                .one()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    /**
+     * Locks the account only if it is not sharded, a sharded account row stays unlocked.
+     */
+    public Mono<Money> lockUnshardedBalance(long id) {
+        return databaseClient.sql("SELECT balance FROM account WHERE id = :id AND shard_count = 0 FOR UPDATE")
+                .bind("id", id)
+                .map(row -> Money.of(row.get("balance", BigDecimal.class)))
+                .one();
+    }
+
+    public Mono<Integer> findShardCount(long id) {
+        return databaseClient.sql("SELECT shard_count FROM account WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get("shard_count", Integer.class))
+                .one();
+    }
+
+    /**
+     * Locks the accounts in ascending id order, so concurrent transfers in opposite directions can't deadlock.
+     */
+    public Flux<LockedAccount> lockAll(List<Long> ids) {
+        return databaseClient.sql("SELECT id, balance, shard_count FROM account WHERE id IN (:ids) "
+                        + "ORDER BY id FOR UPDATE")
+                .bind("ids", ids)
+                .map(row -> new LockedAccount(row.get("id", Long.class),
+                        Money.of(row.get("balance", BigDecimal.class)),
+                        row.get("shard_count", Integer.class)))
+                .all();
+    }
+
+    public Mono<Long> updateBalance(long id, Money balance) {
+        return databaseClient.sql("UPDATE account SET balance = :balance, version = version + 1 WHERE id = :id")
+                .bind("balance", balance.toBigDecimal())
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Flux<LockedShard> lockShards(long accountId) {
+        return databaseClient.sql("SELECT shard_no, balance FROM account_balance_shard "
+                        + "WHERE account_id = :accountId ORDER BY shard_no FOR UPDATE")
+                .bind("accountId", accountId)
+                .map(row -> new LockedShard(row.get("shard_no", Integer.class),
+                        Money.of(row.get("balance", BigDecimal.class))))
+                .all();
+    }
+
+    public Mono<Long> increaseShardBalance(long accountId, int shardNo, Money funds) {
+        return databaseClient.sql("UPDATE account_balance_shard SET balance = balance + :funds "
+                        + "WHERE account_id = :accountId AND shard_no = :shardNo")
+                .bind("funds", funds.toBigDecimal())
+                .bind("accountId", accountId)
+                .bind("shardNo", shardNo)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> updateShardBalance(long accountId, int shardNo, Money balance) {
+        return databaseClient.sql("UPDATE account_balance_shard SET balance = :balance "
+                        + "WHERE account_id = :accountId AND shard_no = :shardNo")
+                .bind("balance", balance.toBigDecimal())
+                .bind("accountId", accountId)
+                .bind("shardNo", shardNo)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static AccountResponse toResponse(Readable row) {
+        var balance = row.get("balance", BigDecimal.class);
+        return new AccountResponse(row.get("full_name", String.class), row.get("id", Long.class),
+                balance == null ? Money.ZERO : Money.of(balance));
+    }
+
+    public record LockedAccount(long id, Money balance, int shardCount) {
+
+        public boolean isSharded() {
+            return shardCount > 0;
+        }
+    }
+
+    public record LockedShard(int shardNo, Money balance) {
+    }
+}
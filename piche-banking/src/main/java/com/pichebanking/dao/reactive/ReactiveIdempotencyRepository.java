@@ -0,0 +1,52 @@
+package com.pichebanking.dao.reactive;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency keys of the reactive API, in the same table as the keys of the servlet API.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveIdempotencyRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<StoredKey> findByKey(String idempotencyKey) {
+        return databaseClient.sql("SELECT request_fingerprint, expires_at FROM idempotency_key "
+                        + "WHERE idempotency_key = :idempotencyKey")
+                .bind("idempotencyKey", idempotencyKey)
+                .map(row -> new StoredKey(row.get("request_fingerprint", String.class),
+                        row.get("expires_at", LocalDateTime.class)))
+                .one();
+    }
+
+    /**
+     * A concurrent request with the same key fails here on the primary key before the movement runs.
+     */
+    public Mono<Void> insert(String idempotencyKey, String requestFingerprint, LocalDateTime expiresAt) {
+        return databaseClient.sql("INSERT INTO idempotency_key (idempotency_key, request_fingerprint, expires_at) "
+                        + "VALUES (:idempotencyKey, :requestFingerprint, :expiresAt)")
+                .bind("idempotencyKey", idempotencyKey)
+                .bind("requestFingerprint", requestFingerprint)
+                .bind("expiresAt", expiresAt)
+                .then();
+    }
+
+    public Mono<Void> deleteIfExpired(String idempotencyKey, LocalDateTime now) {
+        return databaseClient.sql("DELETE FROM idempotency_key WHERE idempotency_key = :idempotencyKey "
+                        + "AND expires_at <= :now")
+                .bind("idempotencyKey", idempotencyKey)
+                .bind("now", now)
+                .then();
+    }
+
+    public record StoredKey(String requestFingerprint, LocalDateTime expiresAt) {
+    }
+}
@@ -0,0 +1,130 @@
+package com.pichebanking.dao.reactive;
+
+import com.pichebanking.api.dto.response.TransactionResponse;
+import com.pichebanking.util.enums.TransactionType;
+import com.pichebanking.util.model.Money;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Recorded movements and their outbox events, see {@code JpaTransactionService} for the JPA counterpart.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveTransactionRepository {
+
+    private static final String SELECT_TRANSACTION_RESPONSE = "SELECT p.id, p.transaction_type, p.funds, "
+            + "p.source_account_id, p.target_account_id, p.created_at FROM piche_transaction p ";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Records the movement together with its outbox event, both rows take one value of their sequence.
+     * The timestamp is taken on subscription, so a retried movement is not recorded with the first attempt's time.
+     */
+    public Mono<Long> record(TransactionType type, long sourceAccountId, Long targetAccountId, Money funds) {
+        return Mono.defer(() -> {
+            var createdAt = LocalDateTime.now();
+            return nextValue("piche_transaction_sequence").flatMap(transactionId ->
+                    insertTransaction(transactionId, type, sourceAccountId, targetAccountId, funds, createdAt)
+                            .then(nextValue("transaction_outbox_sequence"))
+                            .flatMap(outboxId -> insertOutboxEvent(outboxId, transactionId, type, sourceAccountId,
+                                    targetAccountId, funds, createdAt))
+                            .thenReturn(transactionId));
+        });
+    }
+
+    /**
+     * Transactions of the account older than {@code beforeId}, newest first, either outgoing or incoming ones.
+     */
+    public Flux<TransactionResponse> findHistory(long accountId, boolean outgoing, long beforeId,
+                                                 TransactionType type, LocalDateTime from, LocalDateTime to,
+                                                 int limit) {
+        var sql = new StringBuilder(SELECT_TRANSACTION_RESPONSE)
+                .append(outgoing ? "WHERE p.source_account_id = :accountId " : "WHERE p.target_account_id = :accountId ")
+                .append("AND p.id < :beforeId ");
+        if (type != null) {
+            sql.append("AND p.transaction_type = :type ");
+        }
+        if (from != null) {
+            sql.append("AND p.created_at >= :from ");
+        }
+        if (to != null) {
+            sql.append("AND p.created_at < :to ");
+        }
+        sql.append("ORDER BY p.id DESC LIMIT :limit");
+        var spec = databaseClient.sql(sql.toString())
+                .bind("accountId", accountId)
+                .bind("beforeId", beforeId)
+                .bind("limit", limit);
+        if (type != null) {
+            spec = spec.bind("type", type.name());
+        }
+        if (from != null) {
+            spec = spec.bind("from", from);
+        }
+        if (to != null) {
+            spec = spec.bind("to", to);
+        }
+        return spec.map(ReactiveTransactionRepository::toResponse).all();
+    }
+
+    private Mono<Long> nextValue(String sequence) {
+        return databaseClient.sql("SELECT NEXT VALUE FOR " + sequence)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    private Mono<Void> insertTransaction(long id, TransactionType type, long sourceAccountId, Long targetAccountId,
+                                         Money funds, LocalDateTime createdAt) {
+        var spec = databaseClient.sql("INSERT INTO piche_transaction "
+                        + "(id, funds, transaction_type, source_account_id, target_account_id, created_at) "
+                        + "VALUES (:id, :funds, :type, :sourceAccountId, :targetAccountId, :createdAt)")
+                .bind("id", id)
+                .bind("funds", funds.toBigDecimal())
+                .bind("type", type.name())
+                .bind("sourceAccountId", sourceAccountId)
+                .bind("createdAt", createdAt);
+        spec = targetAccountId == null
+                ? spec.bindNull("targetAccountId", Long.class)
+                : spec.bind("targetAccountId", targetAccountId);
+        return spec.then();
+    }
+
+    private Mono<Void> insertOutboxEvent(long id, long transactionId, TransactionType type, long sourceAccountId,
+                                         Long targetAccountId, Money funds, LocalDateTime createdAt) {
+        var spec = databaseClient.sql("INSERT INTO transaction_outbox "
+                        + "(id, transaction_id, transaction_type, source_account_id, target_account_id, funds, "
+                        + "created_at) "
+                        + "VALUES (:id, :transactionId, :type, :sourceAccountId, :targetAccountId, :funds, "
+                        + ":createdAt)")
+                .bind("id", id)
+                .bind("transactionId", transactionId)
+                .bind("type", type.name())
+                .bind("sourceAccountId", sourceAccountId)
+                .bind("funds", funds.toBigDecimal())
+                .bind("createdAt", createdAt);
+        spec = targetAccountId == null
+                ? spec.bindNull("targetAccountId", Long.class)
+                : spec.bind("targetAccountId", targetAccountId);
+        return spec.then();
+    }
+
+    private static TransactionResponse toResponse(Readable row) {
+        return new TransactionResponse(row.get("id", Long.class),
+                TransactionType.valueOf(row.get("transaction_type", String.class)),
+                Money.of(row.get("funds", BigDecimal.class)),
+                row.get("source_account_id", Long.class),
+                row.get("target_account_id", Long.class),
+                row.get("created_at", LocalDateTime.class));
+    }
+}
@@ -0,0 +1,42 @@
+package com.pichebanking.dao.repository;
+
+import com.pichebanking.dao.entity.AccountBalanceShard;
+import com.pichebanking.dao.entity.AccountBalanceShardId;
+import com.pichebanking.util.model.Money;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+public interface AccountBalanceShardRepository extends JpaRepository<AccountBalanceShard, AccountBalanceShardId> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AccountBalanceShard s WHERE s.id.accountId = :accountId ORDER BY s.id.shardNo")
+    List<AccountBalanceShard> findByAccountIdWithLock(@Param("accountId") Long accountId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE AccountBalanceShard s SET s.balance = s.balance + :funds "
+            + "WHERE s.id.accountId = :accountId AND s.id.shardNo = :shardNo")
+    int increaseBalance(@Param("accountId") Long accountId, @Param("shardNo") Integer shardNo,
+                        @Param("funds") Money funds);
+
+    @Query("SELECT s.id.accountId AS accountId, SUM(s.balance) AS balance FROM AccountBalanceShard s "
+            + "WHERE s.id.accountId IN :accountIds GROUP BY s.id.accountId")
+    List<ShardedBalance> sumBalances(@Param("accountIds") Collection<Long> accountIds);
+
+    /**
+     * Aggregates bypass the attribute converter, the sum comes back as the column type.
+     */
+    interface ShardedBalance {
+
+        Long getAccountId();
+
+        BigDecimal getBalance();
+    }
+}
@@ -0,0 +1,7 @@
+package com.pichebanking.dao.repository;
+
+import com.pichebanking.dao.entity.AccountBalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AccountBalanceSnapshotRepository extends JpaRepository<AccountBalanceSnapshot, Long> {
+}
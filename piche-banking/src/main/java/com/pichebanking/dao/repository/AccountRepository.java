@@ -1,22 +1,85 @@
 package com.pichebanking.dao.repository;
 
+import com.pichebanking.api.dto.response.AccountResponse;
 import com.pichebanking.dao.entity.Account;
+import com.pichebanking.util.model.Money;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface AccountRepository extends JpaRepository<Account, Long> {
 
+    String STREAM_FETCH_SIZE = "500";
+    String SELECT_ACCOUNT_RESPONSE = "SELECT new com.pichebanking.api.dto.response.AccountResponse(a.fullName, a.id, "
+            + "CASE WHEN a.shardCount = 0 THEN a.balance ELSE (SELECT SUM(s.balance) FROM AccountBalanceShard s "
+            + "WHERE s.id.accountId = a.id) END) "
+            + "FROM Account a ";
+
+    List<Account> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_ACCOUNT_RESPONSE + "ORDER BY a.id")
+    Stream<AccountResponse> streamAllAsResponses();
+
+    @Query(SELECT_ACCOUNT_RESPONSE + "WHERE a.id IN :ids")
+    List<AccountResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Accounts reconciliation has not seen yet.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_ACCOUNT_RESPONSE
+            + "WHERE NOT EXISTS (SELECT 1 FROM AccountBalanceSnapshot b WHERE b.accountId = a.id) ORDER BY a.id")
+    Stream<AccountResponse> streamWithoutBalanceSnapshot();
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT a FROM Account a WHERE a.id = :id")
     Optional<Account> findByIdWithLock(@Param("id") Long id);
 
+    /**
+     * Locks the account only if it is not sharded, a sharded account row stays unlocked.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id = :id AND a.shardCount = 0")
+    Optional<Account> findUnshardedByIdWithLock(@Param("id") Long id);
+
+    @Query("SELECT a FROM Account a WHERE a.id = :id AND a.shardCount = 0")
+    Optional<Account> findUnshardedById(@Param("id") Long id);
+
+    @Query("SELECT a.shardCount FROM Account a WHERE a.id = :id")
+    Optional<Integer> findShardCountById(@Param("id") Long id);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT a FROM Account a WHERE a.id IN :ids")
+    @Query("SELECT a FROM Account a WHERE a.id IN :ids ORDER BY a.id")
     List<Account> findByIdInWithLock(@Param("ids") List<Long> ids);
+
+    @Query("SELECT a FROM Account a WHERE a.id IN :ids ORDER BY a.id")
+    List<Account> findByIdIn(@Param("ids") List<Long> ids);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Account a SET a.balance = a.balance + :funds WHERE a.id = :id AND a.shardCount = 0")
+    int increaseBalance(@Param("id") Long id, @Param("funds") Money funds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Account a SET a.balance = a.balance - :funds "
+            + "WHERE a.id = :id AND a.shardCount = 0 AND a.balance >= :funds")
+    int decreaseBalance(@Param("id") Long id, @Param("funds") Money funds);
 }
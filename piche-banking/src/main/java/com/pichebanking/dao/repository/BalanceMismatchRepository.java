@@ -0,0 +1,12 @@
+package com.pichebanking.dao.repository;
+
+import com.pichebanking.dao.entity.BalanceMismatch;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface BalanceMismatchRepository extends JpaRepository<BalanceMismatch, Long> {
+
+    List<BalanceMismatch> findByOrderByIdDesc(Limit limit);
+}
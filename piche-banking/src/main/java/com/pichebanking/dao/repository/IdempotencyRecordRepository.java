@@ -0,0 +1,40 @@
+package com.pichebanking.dao.repository;
+
+import com.pichebanking.dao.entity.IdempotencyRecord;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * A plain insert instead of {@code save}, which would merge into an existing row. A concurrent request
+     * with the same key fails here on the primary key before the movement runs.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_key (idempotency_key, request_fingerprint, expires_at) "
+            + "VALUES (:idempotencyKey, :requestFingerprint, :expiresAt)", nativeQuery = true)
+    void insert(@Param("idempotencyKey") String idempotencyKey,
+                @Param("requestFingerprint") String requestFingerprint,
+                @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Declared instead of the inherited {@code findById}, which runs read-only and may be served by a lagging
+     * read replica. A key must be seen as completed as soon as its movement has committed.
+     */
+    @Query("SELECT r FROM IdempotencyRecord r WHERE r.idempotencyKey = :idempotencyKey")
+    Optional<IdempotencyRecord> findOnPrimary(@Param("idempotencyKey") String idempotencyKey);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :idempotencyKey AND r.expiresAt <= :now")
+    void deleteIfExpired(@Param("idempotencyKey") String idempotencyKey, @Param("now") LocalDateTime now);
+
+    @Query("SELECT r.idempotencyKey FROM IdempotencyRecord r WHERE r.expiresAt <= :now ORDER BY r.expiresAt")
+    List<String> findExpiredKeys(@Param("now") LocalDateTime now, Limit limit);
+}
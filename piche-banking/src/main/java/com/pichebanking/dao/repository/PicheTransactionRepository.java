@@ -1,7 +1,96 @@
 package com.pichebanking.dao.repository;
 
+import com.pichebanking.api.dto.response.TransactionResponse;
 import com.pichebanking.dao.entity.PicheTransaction;
+import com.pichebanking.util.enums.TransactionType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface PicheTransactionRepository extends JpaRepository<PicheTransaction, Long> {
+
+    String STREAM_FETCH_SIZE = "1000";
+
+    String SELECT_TRANSACTION_RESPONSE = "SELECT new com.pichebanking.api.dto.response.TransactionResponse("
+            + "p.id, p.transactionType, p.funds, p.sourceAccount.id, p.targetAccount.id, p.createdAt) "
+            + "FROM PicheTransaction p ";
+    String HISTORY_FILTER = "AND p.id < :beforeId "
+            + "AND (:type IS NULL OR p.transactionType = :type) "
+            + "AND (:from IS NULL OR p.createdAt >= :from) "
+            + "AND (:to IS NULL OR p.createdAt < :to) "
+            + "ORDER BY p.id DESC";
+    String STATEMENT_FILTER = "AND (:from IS NULL OR p.createdAt >= :from) "
+            + "AND (:to IS NULL OR p.createdAt < :to) "
+            + "ORDER BY p.id";
+
+    @Query(SELECT_TRANSACTION_RESPONSE + "WHERE p.sourceAccount.id = :accountId " + HISTORY_FILTER)
+    List<TransactionResponse> findHistoryBySourceAccount(@Param("accountId") Long accountId,
+                                                         @Param("beforeId") Long beforeId,
+                                                         @Param("type") TransactionType type,
+                                                         @Param("from") LocalDateTime from,
+                                                         @Param("to") LocalDateTime to,
+                                                         Limit limit);
+
+    @Query(SELECT_TRANSACTION_RESPONSE + "WHERE p.targetAccount.id = :accountId " + HISTORY_FILTER)
+    List<TransactionResponse> findHistoryByTargetAccount(@Param("accountId") Long accountId,
+                                                         @Param("beforeId") Long beforeId,
+                                                         @Param("type") TransactionType type,
+                                                         @Param("from") LocalDateTime from,
+                                                         @Param("to") LocalDateTime to,
+                                                         Limit limit);
+
+    @Query("SELECT MAX(p.id) FROM PicheTransaction p WHERE p.sourceAccount.id = :accountId")
+    Long findMaxIdBySourceAccount(@Param("accountId") long accountId);
+
+    @Query("SELECT MAX(p.id) FROM PicheTransaction p WHERE p.targetAccount.id = :accountId")
+    Long findMaxIdByTargetAccount(@Param("accountId") long accountId);
+
+    /**
+     * Highest id of the transactions after {@code afterId} created up to {@code createdBefore}, a range scan
+     * of the primary key starting at {@code afterId}.
+     */
+    @Query("SELECT MAX(p.id) FROM PicheTransaction p WHERE p.id > :afterId AND p.createdAt <= :createdBefore")
+    Long findMaxIdAfter(@Param("afterId") long afterId, @Param("createdBefore") LocalDateTime createdBefore);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_TRANSACTION_RESPONSE + "WHERE p.id > :afterId ORDER BY p.id")
+    Stream<TransactionResponse> streamAfter(@Param("afterId") long afterId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_TRANSACTION_RESPONSE + "WHERE p.sourceAccount.id = :accountId " + STATEMENT_FILTER)
+    Stream<TransactionResponse> streamStatementBySourceAccount(@Param("accountId") long accountId,
+                                                               @Param("from") LocalDateTime from,
+                                                               @Param("to") LocalDateTime to);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_TRANSACTION_RESPONSE + "WHERE p.targetAccount.id = :accountId " + STATEMENT_FILTER)
+    Stream<TransactionResponse> streamStatementByTargetAccount(@Param("accountId") long accountId,
+                                                               @Param("from") LocalDateTime from,
+                                                               @Param("to") LocalDateTime to);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_TRANSACTION_RESPONSE + "WHERE p.createdAt >= :from AND p.createdAt < :to "
+            + "ORDER BY p.createdAt, p.id")
+    Stream<TransactionResponse> streamCreatedBetween(@Param("from") LocalDateTime from,
+                                                     @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,46 @@
+package com.pichebanking.dao.repository;
+
+import com.pichebanking.dao.entity.TransferInboxEntry;
+import com.pichebanking.util.enums.TransferStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface TransferInboxRepository extends JpaRepository<TransferInboxEntry, Long> {
+
+    @Query("SELECT e FROM TransferInboxEntry e WHERE e.status = com.pichebanking.util.enums.TransferStatus.PENDING "
+            + "AND e.partitionNo IN :partitions ORDER BY e.id")
+    List<TransferInboxEntry> findPending(@Param("partitions") Collection<Integer> partitions, Limit limit);
+
+    /**
+     * Whether an older transfer touching one of the accounts, as source or as target, is still pending.
+     */
+    @Query("SELECT COUNT(e) > 0 FROM TransferInboxEntry e "
+            + "WHERE e.status = com.pichebanking.util.enums.TransferStatus.PENDING AND e.id < :id "
+            + "AND (e.sourceAccountId IN :accountIds OR e.targetAccountId IN :accountIds)")
+    boolean existsPendingBefore(@Param("id") Long id, @Param("accountIds") Collection<Long> accountIds);
+
+    /**
+     * Declared instead of the inherited {@code findById}, which runs read-only and may be served by a lagging
+     * read replica. A status poll right after the submit must find the entry.
+     */
+    @Query("SELECT e FROM TransferInboxEntry e WHERE e.id = :id")
+    Optional<TransferInboxEntry> findOnPrimary(@Param("id") Long id);
+
+    /**
+     * Only a pending entry is finished, so an entry is never completed twice.
+     */
+    @Modifying
+    @Query("UPDATE TransferInboxEntry e SET e.status = :status, e.errorMessage = :errorMessage, "
+            + "e.processedAt = :processedAt "
+            + "WHERE e.id = :id AND e.status = com.pichebanking.util.enums.TransferStatus.PENDING")
+    int finish(@Param("id") Long id, @Param("status") TransferStatus status,
+               @Param("errorMessage") String errorMessage, @Param("processedAt") LocalDateTime processedAt);
+}
@@ -0,0 +1,8 @@
+package com.pichebanking.exception;
+
+public class AccountLaneBusyException extends RuntimeException {
+
+    public AccountLaneBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.pichebanking.exception;
+
+public class BalanceFeedFullException extends RuntimeException {
+
+    public BalanceFeedFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.pichebanking.exception;
+
+public class BalanceFeedUnavailableException extends RuntimeException {
+
+    public BalanceFeedUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.pichebanking.exception;
+
+public class TransferInboxUnavailableException extends RuntimeException {
+
+    public TransferInboxUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.pichebanking.exception;
+
+public class TransferNotFoundException extends RuntimeException {
+
+    public TransferNotFoundException(String message) {
+        super(message);
+    }
+}
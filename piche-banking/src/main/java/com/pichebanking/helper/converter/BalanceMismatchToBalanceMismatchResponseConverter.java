@@ -0,0 +1,17 @@
+package com.pichebanking.helper.converter;
+
+import com.pichebanking.api.dto.response.BalanceMismatchResponse;
+import com.pichebanking.dao.entity.BalanceMismatch;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BalanceMismatchToBalanceMismatchResponseConverter
+        implements Converter<BalanceMismatch, BalanceMismatchResponse> {
+
+    @Override
+    public BalanceMismatchResponse convert(BalanceMismatch source) {
+        return new BalanceMismatchResponse(source.getAccountId(), source.getWatermark(),
+                source.getExpectedBalance(), source.getActualBalance(), source.getDetectedAt());
+    }
+}
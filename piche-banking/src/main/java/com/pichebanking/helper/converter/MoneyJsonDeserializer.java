@@ -0,0 +1,49 @@
+package com.pichebanking.helper.converter;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.pichebanking.util.model.Money;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Reads {@link Money} from a JSON number or a numeric string. An amount with more than two decimal places
+ * or too large for the balance columns is rejected instead of being rounded.
+ */
+public class MoneyJsonDeserializer extends JsonDeserializer<Money> {
+
+    private static final String INVALID_AMOUNT_MSG = "Amount must have at most %d decimal places and %d digits"
+            .formatted(Money.SCALE, String.valueOf(Money.MAX_STORED_MINOR_UNITS).length());
+
+    @Override
+    public Money deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        var amount = readAmount(parser, context);
+        try {
+            var money = Money.of(amount);
+            if (Math.abs(money.minorUnits()) <= Money.MAX_STORED_MINOR_UNITS) {
+                return money;
+            }
+        } catch (ArithmeticException ignored) {
+        }
+        throw InvalidFormatException.from(parser, INVALID_AMOUNT_MSG, amount, Money.class);
+    }
+
+    private static BigDecimal readAmount(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.hasToken(JsonToken.VALUE_NUMBER_INT) || parser.hasToken(JsonToken.VALUE_NUMBER_FLOAT)) {
+            return parser.getDecimalValue();
+        }
+        if (parser.hasToken(JsonToken.VALUE_STRING)) {
+            try {
+                return new BigDecimal(parser.getText().trim());
+            } catch (NumberFormatException e) {
+                return (BigDecimal) context.handleWeirdStringValue(Money.class, parser.getText(),
+                        "not a decimal amount");
+            }
+        }
+        return (BigDecimal) context.handleUnexpectedToken(Money.class, parser);
+    }
+}
@@ -0,0 +1,19 @@
+package com.pichebanking.helper.converter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.pichebanking.util.model.Money;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link Money} as a JSON number with two decimals.
+ */
+public class MoneyJsonSerializer extends JsonSerializer<Money> {
+
+    @Override
+    public void serialize(Money money, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeNumber(money.toBigDecimal());
+    }
+}
@@ -0,0 +1,17 @@
+package com.pichebanking.helper.converter;
+
+import com.pichebanking.api.dto.response.ReconciliationRunResponse;
+import com.pichebanking.dao.entity.ReconciliationRun;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ReconciliationRunToReconciliationRunResponseConverter
+        implements Converter<ReconciliationRun, ReconciliationRunResponse> {
+
+    @Override
+    public ReconciliationRunResponse convert(ReconciliationRun source) {
+        return new ReconciliationRunResponse(source.getId(), source.getWatermark(), source.getTransactions(),
+                source.getAccounts(), source.getMismatches(), source.getFinishedAt());
+    }
+}
@@ -0,0 +1,18 @@
+package com.pichebanking.helper.converter;
+
+import com.pichebanking.api.dto.response.TransferInboxResponse;
+import com.pichebanking.dao.entity.TransferInboxEntry;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TransferInboxEntryToTransferInboxResponseConverter
+        implements Converter<TransferInboxEntry, TransferInboxResponse> {
+
+    @Override
+    public TransferInboxResponse convert(TransferInboxEntry source) {
+        return new TransferInboxResponse(source.getId(), source.getStatus(), source.getSourceAccountId(),
+                source.getTargetAccountId(), source.getFunds(), source.getErrorMessage(),
+                source.getCreatedAt(), source.getProcessedAt());
+    }
+}
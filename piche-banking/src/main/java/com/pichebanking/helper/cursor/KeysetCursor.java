@@ -0,0 +1,56 @@
+package com.pichebanking.helper.cursor;
+
+import com.pichebanking.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.ToLongFunction;
+
+import static com.pichebanking.util.constant.ExceptionMessage.INVALID_CURSOR_MSG;
+
+/**
+ * Opaque token of a keyset page, it carries the id of the last row of the previous page.
+ */
+public final class KeysetCursor {
+
+    private static final long FIRST_PAGE_ID = 0L;
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(lastId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Returns the cursor of the page after the given one, a page that is not full is the last one.
+     */
+    public static <T> Optional<String> next(List<T> page, int limit, ToLongFunction<T> idExtractor) {
+        if (page.isEmpty() || page.size() < limit) {
+            return Optional.empty();
+        }
+        return Optional.of(encode(idExtractor.applyAsLong(page.get(page.size() - 1))));
+    }
+
+    public static long decode(String cursor) {
+        return decode(cursor, FIRST_PAGE_ID);
+    }
+
+    public static long decode(String cursor, long firstPageId) {
+        if (cursor == null || cursor.isBlank()) {
+            return firstPageId;
+        }
+        try {
+            var lastId = Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+            if (lastId < FIRST_PAGE_ID) {
+                throw new InvalidCursorException(INVALID_CURSOR_MSG);
+            }
+            return lastId;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(INVALID_CURSOR_MSG);
+        }
+    }
+}
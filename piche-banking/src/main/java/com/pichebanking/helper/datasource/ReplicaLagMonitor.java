@@ -0,0 +1,61 @@
+package com.pichebanking.helper.datasource;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Moves the heartbeat row forward on the primary and reads it back from the replica, the difference is
+ * how far the replica lags behind. The replica is not used until the first check has passed.
+ */
+public class ReplicaLagMonitor {
+
+    private static final String BEAT_SQL = "UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1";
+    private static final String SELECT_BEAT_SQL = "SELECT beat_at FROM replication_heartbeat WHERE id = 1";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final Duration maxStaleness;
+    private volatile boolean replicaUsable;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxStaleness) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxStaleness = maxStaleness;
+    }
+
+    /**
+     * An unreachable primary leaves the heartbeat behind, so the replica turns stale too
+     * once {@code maxStaleness} has passed.
+     */
+    @Scheduled(fixedDelayString = "${piche.datasource.read.lag-check-interval:PT1S}")
+    public void checkLag() {
+        var now = LocalDateTime.now();
+        try {
+            primary.update(BEAT_SQL, now);
+        } catch (DataAccessException ignored) {
+            // measured against the last beat that made it
+        }
+        try {
+            var beatAt = replica.queryForObject(SELECT_BEAT_SQL, LocalDateTime.class);
+            replicaUsable = beatAt != null && Duration.between(beatAt, now).compareTo(maxStaleness) <= 0;
+        } catch (DataAccessException e) {
+            replicaUsable = false;
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /**
+     * Sends reads to the primary until the next check finds the replica reachable and fresh again.
+     */
+    public void markUnavailable() {
+        replicaUsable = false;
+    }
+}
@@ -0,0 +1,92 @@
+package com.pichebanking.helper.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.pichebanking.api.dto.response.TransactionResponse;
+import com.pichebanking.util.enums.StatementFormat;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Writes statement rows to a stream one by one through a fixed size buffer, nothing is collected.
+ * Rows don't flush the stream, the buffer is written out when it is full. Closing the writer closes the stream,
+ * which finishes a gzip stream.
+ */
+public final class StatementWriter implements Consumer<TransactionResponse>, Closeable {
+
+    static final String CSV_HEADER =
+            "transaction_id,transaction_type,funds,source_account_number,target_account_number,created_at";
+
+    private final StatementFormat format;
+    private final Writer writer;
+    private final ObjectWriter jsonWriter;
+
+    private StatementWriter(StatementFormat format, Writer writer, ObjectWriter jsonWriter) {
+        this.format = format;
+        this.writer = writer;
+        this.jsonWriter = jsonWriter;
+    }
+
+    public static StatementWriter open(StatementFormat format, OutputStream outputStream, ObjectMapper objectMapper)
+            throws IOException {
+        var writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == StatementFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        return new StatementWriter(format, writer,
+                objectMapper.writerFor(TransactionResponse.class)
+                        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                        .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM));
+    }
+
+    @Override
+    public void accept(TransactionResponse transaction) {
+        try {
+            switch (format) {
+                case CSV -> writeCsv(transaction);
+                case NDJSON -> jsonWriter.writeValue(writer, transaction);
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * None of the columns is free text, so no value needs quoting.
+     */
+    private void writeCsv(TransactionResponse transaction) throws IOException {
+        writer.write(Long.toString(transaction.transactionId()));
+        writer.write(',');
+        writer.write(transaction.transactionType().name());
+        writer.write(',');
+        writer.write(transaction.funds().toString());
+        writer.write(',');
+        writeNullable(transaction.sourceAccountNumber());
+        writer.write(',');
+        writeNullable(transaction.targetAccountNumber());
+        writer.write(',');
+        writeNullable(transaction.createdAt());
+    }
+
+    private void writeNullable(Object value) throws IOException {
+        if (value != null) {
+            writer.write(value.toString());
+        }
+    }
+}
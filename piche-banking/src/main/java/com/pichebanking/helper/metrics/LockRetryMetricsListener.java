@@ -0,0 +1,61 @@
+package com.pichebanking.helper.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts lock failures of transactions retried with
+ * {@link com.pichebanking.util.annotation.RetryOnLockFailure} and the retries they caused.
+ */
+@Component(LockRetryMetricsListener.BEAN_NAME)
+public class LockRetryMetricsListener implements RetryListener {
+
+    public static final String BEAN_NAME = "lockRetryMetricsListener";
+    public static final String LOCK_FAILURES_COUNTER = "piche.transaction.lock.failures";
+    public static final String RETRIES_COUNTER = "piche.transaction.retries";
+    public static final String EXHAUSTED_COUNTER = "piche.transaction.retries.exhausted";
+
+    private final MeterRegistry registry;
+    private final Counter retries;
+    private final Counter exhausted;
+
+    public LockRetryMetricsListener(MeterRegistry registry) {
+        this.registry = registry;
+        this.retries = Counter.builder(RETRIES_COUNTER)
+                .description("Transactions re-run after a lock failure")
+                .register(registry);
+        this.exhausted = Counter.builder(EXHAUSTED_COUNTER)
+                .description("Transactions given up after the last attempt failed on a lock")
+                .register(registry);
+    }
+
+    @Override
+    public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback,
+                                                 Throwable throwable) {
+        if (throwable instanceof ConcurrencyFailureException) {
+            Counter.builder(LOCK_FAILURES_COUNTER)
+                    .description("Deadlocks, lock wait timeouts and optimistic version conflicts")
+                    .tag("exception", throwable.getClass().getSimpleName())
+                    .register(registry)
+                    .increment();
+        }
+    }
+
+    @Override
+    public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback,
+                                               Throwable throwable) {
+        var failedAttempts = context.getRetryCount();
+        var retried = throwable == null ? failedAttempts : failedAttempts - 1;
+        if (retried > 0) {
+            retries.increment(retried);
+        }
+        if (throwable instanceof ConcurrencyFailureException) {
+            exhausted.increment();
+        }
+    }
+}
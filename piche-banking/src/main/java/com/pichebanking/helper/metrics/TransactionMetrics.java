@@ -0,0 +1,145 @@
+package com.pichebanking.helper.metrics;
+
+import com.pichebanking.exception.AccountNotFoundException;
+import com.pichebanking.exception.InsufficientFundsException;
+import com.pichebanking.util.enums.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Times money movements by phase. The operation time without the time spent waiting for row locks
+ * is recorded as business logic, flush and commit of the surrounding transaction as commit.
+ * Timers publish histogram buckets, so p50 and p99 can be aggregated across instances on the server side.
+ */
+@Component
+public class TransactionMetrics {
+
+    public static final String PHASE_TIMER = "piche.transaction.phase";
+    public static final String FAILURES_COUNTER = "piche.transaction.failures";
+
+    private static final ThreadLocal<Operation> CURRENT_OPERATION = new ThreadLocal<>();
+
+    private final MeterRegistry registry;
+    private final Map<TransactionType, Map<Phase, Timer>> timers = new EnumMap<>(TransactionType.class);
+
+    public TransactionMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (var type : TransactionType.values()) {
+            var phaseTimers = new EnumMap<Phase, Timer>(Phase.class);
+            for (var phase : Phase.values()) {
+                phaseTimers.put(phase, Timer.builder(PHASE_TIMER)
+                        .description("Duration of a phase of a money movement")
+                        .tag("type", type.name())
+                        .tag("phase", phase.tagValue)
+                        .publishPercentileHistogram()
+                        .register(registry));
+            }
+            timers.put(type, phaseTimers);
+        }
+    }
+
+    public void record(TransactionType type, Runnable operation) {
+        record(type, () -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    public <T> T record(TransactionType type, Supplier<T> operation) {
+        var current = new Operation(type, System.nanoTime());
+        var outer = CURRENT_OPERATION.get();
+        CURRENT_OPERATION.set(current);
+        timeCommit(type);
+        try {
+            return operation.get();
+        } catch (InsufficientFundsException | AccountNotFoundException e) {
+            countFailure(type, e.getClass());
+            throw e;
+        } finally {
+            CURRENT_OPERATION.set(outer);
+            timer(type, Phase.BUSINESS_LOGIC).record(System.nanoTime() - current.start - current.lockNanos, NANOSECONDS);
+        }
+    }
+
+    /**
+     * Times a locking read on behalf of the operation being recorded by the current thread.
+     */
+    public <T> T recordLockAcquire(Supplier<T> lockingRead) {
+        var start = System.nanoTime();
+        try {
+            return lockingRead.get();
+        } finally {
+            var current = CURRENT_OPERATION.get();
+            if (current != null) {
+                var elapsed = System.nanoTime() - start;
+                current.lockNanos += elapsed;
+                timer(current.type, Phase.LOCK_ACQUIRE).record(elapsed, NANOSECONDS);
+            }
+        }
+    }
+
+    public void countFailure(TransactionType type, Class<? extends RuntimeException> reason) {
+        Counter.builder(FAILURES_COUNTER)
+                .description("Money movements rejected by a business rule")
+                .tag("type", type.name())
+                .tag("reason", reason.getSimpleName())
+                .register(registry)
+                .increment();
+    }
+
+    private void timeCommit(TransactionType type) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long start;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                start = System.nanoTime();
+            }
+
+            @Override
+            public void afterCommit() {
+                timer(type, Phase.COMMIT).record(System.nanoTime() - start, NANOSECONDS);
+            }
+        });
+    }
+
+    private Timer timer(TransactionType type, Phase phase) {
+        return timers.get(type).get(phase);
+    }
+
+    private enum Phase {
+        LOCK_ACQUIRE("lock_acquire"),
+        BUSINESS_LOGIC("business_logic"),
+        COMMIT("commit");
+
+        private final String tagValue;
+
+        Phase(String tagValue) {
+            this.tagValue = tagValue;
+        }
+    }
+
+    private static final class Operation {
+        private final TransactionType type;
+        private final long start;
+        private long lockNanos;
+
+        private Operation(TransactionType type, long start) {
+            this.type = type;
+            this.start = start;
+        }
+    }
+}
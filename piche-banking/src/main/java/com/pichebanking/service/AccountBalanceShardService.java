@@ -0,0 +1,102 @@
+package com.pichebanking.service;
+
+import com.pichebanking.dao.entity.AccountBalanceShard;
+import com.pichebanking.dao.entity.AccountBalanceShardId;
+import com.pichebanking.dao.repository.AccountBalanceShardRepository;
+import com.pichebanking.dao.repository.AccountBalanceShardRepository.ShardedBalance;
+import com.pichebanking.exception.InsufficientFundsException;
+import com.pichebanking.helper.metrics.TransactionMetrics;
+import com.pichebanking.util.model.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import static com.pichebanking.util.constant.ExceptionMessage.ACCOUNT_SHARDS_CHANGED_MSG;
+import static com.pichebanking.util.constant.ExceptionMessage.INSUFFICIENT_FUNDS_MSG;
+
+/**
+ * Balances of sharded accounts. A credit locks one random shard only, so concurrent credits to the same
+ * account don't queue on a single row. A debit locks all shards of the account and consumes across them.
+ * A shard missing because the account was resharded concurrently fails as a lock failure and is retried.
+ */
+@Service
+@RequiredArgsConstructor
+public class AccountBalanceShardService {
+
+    private final AccountBalanceShardRepository repository;
+    private final TransactionMetrics transactionMetrics;
+
+    public void deposit(long accountId, int shardCount, Money funds) {
+        var shardNo = ThreadLocalRandom.current().nextInt(shardCount);
+        if (repository.increaseBalance(accountId, shardNo, funds) == 0) {
+            throw new CannotAcquireLockException(ACCOUNT_SHARDS_CHANGED_MSG);
+        }
+    }
+
+    public void withdraw(long accountId, Money funds) {
+        var shards = lockShards(accountId);
+        if (shards.isEmpty()) {
+            throw new CannotAcquireLockException(ACCOUNT_SHARDS_CHANGED_MSG);
+        }
+        if (sum(shards, Money.ZERO).isLessThan(funds)) {
+            throw new InsufficientFundsException(INSUFFICIENT_FUNDS_MSG);
+        }
+        var remaining = funds;
+        var first = ThreadLocalRandom.current().nextInt(shards.size());
+        for (var i = 0; i < shards.size() && remaining.isPositive(); i++) {
+            var shard = shards.get((first + i) % shards.size());
+            var taken = shard.getBalance().min(remaining);
+            shard.setBalance(shard.getBalance().subtract(taken));
+            remaining = remaining.subtract(taken);
+        }
+        repository.saveAll(shards);
+    }
+
+    /**
+     * Spreads the account balance together with what its current shards hold evenly over {@code shardCount}
+     * shards. With {@code shardCount} 0 all shards are removed. Returns the part of the balance that stays
+     * on the account row.
+     */
+    public Money reshard(long accountId, Money accountBalance, int shardCount) {
+        var shards = lockShards(accountId);
+        var total = sum(shards, accountBalance);
+        repository.deleteAll(shards.subList(Math.min(shardCount, shards.size()), shards.size()));
+        if (shardCount == 0) {
+            return total;
+        }
+        var share = Money.ofMinorUnits(total.minorUnits() / shardCount);
+        var remainder = Money.ofMinorUnits(total.minorUnits() % shardCount);
+        var resharded = new ArrayList<AccountBalanceShard>(shardCount);
+        for (var shardNo = 0; shardNo < shardCount; shardNo++) {
+            var shard = shardNo < shards.size()
+                    ? shards.get(shardNo)
+                    : new AccountBalanceShard().setId(new AccountBalanceShardId(accountId, shardNo));
+            resharded.add(shard.setBalance(shardNo == 0 ? share.add(remainder) : share));
+        }
+        repository.saveAll(resharded);
+        return Money.ZERO;
+    }
+
+    public Map<Long, Money> getBalances(Collection<Long> accountIds) {
+        if (accountIds.isEmpty()) {
+            return Map.of();
+        }
+        return repository.sumBalances(accountIds).stream()
+                .collect(Collectors.toMap(ShardedBalance::getAccountId, balance -> Money.of(balance.getBalance())));
+    }
+
+    private List<AccountBalanceShard> lockShards(long accountId) {
+        return transactionMetrics.recordLockAcquire(() -> repository.findByAccountIdWithLock(accountId));
+    }
+
+    private static Money sum(List<AccountBalanceShard> shards, Money initial) {
+        return Money.sum(initial, shards.stream().map(AccountBalanceShard::getBalance).toList());
+    }
+}
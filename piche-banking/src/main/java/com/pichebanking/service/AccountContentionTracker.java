@@ -0,0 +1,73 @@
+package com.pichebanking.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pichebanking.config.OptimisticLockingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts optimistic attempts and version conflicts per account. An account whose conflict share within a window
+ * goes over the threshold is changed under a row lock for a while, other accounts stay optimistic.
+ */
+@Component
+public class AccountContentionTracker {
+
+    public static final String CONFLICTS_COUNTER = "piche.engine.optimistic.conflicts";
+    public static final String FALLBACKS_COUNTER = "piche.engine.optimistic.fallbacks";
+
+    private final OptimisticLockingProperties properties;
+    private final Cache<Long, Window> windows;
+    private final Cache<Long, Boolean> pessimisticAccounts;
+    private final Counter conflicts;
+    private final Counter fallbacks;
+
+    public AccountContentionTracker(OptimisticLockingProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(properties.maximumTracked())
+                .expireAfterWrite(properties.window())
+                .build();
+        this.pessimisticAccounts = Caffeine.newBuilder()
+                .maximumSize(properties.maximumTracked())
+                .expireAfterWrite(properties.pessimisticFor())
+                .build();
+        this.conflicts = Counter.builder(CONFLICTS_COUNTER)
+                .description("Optimistic account updates that found a newer version")
+                .register(registry);
+        this.fallbacks = Counter.builder(FALLBACKS_COUNTER)
+                .description("Accounts switched to row locks because of frequent version conflicts")
+                .register(registry);
+    }
+
+    public boolean isPessimistic(long accountId) {
+        return pessimisticAccounts.getIfPresent(accountId) != null;
+    }
+
+    public void recordAttempt(long accountId) {
+        windows.get(accountId, id -> new Window()).attempts.incrementAndGet();
+    }
+
+    public void recordConflict(long accountId) {
+        conflicts.increment();
+        var window = windows.get(accountId, id -> new Window());
+        var conflictCount = window.conflicts.incrementAndGet();
+        var attemptCount = window.attempts.get();
+        if (attemptCount >= properties.minimumAttempts()
+                && (double) conflictCount / attemptCount > properties.conflictThreshold()) {
+            windows.invalidate(accountId);
+            if (pessimisticAccounts.asMap().putIfAbsent(accountId, Boolean.TRUE) == null) {
+                fallbacks.increment();
+            }
+        }
+    }
+
+    private static final class Window {
+
+        private final AtomicInteger attempts = new AtomicInteger();
+        private final AtomicInteger conflicts = new AtomicInteger();
+    }
+}
@@ -0,0 +1,183 @@
+package com.pichebanking.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pichebanking.api.dto.request.CreateAccountRequest;
+import com.pichebanking.api.dto.response.AccountImportErrorResponse;
+import com.pichebanking.api.dto.response.AccountImportProgressResponse;
+import com.pichebanking.config.AccountImportProperties;
+import com.pichebanking.util.enums.StatementFormat;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Creates accounts from a CSV or NDJSON stream. Lines are read one at a time and valid rows are inserted chunk
+ * by chunk, each chunk in its own transaction, so memory use doesn't grow with the input. A rejected row is
+ * reported with its line number and skipped, the rows around it are still imported.
+ */
+@Service
+@RequiredArgsConstructor
+public class AccountImportService {
+
+    static final String CSV_HEADER = "full_name,initial_balance";
+    static final String INVALID_HEADER_MSG = "Expected the header " + CSV_HEADER;
+    static final String INVALID_COLUMNS_MSG = "Expected 2 columns: " + CSV_HEADER;
+    static final String MISSING_ACCOUNT_MSG = "Expected an account object";
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final AccountService accountService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final AccountImportProperties properties;
+
+    /**
+     * A CSV input starts with the {@value #CSV_HEADER} header and may quote the name, an NDJSON input holds one
+     * {@link CreateAccountRequest} per line. Blank lines are skipped. Progress is reported after every chunk.
+     *
+     * @return the final progress, with {@code completed} set
+     */
+    public AccountImportProgressResponse importAccounts(Reader input, StatementFormat format,
+                                                        Consumer<AccountImportErrorResponse> errors,
+                                                        Consumer<AccountImportProgressResponse> progress)
+            throws IOException {
+        var reader = input instanceof BufferedReader bufferedReader ? bufferedReader : new BufferedReader(input);
+        var chunk = new ArrayList<CreateAccountRequest>(properties.chunkSize());
+        var lineNumber = 0L;
+        var created = 0L;
+        var failed = 0L;
+        if (format == StatementFormat.CSV) {
+            lineNumber++;
+            var header = reader.readLine();
+            if (header == null || !CSV_HEADER.equalsIgnoreCase(stripByteOrderMark(header).strip())) {
+                errors.accept(new AccountImportErrorResponse(lineNumber, INVALID_HEADER_MSG));
+                return new AccountImportProgressResponse(0, 0, 0, true);
+            }
+        }
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (lineNumber == 1) {
+                line = stripByteOrderMark(line);
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            var errorMessage = addRow(line, format, chunk);
+            if (errorMessage != null) {
+                failed++;
+                errors.accept(new AccountImportErrorResponse(lineNumber, errorMessage));
+                continue;
+            }
+            if (chunk.size() == properties.chunkSize()) {
+                created += insert(chunk);
+                progress.accept(new AccountImportProgressResponse(created + failed, created, failed, false));
+            }
+        }
+        if (!chunk.isEmpty()) {
+            created += insert(chunk);
+        }
+        return new AccountImportProgressResponse(created + failed, created, failed, true);
+    }
+
+    /**
+     * Returns why the row was rejected, or {@code null} when it was added to the chunk.
+     */
+    private String addRow(String line, StatementFormat format, List<CreateAccountRequest> chunk) {
+        CreateAccountRequest request;
+        try {
+            request = switch (format) {
+                case CSV -> parseCsv(line);
+                case NDJSON -> objectMapper.readValue(line, CreateAccountRequest.class);
+            };
+        } catch (JsonProcessingException e) {
+            return e.getOriginalMessage();
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+        if (request == null) {
+            return MISSING_ACCOUNT_MSG;
+        }
+        var violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(AccountImportService::describe)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        chunk.add(request);
+        return null;
+    }
+
+    /**
+     * The balance goes through the same JSON deserializer as the API, so it is checked the same way.
+     */
+    private CreateAccountRequest parseCsv(String line) throws JsonProcessingException {
+        var columns = splitCsv(line);
+        if (columns.size() != 2) {
+            throw new IllegalArgumentException(INVALID_COLUMNS_MSG);
+        }
+        var row = objectMapper.createObjectNode()
+                .put("fullName", columns.get(0))
+                .put("initialBalance", columns.get(1).strip());
+        return objectMapper.treeToValue(row, CreateAccountRequest.class);
+    }
+
+    private long insert(List<CreateAccountRequest> chunk) {
+        var count = accountService.createAccounts(chunk).size();
+        chunk.clear();
+        return count;
+    }
+
+    /**
+     * Splits on commas outside of double quotes, a quote inside a quoted value is written twice.
+     */
+    static List<String> splitCsv(String line) {
+        var columns = new ArrayList<String>(2);
+        var column = new StringBuilder();
+        var quoted = false;
+        for (var i = 0; i < line.length(); i++) {
+            var c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    column.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    column.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                columns.add(column.toString());
+                column.setLength(0);
+            } else {
+                column.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted value");
+        }
+        columns.add(column.toString());
+        return columns;
+    }
+
+    private static String describe(ConstraintViolation<CreateAccountRequest> violation) {
+        return violation.getPropertyPath() + " " + violation.getMessage();
+    }
+
+    private static String stripByteOrderMark(String line) {
+        return !line.isEmpty() && line.charAt(0) == BYTE_ORDER_MARK ? line.substring(1) : line;
+    }
+}
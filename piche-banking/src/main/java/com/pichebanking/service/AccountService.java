@@ -1,74 +1,398 @@
 package com.pichebanking.service;
 
 import com.pichebanking.api.dto.request.CreateAccountRequest;
+import com.pichebanking.api.dto.response.AccountResponse;
+import com.pichebanking.config.EngineProperties;
 import com.pichebanking.dao.entity.Account;
 import com.pichebanking.dao.repository.AccountRepository;
 import com.pichebanking.exception.AccountNotFoundException;
 import com.pichebanking.exception.InsufficientFundsException;
+import com.pichebanking.helper.metrics.TransactionMetrics;
+import com.pichebanking.service.ledger.LedgerEngine;
+import com.pichebanking.util.annotation.RetryOnLockFailure;
+import com.pichebanking.util.enums.EngineMode;
+import com.pichebanking.util.model.Money;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.core.convert.ConversionService;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.data.domain.Limit;
 import org.springframework.lang.NonNull;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
 
+import static com.pichebanking.config.CacheConfig.ACCOUNTS_CACHE;
 import static com.pichebanking.util.constant.ExceptionMessage.ACCOUNT_NOT_FOUND_MSG;
+import static com.pichebanking.util.constant.ExceptionMessage.ACCOUNT_SHARDS_CHANGED_MSG;
 import static com.pichebanking.util.constant.ExceptionMessage.INSUFFICIENT_FUNDS_MSG;
 
 @Service
 @RequiredArgsConstructor
 public class AccountService {
 
+    private static final int LEDGER_READ_CHUNK_SIZE = 500;
+
     private final AccountRepository repository;
     private final ConversionService conversionService;
+    private final EngineProperties engineProperties;
+    private final TransactionMetrics transactionMetrics;
+    private final AccountBalanceShardService balanceShardService;
+    private final ObjectProvider<LedgerEngine> ledgerEngine;
+    private final AccountContentionTracker contentionTracker;
+    private final EntityManager entityManager;
 
     public Account createAccount(CreateAccountRequest createAccountRequest) {
         var account = Objects.requireNonNull(conversionService.convert(createAccountRequest, Account.class));
-        return repository.save(account);
+        var savedAccount = repository.save(account);
+        if (isLedgerEngine()) {
+            ledgerEngine.getObject().openAccount(savedAccount.getId(), savedAccount.getBalance().minorUnits());
+        }
+        return savedAccount;
+    }
+
+    /**
+     * Inserts the accounts in one transaction and one JDBC batch. Ids are taken from blocks of the account
+     * sequence, so there is one sequence call per block rather than per account. In ledger mode the accounts
+     * are opened in the ledger once the insert has committed.
+     */
+    @Transactional
+    public List<Account> createAccounts(List<CreateAccountRequest> requests) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(Math.max(requests.size(), 1));
+        var accounts = repository.saveAll(requests.stream()
+                .map(request -> Objects.requireNonNull(conversionService.convert(request, Account.class)))
+                .toList());
+        repository.flush();
+        if (isLedgerEngine()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    for (var account : accounts) {
+                        ledgerEngine.getObject().openAccount(account.getId(), account.getBalance().minorUnits());
+                    }
+                }
+            });
+        }
+        return accounts;
     }
 
+    @Transactional(readOnly = true)
     public Account getAccount(long accountId) {
         return repository.findById(accountId)
                 .orElseThrow(() -> new AccountNotFoundException(ACCOUNT_NOT_FOUND_MSG));
     }
 
-    public List<Account> getAccounts() {
-        return repository.findAll();
+    /**
+     * Read-through snapshot of the account. Loading is atomic per account, so an eviction after a commit
+     * waits for a load in progress and drops its possibly outdated result. Loaded in a read-write transaction,
+     * so always from the primary: a lagging read replica would put the evicted balance back into the cache.
+     */
+    @Cacheable(cacheNames = ACCOUNTS_CACHE, sync = true)
+    @Transactional
+    public AccountResponse getAccountSnapshot(long accountId) {
+        return toResponses(List.of(getAccount(accountId))).get(0);
     }
 
-    public Account depositFunds(Long id, BigDecimal funds) {
-        var account = findAccountWithLock(id);
+    /**
+     * Converts accounts to responses, balances of sharded accounts are summed up with one query.
+     * With the in-memory ledger all balances are read from the ledger instead.
+     */
+    public List<AccountResponse> toResponses(List<Account> accounts) {
+        var shardedBalances = balanceShardService.getBalances(accounts.stream()
+                .filter(Account::isSharded)
+                .map(Account::getId)
+                .toList());
+        var responses = accounts.stream()
+                .map(account -> toResponse(account, shardedBalances))
+                .toList();
+        return isLedgerEngine() ? withLedgerBalances(responses) : responses;
+    }
+
+    public void checkAccountExists(long accountId) {
+        if (!repository.existsById(accountId)) {
+            throw new AccountNotFoundException(ACCOUNT_NOT_FOUND_MSG);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<Account> getAccounts(long afterId, int limit) {
+        return repository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit));
+    }
+
+    /**
+     * Pushes every account to the consumer row by row from a forward-only cursor,
+     * nothing is kept in the persistence context.
+     */
+    @Transactional(readOnly = true)
+    public void streamAccounts(Consumer<AccountResponse> consumer) {
+        try (var accounts = repository.streamAllAsResponses()) {
+            if (!isLedgerEngine()) {
+                accounts.forEach(consumer);
+                return;
+            }
+            var chunk = new ArrayList<AccountResponse>(LEDGER_READ_CHUNK_SIZE);
+            accounts.forEach(account -> {
+                chunk.add(account);
+                if (chunk.size() == LEDGER_READ_CHUNK_SIZE) {
+                    withLedgerBalances(chunk).forEach(consumer);
+                    chunk.clear();
+                }
+            });
+            withLedgerBalances(chunk).forEach(consumer);
+        }
+    }
+
+    @CacheEvict(cacheNames = ACCOUNTS_CACHE, key = "#id")
+    public Account depositFunds(Long id, Money funds) {
+        if (engineProperties.mode() == EngineMode.CONDITIONAL_UPDATE) {
+            return depositFundsWithConditionalUpdate(id, funds);
+        }
+        var account = findUnshardedAccountForUpdate(id);
+        if (account == null) {
+            return depositFundsToShards(id, funds);
+        }
         account.setBalance(account.getBalance().add(funds));
-        return repository.save(account);
+        return saveVersioned(account);
     }
 
-    public Account withdrawFunds(Long id, BigDecimal funds) {
-        var account = findAccountWithLock(id);
-        if (account.getBalance().compareTo(funds) < 0) {
+    @CacheEvict(cacheNames = ACCOUNTS_CACHE, key = "#id")
+    public Account withdrawFunds(Long id, Money funds) {
+        if (engineProperties.mode() == EngineMode.CONDITIONAL_UPDATE) {
+            return withdrawFundsWithConditionalUpdate(id, funds);
+        }
+        var account = findUnshardedAccountForUpdate(id);
+        if (account == null) {
+            return withdrawFundsFromShards(id, funds);
+        }
+        if (account.getBalance().isLessThan(funds)) {
             throw new InsufficientFundsException(INSUFFICIENT_FUNDS_MSG);
         }
         account.setBalance(account.getBalance().subtract(funds));
-        return repository.save(account);
+        return saveVersioned(account);
     }
 
-    public void transferFundsBetweenTwoAccounts(@NonNull Account source, @NonNull Account target, BigDecimal funds) {
-        if (source.getBalance().compareTo(funds) < 0) {
-            throw new InsufficientFundsException(INSUFFICIENT_FUNDS_MSG);
-        }
-        source.setBalance(source.getBalance().subtract(funds));
-        target.setBalance(target.getBalance().add(funds));
+    @Caching(evict = {
+            @CacheEvict(cacheNames = ACCOUNTS_CACHE, key = "#source.id"),
+            @CacheEvict(cacheNames = ACCOUNTS_CACHE, key = "#target.id")
+    })
+    public void transferFundsBetweenTwoAccounts(@NonNull Account source, @NonNull Account target, Money funds) {
+        debit(source, funds);
+        credit(target, funds);
         var accounts = List.of(source, target);
         repository.saveAll(accounts);
+        flushVersioned(accounts);
+    }
+
+    /**
+     * Moves the balance of the account into {@code shardCount} sub-balance rows, or back into the account row
+     * when {@code shardCount} is 1.
+     */
+    @RetryOnLockFailure
+    @Transactional
+    @CacheEvict(cacheNames = ACCOUNTS_CACHE, key = "#id")
+    public AccountResponse shardAccount(long id, int shardCount) {
+        var account = findAccountWithLock(id);
+        var shards = shardCount > 1 ? shardCount : 0;
+        account.setBalance(balanceShardService.reshard(id, account.getBalance(), shards))
+                .setShardCount(shards);
+        return toResponses(List.of(repository.save(account))).get(0);
     }
 
+    /**
+     * Locks accounts in ascending id order, so concurrent transfers between the same accounts
+     * in opposite directions can't deadlock each other.
+     */
     public List<Account> findAccountsWithLock(List<Long> ids) {
-        return repository.findByIdInWithLock(ids);
+        var sortedIds = ids.stream().sorted().toList();
+        return transactionMetrics.recordLockAcquire(() -> repository.findByIdInWithLock(sortedIds));
+    }
+
+    /**
+     * Accounts about to be changed. In optimistic mode only contended accounts are locked, the others are read
+     * without a lock and their version is checked when they are saved.
+     */
+    public List<Account> findAccountsForUpdate(List<Long> ids) {
+        if (engineProperties.mode() != EngineMode.OPTIMISTIC) {
+            return findAccountsWithLock(ids);
+        }
+        var contendedIds = ids.stream().filter(contentionTracker::isPessimistic).toList();
+        var optimisticIds = ids.stream().filter(id -> !contentionTracker.isPessimistic(id)).toList();
+        var accounts = new ArrayList<Account>(ids.size());
+        if (!contendedIds.isEmpty()) {
+            accounts.addAll(findAccountsWithLock(contendedIds));
+        }
+        if (!optimisticIds.isEmpty()) {
+            optimisticIds.forEach(contentionTracker::recordAttempt);
+            accounts.addAll(repository.findByIdIn(optimisticIds));
+        }
+        return accounts;
+    }
+
+    /**
+     * Changes the balance with one {@code UPDATE} statement, the row is locked only for the statement itself.
+     * Returns a reference to the account without reading it.
+     */
+    private Account depositFundsWithConditionalUpdate(Long id, Money funds) {
+        if (repository.increaseBalance(id, funds) == 0) {
+            return depositFundsToShards(id, funds);
+        }
+        return getUpdatedAccount(id);
+    }
+
+    private Account withdrawFundsWithConditionalUpdate(Long id, Money funds) {
+        if (repository.decreaseBalance(id, funds) == 0) {
+            if (findShardCount(id) == 0) {
+                throw new InsufficientFundsException(INSUFFICIENT_FUNDS_MSG);
+            }
+            balanceShardService.withdraw(id, funds);
+            return repository.getReferenceById(id);
+        }
+        return getUpdatedAccount(id);
+    }
+
+    /**
+     * The {@code UPDATE} bypasses the persistence context. An account the transaction already loaded still holds
+     * the old balance and is refreshed, the other managed entities stay attached.
+     */
+    private Account getUpdatedAccount(Long id) {
+        var account = repository.getReferenceById(id);
+        if (Hibernate.isInitialized(account)) {
+            entityManager.refresh(account);
+        }
+        return account;
+    }
+
+    /**
+     * The account row is not locked, its shard count is read from the last committed version.
+     */
+    private Account depositFundsToShards(Long id, Money funds) {
+        var shardCount = findShardCount(id);
+        if (shardCount == 0) {
+            throw new CannotAcquireLockException(ACCOUNT_SHARDS_CHANGED_MSG);
+        }
+        balanceShardService.deposit(id, shardCount, funds);
+        return repository.getReferenceById(id);
+    }
+
+    private Account withdrawFundsFromShards(Long id, Money funds) {
+        if (findShardCount(id) == 0) {
+            throw new CannotAcquireLockException(ACCOUNT_SHARDS_CHANGED_MSG);
+        }
+        balanceShardService.withdraw(id, funds);
+        return repository.getReferenceById(id);
+    }
+
+    private void debit(Account account, Money funds) {
+        if (account.isSharded()) {
+            balanceShardService.withdraw(account.getId(), funds);
+            return;
+        }
+        if (account.getBalance().isLessThan(funds)) {
+            throw new InsufficientFundsException(INSUFFICIENT_FUNDS_MSG);
+        }
+        account.setBalance(account.getBalance().subtract(funds));
+    }
+
+    private void credit(Account account, Money funds) {
+        if (account.isSharded()) {
+            balanceShardService.deposit(account.getId(), account.getShardCount(), funds);
+            return;
+        }
+        account.setBalance(account.getBalance().add(funds));
+    }
+
+    private AccountResponse toResponse(Account account, Map<Long, Money> shardedBalances) {
+        if (!account.isSharded()) {
+            return conversionService.convert(account, AccountResponse.class);
+        }
+        return new AccountResponse(account.getFullName(), account.getId(),
+                shardedBalances.getOrDefault(account.getId(), Money.ZERO));
+    }
+
+    private boolean isLedgerEngine() {
+        return engineProperties.mode() == EngineMode.IN_MEMORY_LEDGER;
+    }
+
+    /**
+     * Replaces balances with the ones held by the ledger, all of them are read in one round trip
+     * to the writer thread.
+     */
+    private List<AccountResponse> withLedgerBalances(List<AccountResponse> responses) {
+        var balances = ledgerEngine.getObject().getBalances(responses.stream()
+                .mapToLong(AccountResponse::accountNumber)
+                .toArray());
+        var result = new ArrayList<AccountResponse>(responses.size());
+        for (var i = 0; i < responses.size(); i++) {
+            var response = responses.get(i);
+            if (balances[i] == LedgerEngine.MISSING_BALANCE) {
+                result.add(response);
+            } else {
+                result.add(new AccountResponse(response.fullName(), response.accountNumber(),
+                        Money.ofMinorUnits(balances[i])));
+            }
+        }
+        return result;
+    }
+
+    private int findShardCount(long id) {
+        return repository.findShardCountById(id)
+                .orElseThrow(() -> new AccountNotFoundException(ACCOUNT_NOT_FOUND_MSG));
     }
 
     private Account findAccountWithLock(long id) {
-        return repository.findByIdWithLock(id)
+        return transactionMetrics.recordLockAcquire(() -> repository.findByIdWithLock(id))
                 .orElseThrow(() -> new AccountNotFoundException(ACCOUNT_NOT_FOUND_MSG));
     }
+
+    private Account findUnshardedAccountForUpdate(long id) {
+        if (engineProperties.mode() != EngineMode.OPTIMISTIC || contentionTracker.isPessimistic(id)) {
+            return findUnshardedAccountWithLock(id);
+        }
+        contentionTracker.recordAttempt(id);
+        return repository.findUnshardedById(id).orElse(null);
+    }
+
+    private Account saveVersioned(Account account) {
+        var saved = repository.save(account);
+        flushVersioned(List.of(saved));
+        return saved;
+    }
+
+    /**
+     * Flushes right away in optimistic mode, so a version conflict surfaces here and is counted against
+     * the account that caused it, or against all of them when the batched update doesn't tell.
+     */
+    private void flushVersioned(List<Account> accounts) {
+        if (engineProperties.mode() != EngineMode.OPTIMISTIC) {
+            return;
+        }
+        try {
+            repository.flush();
+        } catch (ObjectOptimisticLockingFailureException e) {
+            accounts.stream()
+                    .map(Account::getId)
+                    .filter(id -> e.getIdentifier() == null || id.equals(e.getIdentifier()))
+                    .forEach(contentionTracker::recordConflict);
+            throw e;
+        }
+    }
+
+    private Account findUnshardedAccountWithLock(long id) {
+        return transactionMetrics.recordLockAcquire(() -> repository.findUnshardedByIdWithLock(id))
+                .orElse(null);
+    }
 }
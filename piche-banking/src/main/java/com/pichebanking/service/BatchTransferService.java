@@ -0,0 +1,47 @@
+package com.pichebanking.service;
+
+import com.pichebanking.api.dto.request.TransferFundsRequest;
+import com.pichebanking.api.dto.response.BatchTransferItemResponse;
+import com.pichebanking.api.dto.response.BatchTransferResponse;
+import com.pichebanking.config.BatchProperties;
+import com.pichebanking.util.enums.TransferStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.pichebanking.util.constant.ExceptionMessage.ACCOUNTS_LOCK_FAILED_MSG;
+
+/**
+ * Applies a list of transfers chunk by chunk, every chunk is committed in its own transaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class BatchTransferService {
+
+    private final TransactionService transactionService;
+    private final BatchProperties batchProperties;
+
+    public BatchTransferResponse transferFunds(List<TransferFundsRequest> requests) {
+        var items = new ArrayList<BatchTransferItemResponse>(requests.size());
+        for (var from = 0; from < requests.size(); from += batchProperties.chunkSize()) {
+            var to = Math.min(from + batchProperties.chunkSize(), requests.size());
+            items.addAll(transferChunk(requests.subList(from, to), from));
+        }
+        var failed = (int) items.stream().filter(item -> item.status() == TransferStatus.FAILED).count();
+        return new BatchTransferResponse(items.size() - failed, failed, items);
+    }
+
+    private List<BatchTransferItemResponse> transferChunk(List<TransferFundsRequest> chunk, int firstIndex) {
+        try {
+            return transactionService.transferFundsChunk(chunk, firstIndex);
+        } catch (ConcurrencyFailureException e) {
+            return IntStream.range(firstIndex, firstIndex + chunk.size())
+                    .mapToObj(index -> BatchTransferItemResponse.failed(index, ACCOUNTS_LOCK_FAILED_MSG))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.pichebanking.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pichebanking.config.IdempotencyProperties;
+import com.pichebanking.dao.entity.IdempotencyRecord;
+import com.pichebanking.dao.repository.IdempotencyRecordRepository;
+import com.pichebanking.exception.IdempotencyKeyInProgressException;
+import com.pichebanking.exception.IdempotencyKeyReusedException;
+import com.pichebanking.util.enums.TransactionType;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.StringJoiner;
+
+import static com.pichebanking.util.constant.ExceptionMessage.IDEMPOTENCY_KEY_REUSED_MSG;
+
+/**
+ * Runs a money movement at most once per idempotency key. A repeat of a completed request is answered
+ * from a bounded in-memory cache or a primary key read, without locking any account. Failed requests
+ * are not remembered, nothing was booked, so they run again when repeated.
+ */
+@Service
+public class IdempotencyService {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final IdempotentOperationRunner idempotentOperationRunner;
+    private final IdempotencyProperties properties;
+    private final Cache<String, IdempotencyRecord> completedRequests;
+
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              IdempotentOperationRunner idempotentOperationRunner,
+                              IdempotencyProperties properties) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.idempotentOperationRunner = idempotentOperationRunner;
+        this.properties = properties;
+        this.completedRequests = Caffeine.newBuilder()
+                .maximumSize(properties.maximumCached())
+                .build();
+    }
+
+    /**
+     * Describes the request a key was used for, a key can only be repeated with the same description.
+     */
+    public static String fingerprint(TransactionType type, Object... values) {
+        var joiner = new StringJoiner(":").add(type.name());
+        for (var value : values) {
+            joiner.add(String.valueOf(value));
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Runs the operation unless a request with this key already completed. Without a key it just runs.
+     *
+     * @throws IdempotencyKeyReusedException     when the key completed a different request
+     * @throws IdempotencyKeyInProgressException when a request with this key is still running
+     */
+    public void execute(String idempotencyKey, String requestFingerprint, Runnable operation) {
+        if (idempotencyKey == null) {
+            operation.run();
+            return;
+        }
+        if (isCompleted(idempotencyKey, requestFingerprint)) {
+            return;
+        }
+        var expiresAt = LocalDateTime.now().plus(properties.timeToLive());
+        try {
+            idempotentOperationRunner.run(idempotencyKey, requestFingerprint, expiresAt, operation);
+        } catch (IdempotencyKeyInProgressException e) {
+            if (isCompleted(idempotencyKey, requestFingerprint)) {
+                return;
+            }
+            throw e;
+        }
+        completedRequests.put(idempotencyKey, new IdempotencyRecord()
+                .setIdempotencyKey(idempotencyKey)
+                .setRequestFingerprint(requestFingerprint)
+                .setExpiresAt(expiresAt));
+    }
+
+    /**
+     * Deletes expired keys in batches, each batch in its own transaction so the table is never locked for long.
+     */
+    @Scheduled(initialDelayString = "${piche.idempotency.purge-interval}",
+            fixedDelayString = "${piche.idempotency.purge-interval}")
+    public void purgeExpiredKeys() {
+        var now = LocalDateTime.now();
+        List<String> expiredKeys;
+        do {
+            expiredKeys = idempotencyRecordRepository.findExpiredKeys(now, Limit.of(properties.purgeBatchSize()));
+            if (!expiredKeys.isEmpty()) {
+                idempotencyRecordRepository.deleteAllByIdInBatch(expiredKeys);
+                completedRequests.invalidateAll(expiredKeys);
+            }
+        } while (expiredKeys.size() == properties.purgeBatchSize());
+    }
+
+    private boolean isCompleted(String idempotencyKey, String requestFingerprint) {
+        var now = LocalDateTime.now();
+        var record = completedRequests.getIfPresent(idempotencyKey);
+        if (record == null) {
+            record = idempotencyRecordRepository.findOnPrimary(idempotencyKey).orElse(null);
+            if (record == null) {
+                return false;
+            }
+            completedRequests.put(idempotencyKey, record);
+        }
+        if (!record.getExpiresAt().isAfter(now)) {
+            completedRequests.invalidate(idempotencyKey);
+            return false;
+        }
+        if (!record.getRequestFingerprint().equals(requestFingerprint)) {
+            throw new IdempotencyKeyReusedException(IDEMPOTENCY_KEY_REUSED_MSG);
+        }
+        return true;
+    }
+}
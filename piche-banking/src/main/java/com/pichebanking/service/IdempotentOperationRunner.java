@@ -0,0 +1,41 @@
+package com.pichebanking.service;
+
+import com.pichebanking.dao.repository.IdempotencyRecordRepository;
+import com.pichebanking.exception.IdempotencyKeyInProgressException;
+import com.pichebanking.util.annotation.RetryOnLockFailure;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static com.pichebanking.util.constant.ExceptionMessage.IDEMPOTENCY_KEY_IN_PROGRESS_MSG;
+
+/**
+ * Stores the key in the same transaction as the movement, they commit or roll back together.
+ * The movement joins this transaction, so its lock failures re-run the insert and the movement as one.
+ */
+@Service
+@RequiredArgsConstructor
+public class IdempotentOperationRunner {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+
+    /**
+     * Only a duplicate key is reported as in progress, failures of the movement propagate unchanged.
+     *
+     * @throws IdempotencyKeyInProgressException when another request holds the key
+     */
+    @RetryOnLockFailure
+    @Transactional
+    public void run(String idempotencyKey, String requestFingerprint, LocalDateTime expiresAt, Runnable operation) {
+        idempotencyRecordRepository.deleteIfExpired(idempotencyKey, LocalDateTime.now());
+        try {
+            idempotencyRecordRepository.insert(idempotencyKey, requestFingerprint, expiresAt);
+        } catch (DataIntegrityViolationException e) {
+            throw new IdempotencyKeyInProgressException(IDEMPOTENCY_KEY_IN_PROGRESS_MSG);
+        }
+        operation.run();
+    }
+}
@@ -0,0 +1,176 @@
+package com.pichebanking.service;
+
+import com.pichebanking.api.dto.request.TransferFundsRequest;
+import com.pichebanking.api.dto.response.BatchTransferItemResponse;
+import com.pichebanking.api.dto.response.TransactionResponse;
+import com.pichebanking.dao.entity.Account;
+import com.pichebanking.dao.entity.OutboxEvent;
+import com.pichebanking.dao.entity.PicheTransaction;
+import com.pichebanking.dao.repository.OutboxEventRepository;
+import com.pichebanking.dao.repository.PicheTransactionRepository;
+import com.pichebanking.exception.AccountNotFoundException;
+import com.pichebanking.exception.InsufficientFundsException;
+import com.pichebanking.helper.metrics.TransactionMetrics;
+import com.pichebanking.service.feed.BalanceFeed;
+import com.pichebanking.util.annotation.RetryOnLockFailure;
+import com.pichebanking.util.enums.TransactionType;
+import com.pichebanking.util.model.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.pichebanking.util.constant.ExceptionMessage.ACCOUNT_NOT_FOUND_MSG;
+import static com.pichebanking.util.enums.TransactionType.*;
+
+/**
+ * Default engine, every movement runs in a database transaction and is recorded in the transaction table.
+ * The same transaction queues an outbox event for the movement, published later by the outbox relay,
+ * and subscribers of the balance feed are notified once it has committed.
+ */
+@Service
+@RequiredArgsConstructor
+public class JpaTransactionService implements TransactionService {
+
+    private final PicheTransactionRepository repository;
+    private final AccountService accountService;
+    private final TransactionMetrics transactionMetrics;
+    private final OutboxEventRepository outboxEventRepository;
+    private final BalanceFeed balanceFeed;
+
+    @Override
+    @RetryOnLockFailure
+    @Transactional
+    public void transferFunds(TransferFundsRequest request) {
+        transactionMetrics.record(TRANSFER, () -> {
+            var accountsIds = List.of(request.sourceAccountId(), request.targetAccountId());
+            var accounts = accountService.findAccountsForUpdate(accountsIds);
+            var sourceAccount = getAccountFromList(accounts, request.sourceAccountId());
+            var targetAccount = getAccountFromList(accounts, request.targetAccountId());
+            accountService.transferFundsBetweenTwoAccounts(sourceAccount, targetAccount, request.funds());
+            var transaction = constructTransaction(sourceAccount, targetAccount, request.funds(), TRANSFER);
+            recordTransaction(transaction);
+        });
+    }
+
+    /**
+     * Applies transfers of one chunk in a single transaction. All accounts of the chunk are locked, or read
+     * for an optimistic update, up front, a failed transfer is reported and skipped without rolling back the others.
+     */
+    @Override
+    @RetryOnLockFailure
+    @Transactional
+    public List<BatchTransferItemResponse> transferFundsChunk(List<TransferFundsRequest> requests, int firstIndex) {
+        return transactionMetrics.record(TRANSFER, () -> applyTransfers(requests, firstIndex));
+    }
+
+    @Override
+    @RetryOnLockFailure
+    @Transactional
+    public void depositFunds(Long id, Money funds) {
+        transactionMetrics.record(DEPOSIT, () -> {
+            var account = accountService.depositFunds(id, funds);
+            var transaction = constructTransaction(account, null, funds, DEPOSIT);
+            recordTransaction(transaction);
+        });
+    }
+
+    @Override
+    @RetryOnLockFailure
+    @Transactional
+    public void withdrawFunds(Long id, Money funds) {
+        transactionMetrics.record(WITHDRAW, () -> {
+            var account = accountService.withdrawFunds(id, funds);
+            var transaction = constructTransaction(account, null, funds, WITHDRAW);
+            recordTransaction(transaction);
+        });
+    }
+
+    /**
+     * Returns transactions of the account older than {@code beforeId}, newest first. Outgoing and incoming
+     * transactions are read with two index range scans and merged, the accounts themselves are never joined.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TransactionResponse> getTransactions(long accountId, TransactionType type,
+                                                     LocalDateTime from, LocalDateTime to,
+                                                     long beforeId, int limit) {
+        accountService.checkAccountExists(accountId);
+        var outgoing = repository.findHistoryBySourceAccount(accountId, beforeId, type, from, to, Limit.of(limit));
+        var incoming = repository.findHistoryByTargetAccount(accountId, beforeId, type, from, to, Limit.of(limit));
+        return Stream.concat(outgoing.stream(), incoming.stream())
+                .sorted(Comparator.comparingLong(TransactionResponse::transactionId).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private List<BatchTransferItemResponse> applyTransfers(List<TransferFundsRequest> requests, int firstIndex) {
+        var accountsIds = requests.stream()
+                .flatMap(request -> Stream.of(request.sourceAccountId(), request.targetAccountId()))
+                .distinct()
+                .toList();
+        Map<Long, Account> accounts = accountService.findAccountsForUpdate(accountsIds).stream()
+                .collect(Collectors.toMap(Account::getId, Function.identity()));
+
+        var items = new ArrayList<BatchTransferItemResponse>(requests.size());
+        for (var i = 0; i < requests.size(); i++) {
+            var request = requests.get(i);
+            var sourceAccount = accounts.get(request.sourceAccountId());
+            var targetAccount = accounts.get(request.targetAccountId());
+            if (sourceAccount == null || targetAccount == null) {
+                transactionMetrics.countFailure(TRANSFER, AccountNotFoundException.class);
+                items.add(BatchTransferItemResponse.failed(firstIndex + i, ACCOUNT_NOT_FOUND_MSG));
+                continue;
+            }
+            try {
+                accountService.transferFundsBetweenTwoAccounts(sourceAccount, targetAccount, request.funds());
+            } catch (InsufficientFundsException e) {
+                transactionMetrics.countFailure(TRANSFER, InsufficientFundsException.class);
+                items.add(BatchTransferItemResponse.failed(firstIndex + i, e.getMessage()));
+                continue;
+            }
+            var transaction = recordTransaction(
+                    constructTransaction(sourceAccount, targetAccount, request.funds(), TRANSFER));
+            items.add(BatchTransferItemResponse.completed(firstIndex + i, transaction.getId()));
+        }
+        return items;
+    }
+
+    private PicheTransaction recordTransaction(PicheTransaction transaction) {
+        var saved = repository.save(transaction);
+        var targetAccount = transaction.getTargetAccount();
+        outboxEventRepository.save(new OutboxEvent()
+                .setTransactionId(transaction.getId())
+                .setTransactionType(transaction.getTransactionType())
+                .setSourceAccountId(transaction.getSourceAccount().getId())
+                .setTargetAccountId(targetAccount == null ? null : targetAccount.getId())
+                .setFunds(transaction.getFunds()));
+        balanceFeed.publishAfterCommit(transaction);
+        return saved;
+    }
+
+    private Account getAccountFromList(List<Account> accounts, long accountId) {
+        return accounts.stream().filter(account -> account.getId().equals(accountId))
+                .findFirst()
+                .orElseThrow(() -> new AccountNotFoundException(ACCOUNT_NOT_FOUND_MSG));
+    }
+
+    private PicheTransaction constructTransaction(Account sourceAccount, Account targetAccount,
+                                                  Money funds, TransactionType type) {
+
+        return new PicheTransaction()
+                .setTransactionType(type)
+                .setFunds(funds)
+                .setSourceAccount(sourceAccount)
+                .setTargetAccount(targetAccount);
+    }
+}
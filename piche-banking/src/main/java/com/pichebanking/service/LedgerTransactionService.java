@@ -0,0 +1,95 @@
+package com.pichebanking.service;
+
+import com.pichebanking.api.dto.request.TransferFundsRequest;
+import com.pichebanking.api.dto.response.BatchTransferItemResponse;
+import com.pichebanking.api.dto.response.TransactionResponse;
+import com.pichebanking.config.OnLedgerEngineCondition;
+import com.pichebanking.exception.AccountNotFoundException;
+import com.pichebanking.exception.InsufficientFundsException;
+import com.pichebanking.helper.metrics.TransactionMetrics;
+import com.pichebanking.service.ledger.LedgerEngine;
+import com.pichebanking.util.enums.TransactionType;
+import com.pichebanking.util.model.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static com.pichebanking.config.CacheConfig.ACCOUNTS_CACHE;
+import static com.pichebanking.util.enums.TransactionType.*;
+
+/**
+ * Moves money in the {@link LedgerEngine} instead of the database, no database transaction is opened.
+ * The ledger journal is the record of these movements, they don't appear in the transaction history.
+ */
+@Service
+@Primary
+@Conditional(OnLedgerEngineCondition.class)
+@RequiredArgsConstructor
+public class LedgerTransactionService implements TransactionService {
+
+    private final LedgerEngine ledgerEngine;
+    private final JpaTransactionService jpaTransactionService;
+    private final TransactionMetrics transactionMetrics;
+    private final CacheManager cacheManager;
+
+    @Override
+    public void transferFunds(TransferFundsRequest request) {
+        transactionMetrics.record(TRANSFER, () -> ledgerEngine.transfer(
+                request.sourceAccountId(), request.targetAccountId(), request.funds().minorUnits()));
+        evictSnapshots(request.sourceAccountId(), request.targetAccountId());
+    }
+
+    @Override
+    public List<BatchTransferItemResponse> transferFundsChunk(List<TransferFundsRequest> requests, int firstIndex) {
+        return transactionMetrics.record(TRANSFER, () -> {
+            var items = new ArrayList<BatchTransferItemResponse>(requests.size());
+            for (var i = 0; i < requests.size(); i++) {
+                var request = requests.get(i);
+                try {
+                    ledgerEngine.transfer(request.sourceAccountId(), request.targetAccountId(),
+                            request.funds().minorUnits());
+                } catch (AccountNotFoundException | InsufficientFundsException e) {
+                    transactionMetrics.countFailure(TRANSFER, e.getClass());
+                    items.add(BatchTransferItemResponse.failed(firstIndex + i, e.getMessage()));
+                    continue;
+                }
+                evictSnapshots(request.sourceAccountId(), request.targetAccountId());
+                items.add(BatchTransferItemResponse.completed(firstIndex + i, null));
+            }
+            return items;
+        });
+    }
+
+    @Override
+    public void depositFunds(Long id, Money funds) {
+        transactionMetrics.record(DEPOSIT, () -> ledgerEngine.deposit(id, funds.minorUnits()));
+        evictSnapshots(id);
+    }
+
+    @Override
+    public void withdrawFunds(Long id, Money funds) {
+        transactionMetrics.record(WITHDRAW, () -> ledgerEngine.withdraw(id, funds.minorUnits()));
+        evictSnapshots(id);
+    }
+
+    @Override
+    public List<TransactionResponse> getTransactions(long accountId, TransactionType type,
+                                                     LocalDateTime from, LocalDateTime to,
+                                                     long beforeId, int limit) {
+        return jpaTransactionService.getTransactions(accountId, type, from, to, beforeId, limit);
+    }
+
+    private void evictSnapshots(Long... accountIds) {
+        var cache = Objects.requireNonNull(cacheManager.getCache(ACCOUNTS_CACHE));
+        for (var accountId : accountIds) {
+            cache.evict(accountId);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.pichebanking.service;
+
+import com.pichebanking.api.dto.response.AccountResponse;
+import com.pichebanking.api.dto.response.TransactionResponse;
+import com.pichebanking.config.ReconciliationProperties;
+import com.pichebanking.dao.entity.AccountBalanceSnapshot;
+import com.pichebanking.dao.entity.BalanceMismatch;
+import com.pichebanking.dao.entity.ReconciliationRun;
+import com.pichebanking.dao.repository.AccountBalanceSnapshotRepository;
+import com.pichebanking.dao.repository.AccountRepository;
+import com.pichebanking.dao.repository.BalanceMismatchRepository;
+import com.pichebanking.dao.repository.PicheTransactionRepository;
+import com.pichebanking.dao.repository.ReconciliationRunRepository;
+import com.pichebanking.util.model.Money;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Checks that account balances match the recorded transactions without scanning the whole history.
+ * A run covers the transactions between the previous watermark and a new one: for every account they touched,
+ * the snapshot at the previous watermark plus their amounts must equal the balance at the new watermark.
+ * <p>
+ * The run reads in one repeatable read transaction, a consistent snapshot in H2 and PostgreSQL, so balances
+ * and transactions committed meanwhile are invisible and no row is locked. Transactions after the new watermark
+ * that are already visible are subtracted from the balance. Memory grows with the number of accounts touched
+ * since the previous run, not with the number of transactions.
+ * <p>
+ * The first snapshot of an account is its balance, an account is verified from its first run on.
+ */
+@Service
+public class ReconciliationService {
+
+    public static final String MISMATCHES_COUNTER = "piche.reconciliation.mismatches";
+
+    private static final int ACCOUNT_CHUNK_SIZE = 500;
+
+    private final PicheTransactionRepository picheTransactionRepository;
+    private final AccountRepository accountRepository;
+    private final AccountBalanceSnapshotRepository snapshotRepository;
+    private final ReconciliationRunRepository runRepository;
+    private final BalanceMismatchRepository mismatchRepository;
+    private final EntityManager entityManager;
+    private final ReconciliationProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter mismatchCounter;
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    public ReconciliationService(PicheTransactionRepository picheTransactionRepository,
+                                 AccountRepository accountRepository,
+                                 AccountBalanceSnapshotRepository snapshotRepository,
+                                 ReconciliationRunRepository runRepository,
+                                 BalanceMismatchRepository mismatchRepository,
+                                 EntityManager entityManager,
+                                 ReconciliationProperties properties,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry registry) {
+        this.picheTransactionRepository = picheTransactionRepository;
+        this.accountRepository = accountRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.runRepository = runRepository;
+        this.mismatchRepository = mismatchRepository;
+        this.entityManager = entityManager;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.mismatchCounter = Counter.builder(MISMATCHES_COUNTER)
+                .description("Accounts whose balance did not match their transactions")
+                .register(registry);
+    }
+
+    @Scheduled(initialDelayString = "${piche.reconciliation.interval}",
+            fixedDelayString = "${piche.reconciliation.interval}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    /**
+     * Runs one reconciliation, a run started meanwhile waits for it to finish.
+     */
+    public ReconciliationRun reconcile() {
+        runLock.lock();
+        try {
+            var run = transactionTemplate.execute(status -> reconcileInSnapshot());
+            mismatchCounter.increment(run.getMismatches());
+            return run;
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    public List<BalanceMismatch> getMismatches(int limit) {
+        return mismatchRepository.findByOrderByIdDesc(Limit.of(limit));
+    }
+
+    private ReconciliationRun reconcileInSnapshot() {
+        var previousWatermark = runRepository.findFirstByOrderByIdDesc().map(ReconciliationRun::getWatermark);
+        var settledId = picheTransactionRepository.findMaxIdAfter(previousWatermark.orElse(0L),
+                LocalDateTime.now().minus(properties.settleTime()));
+        var watermark = settledId == null ? previousWatermark.orElse(0L) : settledId;
+        var run = runRepository.save(new ReconciliationRun()
+                .setWatermark(watermark)
+                .setTransactions(0L)
+                .setAccounts(0L)
+                .setMismatches(0L)
+                .setFinishedAt(LocalDateTime.now()));
+
+        // without snapshots the transactions up to the watermark are not needed, the balances become the snapshots
+        var changes = new HashMap<Long, BalanceChange>();
+        var transactions = 0L;
+        try (var stream = picheTransactionRepository.streamAfter(previousWatermark.orElse(watermark))) {
+            for (var iterator = stream.iterator(); iterator.hasNext(); transactions++) {
+                apply(changes, iterator.next(), watermark);
+            }
+        }
+
+        var accounts = snapshotNewAccounts(changes, watermark);
+        var mismatches = 0L;
+        var touched = new ArrayList<>(changes.keySet());
+        for (var start = 0; start < touched.size(); start += ACCOUNT_CHUNK_SIZE) {
+            var chunk = touched.subList(start, Math.min(start + ACCOUNT_CHUNK_SIZE, touched.size()));
+            mismatches += reconcileChunk(chunk, changes, run, watermark);
+            accounts += chunk.size();
+        }
+        return runRepository.save(run
+                .setTransactions(transactions)
+                .setAccounts(accounts)
+                .setMismatches(mismatches)
+                .setFinishedAt(LocalDateTime.now()));
+    }
+
+    private static void apply(Map<Long, BalanceChange> changes, TransactionResponse transaction, long watermark) {
+        var amount = transaction.funds().minorUnits();
+        var afterWatermark = transaction.transactionId() > watermark;
+        switch (transaction.transactionType()) {
+            case DEPOSIT -> change(changes, transaction.sourceAccountNumber()).add(amount, afterWatermark);
+            case WITHDRAW -> change(changes, transaction.sourceAccountNumber()).add(-amount, afterWatermark);
+            case TRANSFER -> {
+                change(changes, transaction.sourceAccountNumber()).add(-amount, afterWatermark);
+                change(changes, transaction.targetAccountNumber()).add(amount, afterWatermark);
+            }
+        }
+    }
+
+    private static BalanceChange change(Map<Long, BalanceChange> changes, Long accountId) {
+        return changes.computeIfAbsent(accountId, id -> new BalanceChange());
+    }
+
+    /**
+     * Snapshots accounts seen for the first time that no covered transaction touched, the touched ones
+     * are snapshotted with their chunk.
+     */
+    private long snapshotNewAccounts(Map<Long, BalanceChange> changes, long watermark) {
+        var count = 0L;
+        var snapshots = new ArrayList<AccountBalanceSnapshot>(ACCOUNT_CHUNK_SIZE);
+        try (var stream = accountRepository.streamWithoutBalanceSnapshot()) {
+            for (var iterator = stream.iterator(); iterator.hasNext(); ) {
+                var account = iterator.next();
+                if (changes.containsKey(account.accountNumber())) {
+                    continue;
+                }
+                snapshots.add(snapshot(account.accountNumber(), account.balance(), watermark));
+                if (snapshots.size() == ACCOUNT_CHUNK_SIZE) {
+                    count += saveAndClear(snapshots);
+                }
+            }
+        }
+        return count + saveAndClear(snapshots);
+    }
+
+    private long reconcileChunk(List<Long> accountIds, Map<Long, BalanceChange> changes,
+                                ReconciliationRun run, long watermark) {
+        var snapshots = snapshotRepository.findAllById(accountIds).stream()
+                .collect(Collectors.toMap(AccountBalanceSnapshot::getAccountId, Function.identity()));
+        var balances = accountRepository.findResponsesByIdIn(accountIds).stream()
+                .collect(Collectors.toMap(AccountResponse::accountNumber, AccountResponse::balance));
+        var newSnapshots = new ArrayList<AccountBalanceSnapshot>();
+        var mismatches = new ArrayList<BalanceMismatch>();
+        for (var accountId : accountIds) {
+            var change = changes.get(accountId);
+            var actual = Money.ofMinorUnits(balances.get(accountId).minorUnits() - change.afterWatermark);
+            var snapshot = snapshots.get(accountId);
+            if (snapshot == null) {
+                newSnapshots.add(snapshot(accountId, actual, watermark));
+                continue;
+            }
+            var expected = Money.ofMinorUnits(snapshot.getBalance().minorUnits() + change.upToWatermark);
+            if (!expected.equals(actual)) {
+                mismatches.add(new BalanceMismatch()
+                        .setRunId(run.getId())
+                        .setAccountId(accountId)
+                        .setWatermark(watermark)
+                        .setExpectedBalance(expected)
+                        .setActualBalance(actual)
+                        .setDetectedAt(LocalDateTime.now()));
+            }
+            snapshot.setBalance(actual).setWatermark(watermark);
+        }
+        mismatchRepository.saveAll(mismatches);
+        saveAndClear(newSnapshots);
+        return mismatches.size();
+    }
+
+    private static AccountBalanceSnapshot snapshot(Long accountId, Money balance, long watermark) {
+        return new AccountBalanceSnapshot().setAccountId(accountId).setBalance(balance).setWatermark(watermark);
+    }
+
+    /**
+     * Persists the new snapshots, writes the pending changes and detaches the entities, so a run over
+     * many accounts keeps at most one chunk of them in memory. {@code persist} instead of {@code save},
+     * which would read every snapshot by its assigned id first.
+     */
+    private int saveAndClear(List<AccountBalanceSnapshot> snapshots) {
+        var count = snapshots.size();
+        snapshots.forEach(entityManager::persist);
+        entityManager.flush();
+        entityManager.clear();
+        snapshots.clear();
+        return count;
+    }
+
+    private static final class BalanceChange {
+
+        private long upToWatermark;
+        private long afterWatermark;
+
+        private void add(long amount, boolean isAfterWatermark) {
+            if (isAfterWatermark) {
+                afterWatermark += amount;
+            } else {
+                upToWatermark += amount;
+            }
+        }
+    }
+}
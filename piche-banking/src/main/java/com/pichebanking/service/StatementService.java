@@ -0,0 +1,71 @@
+package com.pichebanking.service;
+
+import com.pichebanking.api.dto.response.TransactionResponse;
+import com.pichebanking.dao.repository.PicheTransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * Pushes statement rows to a consumer straight from forward-only cursors. Rows are read as
+ * {@link TransactionResponse} projections, no transaction entity enters the persistence context.
+ */
+@Service
+@RequiredArgsConstructor
+public class StatementService {
+
+    private final PicheTransactionRepository repository;
+
+    /**
+     * Transactions of the account oldest first. Outgoing and incoming transactions are read with two cursors
+     * along the history indexes and merged by id.
+     */
+    @Transactional(readOnly = true)
+    public void exportStatement(long accountId, LocalDateTime from, LocalDateTime to,
+                                Consumer<TransactionResponse> consumer) {
+        try (var outgoing = repository.streamStatementBySourceAccount(accountId, from, to);
+             var incoming = repository.streamStatementByTargetAccount(accountId, from, to)) {
+            mergeById(outgoing.iterator(), incoming.iterator(), consumer);
+        }
+    }
+
+    /**
+     * Transactions of all accounts created in the {@code [from, to)} range, oldest first.
+     */
+    @Transactional(readOnly = true)
+    public void exportStatements(LocalDateTime from, LocalDateTime to, Consumer<TransactionResponse> consumer) {
+        try (var transactions = repository.streamCreatedBetween(from, to)) {
+            transactions.forEach(consumer);
+        }
+    }
+
+    /**
+     * A transaction found by both cursors is passed on once.
+     */
+    private static void mergeById(Iterator<TransactionResponse> first, Iterator<TransactionResponse> second,
+                                  Consumer<TransactionResponse> consumer) {
+        var left = nextOrNull(first);
+        var right = nextOrNull(second);
+        while (left != null || right != null) {
+            if (right == null || left != null && left.transactionId() < right.transactionId()) {
+                consumer.accept(left);
+                left = nextOrNull(first);
+            } else if (left == null || right.transactionId() < left.transactionId()) {
+                consumer.accept(right);
+                right = nextOrNull(second);
+            } else {
+                consumer.accept(left);
+                left = nextOrNull(first);
+                right = nextOrNull(second);
+            }
+        }
+    }
+
+    private static TransactionResponse nextOrNull(Iterator<TransactionResponse> iterator) {
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+}
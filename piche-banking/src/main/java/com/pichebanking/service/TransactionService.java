@@ -1,66 +1,32 @@
 package com.pichebanking.service;
 
 import com.pichebanking.api.dto.request.TransferFundsRequest;
-import com.pichebanking.dao.entity.Account;
-import com.pichebanking.dao.entity.PicheTransaction;
-import com.pichebanking.dao.repository.PicheTransactionRepository;
-import com.pichebanking.exception.AccountNotFoundException;
+import com.pichebanking.api.dto.response.BatchTransferItemResponse;
+import com.pichebanking.api.dto.response.TransactionResponse;
 import com.pichebanking.util.enums.TransactionType;
-import lombok.RequiredArgsConstructor;
-import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import com.pichebanking.util.model.Money;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
-import static com.pichebanking.util.constant.ExceptionMessage.ACCOUNT_NOT_FOUND_MSG;
-import static com.pichebanking.util.enums.TransactionType.*;
+/**
+ * Moves money between accounts. {@link JpaTransactionService} is the default implementation,
+ * {@link LedgerTransactionService} replaces it when {@code piche.engine.mode} is {@code in-memory-ledger}.
+ */
+public interface TransactionService {
 
-@Service
-@RequiredArgsConstructor
-public class TransactionService {
+    void transferFunds(TransferFundsRequest request);
 
-    private final PicheTransactionRepository repository;
-    private final AccountService accountService;
+    /**
+     * Applies transfers of one chunk, a failed transfer is reported and skipped without undoing the others.
+     */
+    List<BatchTransferItemResponse> transferFundsChunk(List<TransferFundsRequest> requests, int firstIndex);
 
-    @Transactional
-    public void transferFunds(TransferFundsRequest request) {
-        var accountsIds = List.of(request.sourceAccountId(), request.targetAccountId());
-        var accounts = accountService.findAccountsWithLock(accountsIds);
-        var sourceAccount = getAccountFromList(accounts, request.sourceAccountId());
-        var targetAccount = getAccountFromList(accounts, request.targetAccountId());
-        accountService.transferFundsBetweenTwoAccounts(sourceAccount, targetAccount, request.funds());
-        var transaction = constructTransaction(sourceAccount, targetAccount, request.funds(), TRANSFER);
-        repository.save(transaction);
-    }
+    void depositFunds(Long id, Money funds);
 
-    @Transactional
-    public void depositFunds(Long id, BigDecimal funds) {
-        var account = accountService.depositFunds(id, funds);
-        var transaction = constructTransaction(account, null, funds, DEPOSIT);
-        repository.save(transaction);
-    }
+    void withdrawFunds(Long id, Money funds);
 
-    @Transactional
-    public void withdrawFunds(Long id, BigDecimal funds) {
-        var account = accountService.withdrawFunds(id, funds);
-        var transaction = constructTransaction(account, null, funds, WITHDRAW);
-        repository.save(transaction);
-    }
-
-    private Account getAccountFromList(List<Account> accounts, long accountId) {
-        return accounts.stream().filter(account -> account.getId().equals(accountId))
-                .findFirst()
-                .orElseThrow(() -> new AccountNotFoundException(ACCOUNT_NOT_FOUND_MSG));
-    }
-
-    private PicheTransaction constructTransaction(Account sourceAccount, Account targetAccount,
-                                                  BigDecimal funds, TransactionType type) {
-
-        return new PicheTransaction()
-                .setTransactionType(type)
-                .setFunds(funds)
-                .setSourceAccount(sourceAccount)
-                .setTargetAccount(targetAccount);
-    }
+    List<TransactionResponse> getTransactions(long accountId, TransactionType type,
+                                              LocalDateTime from, LocalDateTime to,
+                                              long beforeId, int limit);
 }
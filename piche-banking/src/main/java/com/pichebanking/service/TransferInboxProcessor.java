@@ -0,0 +1,44 @@
+package com.pichebanking.service;
+
+import com.pichebanking.api.dto.request.TransferFundsRequest;
+import com.pichebanking.dao.entity.TransferInboxEntry;
+import com.pichebanking.dao.repository.TransferInboxRepository;
+import com.pichebanking.util.annotation.RetryOnLockFailure;
+import com.pichebanking.util.enums.TransferStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Applies one accepted transfer. The transfer joins the transaction that completes the inbox entry,
+ * so after a crash an entry is either still pending or its transfer is committed. This holds for the database
+ * engines only, which is why the inbox is not available with the in-memory ledger.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransferInboxProcessor {
+
+    private final TransactionService transactionService;
+    private final TransferInboxRepository transferInboxRepository;
+
+    /**
+     * The entry is claimed before the money moves. An entry that is no longer pending, because it was finished
+     * meanwhile or is read a second time, is left alone, and a concurrent claim waits for the row lock.
+     */
+    @RetryOnLockFailure
+    @Transactional
+    public void complete(TransferInboxEntry entry) {
+        if (transferInboxRepository.finish(entry.getId(), TransferStatus.COMPLETED, null, LocalDateTime.now()) != 1) {
+            return;
+        }
+        transactionService.transferFunds(new TransferFundsRequest(entry.getSourceAccountId(),
+                entry.getTargetAccountId(), entry.getFunds()));
+    }
+
+    @Transactional
+    public void fail(TransferInboxEntry entry, String errorMessage) {
+        transferInboxRepository.finish(entry.getId(), TransferStatus.FAILED, errorMessage, LocalDateTime.now());
+    }
+}
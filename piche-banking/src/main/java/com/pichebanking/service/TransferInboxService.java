@@ -0,0 +1,61 @@
+package com.pichebanking.service;
+
+import com.pichebanking.api.dto.request.TransferFundsRequest;
+import com.pichebanking.config.EngineProperties;
+import com.pichebanking.dao.entity.TransferInboxEntry;
+import com.pichebanking.dao.repository.TransferInboxRepository;
+import com.pichebanking.exception.TransferInboxUnavailableException;
+import com.pichebanking.exception.TransferNotFoundException;
+import com.pichebanking.util.enums.EngineMode;
+import com.pichebanking.util.enums.TransferStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import static com.pichebanking.util.constant.ExceptionMessage.TRANSFER_INBOX_UNAVAILABLE_MSG;
+import static com.pichebanking.util.constant.ExceptionMessage.TRANSFER_NOT_FOUND_MSG;
+
+/**
+ * Accepts transfers into the inbox table, the {@link TransferInboxWorkers} apply them afterwards.
+ * Not available with the {@link EngineMode#IN_MEMORY_LEDGER} engine: the ledger applies a transfer outside the
+ * database transaction that completes its entry, so an entry could be applied twice.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransferInboxService {
+
+    /**
+     * Fixed, so a pending entry keeps its partition when the number of workers changes between restarts.
+     */
+    public static final int PARTITIONS = 64;
+
+    private final TransferInboxRepository transferInboxRepository;
+    private final TransferInboxWorkers transferInboxWorkers;
+    private final EngineProperties engineProperties;
+
+    /**
+     * Transfers from the same source account share a partition. Transfers touching the same account, as source or
+     * as target, are applied in the order they were accepted. The entry is committed before its worker is woken up,
+     * so the worker always finds it.
+     *
+     * @throws TransferInboxUnavailableException with the in-memory ledger engine
+     */
+    public TransferInboxEntry submit(TransferFundsRequest request) {
+        if (engineProperties.mode() == EngineMode.IN_MEMORY_LEDGER) {
+            throw new TransferInboxUnavailableException(TRANSFER_INBOX_UNAVAILABLE_MSG);
+        }
+        var partition = Math.floorMod(request.sourceAccountId(), PARTITIONS);
+        var entry = transferInboxRepository.save(new TransferInboxEntry()
+                .setSourceAccountId(request.sourceAccountId())
+                .setTargetAccountId(request.targetAccountId())
+                .setFunds(request.funds())
+                .setPartitionNo(partition)
+                .setStatus(TransferStatus.PENDING));
+        transferInboxWorkers.wakeUp(partition);
+        return entry;
+    }
+
+    public TransferInboxEntry getTransfer(Long id) {
+        return transferInboxRepository.findOnPrimary(id)
+                .orElseThrow(() -> new TransferNotFoundException(TRANSFER_NOT_FOUND_MSG));
+    }
+}
@@ -0,0 +1,169 @@
+package com.pichebanking.service;
+
+import com.pichebanking.config.EngineProperties;
+import com.pichebanking.config.InboxProperties;
+import com.pichebanking.dao.entity.TransferInboxEntry;
+import com.pichebanking.dao.repository.TransferInboxRepository;
+import com.pichebanking.exception.AccountNotFoundException;
+import com.pichebanking.exception.InsufficientFundsException;
+import com.pichebanking.util.enums.EngineMode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static com.pichebanking.service.TransferInboxService.PARTITIONS;
+import static com.pichebanking.util.constant.ExceptionMessage.TRANSFER_REJECTED_MSG;
+
+/**
+ * Threads applying accepted transfers. Worker {@code n} owns the partitions {@code p} with
+ * {@code p % workers == n} and applies their entries one by one in id order. A partition only holds the transfers
+ * of its source accounts, so an entry also waits while an older entry touching its source or target account is
+ * pending in another partition. Transfers of one account, debits and credits alike, never overtake each other while
+ * unrelated accounts are applied in parallel.
+ * No worker is started with the {@link EngineMode#IN_MEMORY_LEDGER} engine, see {@link TransferInboxService}.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransferInboxWorkers implements SmartLifecycle {
+
+    private final TransferInboxRepository transferInboxRepository;
+    private final TransferInboxProcessor transferInboxProcessor;
+    private final InboxProperties properties;
+    private final EngineProperties engineProperties;
+
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile Semaphore[] wakeUps = new Semaphore[0];
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        running = true;
+        if (engineProperties.mode() == EngineMode.IN_MEMORY_LEDGER) {
+            return;
+        }
+        wakeUps = new Semaphore[properties.workers()];
+        for (var worker = 0; worker < properties.workers(); worker++) {
+            wakeUps[worker] = new Semaphore(0);
+            var partitions = partitionsOf(worker);
+            var wakeUp = wakeUps[worker];
+            threads.add(Thread.ofPlatform().name("transfer-inbox-" + worker).start(() -> run(partitions, wakeUp)));
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        for (var wakeUp : wakeUps) {
+            wakeUp.release();
+        }
+        for (var thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        threads.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    void wakeUp(int partition) {
+        var wakeUps = this.wakeUps;
+        if (wakeUps.length > 0) {
+            wakeUps[partition % wakeUps.length].release();
+        }
+    }
+
+    private List<Integer> partitionsOf(int worker) {
+        return IntStream.range(0, PARTITIONS)
+                .filter(partition -> partition % properties.workers() == worker)
+                .boxed()
+                .toList();
+    }
+
+    private void run(List<Integer> partitions, Semaphore wakeUp) {
+        while (running) {
+            var drained = false;
+            try {
+                drained = drain(partitions);
+            } catch (RuntimeException e) {
+                // the database is unavailable or the accounts stayed locked, the entry stays pending and is picked up
+                // again after the pause
+            }
+            if (!drained) {
+                try {
+                    wakeUp.tryAcquire(properties.pollInterval().toMillis(), TimeUnit.MILLISECONDS);
+                    wakeUp.drainPermits();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns {@code true} when a full batch was applied and more entries may be waiting. A waiting entry holds back
+     * the rest of its partition in the batch. Applying a transfer wakes the partition of its target account, other
+     * waiting entries are retried after the poll interval. The oldest pending entry never waits, so all of them
+     * are applied eventually.
+     */
+    private boolean drain(List<Integer> partitions) {
+        var entries = transferInboxRepository.findPending(partitions, Limit.of(properties.batchSize()));
+        var waiting = new HashSet<Integer>();
+        for (var entry : entries) {
+            if (!running) {
+                return false;
+            }
+            if (waiting.contains(entry.getPartitionNo()) || transferInboxRepository.existsPendingBefore(entry.getId(),
+                    List.of(entry.getSourceAccountId(), entry.getTargetAccountId()))) {
+                waiting.add(entry.getPartitionNo());
+                continue;
+            }
+            process(entry);
+            wakeUp(Math.floorMod(entry.getTargetAccountId(), PARTITIONS));
+        }
+        return waiting.isEmpty() && entries.size() == properties.batchSize();
+    }
+
+    private void process(TransferInboxEntry entry) {
+        try {
+            transferInboxProcessor.complete(entry);
+        } catch (AccountNotFoundException | InsufficientFundsException e) {
+            transferInboxProcessor.fail(entry, e.getMessage());
+        } catch (RuntimeException e) {
+            if (isUnavailable(e)) {
+                throw e;
+            }
+            transferInboxProcessor.fail(entry, TRANSFER_REJECTED_MSG);
+        }
+    }
+
+    /**
+     * Connection-level and transient failures, lock timeouts and deadlocks among them, leave the entry pending
+     * and the worker backs off for a poll interval. Any other failure would repeat on every attempt and hold
+     * back the entries behind it in the partition, so the entry is failed instead.
+     */
+    private static boolean isUnavailable(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+}
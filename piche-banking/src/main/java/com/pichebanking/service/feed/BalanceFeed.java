@@ -0,0 +1,370 @@
+package com.pichebanking.service.feed;
+
+import com.pichebanking.api.dto.response.BalanceChangeResponse;
+import com.pichebanking.api.dto.response.TransactionResponse;
+import com.pichebanking.config.BalanceFeedProperties;
+import com.pichebanking.config.EngineProperties;
+import com.pichebanking.dao.entity.PicheTransaction;
+import com.pichebanking.dao.repository.AccountRepository;
+import com.pichebanking.dao.repository.PicheTransactionRepository;
+import com.pichebanking.exception.AccountNotFoundException;
+import com.pichebanking.exception.BalanceFeedFullException;
+import com.pichebanking.exception.BalanceFeedUnavailableException;
+import com.pichebanking.util.enums.EngineMode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static com.pichebanking.util.constant.ExceptionMessage.ACCOUNT_NOT_FOUND_MSG;
+import static com.pichebanking.util.constant.ExceptionMessage.BALANCE_FEED_FULL_MSG;
+import static com.pichebanking.util.constant.ExceptionMessage.BALANCE_FEED_UNAVAILABLE_MSG;
+
+/**
+ * In-process registry of balance change subscriptions, fed after the commit of every recorded movement.
+ * An idle subscriber holds no thread, only its bounded event buffer: a virtual thread is started to drain
+ * the buffer when an event arrives and ends when the buffer is empty. A subscriber whose buffer is full is
+ * evicted, so a slow client never holds back the others or the committing request.
+ * The balance of an event is read in the transaction of its movement while the account row is locked, and
+ * transaction ids taken under that lock grow per account. A subscriber drops events older than the last one it
+ * sent, so concurrent commits can't leave a client on a stale balance. Sharded accounts are the exception,
+ * movements on different shards don't lock each other and an event may miss one that commits concurrently.
+ * A subscriber is registered before the current balance is read, the same way under the row lock, so no movement
+ * falls between the first event and the ones after it.
+ * Not available with the {@link EngineMode#IN_MEMORY_LEDGER} engine, its movements bypass the recorded
+ * transactions the feed is fed from.
+ */
+@Component
+public class BalanceFeed implements SmartLifecycle {
+
+    public static final String SUBSCRIBERS_GAUGE = "piche.feed.subscribers";
+    public static final String EVICTED_COUNTER = "piche.feed.evicted";
+    public static final String BALANCE_EVENT = "balance";
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final BalanceFeedProperties properties;
+    private final EngineProperties engineProperties;
+    private final AccountRepository accountRepository;
+    private final PicheTransactionRepository picheTransactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter evicted;
+    private final ExecutorService executor;
+
+    private volatile boolean running;
+
+    public BalanceFeed(BalanceFeedProperties properties, EngineProperties engineProperties,
+                       AccountRepository accountRepository, PicheTransactionRepository picheTransactionRepository,
+                       PlatformTransactionManager transactionManager, MeterRegistry registry) {
+        this.properties = properties;
+        this.engineProperties = engineProperties;
+        this.accountRepository = accountRepository;
+        this.picheTransactionRepository = picheTransactionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("balance-feed-", 0).factory());
+        Gauge.builder(SUBSCRIBERS_GAUGE, subscriberCount, AtomicInteger::get)
+                .description("Open balance change subscriptions")
+                .register(registry);
+        this.evicted = Counter.builder(EVICTED_COUNTER)
+                .description("Subscriptions closed because the client fell too far behind")
+                .register(registry);
+    }
+
+    /**
+     * Opens a subscription, its first event is the current balance.
+     *
+     * @throws BalanceFeedFullException when the node already holds the maximum number of subscriptions
+     * @throws AccountNotFoundException when the account doesn't exist
+     * @throws BalanceFeedUnavailableException with the in-memory ledger engine
+     */
+    public SseEmitter subscribe(long accountId) {
+        return subscribe(accountId, new SseEmitter(properties.timeout().toMillis()));
+    }
+
+    SseEmitter subscribe(long accountId, SseEmitter emitter) {
+        if (engineProperties.mode() == EngineMode.IN_MEMORY_LEDGER) {
+            throw new BalanceFeedUnavailableException(BALANCE_FEED_UNAVAILABLE_MSG);
+        }
+        if (subscriberCount.incrementAndGet() > properties.maxSubscribers()) {
+            subscriberCount.decrementAndGet();
+            throw new BalanceFeedFullException(BALANCE_FEED_FULL_MSG);
+        }
+        var subscriber = new Subscriber(accountId, emitter, properties.bufferSize());
+        subscribers.compute(accountId, (id, accountSubscribers) -> {
+            var result = accountSubscribers != null ? accountSubscribers : ConcurrentHashMap.<Subscriber>newKeySet();
+            result.add(subscriber);
+            return result;
+        });
+        BalanceChangeResponse current;
+        try {
+            current = transactionTemplate.execute(status -> readCurrent(subscriber));
+        } catch (RuntimeException e) {
+            remove(subscriber);
+            throw e;
+        }
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        if (!execute(() -> sendCurrent(subscriber, current))) {
+            remove(subscriber);
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    /**
+     * Reads the new balances of the subscribed accounts of the movement in its transaction and fans them out
+     * once the transaction has committed, nothing is published when it rolls back. Costs nothing but a map
+     * lookup when no one subscribed.
+     */
+    public void publishAfterCommit(PicheTransaction recorded) {
+        var targetAccount = recorded.getTargetAccount();
+        var sourceAccountId = recorded.getSourceAccount().getId();
+        var targetAccountId = targetAccount == null ? null : targetAccount.getId();
+        var accountIds = Stream.of(sourceAccountId, targetAccountId)
+                .filter(this::hasSubscribers)
+                .toList();
+        if (accountIds.isEmpty()) {
+            return;
+        }
+        var transaction = new TransactionResponse(recorded.getId(), recorded.getTransactionType(),
+                recorded.getFunds(), sourceAccountId, targetAccountId, recorded.getCreatedAt());
+        var changes = accountRepository.findResponsesByIdIn(accountIds).stream()
+                .map(account -> new BalanceChangeResponse(account.accountNumber(), account.balance(), transaction))
+                .toList();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            fanOut(changes);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                fanOut(changes);
+            }
+        });
+    }
+
+    /**
+     * Queues a heartbeat comment for every idle subscriber, a write to a closed connection ends its subscription.
+     */
+    @Scheduled(initialDelayString = "${piche.balance-feed.heartbeat-interval}",
+            fixedDelayString = "${piche.balance-feed.heartbeat-interval}")
+    public void sendHeartbeats() {
+        for (var accountSubscribers : subscribers.values()) {
+            for (var subscriber : accountSubscribers) {
+                if (subscriber.buffer.isEmpty()) {
+                    offer(subscriber, HEARTBEAT);
+                }
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    /**
+     * Completes every subscription, clients reconnect to another node or after the restart.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        for (var accountSubscribers : subscribers.values()) {
+            for (var subscriber : accountSubscribers) {
+                remove(subscriber);
+                subscriber.emitter.complete();
+            }
+        }
+        executor.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Waits for the movements in flight on the account row, events of the ones committed before are dropped by
+     * the last transaction id.
+     */
+    private BalanceChangeResponse readCurrent(Subscriber subscriber) {
+        var accountId = subscriber.accountId;
+        accountRepository.findByIdWithLock(accountId)
+                .orElseThrow(() -> new AccountNotFoundException(ACCOUNT_NOT_FOUND_MSG));
+        var account = accountRepository.findResponsesByIdIn(List.of(accountId)).getFirst();
+        subscriber.lastTransactionId = Math.max(
+                Objects.requireNonNullElse(picheTransactionRepository.findMaxIdBySourceAccount(accountId), 0L),
+                Objects.requireNonNullElse(picheTransactionRepository.findMaxIdByTargetAccount(accountId), 0L));
+        return new BalanceChangeResponse(accountId, account.balance(), null);
+    }
+
+    private void sendCurrent(Subscriber subscriber, BalanceChangeResponse current) {
+        try {
+            send(subscriber.emitter, current);
+        } catch (IOException | IllegalStateException e) {
+            remove(subscriber);
+            return;
+        }
+        drain(subscriber);
+    }
+
+    private boolean hasSubscribers(Long accountId) {
+        return accountId != null && subscribers.containsKey(accountId);
+    }
+
+    /**
+     * Runs on the committing thread, offering never blocks.
+     */
+    private void fanOut(List<BalanceChangeResponse> changes) {
+        if (!running) {
+            return;
+        }
+        for (var change : changes) {
+            for (var subscriber : subscribers.getOrDefault(change.accountNumber(), Set.of())) {
+                offer(subscriber, change);
+            }
+        }
+    }
+
+    private void offer(Subscriber subscriber, Object event) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        if (!subscriber.buffer.offer(event)) {
+            evicted.increment();
+            remove(subscriber);
+            execute(subscriber.emitter::complete);
+            return;
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true) && !execute(() -> drain(subscriber))) {
+            subscriber.draining.set(false);
+        }
+    }
+
+    /**
+     * Sends until the buffer is empty. A send blocks only this virtual thread, events arriving meanwhile queue up.
+     * Only one drain runs per subscriber at a time, it alone reads and advances the last sent transaction id.
+     */
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            var event = subscriber.buffer.poll();
+            if (event == null) {
+                subscriber.draining.set(false);
+                if (subscriber.buffer.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            if (isOutdated(subscriber, event)) {
+                continue;
+            }
+            try {
+                send(subscriber.emitter, event);
+            } catch (IOException | IllegalStateException e) {
+                remove(subscriber);
+                return;
+            }
+        }
+    }
+
+    private static boolean isOutdated(Subscriber subscriber, Object event) {
+        if (!(event instanceof BalanceChangeResponse change) || change.transaction() == null) {
+            return false;
+        }
+        var transactionId = change.transaction().transactionId();
+        if (transactionId <= subscriber.lastTransactionId) {
+            return true;
+        }
+        subscriber.lastTransactionId = transactionId;
+        return false;
+    }
+
+    private static void send(SseEmitter emitter, Object event) throws IOException {
+        if (event == HEARTBEAT) {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+            return;
+        }
+        var change = (BalanceChangeResponse) event;
+        var builder = SseEmitter.event().name(BALANCE_EVENT);
+        if (change.transaction() != null) {
+            builder.id(String.valueOf(change.transaction().transactionId()));
+        }
+        emitter.send(builder.data(change, MediaType.APPLICATION_JSON));
+    }
+
+    /**
+     * Returns {@code false} once stopped, the subscriptions are being completed then.
+     */
+    private boolean execute(Runnable task) {
+        try {
+            executor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscribers.computeIfPresent(subscriber.accountId, (id, accountSubscribers) -> {
+            accountSubscribers.remove(subscriber);
+            return accountSubscribers.isEmpty() ? null : accountSubscribers;
+        });
+        subscriberCount.decrementAndGet();
+    }
+
+    private static final class Subscriber {
+
+        private final long accountId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Object> buffer;
+        /**
+         * Starts out draining, events only queue up until the current balance has been sent.
+         */
+        private final AtomicBoolean draining = new AtomicBoolean(true);
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private long lastTransactionId;
+
+        private Subscriber(long accountId, SseEmitter emitter, int bufferSize) {
+            this.accountId = accountId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.pichebanking.service.lane;
+
+import com.pichebanking.config.LaneProperties;
+import com.pichebanking.exception.AccountLaneBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.pichebanking.util.constant.ExceptionMessage.ACCOUNT_LANE_BUSY_MSG;
+
+/**
+ * Single-threaded lanes chosen by account id. Operations on one account queue in memory and run one after another
+ * on its lane instead of each holding a connection while it waits for the row lock, at most one connection per lane
+ * is in use. An operation on two accounts in different lanes runs on the lower lane while the higher lane is parked;
+ * a lane only ever waits for a higher one, so two such operations can't wait for each other. A full lane rejects
+ * new operations right away. Disabled lanes run operations on the calling thread.
+ */
+@Component
+public class AccountLanes implements SmartLifecycle {
+
+    public static final String QUEUE_DEPTH_GAUGE = "piche.lanes.queue.depth";
+    public static final String WAIT_TIMER = "piche.lanes.wait";
+    public static final String REJECTED_COUNTER = "piche.lanes.rejected";
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final Lane[] lanes;
+    private volatile boolean running;
+
+    public AccountLanes(LaneProperties properties, MeterRegistry registry) {
+        this.lanes = new Lane[properties.enabled() ? properties.lanes() : 0];
+        for (var index = 0; index < lanes.length; index++) {
+            lanes[index] = new Lane(index, properties.queueCapacity(), registry);
+        }
+    }
+
+    /**
+     * Runs the operation on the lane of the account and waits for it, exceptions of the operation are rethrown.
+     *
+     * @throws AccountLaneBusyException when the lane is full or stopped
+     */
+    public void execute(long accountId, Runnable operation) {
+        if (lanes.length == 0) {
+            operation.run();
+            return;
+        }
+        await(laneOf(accountId).submit(operation));
+    }
+
+    /**
+     * Runs the operation once neither account has an earlier operation running or queued.
+     *
+     * @throws AccountLaneBusyException when one of the lanes is full or stopped
+     */
+    public void execute(long firstAccountId, long secondAccountId, Runnable operation) {
+        if (lanes.length == 0) {
+            operation.run();
+            return;
+        }
+        var first = laneOf(firstAccountId);
+        var second = laneOf(secondAccountId);
+        if (first == second) {
+            await(first.submit(operation));
+            return;
+        }
+        var lower = first.index < second.index ? first : second;
+        var higher = lower == first ? second : first;
+        if (higher.queue.remainingCapacity() == 0) {
+            throw higher.reject();
+        }
+        await(lower.submit(() -> runParked(higher, operation)));
+    }
+
+    int laneCount() {
+        return lanes.length;
+    }
+
+    int laneIndexOf(long accountId) {
+        return laneOf(accountId).index;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (var lane : lanes) {
+            lane.thread = Thread.ofPlatform().name("account-lane-" + lane.index).start(lane::run);
+        }
+    }
+
+    /**
+     * Stops the lanes in ascending order, each after its queue ran empty. Lower lanes park higher ones,
+     * so a stopped lane can't receive work from a lane that is still running.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        for (var lane : lanes) {
+            lane.stopping = true;
+            try {
+                lane.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            lane.stopped = true;
+            lane.rejectQueued();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private Lane laneOf(long accountId) {
+        return lanes[Math.floorMod(Long.hashCode(accountId), lanes.length)];
+    }
+
+    /**
+     * Runs on the lower lane. The higher lane is parked by a task that blocks it until the operation is done.
+     */
+    private static void runParked(Lane higher, Runnable operation) {
+        var released = new CompletableFuture<Void>();
+        var parked = higher.put(() -> released.join());
+        try {
+            await(parked.started);
+            operation.run();
+        } finally {
+            released.complete(null);
+        }
+    }
+
+    private static void await(CompletableFuture<Void> result) {
+        try {
+            result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private final class Lane {
+
+        private final int index;
+        private final BlockingQueue<Task> queue;
+        private final Timer waitTimer;
+        private final Counter rejected;
+        private Thread thread;
+        private volatile boolean stopping;
+        private volatile boolean stopped;
+
+        private Lane(int index, int queueCapacity, MeterRegistry registry) {
+            this.index = index;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            var tag = String.valueOf(index);
+            Gauge.builder(QUEUE_DEPTH_GAUGE, queue, BlockingQueue::size)
+                    .description("Operations waiting in the lane")
+                    .tag("lane", tag)
+                    .register(registry);
+            this.waitTimer = Timer.builder(WAIT_TIMER)
+                    .description("Time an operation waited in the lane before it started")
+                    .tag("lane", tag)
+                    .register(registry);
+            this.rejected = Counter.builder(REJECTED_COUNTER)
+                    .description("Operations rejected because the lane was full")
+                    .tag("lane", tag)
+                    .register(registry);
+        }
+
+        private CompletableFuture<Void> submit(Runnable operation) {
+            var task = new Task(operation);
+            if (!running || !queue.offer(task)) {
+                throw reject();
+            }
+            if (stopped) {
+                rejectQueued();
+            }
+            return task.result;
+        }
+
+        /**
+         * Waits for space instead of rejecting, used by a lower lane that already runs the operation.
+         */
+        private Task put(Runnable action) {
+            var task = new Task(action);
+            try {
+                queue.put(task);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw reject();
+            }
+            if (stopped) {
+                rejectQueued();
+            }
+            return task;
+        }
+
+        private AccountLaneBusyException reject() {
+            rejected.increment();
+            return new AccountLaneBusyException(ACCOUNT_LANE_BUSY_MSG);
+        }
+
+        private void rejectQueued() {
+            Task task;
+            while ((task = queue.poll()) != null) {
+                task.reject();
+            }
+        }
+
+        private void run() {
+            while (true) {
+                Task task;
+                try {
+                    task = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (task == null) {
+                    if (stopping) {
+                        return;
+                    }
+                    continue;
+                }
+                waitTimer.record(System.nanoTime() - task.enqueuedAt, TimeUnit.NANOSECONDS);
+                task.run();
+            }
+        }
+    }
+
+    private static final class Task {
+
+        private final Runnable action;
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<Void> started = new CompletableFuture<>();
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        private Task(Runnable action) {
+            this.action = action;
+        }
+
+        private void run() {
+            started.complete(null);
+            try {
+                action.run();
+                result.complete(null);
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        private void reject() {
+            var exception = new AccountLaneBusyException(ACCOUNT_LANE_BUSY_MSG);
+            started.completeExceptionally(exception);
+            result.completeExceptionally(exception);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.pichebanking.service.ledger;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer.
+ * A producer claims a sequence with a CAS on the tail and publishes its element into the slot,
+ * the consumer takes published elements in sequence order and frees the slots behind it.
+ */
+final class CommandRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    CommandRingBuffer(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        slots = new AtomicReferenceArray<>(capacity);
+        mask = capacity - 1;
+    }
+
+    /**
+     * Returns {@code false} without waiting when the buffer is full.
+     */
+    boolean offer(E element) {
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head.get() >= slots.length()) {
+                return false;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+        slots.set(index(sequence), element);
+        return true;
+    }
+
+    /**
+     * Passes up to {@code limit} elements to the consumer. Stops at the first claimed but not yet
+     * published slot, so elements are always drained in the order their sequences were claimed.
+     * Must only be called from the consumer thread.
+     */
+    int drain(Consumer<E> consumer, int limit) {
+        var sequence = head.get();
+        var count = 0;
+        while (count < limit) {
+            var index = index(sequence);
+            var element = slots.get(index);
+            if (element == null) {
+                break;
+            }
+            slots.lazySet(index, null);
+            head.lazySet(++sequence);
+            count++;
+            consumer.accept(element);
+        }
+        return count;
+    }
+
+    boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+
+    private int index(long sequence) {
+        return (int) sequence & mask;
+    }
+}
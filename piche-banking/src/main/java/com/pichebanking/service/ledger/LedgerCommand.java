@@ -0,0 +1,35 @@
+package com.pichebanking.service.ledger;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Request passed to the writer thread. State changing commands carry a {@link LedgerJournal} record type,
+ * {@link #READ_BALANCES} is never journaled.
+ */
+final class LedgerCommand {
+
+    static final byte READ_BALANCES = 0;
+
+    final byte type;
+    final long first;
+    final long second;
+    final long amount;
+    final long[] ids;
+    final CompletableFuture<Object> result = new CompletableFuture<>();
+
+    private LedgerCommand(byte type, long first, long second, long amount, long[] ids) {
+        this.type = type;
+        this.first = first;
+        this.second = second;
+        this.amount = amount;
+        this.ids = ids;
+    }
+
+    static LedgerCommand change(byte type, long first, long second, long amount) {
+        return new LedgerCommand(type, first, second, amount, null);
+    }
+
+    static LedgerCommand readBalances(long[] ids) {
+        return new LedgerCommand(READ_BALANCES, 0, 0, 0, ids);
+    }
+}
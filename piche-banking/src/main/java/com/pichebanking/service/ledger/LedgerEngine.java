@@ -0,0 +1,336 @@
+package com.pichebanking.service.ledger;
+
+import com.pichebanking.config.LedgerProperties;
+import com.pichebanking.exception.AccountNotFoundException;
+import com.pichebanking.exception.InsufficientFundsException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import static com.pichebanking.service.ledger.LedgerCommand.READ_BALANCES;
+import static com.pichebanking.service.ledger.LedgerJournal.DEPOSIT;
+import static com.pichebanking.service.ledger.LedgerJournal.OPEN;
+import static com.pichebanking.service.ledger.LedgerJournal.TRANSFER;
+import static com.pichebanking.service.ledger.LedgerJournal.WITHDRAW;
+import static com.pichebanking.util.constant.ExceptionMessage.ACCOUNT_NOT_FOUND_MSG;
+import static com.pichebanking.util.constant.ExceptionMessage.INSUFFICIENT_FUNDS_MSG;
+
+/**
+ * Keeps balances in memory as {@code long} minor units and changes them on a single writer thread,
+ * so commands never contend for locks. Callers publish commands into a lock-free ring buffer and wait
+ * for the outcome.
+ * The writer validates a command, appends it to the journal, applies it and acknowledges the drained
+ * commands together once their records are written, optionally after forcing them to disk.
+ * <p>
+ * On start the balances are rebuilt from the last snapshot and the journal that follows it.
+ * A full journal is folded into a new snapshot and replaced by an empty one of the next generation.
+ */
+public class LedgerEngine implements Closeable {
+
+    public static final long MISSING_BALANCE = Long.MIN_VALUE;
+
+    private static final String SNAPSHOT_FILE = "snapshot.bin";
+    private static final int DRAIN_LIMIT = 256;
+    /**
+     * Spinning only pays off when producers run on other cores, on a single core it delays them.
+     */
+    private static final int IDLE_SPINS = Runtime.getRuntime().availableProcessors() > 1 ? 1_000 : 1;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long FULL_BUFFER_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+
+    private final LedgerProperties properties;
+    private final LongLongHashMap balances = new LongLongHashMap(1 << 16);
+    private final CommandRingBuffer<LedgerCommand> commands;
+    private final List<LedgerCommand> drained = new ArrayList<>(DRAIN_LIMIT);
+    private final List<Object> outcomes = new ArrayList<>(DRAIN_LIMIT);
+    private final Consumer<LedgerCommand> executor = this::execute;
+    private final Thread writer;
+
+    private volatile boolean running = true;
+    private volatile boolean parked;
+    private long generation;
+    private LedgerJournal journal;
+
+    public LedgerEngine(LedgerProperties properties) {
+        this.properties = properties;
+        this.commands = new CommandRingBuffer<>(properties.ringBufferSize());
+        this.writer = Thread.ofPlatform().name("ledger-writer").unstarted(this::run);
+        recover();
+    }
+
+    public void start() {
+        writer.start();
+    }
+
+    /**
+     * Registers the account with its opening balance, returns {@code false} if it is already known.
+     */
+    public boolean openAccount(long accountId, long cents) {
+        return (Boolean) submit(LedgerCommand.change(OPEN, accountId, 0, cents));
+    }
+
+    public void deposit(long accountId, long cents) {
+        submit(LedgerCommand.change(DEPOSIT, accountId, 0, cents));
+    }
+
+    public void withdraw(long accountId, long cents) {
+        submit(LedgerCommand.change(WITHDRAW, accountId, 0, cents));
+    }
+
+    public void transfer(long sourceAccountId, long targetAccountId, long cents) {
+        submit(LedgerCommand.change(TRANSFER, sourceAccountId, targetAccountId, cents));
+    }
+
+    /**
+     * Reads balances in the order of the ids, {@link #MISSING_BALANCE} for unknown accounts.
+     * The read is acknowledged together with the commands drained before it.
+     */
+    public long[] getBalances(long... accountIds) {
+        return (long[]) submit(LedgerCommand.readBalances(accountIds));
+    }
+
+    /**
+     * Stops accepting commands, lets the writer drain the buffer and, if configured, writes a snapshot.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Object submit(LedgerCommand command) {
+        while (!commands.offer(command)) {
+            checkRunning();
+            LockSupport.parkNanos(FULL_BUFFER_PARK_NANOS);
+        }
+        checkRunning();
+        if (parked) {
+            LockSupport.unpark(writer);
+        }
+        return await(command);
+    }
+
+    private Object await(LedgerCommand command) {
+        try {
+            while (true) {
+                try {
+                    return command.result.get(1, TimeUnit.SECONDS);
+                } catch (TimeoutException e) {
+                    if (!writer.isAlive()) {
+                        throw new IllegalStateException("Ledger engine is stopped");
+                    }
+                }
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the ledger", e);
+        }
+    }
+
+    private void checkRunning() {
+        if (!running) {
+            throw new IllegalStateException("Ledger engine is stopped");
+        }
+    }
+
+    private void run() {
+        try {
+            var idleSpins = 0;
+            while (running || !commands.isEmpty()) {
+                if (commands.drain(executor, DRAIN_LIMIT) > 0) {
+                    acknowledge();
+                    idleSpins = 0;
+                } else if (++idleSpins < IDLE_SPINS) {
+                    Thread.onSpinWait();
+                } else {
+                    park();
+                    idleSpins = 0;
+                }
+            }
+            if (properties.snapshotOnShutdown()) {
+                rollover();
+            }
+        } finally {
+            running = false;
+            var failure = new IllegalStateException("Ledger engine is stopped");
+            drained.forEach(command -> command.result.completeExceptionally(failure));
+            commands.drain(command -> command.result.completeExceptionally(failure), Integer.MAX_VALUE);
+            journal.close();
+        }
+    }
+
+    private void park() {
+        parked = true;
+        if (running && commands.isEmpty()) {
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        parked = false;
+    }
+
+    private void execute(LedgerCommand command) {
+        drained.add(command);
+        if (command.type == READ_BALANCES) {
+            outcomes.add(readBalances(command.ids));
+            return;
+        }
+        var rejection = validate(command);
+        if (rejection != null) {
+            outcomes.add(rejection);
+            return;
+        }
+        if (command.type == OPEN && balances.containsKey(command.first)) {
+            outcomes.add(Boolean.FALSE);
+            return;
+        }
+        if (!journal.hasRemaining()) {
+            rollover();
+        }
+        journal.append(command.type, command.first, command.second, command.amount);
+        apply(command.type, command.first, command.second, command.amount);
+        outcomes.add(Boolean.TRUE);
+    }
+
+    /**
+     * Checks everything a command can fail on before it is journaled, so replaying
+     * the journal never meets a record that can't be applied.
+     */
+    private RuntimeException validate(LedgerCommand command) {
+        if (command.amount < 0) {
+            return new IllegalArgumentException("Amount must not be negative");
+        }
+        return switch (command.type) {
+            case DEPOSIT -> checkCredit(command.first, command.amount);
+            case WITHDRAW -> checkDebit(command.first, command.amount);
+            case TRANSFER -> {
+                var debit = checkDebit(command.first, command.amount);
+                if (debit != null || command.first == command.second) {
+                    yield debit;
+                }
+                yield checkCredit(command.second, command.amount);
+            }
+            default -> null;
+        };
+    }
+
+    private RuntimeException checkDebit(long accountId, long amount) {
+        var balance = balances.get(accountId, MISSING_BALANCE);
+        if (balance == MISSING_BALANCE) {
+            return new AccountNotFoundException(ACCOUNT_NOT_FOUND_MSG);
+        }
+        return balance < amount ? new InsufficientFundsException(INSUFFICIENT_FUNDS_MSG) : null;
+    }
+
+    private RuntimeException checkCredit(long accountId, long amount) {
+        var balance = balances.get(accountId, MISSING_BALANCE);
+        if (balance == MISSING_BALANCE) {
+            return new AccountNotFoundException(ACCOUNT_NOT_FOUND_MSG);
+        }
+        return balance > Long.MAX_VALUE - amount ? new ArithmeticException("Balance overflow") : null;
+    }
+
+    private void apply(byte type, long first, long second, long amount) {
+        switch (type) {
+            case OPEN -> balances.put(first, amount);
+            case DEPOSIT -> balances.put(first, balances.get(first, 0) + amount);
+            case WITHDRAW -> balances.put(first, balances.get(first, 0) - amount);
+            case TRANSFER -> {
+                balances.put(first, balances.get(first, 0) - amount);
+                balances.put(second, balances.get(second, 0) + amount);
+            }
+            default -> throw new IllegalStateException("Unknown ledger record type " + type);
+        }
+    }
+
+    private long[] readBalances(long[] accountIds) {
+        var result = new long[accountIds.length];
+        for (var i = 0; i < accountIds.length; i++) {
+            result[i] = balances.get(accountIds[i], MISSING_BALANCE);
+        }
+        return result;
+    }
+
+    private void acknowledge() {
+        if (properties.forceWrites()) {
+            journal.force();
+        }
+        for (var i = 0; i < drained.size(); i++) {
+            var command = drained.get(i);
+            if (outcomes.get(i) instanceof RuntimeException rejection) {
+                command.result.completeExceptionally(rejection);
+            } else {
+                command.result.complete(outcomes.get(i));
+            }
+        }
+        drained.clear();
+        outcomes.clear();
+    }
+
+    private void recover() {
+        try {
+            Files.createDirectories(properties.directory());
+            generation = LedgerSnapshot.read(snapshotFile(), balances);
+            try (var journals = Files.list(properties.directory())) {
+                for (var file : journals.filter(this::isOutdatedJournal).toList()) {
+                    Files.delete(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't recover ledger from " + properties.directory(), e);
+        }
+        journal = LedgerJournal.open(journalFile(generation), properties.journalSize().toBytes());
+        journal.replay(this::apply);
+    }
+
+    /**
+     * The new snapshot already contains everything journaled so far, the previous journal is deleted only
+     * after it has been replaced, so recovery always finds a snapshot and the journal continuing it.
+     */
+    private void rollover() {
+        var next = generation + 1;
+        LedgerSnapshot.write(snapshotFile(), next, balances);
+        journal.close();
+        journal = LedgerJournal.open(journalFile(next), properties.journalSize().toBytes());
+        try {
+            Files.deleteIfExists(journalFile(generation));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        generation = next;
+    }
+
+    private boolean isOutdatedJournal(Path file) {
+        var name = file.getFileName().toString();
+        if (!name.startsWith("journal-") || !name.endsWith(".bin")) {
+            return false;
+        }
+        return Long.parseLong(name.substring("journal-".length(), name.length() - ".bin".length())) < generation;
+    }
+
+    private Path snapshotFile() {
+        return properties.directory().resolve(SNAPSHOT_FILE);
+    }
+
+    private Path journalFile(long generation) {
+        return properties.directory().resolve("journal-%d.bin".formatted(generation));
+    }
+}
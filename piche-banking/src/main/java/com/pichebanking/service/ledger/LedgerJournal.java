@@ -0,0 +1,114 @@
+package com.pichebanking.service.ledger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.zip.CRC32C;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Append-only file of fixed size records mapped into memory. A record is
+ * {@code type:1 | padding:3 | crc32c:4 | first:8 | second:8 | amount:8}; the file is preallocated with zeros,
+ * so the first record with type {@code 0} or a wrong checksum, e.g. torn by a crash, marks the end of the journal.
+ * Not thread safe, only the writer thread of the ledger touches it.
+ */
+final class LedgerJournal implements Closeable {
+
+    static final byte OPEN = 1;
+    static final byte DEPOSIT = 2;
+    static final byte WITHDRAW = 3;
+    static final byte TRANSFER = 4;
+
+    static final int RECORD_SIZE = 32;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+    private final CRC32C crc = new CRC32C();
+
+    private LedgerJournal(FileChannel channel, MappedByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Maps the file, creating it with {@code size} bytes when it does not exist. The write position
+     * is the start of the file until {@link #replay} has run.
+     */
+    static LedgerJournal open(Path file, long size) {
+        try {
+            var channel = FileChannel.open(file, CREATE, READ, WRITE);
+            var mappedSize = Math.max(channel.size(), size - size % RECORD_SIZE);
+            return new LedgerJournal(channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, mappedSize));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't open ledger journal " + file, e);
+        }
+    }
+
+    /**
+     * Passes every valid record to the handler and moves the write position behind the last one.
+     */
+    int replay(RecordHandler handler) {
+        var count = 0;
+        buffer.position(0);
+        while (buffer.remaining() >= RECORD_SIZE) {
+            var position = buffer.position();
+            buffer.get(position, record.array());
+            var type = record.get(0);
+            if (type == 0 || record.getInt(4) != checksum()) {
+                break;
+            }
+            handler.accept(type, record.getLong(8), record.getLong(16), record.getLong(24));
+            buffer.position(position + RECORD_SIZE);
+            count++;
+        }
+        return count;
+    }
+
+    boolean hasRemaining() {
+        return buffer.remaining() >= RECORD_SIZE;
+    }
+
+    /**
+     * The record reaches the page cache immediately, it survives a crash of the process
+     * but only {@link #force()} makes it survive a crash of the machine.
+     */
+    void append(byte type, long first, long second, long amount) {
+        record.clear();
+        record.put(0, type).putInt(4, 0).putLong(8, first).putLong(16, second).putLong(24, amount);
+        record.putInt(4, checksum());
+        buffer.put(record.array());
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int checksum() {
+        crc.reset();
+        crc.update(record.array(), 0, 4);
+        crc.update(record.array(), 8, RECORD_SIZE - 8);
+        return (int) crc.getValue();
+    }
+
+    @FunctionalInterface
+    interface RecordHandler {
+        void accept(byte type, long first, long second, long amount);
+    }
+}
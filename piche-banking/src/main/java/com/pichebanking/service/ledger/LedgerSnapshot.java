@@ -0,0 +1,91 @@
+package com.pichebanking.service.ledger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Full copy of the balances together with the generation of the journal that continues it.
+ * Format: {@code magic:4 | generation:8 | count:4 | (id:8 | cents:8) * count | crc32c:8}.
+ */
+final class LedgerSnapshot {
+
+    private static final int MAGIC = 0x504C4753;
+
+    private LedgerSnapshot() {
+    }
+
+    /**
+     * Writes the snapshot next to the target and renames it over the target once it is on disk,
+     * so a crash leaves either the old or the new snapshot.
+     */
+    static void write(Path file, long generation, LongLongHashMap balances) {
+        var temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        var crc = new CRC32C();
+        try (var out = new DataOutputStream(new CheckedOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporary)), crc))) {
+            out.writeInt(MAGIC);
+            out.writeLong(generation);
+            out.writeInt(balances.size());
+            balances.forEach((id, cents) -> {
+                try {
+                    out.writeLong(id);
+                    out.writeLong(cents);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.writeLong(crc.getValue());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't write ledger snapshot " + temporary, e);
+        }
+        try (var channel = FileChannel.open(temporary, WRITE)) {
+            channel.force(true);
+            Files.move(temporary, file, ATOMIC_MOVE, REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't replace ledger snapshot " + file, e);
+        }
+    }
+
+    /**
+     * Loads balances into the map and returns the generation of the journal to replay,
+     * {@code 0} when there is no snapshot yet.
+     */
+    static long read(Path file, LongLongHashMap balances) {
+        if (Files.notExists(file)) {
+            return 0;
+        }
+        var crc = new CRC32C();
+        try (var in = new DataInputStream(new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(file)), crc))) {
+            if (in.readInt() != MAGIC) {
+                throw new IllegalStateException("Not a ledger snapshot: " + file);
+            }
+            var generation = in.readLong();
+            var count = in.readInt();
+            for (var i = 0; i < count; i++) {
+                balances.put(in.readLong(), in.readLong());
+            }
+            var expected = crc.getValue();
+            if (in.readLong() != expected) {
+                throw new IllegalStateException("Corrupt ledger snapshot: " + file);
+            }
+            return generation;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't read ledger snapshot " + file, e);
+        }
+    }
+}
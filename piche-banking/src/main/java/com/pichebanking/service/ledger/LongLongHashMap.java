@@ -0,0 +1,102 @@
+package com.pichebanking.service.ledger;
+
+/**
+ * Open addressing map of positive {@code long} keys to {@code long} values with linear probing.
+ * Keys and values are kept in one flat array, nothing is boxed. Not thread safe, removal is not supported.
+ */
+final class LongLongHashMap {
+
+    private static final long EMPTY_KEY = 0;
+    private static final double LOAD_FACTOR = 0.6;
+
+    private long[] entries;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    LongLongHashMap(int expectedSize) {
+        allocate(Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean containsKey(long key) {
+        return entries[indexOf(key)] == key;
+    }
+
+    /**
+     * Returns the value of the key or {@code missingValue} when the key is absent.
+     */
+    long get(long key, long missingValue) {
+        var index = indexOf(key);
+        return entries[index] == key ? entries[index + 1] : missingValue;
+    }
+
+    void put(long key, long value) {
+        if (key <= EMPTY_KEY) {
+            throw new IllegalArgumentException("Key must be positive: " + key);
+        }
+        var index = indexOf(key);
+        if (entries[index] == EMPTY_KEY) {
+            entries[index] = key;
+            if (++size > resizeThreshold) {
+                entries[index + 1] = value;
+                rehash(entries.length);
+                return;
+            }
+        }
+        entries[index + 1] = value;
+    }
+
+    void forEach(Entries consumer) {
+        for (var i = 0; i < entries.length; i += 2) {
+            if (entries[i] != EMPTY_KEY) {
+                consumer.accept(entries[i], entries[i + 1]);
+            }
+        }
+    }
+
+    /**
+     * Index of the slot holding the key, or of the empty slot where it would be inserted.
+     */
+    private int indexOf(long key) {
+        var index = (int) (mix(key) & mask) << 1;
+        while (entries[index] != key && entries[index] != EMPTY_KEY) {
+            index = (index + 2) & (entries.length - 1);
+        }
+        return index;
+    }
+
+    private void rehash(int capacity) {
+        var old = entries;
+        allocate(capacity);
+        for (var i = 0; i < old.length; i += 2) {
+            if (old[i] != EMPTY_KEY) {
+                var index = indexOf(old[i]);
+                entries[index] = old[i];
+                entries[index + 1] = old[i + 1];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        entries = new long[capacity * 2];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Sequential ids would otherwise fill neighbouring slots and form long probe chains.
+     */
+    private static long mix(long key) {
+        var hash = key * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 32);
+    }
+
+    @FunctionalInterface
+    interface Entries {
+        void accept(long key, long value);
+    }
+}
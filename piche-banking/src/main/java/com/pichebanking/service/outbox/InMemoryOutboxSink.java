@@ -0,0 +1,21 @@
+package com.pichebanking.service.outbox;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Keeps published events in memory, meant for tests and local runs.
+ */
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final ConcurrentLinkedQueue<TransactionEvent> events = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void publish(List<TransactionEvent> events) {
+        this.events.addAll(events);
+    }
+
+    public List<TransactionEvent> getEvents() {
+        return List.copyOf(events);
+    }
+}
@@ -0,0 +1,72 @@
+package com.pichebanking.service.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Appends events to a file as newline delimited JSON. A batch is written with one call and forced to disk
+ * before it is acknowledged, so a published event survives a crash of the machine.
+ */
+public class NdjsonFileOutboxSink implements OutboxSink, Closeable {
+
+    private static final byte NEWLINE = '\n';
+
+    private final ObjectMapper objectMapper;
+    private final FileChannel channel;
+    private final ByteArrayOutputStream batch = new ByteArrayOutputStream();
+
+    public NdjsonFileOutboxSink(Path file, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            this.channel = FileChannel.open(file, CREATE, WRITE, APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't open outbox file " + file, e);
+        }
+    }
+
+    /**
+     * Only called by the relay thread.
+     */
+    @Override
+    public void publish(List<TransactionEvent> events) {
+        batch.reset();
+        try {
+            for (var event : events) {
+                objectMapper.writeValue(batch, event);
+                batch.write(NEWLINE);
+            }
+            var buffer = ByteBuffer.wrap(batch.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.pichebanking.service.outbox;
+
+import com.pichebanking.config.OutboxProperties;
+import com.pichebanking.dao.entity.OutboxEvent;
+import com.pichebanking.dao.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single thread moving events from the outbox table to the {@link OutboxSink}: reads the oldest batch,
+ * publishes it and deletes it. A crash between publishing and deleting publishes the batch again,
+ * delivery is at least once. The money path only inserts the outbox row, it never waits for the relay.
+ */
+@Component
+public class OutboxRelay implements SmartLifecycle {
+
+    public static final String LAG_TIMER = "piche.outbox.lag";
+    public static final String PUBLISHED_COUNTER = "piche.outbox.published";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink outboxSink;
+    private final OutboxProperties properties;
+    private final Timer lag;
+    private final Counter published;
+    private final Semaphore wakeUp = new Semaphore(0);
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, OutboxSink outboxSink,
+                       OutboxProperties properties, MeterRegistry registry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxSink = outboxSink;
+        this.properties = properties;
+        this.lag = Timer.builder(LAG_TIMER)
+                .description("Time from recording a movement until its event was published")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.published = Counter.builder(PUBLISHED_COUNTER)
+                .description("Transaction events handed to the outbox sink")
+                .register(registry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = Thread.ofPlatform().name("outbox-relay").start(this::run);
+    }
+
+    /**
+     * Finishes the batch in flight, events left in the table are published after the next start.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        wakeUp.release();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Publishes one batch, returns the number of events published.
+     */
+    public int relayBatch() {
+        var events = outboxEventRepository.findOldest(Limit.of(properties.batchSize()));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        outboxSink.publish(events.stream().map(TransactionEvent::of).toList());
+        outboxEventRepository.deleteAllByIdInBatch(events.stream().map(OutboxEvent::getId).toList());
+
+        var now = LocalDateTime.now();
+        for (var event : events) {
+            lag.record(Duration.between(event.getCreatedAt(), now));
+        }
+        published.increment(events.size());
+        return events.size();
+    }
+
+    private void run() {
+        while (running) {
+            var count = 0;
+            try {
+                count = relayBatch();
+            } catch (RuntimeException e) {
+                // the sink or the database is unavailable, the batch stays in the table and is retried after the pause
+            }
+            if (count < properties.batchSize()) {
+                try {
+                    wakeUp.tryAcquire(properties.pollInterval().toMillis(), TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.pichebanking.service.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of transaction events. Events are passed in id order; the relay deletes them only after
+ * {@link #publish} returned, so a failing sink gets the same batch again.
+ */
+public interface OutboxSink {
+
+    void publish(List<TransactionEvent> events);
+}
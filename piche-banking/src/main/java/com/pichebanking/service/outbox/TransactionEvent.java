@@ -0,0 +1,25 @@
+package com.pichebanking.service.outbox;
+
+import com.pichebanking.dao.entity.OutboxEvent;
+import com.pichebanking.util.enums.TransactionType;
+import com.pichebanking.util.model.Money;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published form of a recorded movement. A sink may see an event again after a relay failure,
+ * consumers deduplicate by {@code eventId}.
+ */
+public record TransactionEvent(Long eventId,
+                               Long transactionId,
+                               TransactionType transactionType,
+                               Long sourceAccountId,
+                               Long targetAccountId,
+                               Money funds,
+                               LocalDateTime createdAt) {
+
+    public static TransactionEvent of(OutboxEvent event) {
+        return new TransactionEvent(event.getId(), event.getTransactionId(), event.getTransactionType(),
+                event.getSourceAccountId(), event.getTargetAccountId(), event.getFunds(), event.getCreatedAt());
+    }
+}
@@ -0,0 +1,64 @@
+package com.pichebanking.service.reactive;
+
+import com.pichebanking.api.dto.request.CreateAccountRequest;
+import com.pichebanking.api.dto.response.AccountResponse;
+import com.pichebanking.dao.reactive.ReactiveAccountRepository;
+import com.pichebanking.exception.AccountNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+
+import static com.pichebanking.util.constant.ExceptionMessage.ACCOUNT_NOT_FOUND_MSG;
+
+/**
+ * Reactive counterpart of {@code AccountService}. Balances are always read from the database,
+ * the account snapshot cache of the servlet API is not used.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveAccountService {
+
+    private final ReactiveAccountRepository repository;
+    private final Scheduler databaseScheduler;
+
+    public Mono<AccountResponse> createAccount(CreateAccountRequest request) {
+        return repository.nextId()
+                .flatMap(id -> repository.insert(id, request)
+                        .thenReturn(new AccountResponse(request.fullName(), id, request.initialBalance())))
+                .subscribeOn(databaseScheduler);
+    }
+
+    public Mono<AccountResponse> getAccount(long accountId) {
+        return repository.findResponseById(accountId)
+                .switchIfEmpty(Mono.error(() -> new AccountNotFoundException(ACCOUNT_NOT_FOUND_MSG)))
+                .subscribeOn(databaseScheduler);
+    }
+
+    public Mono<List<AccountResponse>> getAccounts(long afterId, int limit) {
+        return repository.findResponsesAfter(afterId, limit)
+                .collectList()
+                .subscribeOn(databaseScheduler);
+    }
+
+    /**
+     * Emits every account ordered by account number as the rows are read, with backpressure.
+     */
+    public Flux<AccountResponse> streamAccounts() {
+        return repository.findAllResponses()
+                .subscribeOn(databaseScheduler);
+    }
+
+    public Mono<Void> checkAccountExists(long accountId) {
+        return repository.existsById(accountId)
+                .flatMap(exists -> exists
+                        ? Mono.<Void>empty()
+                        : Mono.error(new AccountNotFoundException(ACCOUNT_NOT_FOUND_MSG)))
+                .subscribeOn(databaseScheduler);
+    }
+}
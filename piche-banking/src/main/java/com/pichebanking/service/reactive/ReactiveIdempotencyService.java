@@ -0,0 +1,108 @@
+package com.pichebanking.service.reactive;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pichebanking.config.IdempotencyProperties;
+import com.pichebanking.dao.reactive.ReactiveIdempotencyRepository;
+import com.pichebanking.dao.reactive.ReactiveIdempotencyRepository.StoredKey;
+import com.pichebanking.exception.IdempotencyKeyInProgressException;
+import com.pichebanking.exception.IdempotencyKeyReusedException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.retry.RetryBackoffSpec;
+
+import java.time.LocalDateTime;
+
+import static com.pichebanking.util.constant.ExceptionMessage.IDEMPOTENCY_KEY_IN_PROGRESS_MSG;
+import static com.pichebanking.util.constant.ExceptionMessage.IDEMPOTENCY_KEY_REUSED_MSG;
+
+/**
+ * Reactive counterpart of {@code IdempotencyService} and the transaction boundary of every reactive movement.
+ * The key is stored in the same transaction as the movement, a lock failure rolls back both and re-runs them
+ * as one. Expired keys are purged by the scheduled purge of the servlet side, which runs in both stacks.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveIdempotencyService {
+
+    private final ReactiveIdempotencyRepository repository;
+    private final TransactionalOperator transactionalOperator;
+    private final RetryBackoffSpec lockFailureRetry;
+    private final Scheduler databaseScheduler;
+    private final IdempotencyProperties properties;
+    private final Cache<String, StoredKey> completedRequests;
+
+    public ReactiveIdempotencyService(ReactiveIdempotencyRepository repository,
+                                      TransactionalOperator transactionalOperator,
+                                      RetryBackoffSpec lockFailureRetry,
+                                      Scheduler databaseScheduler,
+                                      IdempotencyProperties properties) {
+        this.repository = repository;
+        this.transactionalOperator = transactionalOperator;
+        this.lockFailureRetry = lockFailureRetry;
+        this.databaseScheduler = databaseScheduler;
+        this.properties = properties;
+        this.completedRequests = Caffeine.newBuilder()
+                .maximumSize(properties.maximumCached())
+                .build();
+    }
+
+    /**
+     * Runs the movement in a transaction unless a request with this key already completed.
+     * Without a key it just runs. The movement is subscribed again on every retry.
+     *
+     * @return signals {@link IdempotencyKeyReusedException} when the key completed a different request
+     * and {@link IdempotencyKeyInProgressException} when a request with this key is still running
+     */
+    public Mono<Void> execute(String idempotencyKey, String requestFingerprint, Mono<Void> movement) {
+        if (idempotencyKey == null) {
+            return inTransaction(movement);
+        }
+        return isCompleted(idempotencyKey, requestFingerprint).flatMap(completed -> {
+            if (completed) {
+                return Mono.empty();
+            }
+            var expiresAt = LocalDateTime.now().plus(properties.timeToLive());
+            return inTransaction(repository.deleteIfExpired(idempotencyKey, LocalDateTime.now())
+                    .then(repository.insert(idempotencyKey, requestFingerprint, expiresAt)
+                            .onErrorMap(DataIntegrityViolationException.class,
+                                    e -> new IdempotencyKeyInProgressException(IDEMPOTENCY_KEY_IN_PROGRESS_MSG)))
+                    .then(movement))
+                    .then(Mono.fromRunnable(() -> completedRequests.put(idempotencyKey,
+                            new StoredKey(requestFingerprint, expiresAt))))
+                    .onErrorResume(IdempotencyKeyInProgressException.class, e ->
+                            isCompleted(idempotencyKey, requestFingerprint).flatMap(completedMeanwhile ->
+                                    completedMeanwhile ? Mono.empty() : Mono.error(e)))
+                    .then();
+        });
+    }
+
+    private Mono<Void> inTransaction(Mono<Void> flow) {
+        return transactionalOperator.transactional(flow)
+                .retryWhen(lockFailureRetry)
+                .subscribeOn(databaseScheduler);
+    }
+
+    private Mono<Boolean> isCompleted(String idempotencyKey, String requestFingerprint) {
+        var cached = completedRequests.getIfPresent(idempotencyKey);
+        var stored = cached != null
+                ? Mono.just(cached)
+                : repository.findByKey(idempotencyKey)
+                .doOnNext(key -> completedRequests.put(idempotencyKey, key))
+                .subscribeOn(databaseScheduler);
+        return stored.map(key -> {
+            if (!key.expiresAt().isAfter(LocalDateTime.now())) {
+                completedRequests.invalidate(idempotencyKey);
+                return false;
+            }
+            if (!key.requestFingerprint().equals(requestFingerprint)) {
+                throw new IdempotencyKeyReusedException(IDEMPOTENCY_KEY_REUSED_MSG);
+            }
+            return true;
+        }).defaultIfEmpty(false);
+    }
+}
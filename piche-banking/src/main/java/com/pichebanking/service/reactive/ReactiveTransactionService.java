@@ -0,0 +1,178 @@
+package com.pichebanking.service.reactive;
+
+import com.pichebanking.api.dto.request.TransferFundsRequest;
+import com.pichebanking.api.dto.response.TransactionResponse;
+import com.pichebanking.dao.reactive.ReactiveAccountRepository;
+import com.pichebanking.dao.reactive.ReactiveAccountRepository.LockedAccount;
+import com.pichebanking.dao.reactive.ReactiveAccountRepository.LockedShard;
+import com.pichebanking.dao.reactive.ReactiveTransactionRepository;
+import com.pichebanking.exception.AccountNotFoundException;
+import com.pichebanking.exception.InsufficientFundsException;
+import com.pichebanking.util.enums.TransactionType;
+import com.pichebanking.util.model.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.pichebanking.util.constant.ExceptionMessage.ACCOUNT_NOT_FOUND_MSG;
+import static com.pichebanking.util.constant.ExceptionMessage.ACCOUNT_SHARDS_CHANGED_MSG;
+import static com.pichebanking.util.constant.ExceptionMessage.INSUFFICIENT_FUNDS_MSG;
+import static com.pichebanking.util.enums.TransactionType.*;
+
+/**
+ * Reactive counterpart of {@code JpaTransactionService}, every movement locks its account rows and is recorded
+ * together with an outbox event. The movements don't open a transaction themselves, they are run by
+ * {@link ReactiveIdempotencyService#execute}, which wraps them, and the idempotency key if any, in one.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveTransactionService {
+
+    private final ReactiveAccountRepository accountRepository;
+    private final ReactiveTransactionRepository transactionRepository;
+    private final ReactiveAccountService accountService;
+    private final Scheduler databaseScheduler;
+
+    /**
+     * Locks both accounts in ascending id order, so opposite transfers between them can't deadlock.
+     */
+    public Mono<Void> transferFunds(TransferFundsRequest request) {
+        var sourceAccountId = request.sourceAccountId();
+        var targetAccountId = request.targetAccountId();
+        return accountRepository.lockAll(List.of(sourceAccountId, targetAccountId))
+                .collectList()
+                .flatMap(accounts -> {
+                    var source = find(accounts, sourceAccountId);
+                    var target = find(accounts, targetAccountId);
+                    if (source == null || target == null) {
+                        return Mono.error(new AccountNotFoundException(ACCOUNT_NOT_FOUND_MSG));
+                    }
+                    return debit(source, request.funds()).then(credit(target, request.funds()));
+                })
+                .then(Mono.defer(() -> transactionRepository.record(TRANSFER, sourceAccountId, targetAccountId,
+                        request.funds())))
+                .then();
+    }
+
+    /**
+     * The account row is locked unless the account is sharded, then a single random shard is changed.
+     */
+    public Mono<Void> depositFunds(Long id, Money funds) {
+        return accountRepository.lockUnshardedBalance(id)
+                .flatMap(balance -> accountRepository.updateBalance(id, balance.add(funds)))
+                .switchIfEmpty(Mono.defer(() -> findShardCount(id)
+                        .flatMap(shardCount -> depositToShards(id, shardCount, funds))))
+                .then(Mono.defer(() -> transactionRepository.record(DEPOSIT, id, null, funds)))
+                .then();
+    }
+
+    public Mono<Void> withdrawFunds(Long id, Money funds) {
+        return accountRepository.lockUnshardedBalance(id)
+                .flatMap(balance -> balance.isLessThan(funds)
+                        ? Mono.error(new InsufficientFundsException(INSUFFICIENT_FUNDS_MSG))
+                        : accountRepository.updateBalance(id, balance.subtract(funds)))
+                .switchIfEmpty(Mono.defer(() -> findShardCount(id)
+                        .flatMap(shardCount -> withdrawFromShards(id, funds))))
+                .then(Mono.defer(() -> transactionRepository.record(WITHDRAW, id, null, funds)))
+                .then();
+    }
+
+    /**
+     * Returns transactions of the account older than {@code beforeId}, newest first, outgoing and incoming
+     * transactions are read separately and merged.
+     */
+    public Mono<List<TransactionResponse>> getTransactions(long accountId, TransactionType type,
+                                                           LocalDateTime from, LocalDateTime to,
+                                                           long beforeId, int limit) {
+        return accountService.checkAccountExists(accountId)
+                .thenMany(Flux.concat(
+                        transactionRepository.findHistory(accountId, true, beforeId, type, from, to, limit),
+                        transactionRepository.findHistory(accountId, false, beforeId, type, from, to, limit)))
+                .sort(Comparator.comparingLong(TransactionResponse::transactionId).reversed())
+                .take(limit)
+                .collectList()
+                .subscribeOn(databaseScheduler);
+    }
+
+    private Mono<Long> debit(LockedAccount account, Money funds) {
+        if (account.isSharded()) {
+            return withdrawFromShards(account.id(), funds);
+        }
+        if (account.balance().isLessThan(funds)) {
+            return Mono.error(new InsufficientFundsException(INSUFFICIENT_FUNDS_MSG));
+        }
+        return accountRepository.updateBalance(account.id(), account.balance().subtract(funds));
+    }
+
+    private Mono<Long> credit(LockedAccount account, Money funds) {
+        if (account.isSharded()) {
+            return depositToShards(account.id(), account.shardCount(), funds);
+        }
+        return accountRepository.updateBalance(account.id(), account.balance().add(funds));
+    }
+
+    /**
+     * The account row is not locked, its shard count is read from the last committed version.
+     * A shard count of 0 means the account was merged back concurrently, the movement is retried.
+     */
+    private Mono<Integer> findShardCount(long id) {
+        return accountRepository.findShardCount(id)
+                .switchIfEmpty(Mono.error(() -> new AccountNotFoundException(ACCOUNT_NOT_FOUND_MSG)))
+                .flatMap(shardCount -> shardCount == 0
+                        ? Mono.error(new CannotAcquireLockException(ACCOUNT_SHARDS_CHANGED_MSG))
+                        : Mono.just(shardCount));
+    }
+
+    private Mono<Long> depositToShards(long accountId, int shardCount, Money funds) {
+        return Mono.defer(() -> accountRepository.increaseShardBalance(accountId,
+                        ThreadLocalRandom.current().nextInt(shardCount), funds))
+                .flatMap(updated -> updated == 0
+                        ? Mono.error(new CannotAcquireLockException(ACCOUNT_SHARDS_CHANGED_MSG))
+                        : Mono.just(updated));
+    }
+
+    /**
+     * Locks all shards of the account and consumes across them, starting from a random one.
+     */
+    private Mono<Long> withdrawFromShards(long accountId, Money funds) {
+        return accountRepository.lockShards(accountId)
+                .collectList()
+                .flatMap(shards -> {
+                    if (shards.isEmpty()) {
+                        return Mono.error(new CannotAcquireLockException(ACCOUNT_SHARDS_CHANGED_MSG));
+                    }
+                    var total = Money.sum(Money.ZERO, shards.stream().map(LockedShard::balance).toList());
+                    if (total.isLessThan(funds)) {
+                        return Mono.error(new InsufficientFundsException(INSUFFICIENT_FUNDS_MSG));
+                    }
+                    var updates = Flux.<Mono<Long>>empty();
+                    var remaining = funds;
+                    var first = ThreadLocalRandom.current().nextInt(shards.size());
+                    for (var i = 0; i < shards.size() && remaining.isPositive(); i++) {
+                        var shard = shards.get((first + i) % shards.size());
+                        var taken = shard.balance().min(remaining);
+                        updates = updates.concatWithValues(accountRepository.updateShardBalance(accountId,
+                                shard.shardNo(), shard.balance().subtract(taken)));
+                        remaining = remaining.subtract(taken);
+                    }
+                    return Flux.concat(updates).reduce(0L, Long::sum);
+                });
+    }
+
+    private static LockedAccount find(List<LockedAccount> accounts, long accountId) {
+        return accounts.stream()
+                .filter(account -> account.id() == accountId)
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,36 @@
+package com.pichebanking.util.annotation;
+
+import com.pichebanking.helper.metrics.LockRetryMetricsListener;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs the whole transaction when it lost a deadlock, timed out waiting for a row lock
+ * or, in optimistic mode, found an account changed since it was read.
+ * Retries are bounded and spread with a randomized exponential backoff.
+ * Only the outermost transaction retries, a method joining a surrounding transaction lets the failure
+ * propagate so the surrounding one is rolled back and re-run as a whole.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Retryable(
+        retryFor = ConcurrencyFailureException.class,
+        exceptionExpression = "!T(org.springframework.transaction.support.TransactionSynchronizationManager)"
+                + ".isActualTransactionActive()",
+        listeners = LockRetryMetricsListener.BEAN_NAME,
+        maxAttemptsExpression = "${piche.transaction.retry.max-attempts}",
+        backoff = @Backoff(
+                delayExpression = "${piche.transaction.retry.initial-delay}",
+                maxDelayExpression = "${piche.transaction.retry.max-delay}",
+                multiplierExpression = "${piche.transaction.retry.multiplier}",
+                random = true))
+public @interface RetryOnLockFailure {
+}
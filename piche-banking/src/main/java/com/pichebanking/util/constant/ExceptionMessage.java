@@ -4,4 +4,16 @@ public class ExceptionMessage {
 
     public static final String ACCOUNT_NOT_FOUND_MSG = "Account not found";
     public static final String INSUFFICIENT_FUNDS_MSG = "Insufficient funds in the account";
+    public static final String ACCOUNTS_LOCK_FAILED_MSG = "Accounts are busy, try again later";
+    public static final String INVALID_CURSOR_MSG = "Invalid page cursor";
+    public static final String ACCOUNT_SHARDS_CHANGED_MSG = "Account shards changed concurrently";
+    public static final String SERVICE_BUSY_MSG = "Service is busy, try again later";
+    public static final String ACCOUNT_LANE_BUSY_MSG = "Too many operations queued for the account, try again later";
+    public static final String BALANCE_FEED_FULL_MSG = "Too many balance change subscribers, try again later";
+    public static final String BALANCE_FEED_UNAVAILABLE_MSG = "Balance change feed is not available with the in-memory ledger engine";
+    public static final String TRANSFER_NOT_FOUND_MSG = "Transfer not found";
+    public static final String TRANSFER_REJECTED_MSG = "Transfer could not be applied";
+    public static final String TRANSFER_INBOX_UNAVAILABLE_MSG = "Transfer inbox is not available with the in-memory ledger engine";
+    public static final String IDEMPOTENCY_KEY_REUSED_MSG = "Idempotency key was already used for a different request";
+    public static final String IDEMPOTENCY_KEY_IN_PROGRESS_MSG = "A request with this idempotency key is still in progress";
 }
@@ -0,0 +1,5 @@
+package com.pichebanking.util.enums;
+
+public enum EngineMode {
+    PESSIMISTIC, OPTIMISTIC, CONDITIONAL_UPDATE, IN_MEMORY_LEDGER
+}
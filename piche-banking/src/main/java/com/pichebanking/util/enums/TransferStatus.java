@@ -0,0 +1,5 @@
+package com.pichebanking.util.enums;
+
+public enum TransferStatus {
+    PENDING, COMPLETED, FAILED
+}
@@ -0,0 +1,88 @@
+package com.pichebanking.util.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.pichebanking.helper.converter.MoneyJsonDeserializer;
+import com.pichebanking.helper.converter.MoneyJsonSerializer;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Amount of money as a count of minor units (cents), matching the {@code NUMERIC(12, 2)} columns.
+ * Arithmetic is done on the {@code long} and fails with {@link ArithmeticException} on overflow,
+ * {@link BigDecimal} is only created at the database and JSON boundaries.
+ */
+@JsonSerialize(using = MoneyJsonSerializer.class)
+@JsonDeserialize(using = MoneyJsonDeserializer.class)
+public record Money(long minorUnits) implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    /**
+     * Largest amount a {@code NUMERIC(12, 2)} column can hold, in minor units.
+     */
+    public static final long MAX_STORED_MINOR_UNITS = 999_999_999_999L;
+
+    public static Money ofMinorUnits(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    /**
+     * Converts an amount with at most two significant decimal places, throws {@link ArithmeticException}
+     * instead of rounding a finer amount or truncating a larger one.
+     */
+    public static Money of(BigDecimal amount) {
+        return ofMinorUnits(amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+    }
+
+    public static Money of(String amount) {
+        return of(new BigDecimal(amount));
+    }
+
+    public Money add(Money other) {
+        return new Money(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money subtract(Money other) {
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    /**
+     * Sums on the {@code long}, a running {@link Money} would allocate on every step.
+     */
+    public static Money sum(Money initial, Iterable<Money> amounts) {
+        var sum = initial.minorUnits;
+        for (var amount : amounts) {
+            sum = Math.addExact(sum, amount.minorUnits);
+        }
+        return ofMinorUnits(sum);
+    }
+
+    public Money min(Money other) {
+        return minorUnits <= other.minorUnits ? this : other;
+    }
+
+    public boolean isLessThan(Money other) {
+        return minorUnits < other.minorUnits;
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,18 @@
+package com.pichebanking.util.validation;
+
+import com.pichebanking.util.model.Money;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Lets {@link Positive} be used on {@link Money}, registered with Hibernate Validator through
+ * {@code META-INF/services/jakarta.validation.ConstraintValidator}.
+ */
+public class PositiveMoneyValidator implements ConstraintValidator<Positive, Money> {
+
+    @Override
+    public boolean isValid(Money value, ConstraintValidatorContext context) {
+        return value == null || value.isPositive();
+    }
+}
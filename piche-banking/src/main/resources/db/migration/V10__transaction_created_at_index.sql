@@ -0,0 +1,3 @@
+-- bulk statement export reads a creation time range of all accounts in creation order
+CREATE INDEX IF NOT EXISTS idx_piche_transaction_created_at
+    ON piche_transaction (created_at, id);
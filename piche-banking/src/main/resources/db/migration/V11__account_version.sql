@@ -0,0 +1,2 @@
+-- checked and incremented by every account update, optimistic engine mode relies on it instead of row locks
+ALTER TABLE account ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
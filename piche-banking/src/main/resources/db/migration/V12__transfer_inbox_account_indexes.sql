@@ -0,0 +1,3 @@
+-- a worker checks for older pending transfers of both accounts before applying one
+CREATE INDEX IF NOT EXISTS idx_transfer_inbox_pending_source ON transfer_inbox (status, source_account_id, id);
+CREATE INDEX IF NOT EXISTS idx_transfer_inbox_pending_target ON transfer_inbox (status, target_account_id, id);
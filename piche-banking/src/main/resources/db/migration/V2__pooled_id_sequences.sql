@@ -0,0 +1,5 @@
+-- ids are handed out in blocks (pooled-lo), so the sequence increment must match the block size of the entity
+ALTER SEQUENCE base_sequence INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS piche_transaction_sequence START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE piche_transaction_sequence RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM piche_transaction);
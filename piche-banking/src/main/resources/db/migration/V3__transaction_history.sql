@@ -0,0 +1,8 @@
+ALTER TABLE piche_transaction ADD COLUMN IF NOT EXISTS created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL;
+
+-- history is read newest first per account, the indexes carry every selected column so the table is not touched
+CREATE INDEX IF NOT EXISTS idx_piche_transaction_source_history
+    ON piche_transaction (source_account_id, id, transaction_type, created_at, funds, target_account_id);
+
+CREATE INDEX IF NOT EXISTS idx_piche_transaction_target_history
+    ON piche_transaction (target_account_id, id, transaction_type, created_at, funds, source_account_id);
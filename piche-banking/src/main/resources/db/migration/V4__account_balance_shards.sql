@@ -0,0 +1,12 @@
+-- 0 for a regular account, otherwise the balance lives in account_balance_shard and account.balance stays 0
+ALTER TABLE account ADD COLUMN IF NOT EXISTS shard_count INT DEFAULT 0 NOT NULL;
+
+CREATE TABLE IF NOT EXISTS account_balance_shard
+(
+    account_id          BIGINT          NOT NULL,
+    shard_no            INT             NOT NULL,
+    balance             NUMERIC(12, 2)  NOT NULL,
+
+    CONSTRAINT pk_account_balance_shard PRIMARY KEY (account_id, shard_no),
+    CONSTRAINT fk_shard_account FOREIGN KEY (account_id) REFERENCES account (id)
+);
@@ -0,0 +1,11 @@
+-- a key is stored in the same transaction as the movement it protects, only completed requests are remembered
+CREATE TABLE IF NOT EXISTS idempotency_key
+(
+    idempotency_key     VARCHAR(64)     NOT NULL,
+    request_fingerprint VARCHAR(128)    NOT NULL,
+    expires_at          TIMESTAMP       NOT NULL,
+
+    CONSTRAINT pk_idempotency_key PRIMARY KEY (idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_key_expires_at ON idempotency_key (expires_at);
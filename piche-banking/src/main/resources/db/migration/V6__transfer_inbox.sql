@@ -0,0 +1,20 @@
+-- accepted transfers wait here until a worker applies them, a row is pending until its transfer commits
+CREATE SEQUENCE IF NOT EXISTS transfer_inbox_sequence START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS transfer_inbox
+(
+    id                  BIGINT          NOT NULL,
+    source_account_id   BIGINT          NOT NULL,
+    target_account_id   BIGINT          NOT NULL,
+    funds               NUMERIC(12, 2)  NOT NULL,
+    partition_no        INT             NOT NULL,
+    status              VARCHAR(16)     NOT NULL,
+    error_message       VARCHAR(255),
+    created_at          TIMESTAMP       NOT NULL,
+    processed_at        TIMESTAMP,
+
+    CONSTRAINT pk_transfer_inbox PRIMARY KEY (id)
+);
+
+-- workers read the pending rows of their partitions oldest first, completed rows drop out of the scan
+CREATE INDEX IF NOT EXISTS idx_transfer_inbox_pending ON transfer_inbox (status, partition_no, id);
@@ -0,0 +1,15 @@
+-- written in the transaction of every recorded movement, rows are deleted once the relay published them
+CREATE SEQUENCE IF NOT EXISTS transaction_outbox_sequence START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS transaction_outbox
+(
+    id                  BIGINT          NOT NULL,
+    transaction_id      BIGINT          NOT NULL,
+    transaction_type    VARCHAR(16)     NOT NULL,
+    source_account_id   BIGINT          NOT NULL,
+    target_account_id   BIGINT,
+    funds               NUMERIC(12, 2)  NOT NULL,
+    created_at          TIMESTAMP       NOT NULL,
+
+    CONSTRAINT pk_transaction_outbox PRIMARY KEY (id)
+);
@@ -0,0 +1,36 @@
+-- balance of every account as of the transaction id watermark of the reconciliation run that last checked it
+CREATE TABLE IF NOT EXISTS account_balance_snapshot
+(
+    account_id          BIGINT          NOT NULL,
+    balance             NUMERIC(12, 2)  NOT NULL,
+    watermark           BIGINT          NOT NULL,
+
+    CONSTRAINT pk_account_balance_snapshot PRIMARY KEY (account_id),
+    CONSTRAINT fk_snapshot_account FOREIGN KEY (account_id) REFERENCES account (id)
+);
+
+CREATE TABLE IF NOT EXISTS reconciliation_run
+(
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    watermark           BIGINT          NOT NULL,
+    transactions        BIGINT          NOT NULL,
+    accounts            BIGINT          NOT NULL,
+    mismatches          BIGINT          NOT NULL,
+    finished_at         TIMESTAMP       NOT NULL,
+
+    CONSTRAINT pk_reconciliation_run PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS balance_mismatch
+(
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    run_id              BIGINT          NOT NULL,
+    account_id          BIGINT          NOT NULL,
+    watermark           BIGINT          NOT NULL,
+    expected_balance    NUMERIC(12, 2)  NOT NULL,
+    actual_balance      NUMERIC(12, 2)  NOT NULL,
+    detected_at         TIMESTAMP       NOT NULL,
+
+    CONSTRAINT pk_balance_mismatch PRIMARY KEY (id),
+    CONSTRAINT fk_mismatch_run FOREIGN KEY (run_id) REFERENCES reconciliation_run (id)
+);
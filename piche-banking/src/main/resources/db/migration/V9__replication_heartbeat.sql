@@ -0,0 +1,10 @@
+-- single row moved forward on the primary, its age on a read replica is the replication lag
+CREATE TABLE IF NOT EXISTS replication_heartbeat
+(
+    id                  INT             NOT NULL,
+    beat_at             TIMESTAMP       NOT NULL,
+
+    CONSTRAINT pk_replication_heartbeat PRIMARY KEY (id)
+);
+
+INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, CURRENT_TIMESTAMP);
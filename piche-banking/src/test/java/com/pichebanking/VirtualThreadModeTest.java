@@ -0,0 +1,96 @@
+package com.pichebanking;
+
+import com.pichebanking.api.dto.request.CreateAccountRequest;
+import com.pichebanking.api.dto.request.TransferFundsRequest;
+import com.pichebanking.service.AccountService;
+import com.pichebanking.service.TransactionService;
+import com.pichebanking.util.model.Money;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:virtual_thread_mode_test;DB_CLOSE_DELAY=-1"
+})
+class VirtualThreadModeTest {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int TRANSFERS = 400;
+
+    @Autowired
+    private ServletWebServerApplicationContext context;
+
+    @Autowired
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Test
+    void requestsAreServedOnVirtualThreadsTest() {
+        var tomcat = ((TomcatWebServer) context.getWebServer()).getTomcat();
+
+        assertInstanceOf(VirtualThreadExecutor.class, tomcat.getConnector().getProtocolHandler().getExecutor());
+    }
+
+    @Test
+    void asyncWorkRunsOnVirtualThreadsTest() throws ExecutionException, InterruptedException {
+        var virtual = applicationTaskExecutor.submit(() -> Thread.currentThread().isVirtual()).get();
+
+        assertTrue(virtual);
+    }
+
+    /**
+     * Transfers in both directions between two accounts make virtual threads wait for row locks and pool
+     * connections, none of these waits may happen while a monitor is held.
+     */
+    @Test
+    void contendedTransfersDoNotPinCarrierThreadsTest(@TempDir Path tempDir) throws IOException {
+        var first = accountService.createAccount(new CreateAccountRequest("First", Money.of("1000"))).getId();
+        var second = accountService.createAccount(new CreateAccountRequest("Second", Money.of("1000"))).getId();
+        var recordingFile = tempDir.resolve("pinning.jfr");
+
+        try (var recording = new Recording()) {
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+            try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (var i = 0; i < TRANSFERS; i++) {
+                    var request = i % 2 == 0
+                            ? new TransferFundsRequest(first, second, Money.of("1"))
+                            : new TransferFundsRequest(second, first, Money.of("1"));
+                    executor.submit(() -> transactionService.transferFunds(request));
+                }
+            }
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        var pinnedStacks = RecordingFile.readAllEvents(recordingFile).stream()
+                .filter(event -> event.getEventType().getName().equals(PINNED_EVENT))
+                .map(event -> String.valueOf(event.getStackTrace()))
+                .toList();
+        assertEquals(List.of(), pinnedStacks);
+    }
+}
@@ -0,0 +1,72 @@
+package com.pichebanking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * A virtual thread blocked on JDBC while holding a monitor pins its carrier thread,
+ * so application code must guard shared state with {@code java.util.concurrent} locks instead.
+ */
+class VirtualThreadPinningTest {
+
+    @Test
+    void applicationCodeHoldsNoMonitorsTest() throws IOException, URISyntaxException {
+        var classes = Path.of(PicheBankingApplication.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        var violations = new ArrayList<String>();
+        try (var files = Files.walk(classes)) {
+            for (var file : files.filter(path -> path.toString().endsWith(".class")).toList()) {
+                try (InputStream in = Files.newInputStream(file)) {
+                    new ClassReader(in).accept(new MonitorFinder(violations), ClassReader.SKIP_DEBUG);
+                }
+            }
+        }
+        assertEquals(List.of(), violations);
+    }
+
+    private static final class MonitorFinder extends ClassVisitor {
+
+        private final List<String> violations;
+        private String className;
+
+        private MonitorFinder(List<String> violations) {
+            super(Opcodes.ASM9);
+            this.violations = violations;
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName,
+                          String[] interfaces) {
+            className = name.replace('/', '.');
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature,
+                                         String[] exceptions) {
+            var method = className + "#" + name;
+            if ((access & Opcodes.ACC_SYNCHRONIZED) != 0) {
+                violations.add(method + " is synchronized");
+            }
+            return new MethodVisitor(Opcodes.ASM9) {
+                @Override
+                public void visitInsn(int opcode) {
+                    if (opcode == Opcodes.MONITORENTER) {
+                        violations.add(method + " has a synchronized block");
+                    }
+                }
+            };
+        }
+    }
+}
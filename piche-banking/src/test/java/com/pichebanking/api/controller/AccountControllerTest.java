@@ -1,30 +1,59 @@
 package com.pichebanking.api.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pichebanking.api.dto.request.BatchCreateAccountsRequest;
 import com.pichebanking.api.dto.request.CreateAccountRequest;
+import com.pichebanking.api.dto.request.ShardAccountRequest;
+import com.pichebanking.api.dto.response.AccountImportErrorResponse;
+import com.pichebanking.api.dto.response.AccountImportProgressResponse;
 import com.pichebanking.api.dto.response.AccountResponse;
+import com.pichebanking.api.dto.response.TransactionResponse;
 import com.pichebanking.api.exception.GlobalExceptionHandler;
 import com.pichebanking.dao.entity.Account;
 import com.pichebanking.exception.AccountNotFoundException;
+import com.pichebanking.exception.BalanceFeedFullException;
+import com.pichebanking.exception.BalanceFeedUnavailableException;
+import com.pichebanking.helper.cursor.KeysetCursor;
+import com.pichebanking.service.AccountImportService;
 import com.pichebanking.service.AccountService;
+import com.pichebanking.service.StatementService;
+import com.pichebanking.service.TransactionService;
+import com.pichebanking.service.feed.BalanceFeed;
+import com.pichebanking.util.enums.StatementFormat;
+import com.pichebanking.util.enums.TransactionType;
+import com.pichebanking.util.model.Money;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.springframework.core.convert.ConversionService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.math.BigDecimal;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
 import static com.pichebanking.util.constant.ExceptionMessage.ACCOUNT_NOT_FOUND_MSG;
+import static com.pichebanking.util.constant.ExceptionMessage.BALANCE_FEED_FULL_MSG;
+import static com.pichebanking.util.constant.ExceptionMessage.BALANCE_FEED_UNAVAILABLE_MSG;
+import static com.pichebanking.util.constant.ExceptionMessage.INVALID_CURSOR_MSG;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @ExtendWith(SpringExtension.class)
@@ -32,6 +61,13 @@ class AccountControllerTest {
 
     private static final String ACCOUNT_PATH = "/v1/accounts";
     private static final String ACCOUNT_PATH_WITH_ID = "/v1/accounts/{id}";
+    private static final String ACCOUNT_PATH_SHARDS = "/v1/accounts/{id}/shards";
+    private static final String ACCOUNT_TRANSACTIONS_PATH = "/v1/accounts/{id}/transactions";
+    private static final String ACCOUNT_STATEMENT_PATH = "/v1/accounts/{id}/statement";
+    private static final String STATEMENTS_PATH = "/v1/accounts/statements";
+    private static final String ACCOUNTS_BATCH_PATH = "/v1/accounts/batch";
+    private static final String ACCOUNTS_IMPORT_PATH = "/v1/accounts/import";
+    private static final String BALANCE_CHANGES_PATH = "/v1/accounts/{id}/balance-changes";
     private static final String USER_FULL_NAME = "Test Name";
 
     private MockMvc mockMvc;
@@ -44,6 +80,21 @@ class AccountControllerTest {
     @Mock
     private ConversionService conversionService;
 
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private StatementService statementService;
+
+    @Mock
+    private AccountImportService accountImportService;
+
+    @Mock
+    private BalanceFeed balanceFeed;
+
+    @Spy
+    private ObjectMapper jsonMapper = new ObjectMapper();
+
     @InjectMocks
     private AccountController accountController;
 
@@ -55,9 +106,9 @@ class AccountControllerTest {
 
     @Test
     void createAccountTest() throws Exception {
-        var request = new CreateAccountRequest(USER_FULL_NAME, BigDecimal.TEN);
-        var account = new Account().setBalance(BigDecimal.TEN).setId(1L).setFullName(USER_FULL_NAME);
-        var accountResponse = new AccountResponse(USER_FULL_NAME, 1L, BigDecimal.TEN);
+        var request = new CreateAccountRequest(USER_FULL_NAME, Money.of("10"));
+        var account = new Account().setBalance(Money.of("10")).setId(1L).setFullName(USER_FULL_NAME);
+        var accountResponse = new AccountResponse(USER_FULL_NAME, 1L, Money.of("10"));
         var expected = objectMapper.writeValueAsString(accountResponse);
 
         Mockito.when(accountService.createAccount(request)).thenReturn(account);
@@ -85,7 +136,7 @@ class AccountControllerTest {
 
     @Test
     void createAccountWithEmptyFieldTest() throws Exception {
-        var request = new CreateAccountRequest(" ", BigDecimal.TEN);
+        var request = new CreateAccountRequest(" ", Money.of("10"));
 
         mockMvc.perform(post(ACCOUNT_PATH)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -94,14 +145,101 @@ class AccountControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void createAccountsTest() throws Exception {
+        var request = new BatchCreateAccountsRequest(List.of(
+                new CreateAccountRequest(USER_FULL_NAME, Money.of("10")),
+                new CreateAccountRequest("Other Name", Money.of("20"))));
+        var first = new Account().setBalance(Money.of("10")).setId(1L).setFullName(USER_FULL_NAME);
+        var second = new Account().setBalance(Money.of("20")).setId(2L).setFullName("Other Name");
+        var firstResponse = new AccountResponse(USER_FULL_NAME, 1L, Money.of("10"));
+        var secondResponse = new AccountResponse("Other Name", 2L, Money.of("20"));
+
+        Mockito.when(accountService.createAccounts(request.accounts())).thenReturn(List.of(first, second));
+        Mockito.when(conversionService.convert(first, AccountResponse.class)).thenReturn(firstResponse);
+        Mockito.when(conversionService.convert(second, AccountResponse.class)).thenReturn(secondResponse);
+
+        mockMvc.perform(post(ACCOUNTS_BATCH_PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request)))
+                .andExpect(status().isCreated())
+                .andExpect(content().json(objectMapper.writeValueAsString(List.of(firstResponse, secondResponse))));
+    }
+
+    @Test
+    void createAccountsWithInvalidAccountTest() throws Exception {
+        var request = new BatchCreateAccountsRequest(List.of(
+                new CreateAccountRequest(USER_FULL_NAME, Money.of("10")),
+                new CreateAccountRequest(" ", Money.of("20"))));
+
+        mockMvc.perform(post(ACCOUNTS_BATCH_PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request)))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(accountService);
+    }
+
+    @Test
+    void importAccountsStreamsErrorsAndProgressTest() throws Exception {
+        Mockito.doAnswer(invocation -> {
+            invocation.<Consumer<AccountImportErrorResponse>>getArgument(2)
+                    .accept(new AccountImportErrorResponse(2, "fullName must not be blank"));
+            invocation.<Consumer<AccountImportProgressResponse>>getArgument(3)
+                    .accept(new AccountImportProgressResponse(1000, 999, 1, false));
+            return new AccountImportProgressResponse(1500, 1499, 1, true);
+        }).when(accountImportService).importAccounts(Mockito.any(), Mockito.eq(StatementFormat.NDJSON),
+                Mockito.any(), Mockito.any());
+
+        var result = mockMvc.perform(post(ACCOUNTS_IMPORT_PATH)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"fullName\":\"Test Name\",\"initialBalance\":10}\n"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("""
+                        {"line":2,"errorMessage":"fullName must not be blank"}
+                        {"processed":1000,"created":999,"failed":1,"completed":false}
+                        {"processed":1500,"created":1499,"failed":1,"completed":true}
+                        """));
+    }
+
+    @Test
+    void shardAccountTest() throws Exception {
+        var request = new ShardAccountRequest(8);
+        var accountResponse = new AccountResponse(USER_FULL_NAME, 1L, Money.of("10"));
+        var expected = objectMapper.writeValueAsString(accountResponse);
+
+        Mockito.when(accountService.shardAccount(1L, 8)).thenReturn(accountResponse);
+
+        mockMvc.perform(put(ACCOUNT_PATH_SHARDS, 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request)))
+                .andExpect(status().isOk())
+                .andExpect(content().json(expected));
+    }
+
+    @Test
+    void shardAccountWithTooManyShardsTest() throws Exception {
+        var request = new ShardAccountRequest(65);
+
+        mockMvc.perform(put(ACCOUNT_PATH_SHARDS, 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request)))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(accountService);
+    }
+
     @Test
     void getAccountTest() throws Exception {
-        var account = new Account().setBalance(BigDecimal.TEN).setId(1L).setFullName(USER_FULL_NAME);
-        var accountResponse = new AccountResponse(USER_FULL_NAME, 1L, BigDecimal.TEN);
+        var accountResponse = new AccountResponse(USER_FULL_NAME, 1L, Money.of("10"));
         var expected = objectMapper.writeValueAsString(accountResponse);
 
-        Mockito.when(accountService.getAccount(1L)).thenReturn(account);
-        Mockito.when(conversionService.convert(account, AccountResponse.class)).thenReturn(accountResponse);
+        Mockito.when(accountService.getAccountSnapshot(1L)).thenReturn(accountResponse);
 
         mockMvc.perform(get(ACCOUNT_PATH_WITH_ID, 1L)
                         .contentType(MediaType.APPLICATION_JSON))
@@ -111,7 +249,7 @@ class AccountControllerTest {
 
     @Test
     void getAccountWithNotFoundExceptionTest() throws Exception {
-        Mockito.when(accountService.getAccount(5L))
+        Mockito.when(accountService.getAccountSnapshot(5L))
                 .thenThrow(new AccountNotFoundException(ACCOUNT_NOT_FOUND_MSG));
 
         mockMvc.perform(get(ACCOUNT_PATH_WITH_ID, 5L)
@@ -122,17 +260,256 @@ class AccountControllerTest {
 
     @Test
     void getAccountsTest() throws Exception {
-        var account = new Account().setBalance(BigDecimal.TEN).setId(1L).setFullName(USER_FULL_NAME);
+        var account = new Account().setBalance(Money.of("10")).setId(1L).setFullName(USER_FULL_NAME);
         var accounts = Collections.singletonList(account);
-        var accountResponse = new AccountResponse(USER_FULL_NAME, 1L, BigDecimal.TEN);
+        var accountResponse = new AccountResponse(USER_FULL_NAME, 1L, Money.of("10"));
         var expected = objectMapper.writeValueAsString(Collections.singletonList(accountResponse));
 
-        Mockito.when(accountService.getAccounts()).thenReturn(accounts);
-        Mockito.when(conversionService.convert(account, AccountResponse.class)).thenReturn(accountResponse);
+        Mockito.when(accountService.getAccounts(0L, 100)).thenReturn(accounts);
+        Mockito.when(accountService.toResponses(accounts)).thenReturn(List.of(accountResponse));
 
         mockMvc.perform(get(ACCOUNT_PATH)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(AccountControllerApi.NEXT_CURSOR_HEADER))
                 .andExpect(content().json(expected));
     }
+
+    @Test
+    void getAccountsWithNextCursorTest() throws Exception {
+        var accountOne = new Account().setBalance(Money.of("10")).setId(1L).setFullName(USER_FULL_NAME);
+        var accountTwo = new Account().setBalance(Money.of("10")).setId(2L).setFullName(USER_FULL_NAME);
+        var accountResponse = new AccountResponse(USER_FULL_NAME, 2L, Money.of("10"));
+        var expected = objectMapper.writeValueAsString(Collections.singletonList(accountResponse));
+
+        Mockito.when(accountService.getAccounts(1L, 1)).thenReturn(List.of(accountTwo));
+        Mockito.when(accountService.toResponses(List.of(accountTwo))).thenReturn(List.of(accountResponse));
+
+        var cursor = mockMvc.perform(get(ACCOUNT_PATH)
+                        .param("limit", "1")
+                        .param("cursor", KeysetCursor.encode(accountOne.getId()))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(expected))
+                .andReturn().getResponse().getHeader(AccountControllerApi.NEXT_CURSOR_HEADER);
+
+        assertEquals(2L, KeysetCursor.decode(cursor));
+    }
+
+    @Test
+    void getAccountsWithInvalidCursorTest() throws Exception {
+        mockMvc.perform(get(ACCOUNT_PATH)
+                        .param("cursor", "not a cursor")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage").value(INVALID_CURSOR_MSG));
+
+        Mockito.verifyNoInteractions(accountService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamAccountsTest() throws Exception {
+        var first = new AccountResponse(USER_FULL_NAME, 1L, Money.of("10"));
+        var second = new AccountResponse(USER_FULL_NAME, 2L, Money.of("1"));
+        var expected = objectMapper.writeValueAsString(first) + "\n" + objectMapper.writeValueAsString(second) + "\n";
+
+        Mockito.doAnswer(invocation -> {
+            var consumer = (Consumer<AccountResponse>) invocation.getArgument(0);
+            consumer.accept(first);
+            consumer.accept(second);
+            return null;
+        }).when(accountService).streamAccounts(Mockito.any());
+
+        var result = mockMvc.perform(get(ACCOUNT_PATH)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(expected));
+    }
+
+    @Test
+    void getTransactionsTest() throws Exception {
+        var from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        var transaction = new TransactionResponse(7L, TransactionType.DEPOSIT, Money.of("10"), 1L, null,
+                from.plusDays(1));
+        var expected = objectMapper.findAndRegisterModules().writeValueAsString(List.of(transaction));
+
+        Mockito.when(transactionService.getTransactions(1L, TransactionType.DEPOSIT, from, null, 9L, 1))
+                .thenReturn(List.of(transaction));
+
+        var cursor = mockMvc.perform(get(ACCOUNT_TRANSACTIONS_PATH, 1L)
+                        .param("type", "DEPOSIT")
+                        .param("from", "2024-01-01T00:00:00")
+                        .param("cursor", KeysetCursor.encode(9L))
+                        .param("limit", "1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(expected))
+                .andReturn().getResponse().getHeader(AccountControllerApi.NEXT_CURSOR_HEADER);
+
+        assertEquals(7L, KeysetCursor.decode(cursor));
+    }
+
+    @Test
+    void getTransactionsFirstPageTest() throws Exception {
+        Mockito.when(transactionService.getTransactions(1L, null, null, null, Long.MAX_VALUE, 100))
+                .thenReturn(Collections.emptyList());
+
+        mockMvc.perform(get(ACCOUNT_TRANSACTIONS_PATH, 1L)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(AccountControllerApi.NEXT_CURSOR_HEADER))
+                .andExpect(content().json("[]"));
+    }
+
+    @Test
+    void getTransactionsWithNotFoundExceptionTest() throws Exception {
+        Mockito.when(transactionService.getTransactions(5L, null, null, null, Long.MAX_VALUE, 100))
+                .thenThrow(new AccountNotFoundException(ACCOUNT_NOT_FOUND_MSG));
+
+        mockMvc.perform(get(ACCOUNT_TRANSACTIONS_PATH, 5L)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage").value(ACCOUNT_NOT_FOUND_MSG));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportStatementAsCsvTest() throws Exception {
+        var from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        Mockito.doAnswer(invocation -> {
+            var consumer = (Consumer<TransactionResponse>) invocation.getArgument(3);
+            consumer.accept(new TransactionResponse(7L, TransactionType.DEPOSIT, Money.of("10"), 1L, null,
+                    from.plusHours(1)));
+            consumer.accept(new TransactionResponse(9L, TransactionType.TRANSFER, Money.of("2.50"), 2L, 1L,
+                    from.plusHours(2)));
+            return null;
+        }).when(statementService).exportStatement(Mockito.eq(1L), Mockito.eq(from), Mockito.isNull(), Mockito.any());
+
+        var result = mockMvc.perform(get(ACCOUNT_STATEMENT_PATH, 1L)
+                        .param("from", "2024-01-01T00:00:00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"statement-1.csv\""))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string(
+                        "transaction_id,transaction_type,funds,source_account_number,target_account_number,created_at\n"
+                                + "7,DEPOSIT,10.00,1,,2024-01-01T01:00\n"
+                                + "9,TRANSFER,2.50,2,1,2024-01-01T02:00\n"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportStatementsAsGzippedNdjsonTest() throws Exception {
+        var from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        var to = LocalDateTime.of(2024, 2, 1, 0, 0);
+        var transaction = new TransactionResponse(7L, TransactionType.WITHDRAW, Money.of("1"), 1L, null, null);
+        Mockito.doAnswer(invocation -> {
+            ((Consumer<TransactionResponse>) invocation.getArgument(2)).accept(transaction);
+            return null;
+        }).when(statementService).exportStatements(Mockito.eq(from), Mockito.eq(to), Mockito.any());
+
+        var result = mockMvc.perform(get(STATEMENTS_PATH)
+                        .param("format", "NDJSON")
+                        .param("from", "2024-01-01T00:00:00")
+                        .param("to", "2024-02-01T00:00:00")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (var gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertEquals(objectMapper.writeValueAsString(transaction) + "\n",
+                    new String(gzip.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportStatementWithRefusedGzipTest() throws Exception {
+        var transaction = new TransactionResponse(7L, TransactionType.DEPOSIT, Money.of("10"), 1L, null, null);
+        Mockito.doAnswer(invocation -> {
+            ((Consumer<TransactionResponse>) invocation.getArgument(3)).accept(transaction);
+            return null;
+        }).when(statementService).exportStatement(Mockito.eq(1L), Mockito.isNull(), Mockito.isNull(), Mockito.any());
+
+        for (var acceptEncoding : List.of("gzip;q=0", "x-gzip-foo", "deflate, GZIP ; q=0.0", "gzip;q=0, *")) {
+            var result = mockMvc.perform(get(ACCOUNT_STATEMENT_PATH, 1L)
+                            .param("format", "NDJSON")
+                            .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                    .andExpect(content().string(objectMapper.writeValueAsString(transaction) + "\n"));
+        }
+    }
+
+    @Test
+    void exportStatementWithNotFoundExceptionTest() throws Exception {
+        Mockito.doThrow(new AccountNotFoundException(ACCOUNT_NOT_FOUND_MSG))
+                .when(accountService).checkAccountExists(5L);
+
+        mockMvc.perform(get(ACCOUNT_STATEMENT_PATH, 5L))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage").value(ACCOUNT_NOT_FOUND_MSG));
+        Mockito.verifyNoInteractions(statementService);
+    }
+
+    @Test
+    void streamBalanceChangesSubscribesTest() throws Exception {
+        Mockito.when(balanceFeed.subscribe(1L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get(BALANCE_CHANGES_PATH, 1L).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+        Mockito.verify(balanceFeed, Mockito.times(1)).subscribe(1L);
+        Mockito.verifyNoInteractions(accountService);
+    }
+
+    @Test
+    void streamBalanceChangesWithFullFeedTest() throws Exception {
+        Mockito.when(balanceFeed.subscribe(1L))
+                .thenThrow(new BalanceFeedFullException(BALANCE_FEED_FULL_MSG));
+
+        mockMvc.perform(get(BALANCE_CHANGES_PATH, 1L).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.errorMessage").value(BALANCE_FEED_FULL_MSG));
+    }
+
+    @Test
+    void streamBalanceChangesWithLedgerEngineTest() throws Exception {
+        Mockito.when(balanceFeed.subscribe(1L))
+                .thenThrow(new BalanceFeedUnavailableException(BALANCE_FEED_UNAVAILABLE_MSG));
+
+        mockMvc.perform(get(BALANCE_CHANGES_PATH, 1L).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isNotImplemented())
+                .andExpect(jsonPath("$.errorMessage").value(BALANCE_FEED_UNAVAILABLE_MSG));
+    }
+
+    @Test
+    void streamBalanceChangesWithNotFoundExceptionTest() throws Exception {
+        Mockito.when(balanceFeed.subscribe(5L))
+                .thenThrow(new AccountNotFoundException(ACCOUNT_NOT_FOUND_MSG));
+
+        mockMvc.perform(get(BALANCE_CHANGES_PATH, 5L))
+                .andExpect(status().isBadRequest());
+    }
 }
\ No newline at end of file
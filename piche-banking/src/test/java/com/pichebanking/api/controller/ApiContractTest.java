@@ -0,0 +1,250 @@
+package com.pichebanking.api.controller;
+
+import com.pichebanking.api.dto.request.CreateAccountRequest;
+import com.pichebanking.api.dto.request.FundsRequest;
+import com.pichebanking.api.dto.request.TransferFundsRequest;
+import com.pichebanking.api.dto.response.AccountResponse;
+import com.pichebanking.api.dto.response.TransactionResponse;
+import com.pichebanking.util.enums.TransactionType;
+import com.pichebanking.util.model.ErrorResponse;
+import com.pichebanking.util.model.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.Objects;
+
+import static com.pichebanking.api.controller.AccountControllerApi.NEXT_CURSOR_HEADER;
+import static com.pichebanking.api.controller.TransactionControllerApi.IDEMPOTENCY_KEY_HEADER;
+import static com.pichebanking.util.constant.ExceptionMessage.ACCOUNT_NOT_FOUND_MSG;
+import static com.pichebanking.util.constant.ExceptionMessage.IDEMPOTENCY_KEY_REUSED_MSG;
+import static com.pichebanking.util.constant.ExceptionMessage.INSUFFICIENT_FUNDS_MSG;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Requests and responses of the account and transaction API, checked over HTTP against each web stack.
+ */
+@AutoConfigureWebTestClient
+abstract class ApiContractTest {
+
+    private static final ParameterizedTypeReference<List<AccountResponse>> ACCOUNTS =
+            new ParameterizedTypeReference<>() {
+            };
+    private static final ParameterizedTypeReference<List<TransactionResponse>> TRANSACTIONS =
+            new ParameterizedTypeReference<>() {
+            };
+
+    @Autowired
+    private WebTestClient client;
+
+    @Test
+    void createdAccountIsReturnedTest() {
+        var created = createAccount("Contract Holder", "125.50");
+
+        assertEquals(new AccountResponse("Contract Holder", created.accountNumber(), Money.of("125.50")), created);
+        assertEquals(created, getAccount(created.accountNumber()));
+    }
+
+    @Test
+    void invalidAccountIsRejectedTest() {
+        client.post().uri("/v1/accounts")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CreateAccountRequest(" ", Money.of("10")))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void missingAccountIsBadRequestTest() {
+        var error = client.get().uri("/v1/accounts/{id}", Long.MAX_VALUE)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(ErrorResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertEquals(ACCOUNT_NOT_FOUND_MSG, Objects.requireNonNull(error).errorMessage());
+    }
+
+    @Test
+    void depositAndWithdrawChangeBalanceTest() {
+        var id = createAccount("Movements", "100").accountNumber();
+
+        changeFunds(id, "deposit", "25.25", null).expectStatus().isAccepted();
+        changeFunds(id, "withdraw", "10", null).expectStatus().isAccepted();
+
+        assertEquals(Money.of("115.25"), getAccount(id).balance());
+    }
+
+    @Test
+    void withdrawOverBalanceIsBadRequestTest() {
+        var id = createAccount("Overdrawn", "5").accountNumber();
+
+        var error = changeFunds(id, "withdraw", "5.01", null)
+                .expectStatus().isBadRequest()
+                .expectBody(ErrorResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertEquals(INSUFFICIENT_FUNDS_MSG, Objects.requireNonNull(error).errorMessage());
+        assertEquals(Money.of("5"), getAccount(id).balance());
+    }
+
+    @Test
+    void depositToMissingAccountIsBadRequestTest() {
+        changeFunds(Long.MAX_VALUE, "deposit", "1", null).expectStatus().isBadRequest();
+    }
+
+    @Test
+    void transferMovesFundsTest() {
+        var source = createAccount("Source", "100").accountNumber();
+        var target = createAccount("Target", "1").accountNumber();
+
+        transfer(source, target, "40", null).expectStatus().isAccepted();
+        transfer(target, source, "41.50", null).expectStatus().isBadRequest();
+
+        assertEquals(Money.of("60"), getAccount(source).balance());
+        assertEquals(Money.of("41"), getAccount(target).balance());
+    }
+
+    @Test
+    void repeatedIdempotencyKeyMovesFundsOnceTest() {
+        var source = createAccount("Idempotent Source", "100").accountNumber();
+        var target = createAccount("Idempotent Target", "0.01").accountNumber();
+        var key = "contract-" + getClass().getSimpleName() + "-" + source;
+
+        transfer(source, target, "30", key).expectStatus().isAccepted();
+        transfer(source, target, "30", key).expectStatus().isAccepted();
+        var error = transfer(source, target, "31", key)
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY)
+                .expectBody(ErrorResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertEquals(IDEMPOTENCY_KEY_REUSED_MSG, Objects.requireNonNull(error).errorMessage());
+        assertEquals(Money.of("70"), getAccount(source).balance());
+    }
+
+    @Test
+    void accountsArePagedWithCursorTest() {
+        for (var i = 0; i < 3; i++) {
+            createAccount("Paged " + i, "1");
+        }
+
+        var firstPage = client.get().uri("/v1/accounts?limit=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(NEXT_CURSOR_HEADER)
+                .expectBody(ACCOUNTS)
+                .returnResult();
+        var cursor = firstPage.getResponseHeaders().getFirst(NEXT_CURSOR_HEADER);
+        var secondPage = client.get().uri("/v1/accounts?limit=2&cursor={cursor}", cursor)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ACCOUNTS)
+                .returnResult()
+                .getResponseBody();
+
+        var first = Objects.requireNonNull(firstPage.getResponseBody());
+        assertEquals(2, first.size());
+        assertTrue(Objects.requireNonNull(secondPage).get(0).accountNumber() > first.get(1).accountNumber());
+    }
+
+    @Test
+    void invalidPageLimitIsBadRequestTest() {
+        client.get().uri("/v1/accounts?limit=0")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void transactionsAreListedNewestFirstTest() {
+        var source = createAccount("History Source", "100").accountNumber();
+        var target = createAccount("History Target", "100").accountNumber();
+        changeFunds(source, "deposit", "1", null).expectStatus().isAccepted();
+        transfer(source, target, "2", null).expectStatus().isAccepted();
+        transfer(target, source, "3", null).expectStatus().isAccepted();
+
+        var transactions = client.get().uri("/v1/accounts/{id}/transactions", source)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TRANSACTIONS)
+                .returnResult()
+                .getResponseBody();
+        var transfers = client.get().uri("/v1/accounts/{id}/transactions?type=TRANSFER&limit=1", source)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(NEXT_CURSOR_HEADER)
+                .expectBody(TRANSACTIONS)
+                .returnResult()
+                .getResponseBody();
+
+        assertEquals(List.of(TransactionType.TRANSFER, TransactionType.TRANSFER, TransactionType.DEPOSIT),
+                Objects.requireNonNull(transactions).stream().map(TransactionResponse::transactionType).toList());
+        assertEquals(target, transactions.get(0).sourceAccountNumber());
+        assertNotNull(transactions.get(0).createdAt());
+        assertEquals(List.of(transactions.get(0)), transfers);
+    }
+
+    @Test
+    void accountsAreStreamedAsNdjsonTest() {
+        var id = createAccount("Streamed", "7").accountNumber();
+
+        var accounts = client.get().uri("/v1/accounts")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(AccountResponse.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertTrue(Objects.requireNonNull(accounts).contains(new AccountResponse("Streamed", id, Money.of("7"))));
+    }
+
+    private AccountResponse createAccount(String fullName, String balance) {
+        return client.post().uri("/v1/accounts")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CreateAccountRequest(fullName, Money.of(balance)))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(AccountResponse.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private AccountResponse getAccount(long id) {
+        return client.get().uri("/v1/accounts/{id}", id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(AccountResponse.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private WebTestClient.ResponseSpec changeFunds(long id, String operation, String funds, String idempotencyKey) {
+        var request = client.patch().uri("/v1/transactions/accounts/{id}/{operation}", id, operation)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (idempotencyKey != null) {
+            request = request.header(IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+        }
+        return request.bodyValue(new FundsRequest(Money.of(funds))).exchange();
+    }
+
+    private WebTestClient.ResponseSpec transfer(long source, long target, String funds, String idempotencyKey) {
+        var request = client.post().uri("/v1/transactions")
+                .contentType(MediaType.APPLICATION_JSON);
+        if (idempotencyKey != null) {
+            request = request.header(IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+        }
+        return request.bodyValue(new TransferFundsRequest(source, target, Money.of(funds))).exchange();
+    }
+}
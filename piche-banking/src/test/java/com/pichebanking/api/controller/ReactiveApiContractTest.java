@@ -0,0 +1,13 @@
+package com.pichebanking.api.controller;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@ActiveProfiles("reactive")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.main.web-application-type=reactive",
+        "spring.datasource.url=jdbc:h2:mem:reactive_api_contract_test;DB_CLOSE_DELAY=-1",
+        "piche.datasource.r2dbc.url=r2dbc:h2:mem:///reactive_api_contract_test?options=DB_CLOSE_DELAY=-1"
+})
+class ReactiveApiContractTest extends ApiContractTest {
+}
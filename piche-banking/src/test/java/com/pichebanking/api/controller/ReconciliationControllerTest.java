@@ -0,0 +1,76 @@
+package com.pichebanking.api.controller;
+
+import com.pichebanking.api.dto.response.BalanceMismatchResponse;
+import com.pichebanking.api.dto.response.ReconciliationRunResponse;
+import com.pichebanking.api.exception.GlobalExceptionHandler;
+import com.pichebanking.dao.entity.BalanceMismatch;
+import com.pichebanking.dao.entity.ReconciliationRun;
+import com.pichebanking.service.ReconciliationService;
+import com.pichebanking.util.model.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+class ReconciliationControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private ReconciliationService reconciliationService;
+
+    @Mock
+    private ConversionService conversionService;
+
+    @InjectMocks
+    private ReconciliationController reconciliationController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(reconciliationController)
+                .setControllerAdvice(new GlobalExceptionHandler()).build();
+    }
+
+    @Test
+    void getMismatchesTest() throws Exception {
+        var mismatch = new BalanceMismatch().setAccountId(1L);
+        var response = new BalanceMismatchResponse(1L, 42L, Money.of("101"), Money.of("108"), null);
+
+        Mockito.when(reconciliationService.getMismatches(10)).thenReturn(List.of(mismatch));
+        Mockito.when(conversionService.convert(mismatch, BalanceMismatchResponse.class)).thenReturn(response);
+
+        mockMvc.perform(get("/v1/reconciliation/mismatches").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].accountNumber").value(1))
+                .andExpect(jsonPath("$[0].expectedBalance").value(101.0))
+                .andExpect(jsonPath("$[0].actualBalance").value(108.0));
+    }
+
+    @Test
+    void reconcileTest() throws Exception {
+        var run = new ReconciliationRun().setId(3L);
+        var response = new ReconciliationRunResponse(3L, 42L, 10L, 4L, 0L, null);
+
+        Mockito.when(reconciliationService.reconcile()).thenReturn(run);
+        Mockito.when(conversionService.convert(run, ReconciliationRunResponse.class)).thenReturn(response);
+
+        mockMvc.perform(post("/v1/reconciliation/runs"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.runId").value(3))
+                .andExpect(jsonPath("$.mismatches").value(0));
+    }
+}
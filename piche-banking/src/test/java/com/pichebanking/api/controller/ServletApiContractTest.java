@@ -0,0 +1,9 @@
+package com.pichebanking.api.controller;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:servlet_api_contract_test;DB_CLOSE_DELAY=-1"
+})
+class ServletApiContractTest extends ApiContractTest {
+}
@@ -1,30 +1,62 @@
 package com.pichebanking.api.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pichebanking.api.dto.request.BatchTransferFundsRequest;
 import com.pichebanking.api.dto.request.FundsRequest;
 import com.pichebanking.api.dto.request.TransferFundsRequest;
+import com.pichebanking.api.dto.response.BatchTransferItemResponse;
+import com.pichebanking.api.dto.response.BatchTransferResponse;
+import com.pichebanking.api.dto.response.TransferInboxResponse;
+import com.pichebanking.dao.entity.TransferInboxEntry;
 import com.pichebanking.api.exception.GlobalExceptionHandler;
+import com.pichebanking.exception.AccountLaneBusyException;
 import com.pichebanking.exception.AccountNotFoundException;
+import com.pichebanking.exception.IdempotencyKeyInProgressException;
+import com.pichebanking.exception.IdempotencyKeyReusedException;
 import com.pichebanking.exception.InsufficientFundsException;
+import com.pichebanking.exception.TransferNotFoundException;
+import com.pichebanking.service.BatchTransferService;
+import com.pichebanking.service.IdempotencyService;
 import com.pichebanking.service.TransactionService;
+import com.pichebanking.service.TransferInboxService;
+import com.pichebanking.service.lane.AccountLanes;
+import com.pichebanking.util.enums.TransferStatus;
+import com.pichebanking.util.model.Money;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
-import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
 
+import static com.pichebanking.api.controller.TransactionControllerApi.IDEMPOTENCY_KEY_HEADER;
+import static com.pichebanking.util.constant.ExceptionMessage.ACCOUNT_LANE_BUSY_MSG;
 import static com.pichebanking.util.constant.ExceptionMessage.ACCOUNT_NOT_FOUND_MSG;
+import static com.pichebanking.util.constant.ExceptionMessage.IDEMPOTENCY_KEY_IN_PROGRESS_MSG;
+import static com.pichebanking.util.constant.ExceptionMessage.IDEMPOTENCY_KEY_REUSED_MSG;
 import static com.pichebanking.util.constant.ExceptionMessage.INSUFFICIENT_FUNDS_MSG;
+import static com.pichebanking.util.constant.ExceptionMessage.SERVICE_BUSY_MSG;
+import static com.pichebanking.util.constant.ExceptionMessage.TRANSFER_NOT_FOUND_MSG;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -34,6 +66,9 @@ class TransactionControllerTest {
     private static final String TRANSACTION_PATH_WITH_ID_DEPOSIT = "/v1/transactions/accounts/{id}/deposit";
     private static final String TRANSACTION_PATH_WITH_ID_WITHDRAW = "/v1/transactions/accounts/{id}/withdraw";
     private static final String TRANSACTION_PATH_TRANSFER = "/v1/transactions";
+    private static final String TRANSACTION_PATH_TRANSFER_BATCH = "/v1/transactions/batch";
+    private static final String TRANSACTION_PATH_INBOX = "/v1/transactions/inbox";
+    private static final String TRANSACTION_PATH_INBOX_WITH_ID = "/v1/transactions/inbox/{id}";
 
     private MockMvc mockMvc;
 
@@ -42,6 +77,21 @@ class TransactionControllerTest {
     @Mock
     private TransactionService transactionService;
 
+    @Mock
+    private BatchTransferService batchTransferService;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @Mock
+    private TransferInboxService transferInboxService;
+
+    @Mock
+    private ConversionService conversionService;
+
+    @Mock
+    private AccountLanes accountLanes;
+
     @InjectMocks
     private TransactionController transactionController;
 
@@ -49,12 +99,24 @@ class TransactionControllerTest {
     void setUp() {
         mockMvc = MockMvcBuilders.standaloneSetup(transactionController)
                 .setControllerAdvice(new GlobalExceptionHandler()).build();
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(2).run();
+            return null;
+        }).when(idempotencyService).execute(any(), any(), any());
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return null;
+        }).when(accountLanes).execute(anyLong(), any(Runnable.class));
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(2).run();
+            return null;
+        }).when(accountLanes).execute(anyLong(), anyLong(), any(Runnable.class));
     }
 
     @Test
     void depositFundsTest() throws Exception {
         var id = 1L;
-        var request = new FundsRequest(BigDecimal.TEN);
+        var request = new FundsRequest(Money.of("10"));
 
         mockMvc.perform(patch(TRANSACTION_PATH_WITH_ID_DEPOSIT, id)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -67,7 +129,7 @@ class TransactionControllerTest {
     @Test
     void depositFundsWithZeroTest() throws Exception {
         var id = 1L;
-        var request = new FundsRequest(BigDecimal.ZERO);
+        var request = new FundsRequest(Money.ZERO);
 
         mockMvc.perform(patch(TRANSACTION_PATH_WITH_ID_DEPOSIT, id)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -80,7 +142,7 @@ class TransactionControllerTest {
     @Test
     void depositFundsWithExceptionTest() throws Exception {
         var id = 1L;
-        var request = new FundsRequest(BigDecimal.TEN);
+        var request = new FundsRequest(Money.of("10"));
 
         doThrow(new AccountNotFoundException(ACCOUNT_NOT_FOUND_MSG))
                 .when(transactionService).depositFunds(id, request.funds());
@@ -92,10 +154,89 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.errorMessage").value(ACCOUNT_NOT_FOUND_MSG));
     }
 
+    @Test
+    void depositFundsWithIdempotencyKeyTest() throws Exception {
+        var id = 1L;
+        var request = new FundsRequest(Money.of("10.50"));
+
+        mockMvc.perform(patch(TRANSACTION_PATH_WITH_ID_DEPOSIT, id)
+                        .header(IDEMPOTENCY_KEY_HEADER, "deposit-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request)))
+                .andExpect(status().isAccepted());
+
+        Mockito.verify(idempotencyService).execute(eq("deposit-1"), eq("DEPOSIT:1:1050"), any());
+        Mockito.verify(transactionService).depositFunds(id, request.funds());
+    }
+
+    @Test
+    void depositFundsWithReusedIdempotencyKeyTest() throws Exception {
+        var request = new FundsRequest(Money.of("10"));
+
+        doThrow(new IdempotencyKeyReusedException(IDEMPOTENCY_KEY_REUSED_MSG))
+                .when(idempotencyService).execute(eq("deposit-1"), any(), any());
+
+        mockMvc.perform(patch(TRANSACTION_PATH_WITH_ID_DEPOSIT, 1L)
+                        .header(IDEMPOTENCY_KEY_HEADER, "deposit-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.errorMessage").value(IDEMPOTENCY_KEY_REUSED_MSG));
+    }
+
+    @Test
+    void transferFundsWithIdempotencyKeyInProgressTest() throws Exception {
+        var request = new TransferFundsRequest(1L, 2L, Money.of("10"));
+
+        doThrow(new IdempotencyKeyInProgressException(IDEMPOTENCY_KEY_IN_PROGRESS_MSG))
+                .when(idempotencyService).execute(eq("transfer-1"), eq("TRANSFER:1:2:1000"), any());
+
+        mockMvc.perform(post(TRANSACTION_PATH_TRANSFER)
+                        .header(IDEMPOTENCY_KEY_HEADER, "transfer-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorMessage").value(IDEMPOTENCY_KEY_IN_PROGRESS_MSG));
+    }
+
+    @Test
+    void depositFundsWithExhaustedConnectionPoolTest() throws Exception {
+        var id = 1L;
+        var request = new FundsRequest(Money.of("10"));
+
+        doThrow(new CannotCreateTransactionException("Could not open JPA EntityManager for transaction"))
+                .when(transactionService).depositFunds(id, request.funds());
+
+        mockMvc.perform(patch(TRANSACTION_PATH_WITH_ID_DEPOSIT, id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.errorMessage").value(SERVICE_BUSY_MSG));
+    }
+
+    @Test
+    void depositFundsWithBusyLaneTest() throws Exception {
+        var id = 1L;
+        var request = new FundsRequest(Money.of("10"));
+
+        doThrow(new AccountLaneBusyException(ACCOUNT_LANE_BUSY_MSG))
+                .when(accountLanes).execute(eq(id), any(Runnable.class));
+
+        mockMvc.perform(patch(TRANSACTION_PATH_WITH_ID_DEPOSIT, id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.errorMessage").value(ACCOUNT_LANE_BUSY_MSG));
+
+        Mockito.verify(transactionService, Mockito.times(0)).depositFunds(id, request.funds());
+    }
+
     @Test
     void withdrawFundsTest() throws Exception {
         var id = 1L;
-        var request = new FundsRequest(BigDecimal.TEN);
+        var request = new FundsRequest(Money.of("10"));
 
         mockMvc.perform(patch(TRANSACTION_PATH_WITH_ID_WITHDRAW, id)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -108,7 +249,7 @@ class TransactionControllerTest {
     @Test
     void withdrawFundsWithNegativeValueTest() throws Exception {
         var id = 1L;
-        var request = new FundsRequest(BigDecimal.valueOf(-10L));
+        var request = new FundsRequest(Money.of("-10"));
 
         mockMvc.perform(patch(TRANSACTION_PATH_WITH_ID_WITHDRAW, id)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -118,10 +259,34 @@ class TransactionControllerTest {
         Mockito.verify(transactionService, Mockito.times(0)).depositFunds(id, request.funds());
     }
 
+    @Test
+    void depositFundsWithDecimalAmountTest() throws Exception {
+        var id = 1L;
+
+        mockMvc.perform(patch(TRANSACTION_PATH_WITH_ID_DEPOSIT, id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"funds\": 10.5}"))
+                .andExpect(status().isAccepted());
+
+        Mockito.verify(transactionService, Mockito.times(1)).depositFunds(id, Money.of("10.50"));
+    }
+
+    @Test
+    void depositFundsWithTooManyDecimalPlacesTest() throws Exception {
+        var id = 1L;
+
+        mockMvc.perform(patch(TRANSACTION_PATH_WITH_ID_DEPOSIT, id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"funds\": 10.001}"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(transactionService);
+    }
+
     @Test
     void withdrawFundsWithExceptionTest() throws Exception {
         var id = 1L;
-        var request = new FundsRequest(BigDecimal.TEN);
+        var request = new FundsRequest(Money.of("10"));
 
         doThrow(new InsufficientFundsException(INSUFFICIENT_FUNDS_MSG))
                 .when(transactionService).withdrawFunds(id, request.funds());
@@ -135,7 +300,7 @@ class TransactionControllerTest {
 
     @Test
     void transferFundsTest() throws Exception {
-        var request = new TransferFundsRequest(1L, 2L, BigDecimal.TEN);
+        var request = new TransferFundsRequest(1L, 2L, Money.of("10"));
 
         mockMvc.perform(post(TRANSACTION_PATH_TRANSFER)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -147,7 +312,7 @@ class TransactionControllerTest {
 
     @Test
     void transferFundsWithSameSourceIdsTest() throws Exception {
-        var request = new TransferFundsRequest(2L, 2L, BigDecimal.TEN);
+        var request = new TransferFundsRequest(2L, 2L, Money.of("10"));
 
         mockMvc.perform(post(TRANSACTION_PATH_TRANSFER)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -159,7 +324,7 @@ class TransactionControllerTest {
 
     @Test
     void transferFundsWithInsufficientExceptionTest() throws Exception {
-        var request = new TransferFundsRequest(1L, 2L, BigDecimal.TEN);
+        var request = new TransferFundsRequest(1L, 2L, Money.of("10"));
 
         doThrow(new InsufficientFundsException(INSUFFICIENT_FUNDS_MSG))
                 .when(transactionService).transferFunds(request);
@@ -172,4 +337,76 @@ class TransactionControllerTest {
 
         Mockito.verify(transactionService, Mockito.times(1)).transferFunds(request);
     }
+
+    @Test
+    void submitTransferTest() throws Exception {
+        var request = new TransferFundsRequest(1L, 2L, Money.of("10"));
+        var entry = new TransferInboxEntry().setId(7L).setStatus(TransferStatus.PENDING);
+        var response = new TransferInboxResponse(7L, TransferStatus.PENDING, 1L, 2L, Money.of("10"),
+                null, null, null);
+
+        Mockito.when(transferInboxService.submit(request)).thenReturn(entry);
+        Mockito.when(conversionService.convert(entry, TransferInboxResponse.class)).thenReturn(response);
+
+        mockMvc.perform(post(TRANSACTION_PATH_INBOX)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.transactionId").value(7))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+
+        Mockito.verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    void getInboxTransferNotFoundTest() throws Exception {
+        Mockito.when(transferInboxService.getTransfer(7L))
+                .thenThrow(new TransferNotFoundException(TRANSFER_NOT_FOUND_MSG));
+
+        mockMvc.perform(get(TRANSACTION_PATH_INBOX_WITH_ID, 7L))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorMessage").value(TRANSFER_NOT_FOUND_MSG));
+    }
+
+    @Test
+    void transferFundsBatchTest() throws Exception {
+        var transfers = List.of(new TransferFundsRequest(1L, 2L, Money.of("10")),
+                new TransferFundsRequest(2L, 3L, Money.of("10")));
+        var request = new BatchTransferFundsRequest(transfers);
+        var response = new BatchTransferResponse(1, 1, List.of(BatchTransferItemResponse.completed(0, 10L),
+                BatchTransferItemResponse.failed(1, INSUFFICIENT_FUNDS_MSG)));
+        var expected = objectMapper.writeValueAsString(response);
+
+        Mockito.when(batchTransferService.transferFunds(transfers)).thenReturn(response);
+
+        mockMvc.perform(post(TRANSACTION_PATH_TRANSFER_BATCH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(content().json(expected));
+    }
+
+    @Test
+    void transferFundsBatchWithEmptyListTest() throws Exception {
+        var request = new BatchTransferFundsRequest(Collections.emptyList());
+
+        mockMvc.perform(post(TRANSACTION_PATH_TRANSFER_BATCH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request)))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(batchTransferService, Mockito.times(0)).transferFunds(Mockito.any());
+    }
+
+    @Test
+    void transferFundsBatchWithInvalidItemTest() throws Exception {
+        var request = new BatchTransferFundsRequest(List.of(new TransferFundsRequest(1L, 2L, Money.ZERO)));
+
+        mockMvc.perform(post(TRANSACTION_PATH_TRANSFER_BATCH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request)))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(batchTransferService, Mockito.times(0)).transferFunds(Mockito.any());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.pichebanking.config;
+
+import com.pichebanking.api.dto.request.CreateAccountRequest;
+import com.pichebanking.service.AccountService;
+import com.pichebanking.service.TransactionService;
+import com.pichebanking.util.model.Money;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@SpringBootTest
+@ActiveProfiles("prod")
+class ProductionProfileTest {
+
+    @TempDir
+    static Path databaseDirectory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @DynamicPropertySource
+    static void databaseProperties(DynamicPropertyRegistry registry) {
+        registry.add("piche.database.directory", () -> databaseDirectory.toString());
+    }
+
+    @Test
+    void flywayMigratesThroughApplicationPoolTest() {
+        assertSame(dataSource, flyway.getConfiguration().getDataSource());
+        assertEquals("PostgreSQL", jdbcTemplate.queryForObject(
+                "SELECT setting_value FROM information_schema.settings WHERE setting_name = 'MODE'", String.class));
+    }
+
+    @Test
+    void validatedSchemaServesTransactionsTest() {
+        var accountId = accountService.createAccount(new CreateAccountRequest("Prod", Money.of("10"))).getId();
+        transactionService.depositFunds(accountId, Money.of("2.50"));
+        transactionService.withdrawFunds(accountId, Money.of("1"));
+
+        assertEquals(Money.of("11.50"), accountService.getAccountSnapshot(accountId).balance());
+        assertEquals(2, transactionService.getTransactions(accountId, null, null, null, Long.MAX_VALUE, 10).size());
+    }
+}
@@ -0,0 +1,81 @@
+package com.pichebanking.dao.generator;
+
+import com.pichebanking.PicheBankingApplication;
+import com.pichebanking.api.dto.request.CreateAccountRequest;
+import com.pichebanking.service.AccountService;
+import com.pichebanking.service.TransactionService;
+import com.pichebanking.util.model.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PooledLoSequenceGeneratorTest {
+
+    private static final String DB_URL = "jdbc:h2:mem:pooled_lo_sequence_test;DB_CLOSE_DELAY=-1";
+    private static final String USER_FULL_NAME = "Test Name";
+    private static final int WRITERS = 8;
+    private static final int ACCOUNTS_PER_WRITER = 60;
+
+    @Test
+    void idsAreUniqueAcrossConcurrentWritersAndRestartsTest() throws Exception {
+        for (var restart = 0; restart < 3; restart++) {
+            try (var context = startApplication()) {
+                createAccountsConcurrently(context);
+            }
+        }
+
+        try (var context = startApplication()) {
+            var jdbc = context.getBean(JdbcTemplate.class);
+            var expected = 3 * WRITERS * ACCOUNTS_PER_WRITER;
+
+            assertEquals(expected, jdbc.queryForObject("SELECT COUNT(DISTINCT id) FROM account", Integer.class));
+            assertEquals(expected,
+                    jdbc.queryForObject("SELECT COUNT(DISTINCT id) FROM piche_transaction", Integer.class));
+        }
+    }
+
+    @Test
+    void sequencesAreMigratedToBlockSizeTest() {
+        try (var context = startApplication()) {
+            var jdbc = context.getBean(JdbcTemplate.class);
+            var sql = "SELECT increment FROM information_schema.sequences WHERE sequence_name = ?";
+
+            assertEquals(50L, jdbc.queryForObject(sql, Long.class, "BASE_SEQUENCE"));
+            assertEquals(50L, jdbc.queryForObject(sql, Long.class, "PICHE_TRANSACTION_SEQUENCE"));
+        }
+    }
+
+    private void createAccountsConcurrently(ConfigurableApplicationContext context) throws Exception {
+        var accountService = context.getBean(AccountService.class);
+        var transactionService = context.getBean(TransactionService.class);
+        var tasks = new ArrayList<Callable<Void>>();
+        for (var i = 0; i < WRITERS; i++) {
+            tasks.add(() -> {
+                for (var j = 0; j < ACCOUNTS_PER_WRITER; j++) {
+                    var account = accountService.createAccount(new CreateAccountRequest(USER_FULL_NAME, Money.of("10")));
+                    transactionService.depositFunds(account.getId(), Money.of("1"));
+                }
+                return null;
+            });
+        }
+        try (var executor = Executors.newFixedThreadPool(WRITERS)) {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        }
+    }
+
+    private ConfigurableApplicationContext startApplication() {
+        return new SpringApplicationBuilder(PicheBankingApplication.class)
+                .properties("server.port=0", "spring.datasource.url=" + DB_URL)
+                .run();
+    }
+}
@@ -0,0 +1,124 @@
+package com.pichebanking.helper.datasource;
+
+import com.pichebanking.api.dto.request.CreateAccountRequest;
+import com.pichebanking.exception.AccountNotFoundException;
+import com.pichebanking.service.AccountService;
+import com.pichebanking.util.model.Money;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing_primary_test;DB_CLOSE_DELAY=-1",
+        "piche.datasource.read.enabled=true",
+        "piche.datasource.read.max-staleness=5s",
+        "piche.datasource.read.lag-check-interval=PT1H"
+})
+class ReadReplicaRoutingTest {
+
+    private static final String REPLICA_URL = "jdbc:h2:mem:routing_replica_test;DB_CLOSE_DELAY=-1";
+    private static final long REPLICA_ONLY_ACCOUNT_ID = 1_000_000L;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    @Qualifier("readDataSource")
+    private DataSource readDataSource;
+
+    private JdbcTemplate replica;
+
+    /**
+     * The second instance stands in for a replica that has not received anything written during the test.
+     */
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+        registry.add("piche.datasource.read.url", () -> REPLICA_URL);
+    }
+
+    @BeforeEach
+    void setUp() {
+        replica = new JdbcTemplate(readDataSource);
+        replica.update("MERGE INTO account (id, full_name, balance) KEY (id) VALUES (?, 'Replica Only', 1.00)",
+                REPLICA_ONLY_ACCOUNT_ID);
+    }
+
+    @Test
+    void readOnlyTransactionsUseFreshReplicaTest() {
+        beatReplica(LocalDateTime.now());
+
+        assertTrue(replicaLagMonitor.isReplicaUsable());
+        assertEquals("Replica Only", accountService.getAccount(REPLICA_ONLY_ACCOUNT_ID).getFullName());
+        assertEquals(1, accountService.getAccounts(REPLICA_ONLY_ACCOUNT_ID - 1, 10).size());
+        assertThrows(AccountNotFoundException.class, () -> accountService.getAccountSnapshot(REPLICA_ONLY_ACCOUNT_ID));
+    }
+
+    @Test
+    void staleReplicaFallsBackToPrimaryTest() {
+        var account = accountService.createAccount(new CreateAccountRequest("Primary Only", Money.of("10")));
+        beatReplica(LocalDateTime.now().minusMinutes(1));
+
+        assertFalse(replicaLagMonitor.isReplicaUsable());
+        assertEquals("Primary Only", accountService.getAccount(account.getId()).getFullName());
+        assertThrows(AccountNotFoundException.class, () -> accountService.getAccount(REPLICA_ONLY_ACCOUNT_ID));
+    }
+
+    @Test
+    void readWriteTransactionsUsePrimaryTest() {
+        var account = accountService.createAccount(new CreateAccountRequest("Primary Only", Money.of("10")));
+        beatReplica(LocalDateTime.now());
+
+        assertEquals("Primary Only", accountService.getAccountSnapshot(account.getId()).fullName());
+        assertThrows(AccountNotFoundException.class, () -> accountService.getAccount(account.getId()));
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToPrimaryTest() throws SQLException {
+        var primary = mock(DataSource.class);
+        var unreachableReplica = mock(DataSource.class);
+        var lagMonitor = mock(ReplicaLagMonitor.class);
+        var connection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(connection);
+        when(unreachableReplica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+        var routingDataSource = new ReadReplicaRoutingDataSource(primary, unreachableReplica, lagMonitor);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            assertSame(connection, routingDataSource.getConnection());
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+        verify(lagMonitor).markUnavailable();
+    }
+
+    private void beatReplica(LocalDateTime beatAt) {
+        replica.update("UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1", beatAt);
+        replicaLagMonitor.checkLag();
+    }
+}
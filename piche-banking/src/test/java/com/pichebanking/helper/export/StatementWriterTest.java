@@ -0,0 +1,49 @@
+package com.pichebanking.helper.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.pichebanking.api.dto.response.TransactionResponse;
+import com.pichebanking.util.enums.StatementFormat;
+import com.pichebanking.util.enums.TransactionType;
+import com.pichebanking.util.model.Money;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StatementWriterTest {
+
+    private static final int ROWS = 1000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void rowsDoNotFlushTheStreamTest() throws IOException {
+        for (var format : StatementFormat.values()) {
+            var outputStream = new FlushCountingOutputStream();
+            try (var writer = StatementWriter.open(format, outputStream, objectMapper)) {
+                for (var i = 0; i < ROWS; i++) {
+                    writer.accept(new TransactionResponse(i, TransactionType.DEPOSIT, Money.of("1.50"), 1L, null,
+                            LocalDateTime.of(2024, 1, 1, 0, 0)));
+                }
+                assertEquals(0, outputStream.flushes, format.name());
+            }
+
+            var lines = outputStream.toString().split("\n");
+            assertEquals(format == StatementFormat.CSV ? ROWS + 1 : ROWS, lines.length, format.name());
+        }
+    }
+
+    private static class FlushCountingOutputStream extends ByteArrayOutputStream {
+
+        private int flushes;
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+}
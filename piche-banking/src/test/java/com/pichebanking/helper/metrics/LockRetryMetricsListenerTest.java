@@ -0,0 +1,50 @@
+package com.pichebanking.helper.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.retry.support.RetryTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LockRetryMetricsListenerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RetryTemplate retryTemplate = RetryTemplate.builder()
+            .maxAttempts(3)
+            .retryOn(PessimisticLockingFailureException.class)
+            .withListener(new LockRetryMetricsListener(registry))
+            .build();
+
+    @Test
+    void testRetriesUntilSuccessAreCounted() {
+        var attempts = new AtomicInteger();
+
+        retryTemplate.execute(context -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new CannotAcquireLockException("lock timeout");
+            }
+            return null;
+        });
+
+        assertEquals(2, registry.get(LockRetryMetricsListener.RETRIES_COUNTER).counter().count());
+        assertEquals(2, registry.get(LockRetryMetricsListener.LOCK_FAILURES_COUNTER)
+                .tag("exception", "CannotAcquireLockException").counter().count());
+        assertEquals(0, registry.get(LockRetryMetricsListener.EXHAUSTED_COUNTER).counter().count());
+    }
+
+    @Test
+    void testExhaustedRetriesAreCounted() {
+        assertThrows(CannotAcquireLockException.class, () -> retryTemplate.execute(context -> {
+            throw new CannotAcquireLockException("deadlock");
+        }));
+
+        assertEquals(2, registry.get(LockRetryMetricsListener.RETRIES_COUNTER).counter().count());
+        assertEquals(3, registry.get(LockRetryMetricsListener.LOCK_FAILURES_COUNTER).counter().count());
+        assertEquals(1, registry.get(LockRetryMetricsListener.EXHAUSTED_COUNTER).counter().count());
+    }
+}
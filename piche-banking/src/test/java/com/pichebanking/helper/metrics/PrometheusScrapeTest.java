@@ -0,0 +1,61 @@
+package com.pichebanking.helper.metrics;
+
+import com.pichebanking.api.dto.request.CreateAccountRequest;
+import com.pichebanking.api.dto.request.TransferFundsRequest;
+import com.pichebanking.exception.InsufficientFundsException;
+import com.pichebanking.service.AccountService;
+import com.pichebanking.service.TransactionService;
+import com.pichebanking.util.model.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:prometheus_scrape_test;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class PrometheusScrapeTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Test
+    void transferPhasesAndFailuresAreScrapedTest() throws Exception {
+        var source = accountService.createAccount(new CreateAccountRequest("Source", Money.of("10"))).getId();
+        var target = accountService.createAccount(new CreateAccountRequest("Target", Money.of("1"))).getId();
+        transactionService.transferFunds(new TransferFundsRequest(source, target, Money.of("1")));
+        assertThrows(InsufficientFundsException.class, () -> transactionService.transferFunds(
+                new TransferFundsRequest(source, target, Money.of("100"))));
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "piche_transaction_phase_seconds_count{application=\"piche-banking\",phase=\"lock_acquire\",type=\"TRANSFER\"} 2")))
+                .andExpect(content().string(containsString(
+                        "piche_transaction_phase_seconds_count{application=\"piche-banking\",phase=\"commit\",type=\"TRANSFER\"} 1")))
+                .andExpect(content().string(containsString(
+                        "piche_transaction_phase_seconds_bucket{application=\"piche-banking\",phase=\"business_logic\",type=\"TRANSFER\",le=\"+Inf\"} 2")))
+                .andExpect(content().string(containsString(
+                        "piche_transaction_failures_total{application=\"piche-banking\",reason=\"InsufficientFundsException\",type=\"TRANSFER\"} 1.0")))
+                .andExpect(content().string(containsString("piche_transaction_retries_total")))
+                .andExpect(content().string(containsString("piche_datasource_pool_saturation")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("cache_gets_total{application=\"piche-banking\",cache=\"accounts\"")));
+    }
+}
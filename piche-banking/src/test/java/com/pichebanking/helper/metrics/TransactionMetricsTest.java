@@ -0,0 +1,78 @@
+package com.pichebanking.helper.metrics;
+
+import com.pichebanking.exception.InsufficientFundsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static com.pichebanking.util.constant.ExceptionMessage.INSUFFICIENT_FUNDS_MSG;
+import static com.pichebanking.util.enums.TransactionType.DEPOSIT;
+import static com.pichebanking.util.enums.TransactionType.TRANSFER;
+import static com.pichebanking.util.enums.TransactionType.WITHDRAW;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TransactionMetrics transactionMetrics = new TransactionMetrics(registry);
+
+    @Test
+    void testRecordSplitsLockAcquireFromBusinessLogic() {
+        var result = transactionMetrics.record(TRANSFER, () -> {
+            transactionMetrics.recordLockAcquire(() -> sleep(50));
+            return "done";
+        });
+
+        assertEquals("done", result);
+        var lockAcquire = registry.get(TransactionMetrics.PHASE_TIMER)
+                .tags("type", "TRANSFER", "phase", "lock_acquire").timer();
+        var businessLogic = registry.get(TransactionMetrics.PHASE_TIMER)
+                .tags("type", "TRANSFER", "phase", "business_logic").timer();
+        assertEquals(1, lockAcquire.count());
+        assertEquals(1, businessLogic.count());
+        assertTrue(lockAcquire.totalTime(MILLISECONDS) >= 50);
+        assertTrue(businessLogic.totalTime(MILLISECONDS) < 50);
+    }
+
+    @Test
+    void testRecordLockAcquireOutsideOperationIsNotTimed() {
+        transactionMetrics.recordLockAcquire(() -> sleep(1));
+
+        var lockAcquire = registry.get(TransactionMetrics.PHASE_TIMER)
+                .tags("type", "DEPOSIT", "phase", "lock_acquire").timer();
+        assertEquals(0, lockAcquire.count());
+    }
+
+    @Test
+    void testRecordCountsBusinessFailures() {
+        assertThrows(InsufficientFundsException.class, () -> transactionMetrics.record(WITHDRAW, () -> {
+            throw new InsufficientFundsException(INSUFFICIENT_FUNDS_MSG);
+        }));
+
+        var failures = registry.get(TransactionMetrics.FAILURES_COUNTER)
+                .tags("type", "WITHDRAW", "reason", "InsufficientFundsException").counter();
+        assertEquals(1, failures.count());
+        assertEquals(1, registry.get(TransactionMetrics.PHASE_TIMER)
+                .tags("type", "WITHDRAW", "phase", "business_logic").timer().count());
+    }
+
+    @Test
+    void testRecordWithoutTransactionSkipsCommitPhase() {
+        transactionMetrics.record(DEPOSIT, () -> {
+        });
+
+        assertEquals(0, registry.get(TransactionMetrics.PHASE_TIMER)
+                .tags("type", "DEPOSIT", "phase", "commit").timer().count());
+    }
+
+    private static Object sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,104 @@
+package com.pichebanking.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.pichebanking.api.dto.request.CreateAccountRequest;
+import com.pichebanking.api.dto.request.TransferFundsRequest;
+import com.pichebanking.util.model.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.pichebanking.config.CacheConfig.ACCOUNTS_CACHE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:account_cache_test;DB_CLOSE_DELAY=-1"
+})
+class AccountCacheTest {
+
+    private static final String USER_FULL_NAME = "Test Name";
+    private static final int READERS = 8;
+    private static final int DEPOSITS = 300;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Cache<Object, Object> nativeCache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        nativeCache = (Cache<Object, Object>) cacheManager.getCache(ACCOUNTS_CACHE).getNativeCache();
+        nativeCache.invalidateAll();
+    }
+
+    @Test
+    void snapshotIsServedFromCacheUntilBalanceChangesTest() {
+        var source = createAccount();
+        var target = createAccount();
+        var statsBefore = nativeCache.stats();
+
+        accountService.getAccountSnapshot(source);
+        accountService.getAccountSnapshot(source);
+        transactionService.transferFunds(new TransferFundsRequest(source, target, Money.of("1")));
+        var snapshot = accountService.getAccountSnapshot(source);
+
+        var stats = nativeCache.stats().minus(statsBefore);
+        assertEquals(1, stats.hitCount());
+        assertEquals(2, stats.missCount());
+        assertEquals(0, Money.of("99").compareTo(snapshot.balance()));
+        assertEquals(0, Money.of("101").compareTo(accountService.getAccountSnapshot(target).balance()));
+    }
+
+    @Test
+    void readAfterCommittedWriteIsNeverStaleTest() throws Exception {
+        var id = createAccount();
+        var running = new AtomicBoolean(true);
+        var readers = new ArrayList<Callable<Void>>();
+        for (var i = 0; i < READERS; i++) {
+            readers.add(() -> {
+                while (running.get()) {
+                    accountService.getAccountSnapshot(id);
+                }
+                return null;
+            });
+        }
+
+        try (var executor = Executors.newFixedThreadPool(READERS)) {
+            var futures = readers.stream().map(executor::submit).toList();
+            try {
+                for (var deposit = 1; deposit <= DEPOSITS; deposit++) {
+                    transactionService.depositFunds(id, Money.of("1"));
+                    var committed = Money.of(String.valueOf(100 + deposit));
+                    assertEquals(0, committed.compareTo(accountService.getAccountSnapshot(id).balance()),
+                            "stale balance after deposit " + deposit);
+                }
+            } finally {
+                running.set(false);
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        }
+        assertTrue(nativeCache.stats().hitCount() > 0);
+    }
+
+    private Long createAccount() {
+        return accountService.createAccount(new CreateAccountRequest(USER_FULL_NAME, Money.of("100"))).getId();
+    }
+}
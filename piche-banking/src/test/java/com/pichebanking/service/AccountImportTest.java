@@ -0,0 +1,108 @@
+package com.pichebanking.service;
+
+import com.pichebanking.api.dto.request.CreateAccountRequest;
+import com.pichebanking.api.dto.response.AccountImportErrorResponse;
+import com.pichebanking.api.dto.response.AccountImportProgressResponse;
+import com.pichebanking.dao.entity.Account;
+import com.pichebanking.dao.repository.AccountRepository;
+import com.pichebanking.util.enums.StatementFormat;
+import com.pichebanking.util.model.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.pichebanking.service.AccountImportService.INVALID_COLUMNS_MSG;
+import static com.pichebanking.service.AccountImportService.INVALID_HEADER_MSG;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:account_import_test;DB_CLOSE_DELAY=-1",
+        "piche.account.import.chunk-size=100"
+})
+class AccountImportTest {
+
+    @Autowired
+    private AccountImportService accountImportService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    void createAccountsInsertsAllAccountsInOrderTest() {
+        var accounts = accountService.createAccounts(List.of(
+                new CreateAccountRequest("First", Money.of("10")),
+                new CreateAccountRequest("Second", Money.of("20.50"))));
+
+        assertEquals(List.of("First", "Second"), accounts.stream().map(Account::getFullName).toList());
+        assertTrue(accounts.get(0).getId() < accounts.get(1).getId());
+        assertEquals(Money.of("20.50"), accountService.getAccount(accounts.get(1).getId()).getBalance());
+    }
+
+    @Test
+    void csvImportSkipsRejectedRowsAndReportsProgressTest() throws IOException {
+        var csv = new StringBuilder("full_name,initial_balance\n");
+        for (var i = 0; i < 250; i++) {
+            csv.append("\"Csv, Holder ").append(i).append("\",").append(i + 1).append(".25\n");
+        }
+        csv.append(" ,10\n")
+                .append("No Balance\n")
+                .append("Negative,-1\n")
+                .append("Too Precise,1.001\n")
+                .append("\n")
+                .append("\"Quoted \"\"Name\"\"\",5\n");
+        var countBefore = accountRepository.count();
+        var errors = new ArrayList<AccountImportErrorResponse>();
+        var progress = new ArrayList<AccountImportProgressResponse>();
+
+        var result = accountImportService.importAccounts(new StringReader(csv.toString()), StatementFormat.CSV,
+                errors::add, progress::add);
+
+        assertEquals(new AccountImportProgressResponse(255, 251, 4, true), result);
+        assertEquals(List.of(252L, 253L, 254L, 255L), errors.stream().map(AccountImportErrorResponse::line).toList());
+        assertEquals(INVALID_COLUMNS_MSG, errors.get(1).errorMessage());
+        assertEquals(List.of(100L, 200L), progress.stream().map(AccountImportProgressResponse::created).toList());
+        assertEquals(countBefore + 251, accountRepository.count());
+        assertTrue(accountRepository.findAll().stream()
+                .anyMatch(account -> account.getFullName().equals("Quoted \"Name\"")));
+    }
+
+    @Test
+    void ndjsonImportValidatesEveryLineTest() throws IOException {
+        var ndjson = """
+                {"fullName":"Json Holder","initialBalance":"12.30"}
+                {"fullName":"","initialBalance":1}
+                not json
+                {"fullName":"Json Holder 2","initialBalance":7}
+                """;
+        var errors = new ArrayList<AccountImportErrorResponse>();
+
+        var result = accountImportService.importAccounts(new StringReader(ndjson), StatementFormat.NDJSON,
+                errors::add, progress -> { });
+
+        assertEquals(new AccountImportProgressResponse(4, 2, 2, true), result);
+        assertEquals(List.of(2L, 3L), errors.stream().map(AccountImportErrorResponse::line).toList());
+        assertTrue(errors.get(0).errorMessage().startsWith("fullName"));
+    }
+
+    @Test
+    void csvImportWithoutHeaderImportsNothingTest() throws IOException {
+        var countBefore = accountRepository.count();
+        var errors = new ArrayList<AccountImportErrorResponse>();
+
+        var result = accountImportService.importAccounts(new StringReader("Holder,10\n"), StatementFormat.CSV,
+                errors::add, progress -> { });
+
+        assertEquals(new AccountImportProgressResponse(0, 0, 0, true), result);
+        assertEquals(List.of(new AccountImportErrorResponse(1, INVALID_HEADER_MSG)), errors);
+        assertEquals(countBefore, accountRepository.count());
+    }
+}
@@ -1,20 +1,30 @@
 package com.pichebanking.service;
 
 import com.pichebanking.api.dto.request.CreateAccountRequest;
+import com.pichebanking.api.dto.response.AccountResponse;
+import com.pichebanking.config.EngineProperties;
 import com.pichebanking.dao.entity.Account;
 import com.pichebanking.dao.repository.AccountRepository;
 import com.pichebanking.exception.AccountNotFoundException;
 import com.pichebanking.exception.InsufficientFundsException;
+import com.pichebanking.helper.metrics.TransactionMetrics;
+import com.pichebanking.util.enums.EngineMode;
+import com.pichebanking.util.model.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.springframework.core.convert.ConversionService;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -31,13 +41,25 @@ class AccountServiceTest {
     @Mock
     private ConversionService conversionService;
 
+    @Spy
+    private EngineProperties engineProperties = new EngineProperties(EngineMode.PESSIMISTIC);
+
+    @Mock
+    private AccountBalanceShardService balanceShardService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private TransactionMetrics transactionMetrics = new TransactionMetrics(new SimpleMeterRegistry());
+
     @InjectMocks
     private AccountService accountService;
 
     @Test
     void createAccountTest() {
-        var request = new CreateAccountRequest(USER_FULL_NAME, BigDecimal.TEN);
-        var expected = new Account().setBalance(BigDecimal.TEN).setFullName(USER_FULL_NAME);
+        var request = new CreateAccountRequest(USER_FULL_NAME, Money.of("10"));
+        var expected = new Account().setBalance(Money.of("10")).setFullName(USER_FULL_NAME);
 
         Mockito.when(conversionService.convert(request, Account.class)).thenReturn(expected);
         Mockito.when(accountRepository.save(expected)).thenReturn(expected.setId(1L));
@@ -50,7 +72,7 @@ class AccountServiceTest {
     @Test
     void getAccountTest() {
         var id = 1L;
-        var expected = new Account().setBalance(BigDecimal.TEN).setId(1L).setFullName(USER_FULL_NAME);
+        var expected = new Account().setBalance(Money.of("10")).setId(1L).setFullName(USER_FULL_NAME);
 
         Mockito.when(accountRepository.findById(id)).thenReturn(Optional.ofNullable(expected));
 
@@ -59,6 +81,20 @@ class AccountServiceTest {
         assertEquals(actual, expected);
     }
 
+    @Test
+    void getAccountSnapshotTest() {
+        var id = 1L;
+        var account = new Account().setBalance(Money.of("10")).setId(id).setFullName(USER_FULL_NAME);
+        var expected = new AccountResponse(USER_FULL_NAME, id, Money.of("10"));
+
+        Mockito.when(accountRepository.findById(id)).thenReturn(Optional.of(account));
+        Mockito.when(conversionService.convert(account, AccountResponse.class)).thenReturn(expected);
+
+        var actual = accountService.getAccountSnapshot(id);
+
+        assertEquals(actual, expected);
+    }
+
     @Test
     void getAccountWithNotFoundExceptionTest() {
         var id = 1L;
@@ -70,11 +106,24 @@ class AccountServiceTest {
 
     @Test
     void getAccountsTest() {
-        var expected = List.of(new Account().setBalance(BigDecimal.TEN).setId(1L).setFullName(USER_FULL_NAME));
+        var expected = List.of(new Account().setBalance(Money.of("10")).setId(1L).setFullName(USER_FULL_NAME));
 
-        Mockito.when(accountRepository.findAll()).thenReturn(expected);
+        Mockito.when(accountRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(10))).thenReturn(expected);
 
-        var actual = accountService.getAccounts();
+        var actual = accountService.getAccounts(0L, 10);
+
+        assertEquals(actual, expected);
+    }
+
+    @Test
+    void streamAccountsTest() {
+        var expected = List.of(new AccountResponse(USER_FULL_NAME, 1L, Money.of("10")),
+                new AccountResponse(USER_FULL_NAME, 2L, Money.of("1")));
+        var actual = new ArrayList<AccountResponse>();
+
+        Mockito.when(accountRepository.streamAllAsResponses()).thenReturn(expected.stream());
+
+        accountService.streamAccounts(actual::add);
 
         assertEquals(actual, expected);
     }
@@ -82,15 +131,15 @@ class AccountServiceTest {
     @Test
     void depositFundsTest() {
         var id = 1L;
-        var funds = BigDecimal.valueOf(20);
-        var expected = new Account().setBalance(BigDecimal.TEN).setId(1L).setFullName(USER_FULL_NAME);
+        var funds = Money.of("20");
+        var expected = new Account().setBalance(Money.of("10")).setId(1L).setFullName(USER_FULL_NAME);
 
-        Mockito.when(accountRepository.findByIdWithLock(id)).thenReturn(Optional.ofNullable(expected));
+        Mockito.when(accountRepository.findUnshardedByIdWithLock(id)).thenReturn(Optional.ofNullable(expected));
         Mockito.when(accountRepository.save(expected.setBalance(funds))).thenReturn(expected);
 
-        var actual = accountService.depositFunds(id, BigDecimal.TEN);
+        var actual = accountService.depositFunds(id, Money.of("10"));
 
-        Mockito.verify(accountRepository, Mockito.times(1)).findByIdWithLock(id);
+        Mockito.verify(accountRepository, Mockito.times(1)).findUnshardedByIdWithLock(id);
         Mockito.verify(accountRepository, Mockito.times(1)).save(expected);
 
         assertEquals(actual, expected);
@@ -100,23 +149,23 @@ class AccountServiceTest {
     void depositFundsWithNotFoundExceptionTest() {
         var id = 1L;
 
-        Mockito.when(accountRepository.findByIdWithLock(id)).thenThrow(AccountNotFoundException.class);
+        Mockito.when(accountRepository.findUnshardedByIdWithLock(id)).thenThrow(AccountNotFoundException.class);
 
-        assertThrows(AccountNotFoundException.class, () -> accountService.depositFunds(id, BigDecimal.TEN));
+        assertThrows(AccountNotFoundException.class, () -> accountService.depositFunds(id, Money.of("10")));
     }
 
     @Test
     void withdrawFundsTest() {
         var id = 1L;
-        var accountOne = new Account().setBalance(BigDecimal.TEN).setId(1L).setFullName(USER_FULL_NAME);
-        var expected = new Account().setBalance(BigDecimal.ZERO).setId(1L).setFullName(USER_FULL_NAME);
+        var accountOne = new Account().setBalance(Money.of("10")).setId(1L).setFullName(USER_FULL_NAME);
+        var expected = new Account().setBalance(Money.ZERO).setId(1L).setFullName(USER_FULL_NAME);
 
-        Mockito.when(accountRepository.findByIdWithLock(id)).thenReturn(Optional.ofNullable(accountOne));
+        Mockito.when(accountRepository.findUnshardedByIdWithLock(id)).thenReturn(Optional.ofNullable(accountOne));
         Mockito.when(accountRepository.save(expected)).thenReturn(expected);
 
-        var actual = accountService.withdrawFunds(id, BigDecimal.TEN);
+        var actual = accountService.withdrawFunds(id, Money.of("10"));
 
-        Mockito.verify(accountRepository, Mockito.times(1)).findByIdWithLock(id);
+        Mockito.verify(accountRepository, Mockito.times(1)).findUnshardedByIdWithLock(id);
         Mockito.verify(accountRepository, Mockito.times(1)).save(expected);
 
         assertEquals(actual, expected);
@@ -126,51 +175,51 @@ class AccountServiceTest {
     void withdrawFundsWithNotFoundExceptionTest() {
         var id = 1L;
 
-        Mockito.when(accountRepository.findByIdWithLock(id)).thenThrow(AccountNotFoundException.class);
+        Mockito.when(accountRepository.findUnshardedByIdWithLock(id)).thenThrow(AccountNotFoundException.class);
 
-        assertThrows(AccountNotFoundException.class, () -> accountService.withdrawFunds(id, BigDecimal.TEN));
+        assertThrows(AccountNotFoundException.class, () -> accountService.withdrawFunds(id, Money.of("10")));
     }
 
     @Test
     void withdrawFundsWithInsufficientExceptionTest() {
         var id = 1L;
-        var account = new Account().setBalance(BigDecimal.ONE).setId(1L).setFullName(USER_FULL_NAME);
+        var account = new Account().setBalance(Money.of("1")).setId(1L).setFullName(USER_FULL_NAME);
 
-        Mockito.when(accountRepository.findByIdWithLock(id)).thenReturn(Optional.ofNullable(account));
+        Mockito.when(accountRepository.findUnshardedByIdWithLock(id)).thenReturn(Optional.ofNullable(account));
 
-        assertThrows(InsufficientFundsException.class, () -> accountService.withdrawFunds(id, BigDecimal.TEN));
+        assertThrows(InsufficientFundsException.class, () -> accountService.withdrawFunds(id, Money.of("10")));
     }
 
     @Test
     void transferFundsTest() {
-        var accountSource = new Account().setBalance(BigDecimal.TEN).setId(1L).setFullName(USER_FULL_NAME);
-        var accountTarget = new Account().setBalance(BigDecimal.ZERO).setId(2L).setFullName(USER_FULL_NAME);
+        var accountSource = new Account().setBalance(Money.of("10")).setId(1L).setFullName(USER_FULL_NAME);
+        var accountTarget = new Account().setBalance(Money.ZERO).setId(2L).setFullName(USER_FULL_NAME);
 
-        var accountSourceChanged = new Account().setBalance(BigDecimal.ZERO).setId(1L).setFullName(USER_FULL_NAME);
-        var accountTargetChanged = new Account().setBalance(BigDecimal.TEN).setId(2L).setFullName(USER_FULL_NAME);
+        var accountSourceChanged = new Account().setBalance(Money.ZERO).setId(1L).setFullName(USER_FULL_NAME);
+        var accountTargetChanged = new Account().setBalance(Money.of("10")).setId(2L).setFullName(USER_FULL_NAME);
 
         var listAccountsChanged = List.of(accountSourceChanged, accountTargetChanged);
 
         Mockito.when(accountRepository.saveAll(listAccountsChanged)).thenReturn(listAccountsChanged);
 
-        accountService.transferFundsBetweenTwoAccounts(accountSource, accountTarget, BigDecimal.TEN);
+        accountService.transferFundsBetweenTwoAccounts(accountSource, accountTarget, Money.of("10"));
 
         Mockito.verify(accountRepository, Mockito.times(1)).saveAll(listAccountsChanged);
     }
 
     @Test
     void transferFundsInsufficientExceptionTest() {
-        var accountSource = new Account().setBalance(BigDecimal.ONE).setId(1L).setFullName(USER_FULL_NAME);
-        var accountTarget = new Account().setBalance(BigDecimal.ZERO).setId(2L).setFullName(USER_FULL_NAME);
+        var accountSource = new Account().setBalance(Money.of("1")).setId(1L).setFullName(USER_FULL_NAME);
+        var accountTarget = new Account().setBalance(Money.ZERO).setId(2L).setFullName(USER_FULL_NAME);
 
         assertThrows(InsufficientFundsException.class,
-                () -> accountService.transferFundsBetweenTwoAccounts(accountSource, accountTarget, BigDecimal.TEN));
+                () -> accountService.transferFundsBetweenTwoAccounts(accountSource, accountTarget, Money.of("10")));
     }
 
     @Test
     void findAccountsWithLockTest() {
-        var accountOne = new Account().setBalance(BigDecimal.TEN).setId(1L).setFullName(USER_FULL_NAME);
-        var accountTwo = new Account().setBalance(BigDecimal.ZERO).setId(2L).setFullName(USER_FULL_NAME);
+        var accountOne = new Account().setBalance(Money.of("10")).setId(1L).setFullName(USER_FULL_NAME);
+        var accountTwo = new Account().setBalance(Money.ZERO).setId(2L).setFullName(USER_FULL_NAME);
         var expected = List.of(accountOne, accountTwo);
         var ids = List.of(1L, 2L);
 
@@ -180,4 +229,169 @@ class AccountServiceTest {
 
         assertEquals(actual, expected);
     }
+
+    @Test
+    void findAccountsWithLockInAscendingOrderTest() {
+        var accountOne = new Account().setBalance(Money.of("10")).setId(1L).setFullName(USER_FULL_NAME);
+        var accountTwo = new Account().setBalance(Money.ZERO).setId(2L).setFullName(USER_FULL_NAME);
+        var expected = List.of(accountOne, accountTwo);
+
+        Mockito.when(accountRepository.findByIdInWithLock(List.of(1L, 2L))).thenReturn(expected);
+
+        var actual = accountService.findAccountsWithLock(List.of(2L, 1L));
+
+        Mockito.verify(accountRepository, Mockito.times(1)).findByIdInWithLock(List.of(1L, 2L));
+
+        assertEquals(actual, expected);
+    }
+
+    @Test
+    void depositFundsWithConditionalUpdateTest() {
+        var id = 1L;
+        var expected = new Account().setId(id);
+
+        Mockito.when(engineProperties.mode()).thenReturn(EngineMode.CONDITIONAL_UPDATE);
+        Mockito.when(accountRepository.increaseBalance(id, Money.of("10"))).thenReturn(1);
+        Mockito.when(accountRepository.getReferenceById(id)).thenReturn(expected);
+
+        var actual = accountService.depositFunds(id, Money.of("10"));
+
+        Mockito.verify(accountRepository, Mockito.times(0)).findUnshardedByIdWithLock(id);
+        Mockito.verify(accountRepository, Mockito.times(0)).save(Mockito.any());
+        Mockito.verify(entityManager, Mockito.times(1)).refresh(expected);
+
+        assertEquals(actual, expected);
+    }
+
+    @Test
+    void depositFundsWithConditionalUpdateNotFoundExceptionTest() {
+        var id = 1L;
+
+        Mockito.when(engineProperties.mode()).thenReturn(EngineMode.CONDITIONAL_UPDATE);
+        Mockito.when(accountRepository.increaseBalance(id, Money.of("10"))).thenReturn(0);
+
+        assertThrows(AccountNotFoundException.class, () -> accountService.depositFunds(id, Money.of("10")));
+    }
+
+    @Test
+    void withdrawFundsWithConditionalUpdateTest() {
+        var id = 1L;
+        var expected = new Account().setId(id);
+
+        Mockito.when(engineProperties.mode()).thenReturn(EngineMode.CONDITIONAL_UPDATE);
+        Mockito.when(accountRepository.decreaseBalance(id, Money.of("10"))).thenReturn(1);
+        Mockito.when(accountRepository.getReferenceById(id)).thenReturn(expected);
+
+        var actual = accountService.withdrawFunds(id, Money.of("10"));
+
+        Mockito.verify(accountRepository, Mockito.times(0)).findUnshardedByIdWithLock(id);
+        Mockito.verify(accountRepository, Mockito.times(0)).findShardCountById(id);
+        Mockito.verify(entityManager, Mockito.times(1)).refresh(expected);
+
+        assertEquals(actual, expected);
+    }
+
+    @Test
+    void withdrawFundsWithConditionalUpdateInsufficientExceptionTest() {
+        var id = 1L;
+
+        Mockito.when(engineProperties.mode()).thenReturn(EngineMode.CONDITIONAL_UPDATE);
+        Mockito.when(accountRepository.decreaseBalance(id, Money.of("10"))).thenReturn(0);
+        Mockito.when(accountRepository.findShardCountById(id)).thenReturn(Optional.of(0));
+
+        assertThrows(InsufficientFundsException.class, () -> accountService.withdrawFunds(id, Money.of("10")));
+    }
+
+    @Test
+    void withdrawFundsWithConditionalUpdateNotFoundExceptionTest() {
+        var id = 1L;
+
+        Mockito.when(engineProperties.mode()).thenReturn(EngineMode.CONDITIONAL_UPDATE);
+        Mockito.when(accountRepository.decreaseBalance(id, Money.of("10"))).thenReturn(0);
+        Mockito.when(accountRepository.findShardCountById(id)).thenReturn(Optional.empty());
+
+        assertThrows(AccountNotFoundException.class, () -> accountService.withdrawFunds(id, Money.of("10")));
+    }
+
+    @Test
+    void depositFundsToShardedAccountTest() {
+        var id = 1L;
+        var expected = new Account().setId(id);
+
+        Mockito.when(accountRepository.findUnshardedByIdWithLock(id)).thenReturn(Optional.empty());
+        Mockito.when(accountRepository.findShardCountById(id)).thenReturn(Optional.of(4));
+        Mockito.when(accountRepository.getReferenceById(id)).thenReturn(expected);
+
+        var actual = accountService.depositFunds(id, Money.of("10"));
+
+        Mockito.verify(balanceShardService, Mockito.times(1)).deposit(id, 4, Money.of("10"));
+        Mockito.verify(accountRepository, Mockito.times(0)).save(Mockito.any());
+
+        assertEquals(actual, expected);
+    }
+
+    @Test
+    void withdrawFundsFromShardedAccountWithConditionalUpdateTest() {
+        var id = 1L;
+
+        Mockito.when(engineProperties.mode()).thenReturn(EngineMode.CONDITIONAL_UPDATE);
+        Mockito.when(accountRepository.decreaseBalance(id, Money.of("10"))).thenReturn(0);
+        Mockito.when(accountRepository.findShardCountById(id)).thenReturn(Optional.of(4));
+
+        accountService.withdrawFunds(id, Money.of("10"));
+
+        Mockito.verify(balanceShardService, Mockito.times(1)).withdraw(id, Money.of("10"));
+    }
+
+    @Test
+    void transferFundsBetweenShardedAccountsTest() {
+        var accountSource = new Account().setBalance(Money.ZERO).setShardCount(4).setId(1L);
+        var accountTarget = new Account().setBalance(Money.ZERO).setShardCount(8).setId(2L);
+
+        accountService.transferFundsBetweenTwoAccounts(accountSource, accountTarget, Money.of("10"));
+
+        Mockito.verify(balanceShardService, Mockito.times(1)).withdraw(1L, Money.of("10"));
+        Mockito.verify(balanceShardService, Mockito.times(1)).deposit(2L, 8, Money.of("10"));
+        assertEquals(Money.ZERO, accountSource.getBalance());
+        assertEquals(Money.ZERO, accountTarget.getBalance());
+    }
+
+    @Test
+    void shardAccountTest() {
+        var id = 1L;
+        var account = new Account().setBalance(Money.of("10")).setId(id).setFullName(USER_FULL_NAME);
+
+        Mockito.when(accountRepository.findByIdWithLock(id)).thenReturn(Optional.of(account));
+        Mockito.when(balanceShardService.reshard(id, Money.of("10"), 4)).thenReturn(Money.ZERO);
+        Mockito.when(accountRepository.save(account)).thenReturn(account);
+        Mockito.when(balanceShardService.getBalances(List.of(id))).thenReturn(Map.of(id, Money.of("10")));
+
+        var actual = accountService.shardAccount(id, 4);
+
+        assertEquals(4, account.getShardCount());
+        assertEquals(Money.ZERO, account.getBalance());
+        assertEquals(new AccountResponse(USER_FULL_NAME, id, Money.of("10")), actual);
+    }
+
+    @Test
+    void unshardAccountTest() {
+        var id = 1L;
+        var account = new Account().setBalance(Money.ZERO).setShardCount(4).setId(id);
+
+        Mockito.when(accountRepository.findByIdWithLock(id)).thenReturn(Optional.of(account));
+        Mockito.when(balanceShardService.reshard(id, Money.ZERO, 0)).thenReturn(Money.of("10"));
+        Mockito.when(accountRepository.save(account)).thenReturn(account);
+
+        accountService.shardAccount(id, 1);
+
+        assertEquals(0, account.getShardCount());
+        assertEquals(Money.of("10"), account.getBalance());
+    }
+
+    @Test
+    void checkAccountExistsWithNotFoundExceptionTest() {
+        Mockito.when(accountRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(AccountNotFoundException.class, () -> accountService.checkAccountExists(1L));
+    }
 }
\ No newline at end of file
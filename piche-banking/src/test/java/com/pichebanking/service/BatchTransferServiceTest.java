@@ -0,0 +1,70 @@
+package com.pichebanking.service;
+
+import com.pichebanking.api.dto.request.TransferFundsRequest;
+import com.pichebanking.api.dto.response.BatchTransferItemResponse;
+import com.pichebanking.api.dto.response.BatchTransferResponse;
+import com.pichebanking.config.BatchProperties;
+import com.pichebanking.util.model.Money;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+
+import static com.pichebanking.util.constant.ExceptionMessage.ACCOUNTS_LOCK_FAILED_MSG;
+import static com.pichebanking.util.constant.ExceptionMessage.INSUFFICIENT_FUNDS_MSG;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(SpringExtension.class)
+class BatchTransferServiceTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Spy
+    private BatchProperties batchProperties = new BatchProperties(2);
+
+    @InjectMocks
+    private BatchTransferService batchTransferService;
+
+    @Test
+    void transferFundsInChunksTest() {
+        var first = new TransferFundsRequest(1L, 2L, Money.of("10"));
+        var second = new TransferFundsRequest(2L, 3L, Money.of("10"));
+        var third = new TransferFundsRequest(3L, 1L, Money.of("10"));
+
+        Mockito.when(transactionService.transferFundsChunk(List.of(first, second), 0))
+                .thenReturn(List.of(BatchTransferItemResponse.completed(0, 10L),
+                        BatchTransferItemResponse.failed(1, INSUFFICIENT_FUNDS_MSG)));
+        Mockito.when(transactionService.transferFundsChunk(List.of(third), 2))
+                .thenReturn(List.of(BatchTransferItemResponse.completed(2, 11L)));
+
+        var actual = batchTransferService.transferFunds(List.of(first, second, third));
+
+        var expected = new BatchTransferResponse(2, 1, List.of(BatchTransferItemResponse.completed(0, 10L),
+                BatchTransferItemResponse.failed(1, INSUFFICIENT_FUNDS_MSG),
+                BatchTransferItemResponse.completed(2, 11L)));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void transferFundsWithLockFailureTest() {
+        var first = new TransferFundsRequest(1L, 2L, Money.of("10"));
+        var second = new TransferFundsRequest(2L, 3L, Money.of("10"));
+
+        Mockito.when(transactionService.transferFundsChunk(List.of(first, second), 0))
+                .thenThrow(new CannotAcquireLockException("lock timeout"));
+
+        var actual = batchTransferService.transferFunds(List.of(first, second));
+
+        var expected = new BatchTransferResponse(0, 2, List.of(
+                BatchTransferItemResponse.failed(0, ACCOUNTS_LOCK_FAILED_MSG),
+                BatchTransferItemResponse.failed(1, ACCOUNTS_LOCK_FAILED_MSG)));
+        assertEquals(expected, actual);
+    }
+}
@@ -0,0 +1,85 @@
+package com.pichebanking.service;
+
+import com.pichebanking.api.dto.request.CreateAccountRequest;
+import com.pichebanking.dao.repository.PicheTransactionRepository;
+import com.pichebanking.exception.AccountNotFoundException;
+import com.pichebanking.exception.InsufficientFundsException;
+import com.pichebanking.util.model.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:conditional_update_engine_test;DB_CLOSE_DELAY=-1",
+        "piche.engine.mode=conditional-update"
+})
+class ConditionalUpdateEngineTest {
+
+    private static final String USER_FULL_NAME = "Test Name";
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private PicheTransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void depositAndWithdrawFundsTest() {
+        var id = createAccount(Money.of("10"));
+        var transactionsBefore = transactionRepository.count();
+
+        transactionService.depositFunds(id, Money.of("5"));
+        transactionService.withdrawFunds(id, Money.of("15"));
+
+        assertEquals(0, Money.ZERO.compareTo(accountService.getAccount(id).getBalance()));
+        assertEquals(transactionsBefore + 2, transactionRepository.count());
+    }
+
+    @Test
+    void depositAndWithdrawFundsReturnUpdatedBalanceOfLoadedAccountTest() {
+        var id = createAccount(Money.of("10"));
+
+        var balances = transactionTemplate.execute(status -> {
+            accountService.getAccount(id);
+            var deposited = accountService.depositFunds(id, Money.of("5")).getBalance();
+            var withdrawn = accountService.withdrawFunds(id, Money.of("3")).getBalance();
+            return List.of(deposited, withdrawn);
+        });
+
+        assertEquals(0, Money.of("15").compareTo(balances.getFirst()));
+        assertEquals(0, Money.of("12").compareTo(balances.getLast()));
+    }
+
+    @Test
+    void withdrawFundsWithInsufficientExceptionTest() {
+        var id = createAccount(Money.of("1"));
+        var transactionsBefore = transactionRepository.count();
+
+        assertThrows(InsufficientFundsException.class, () -> transactionService.withdrawFunds(id, Money.of("10")));
+
+        assertEquals(0, Money.of("1").compareTo(accountService.getAccount(id).getBalance()));
+        assertEquals(transactionsBefore, transactionRepository.count());
+    }
+
+    @Test
+    void depositAndWithdrawFundsWithNotFoundExceptionTest() {
+        assertThrows(AccountNotFoundException.class, () -> transactionService.depositFunds(-1L, Money.of("10")));
+        assertThrows(AccountNotFoundException.class, () -> transactionService.withdrawFunds(-1L, Money.of("10")));
+    }
+
+    private Long createAccount(Money balance) {
+        return accountService.createAccount(new CreateAccountRequest(USER_FULL_NAME, balance)).getId();
+    }
+}
@@ -0,0 +1,202 @@
+package com.pichebanking.service;
+
+import com.pichebanking.api.dto.request.CreateAccountRequest;
+import com.pichebanking.dao.repository.AccountRepository;
+import com.pichebanking.dao.repository.IdempotencyRecordRepository;
+import com.pichebanking.dao.repository.PicheTransactionRepository;
+import com.pichebanking.exception.IdempotencyKeyInProgressException;
+import com.pichebanking.exception.IdempotencyKeyReusedException;
+import com.pichebanking.exception.InsufficientFundsException;
+import com.pichebanking.util.model.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.pichebanking.service.IdempotencyService.fingerprint;
+import static com.pichebanking.util.enums.TransactionType.DEPOSIT;
+import static com.pichebanking.util.enums.TransactionType.WITHDRAW;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:idempotency_test;DB_CLOSE_DELAY=-1",
+        "piche.idempotency.purge-batch-size=2"
+})
+class IdempotencyServiceTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private PicheTransactionRepository picheTransactionRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void repeatedDepositIsBookedOnceTest() {
+        var id = createAccount(Money.of("100"));
+        var transactions = picheTransactionRepository.count();
+
+        deposit("repeated-deposit", id, Money.of("10"));
+        deposit("repeated-deposit", id, Money.of("10"));
+
+        assertEquals(Money.of("110"), accountService.getAccount(id).getBalance());
+        assertEquals(transactions + 1, picheTransactionRepository.count());
+    }
+
+    @Test
+    void reusedKeyWithDifferentRequestTest() {
+        var id = createAccount(Money.of("100"));
+        deposit("reused-key", id, Money.of("10"));
+
+        assertThrows(IdempotencyKeyReusedException.class, () -> deposit("reused-key", id, Money.of("20")));
+        assertEquals(Money.of("110"), accountService.getAccount(id).getBalance());
+    }
+
+    @Test
+    void failedRequestIsNotRememberedTest() {
+        var id = createAccount(Money.of("5"));
+        var funds = Money.of("10");
+        Runnable withdraw = () -> idempotencyService.execute("failed-withdraw", fingerprint(WITHDRAW, id, funds),
+                () -> transactionService.withdrawFunds(id, funds));
+
+        assertThrows(InsufficientFundsException.class, withdraw::run);
+        transactionService.depositFunds(id, Money.of("5"));
+        withdraw.run();
+
+        assertEquals(Money.ZERO, accountService.getAccount(id).getBalance());
+    }
+
+    @Test
+    void constraintFailureOfOperationIsNotReportedAsInProgressTest() {
+        var failure = new DataIntegrityViolationException("balance out of range");
+        Runnable operation = () -> idempotencyService.execute("failing-operation", "DEPOSIT:1:100", () -> {
+            throw failure;
+        });
+
+        assertEquals(failure, assertThrows(DataIntegrityViolationException.class, operation::run));
+        assertEquals(failure, assertThrows(DataIntegrityViolationException.class, operation::run));
+        assertFalse(idempotencyRecordRepository.existsById("failing-operation"));
+    }
+
+    @Test
+    void replayDoesNotWaitForAccountLockTest() throws InterruptedException, ExecutionException {
+        var id = createAccount(Money.of("100"));
+        deposit("replay-while-locked", id, Money.of("10"));
+
+        var locked = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        try (var executor = Executors.newSingleThreadExecutor()) {
+            var holder = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                accountRepository.findByIdWithLock(id);
+                locked.countDown();
+                awaitQuietly(release);
+            }));
+            assertTrue(locked.await(10, TimeUnit.SECONDS));
+
+            deposit("replay-while-locked", id, Money.of("10"));
+
+            release.countDown();
+            holder.get();
+        }
+        assertEquals(Money.of("110"), accountService.getAccount(id).getBalance());
+    }
+
+    @Test
+    void concurrentDuplicatesAreBookedOnceTest() throws InterruptedException {
+        var id = createAccount(Money.of("100"));
+        var start = new CountDownLatch(1);
+
+        var tasks = new ArrayList<Callable<Void>>();
+        for (var thread = 0; thread < THREADS; thread++) {
+            tasks.add(() -> {
+                awaitQuietly(start);
+                deposit("concurrent-deposit", id, Money.of("10"));
+                return null;
+            });
+        }
+        List<Future<Void>> futures;
+        try (var executor = Executors.newFixedThreadPool(THREADS)) {
+            var submitted = new ArrayList<Future<Void>>();
+            for (var task : tasks) {
+                submitted.add(executor.submit(task));
+            }
+            start.countDown();
+            futures = submitted;
+        }
+        for (var future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                assertInstanceOf(IdempotencyKeyInProgressException.class, e.getCause());
+            }
+        }
+
+        assertEquals(Money.of("110"), accountService.getAccount(id).getBalance());
+    }
+
+    @Test
+    void expiredKeysArePurgedTest() {
+        var expired = LocalDateTime.now().minusMinutes(1);
+        transactionTemplate.executeWithoutResult(status -> {
+            for (var i = 0; i < 5; i++) {
+                idempotencyRecordRepository.insert("expired-" + i, "DEPOSIT:1:100", expired);
+            }
+            idempotencyRecordRepository.insert("live", "DEPOSIT:1:100", LocalDateTime.now().plusHours(1));
+        });
+
+        idempotencyService.purgeExpiredKeys();
+
+        assertEquals(List.of(), idempotencyRecordRepository.findExpiredKeys(LocalDateTime.now(),
+                Limit.of(10)));
+        assertTrue(idempotencyRecordRepository.existsById("live"));
+    }
+
+    private void deposit(String idempotencyKey, Long id, Money funds) {
+        idempotencyService.execute(idempotencyKey, fingerprint(DEPOSIT, id, funds.minorUnits()),
+                () -> transactionService.depositFunds(id, funds));
+    }
+
+    private long createAccount(Money balance) {
+        return accountService.createAccount(new CreateAccountRequest("Treasury", balance)).getId();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
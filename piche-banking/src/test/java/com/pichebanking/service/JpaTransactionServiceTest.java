@@ -0,0 +1,213 @@
+package com.pichebanking.service;
+
+import com.pichebanking.api.dto.request.TransferFundsRequest;
+import com.pichebanking.api.dto.response.BatchTransferItemResponse;
+import com.pichebanking.api.dto.response.TransactionResponse;
+import com.pichebanking.dao.entity.Account;
+import com.pichebanking.dao.entity.PicheTransaction;
+import com.pichebanking.dao.repository.OutboxEventRepository;
+import com.pichebanking.dao.repository.PicheTransactionRepository;
+import com.pichebanking.exception.AccountNotFoundException;
+import com.pichebanking.exception.InsufficientFundsException;
+import com.pichebanking.helper.metrics.TransactionMetrics;
+import com.pichebanking.service.feed.BalanceFeed;
+import com.pichebanking.util.enums.TransactionType;
+import com.pichebanking.util.model.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static com.pichebanking.util.constant.ExceptionMessage.ACCOUNT_NOT_FOUND_MSG;
+import static com.pichebanking.util.constant.ExceptionMessage.INSUFFICIENT_FUNDS_MSG;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(SpringExtension.class)
+class JpaTransactionServiceTest {
+
+    private static final String USER_FULL_NAME = "Test Name";
+
+    @Mock
+    private PicheTransactionRepository repository;
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private BalanceFeed balanceFeed;
+
+    @Spy
+    private TransactionMetrics transactionMetrics = new TransactionMetrics(new SimpleMeterRegistry());
+
+    @InjectMocks
+    private JpaTransactionService transactionService;
+
+    @Test
+    void transferFundsTest() {
+        var request = new TransferFundsRequest(1L, 2L, Money.of("10"));
+        var ids = List.of(request.sourceAccountId(), request.targetAccountId());
+        var accountSource = new Account().setBalance(Money.ZERO).setId(1L).setFullName(USER_FULL_NAME);
+        var accountTarget = new Account().setBalance(Money.of("10")).setId(2L).setFullName(USER_FULL_NAME);
+        var accounts = List.of(accountSource, accountTarget);
+        var transaction = new PicheTransaction().setTransactionType(TransactionType.TRANSFER).setFunds(Money.of("10"))
+                .setSourceAccount(accountSource).setTargetAccount(accountTarget);
+
+        Mockito.when(accountService.findAccountsForUpdate(ids)).thenReturn(accounts);
+        Mockito.when(repository.save(transaction)).thenReturn(transaction);
+
+        transactionService.transferFunds(request);
+
+        Mockito.verify(accountService, Mockito.times(1))
+                .transferFundsBetweenTwoAccounts(accountSource, accountTarget, Money.of("10"));
+        Mockito.verify(outboxEventRepository, Mockito.times(1)).save(Mockito.argThat(event ->
+                event.getSourceAccountId() == 1L && event.getTargetAccountId() == 2L
+                        && event.getTransactionType() == TransactionType.TRANSFER));
+        Mockito.verify(balanceFeed, Mockito.times(1)).publishAfterCommit(transaction);
+    }
+
+    @Test
+    void transferFundsWithInsufficientFundsExceptionTest() {
+        var request = new TransferFundsRequest(1L, 2L, Money.of("10"));
+        var ids = List.of(request.sourceAccountId(), request.targetAccountId());
+
+        Mockito.when(accountService.findAccountsForUpdate(ids)).thenThrow(InsufficientFundsException.class);
+
+        assertThrows(InsufficientFundsException.class, () -> transactionService.transferFunds(request));
+
+        Mockito.verify(repository, Mockito.times(0)).save(Mockito.any());
+    }
+
+    @Test
+    void transferFundsWithAccountNotFoundExceptionTest() {
+        var request = new TransferFundsRequest(1L, 2L, Money.of("10"));
+        var ids = List.of(request.sourceAccountId(), request.targetAccountId());
+        var accountSource = new Account().setBalance(Money.ZERO).setId(1L).setFullName(USER_FULL_NAME);
+        var accounts = Collections.singletonList(accountSource);
+
+        Mockito.when(accountService.findAccountsForUpdate(ids)).thenReturn(accounts);
+
+        assertThrows(AccountNotFoundException.class, () -> transactionService.transferFunds(request));
+
+        Mockito.verify(repository, Mockito.times(0)).save(Mockito.any());
+    }
+
+    @Test
+    void depositFundsTest() {
+        var account = new Account().setBalance(Money.of("10")).setId(1L).setFullName(USER_FULL_NAME);
+        var transaction = new PicheTransaction().setTransactionType(TransactionType.DEPOSIT).setFunds(Money.of("10"))
+                .setSourceAccount(account).setTargetAccount(null);
+
+        Mockito.when(accountService.depositFunds(1L, Money.of("10"))).thenReturn(account);
+
+        transactionService.depositFunds(1L, Money.of("10"));
+
+        Mockito.verify(repository, Mockito.times(1)).save(transaction);
+    }
+
+    @Test
+    void depositFundsWithAccountNotFoundExceptionTest() {
+        Mockito.when(accountService.depositFunds(1L, Money.of("10"))).thenThrow(AccountNotFoundException.class);
+
+        assertThrows(AccountNotFoundException.class, () -> transactionService.depositFunds(1L, Money.of("10")));
+
+        Mockito.verify(repository, Mockito.times(0)).save(Mockito.any());
+    }
+
+    @Test
+    void withdrawFundsTest() {
+        var account = new Account().setBalance(Money.ZERO).setId(1L).setFullName(USER_FULL_NAME);
+        var transaction = new PicheTransaction().setTransactionType(TransactionType.WITHDRAW).setFunds(Money.of("10"))
+                .setSourceAccount(account).setTargetAccount(null);
+
+        Mockito.when(accountService.withdrawFunds(1L, Money.of("10"))).thenReturn(account);
+
+        transactionService.withdrawFunds(1L, Money.of("10"));
+
+        Mockito.verify(repository, Mockito.times(1)).save(transaction);
+    }
+
+    @Test
+    void withdrawFundsWithInsufficientFundsExceptionTest() {
+        Mockito.when(accountService.withdrawFunds(1L, Money.of("10"))).thenThrow(InsufficientFundsException.class);
+
+        assertThrows(InsufficientFundsException.class, () -> transactionService.withdrawFunds(1L, Money.of("10")));
+
+        Mockito.verify(repository, Mockito.times(0)).save(Mockito.any());
+    }
+
+    @Test
+    void withdrawFundsWithAccountNotFoundExceptionTest() {
+        Mockito.when(accountService.withdrawFunds(1L, Money.of("10"))).thenThrow(AccountNotFoundException.class);
+
+        assertThrows(AccountNotFoundException.class, () -> transactionService.withdrawFunds(1L, Money.of("10")));
+
+        Mockito.verify(repository, Mockito.times(0)).save(Mockito.any());
+    }
+
+    @Test
+    void transferFundsChunkTest() {
+        var requests = List.of(new TransferFundsRequest(2L, 1L, Money.of("10")),
+                new TransferFundsRequest(1L, 3L, Money.of("1")),
+                new TransferFundsRequest(1L, 2L, Money.of("100")));
+        var accountOne = new Account().setBalance(Money.ZERO).setId(1L).setFullName(USER_FULL_NAME);
+        var accountTwo = new Account().setBalance(Money.of("10")).setId(2L).setFullName(USER_FULL_NAME);
+
+        Mockito.when(accountService.findAccountsForUpdate(List.of(2L, 1L, 3L))).thenReturn(List.of(accountOne, accountTwo));
+        Mockito.doThrow(new InsufficientFundsException(INSUFFICIENT_FUNDS_MSG)).when(accountService)
+                .transferFundsBetweenTwoAccounts(accountOne, accountTwo, Money.of("100"));
+        Mockito.when(repository.save(Mockito.any())).thenAnswer(invocation ->
+                invocation.<PicheTransaction>getArgument(0).setId(100L));
+
+        var actual = transactionService.transferFundsChunk(requests, 10);
+
+        Mockito.verify(accountService, Mockito.times(1))
+                .transferFundsBetweenTwoAccounts(accountTwo, accountOne, Money.of("10"));
+        Mockito.verify(repository, Mockito.times(1)).save(Mockito.any());
+
+        assertEquals(List.of(BatchTransferItemResponse.completed(10, 100L),
+                BatchTransferItemResponse.failed(11, ACCOUNT_NOT_FOUND_MSG),
+                BatchTransferItemResponse.failed(12, INSUFFICIENT_FUNDS_MSG)), actual);
+    }
+
+    @Test
+    void getTransactionsTest() {
+        var createdAt = LocalDateTime.now();
+        var withdraw = new TransactionResponse(9L, TransactionType.WITHDRAW, Money.of("1"), 1L, null, createdAt);
+        var outgoing = new TransactionResponse(5L, TransactionType.TRANSFER, Money.of("1"), 1L, 2L, createdAt);
+        var incoming = new TransactionResponse(7L, TransactionType.TRANSFER, Money.of("10"), 2L, 1L, createdAt);
+
+        Mockito.when(repository.findHistoryBySourceAccount(1L, 10L, null, null, null, Limit.of(2)))
+                .thenReturn(List.of(withdraw, outgoing));
+        Mockito.when(repository.findHistoryByTargetAccount(1L, 10L, null, null, null, Limit.of(2)))
+                .thenReturn(List.of(incoming));
+
+        var actual = transactionService.getTransactions(1L, null, null, null, 10L, 2);
+
+        Mockito.verify(accountService, Mockito.times(1)).checkAccountExists(1L);
+
+        assertEquals(List.of(withdraw, incoming), actual);
+    }
+
+    @Test
+    void getTransactionsWithAccountNotFoundExceptionTest() {
+        Mockito.doThrow(new AccountNotFoundException(ACCOUNT_NOT_FOUND_MSG)).when(accountService).checkAccountExists(1L);
+
+        assertThrows(AccountNotFoundException.class,
+                () -> transactionService.getTransactions(1L, null, null, null, 10L, 2));
+
+        Mockito.verifyNoInteractions(repository);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,157 @@
+package com.pichebanking.service;
+
+import com.pichebanking.api.dto.request.CreateAccountRequest;
+import com.pichebanking.api.dto.request.TransferFundsRequest;
+import com.pichebanking.api.dto.response.BatchTransferItemResponse;
+import com.pichebanking.dao.repository.PicheTransactionRepository;
+import com.pichebanking.service.feed.BalanceFeed;
+import com.pichebanking.exception.AccountNotFoundException;
+import com.pichebanking.exception.BalanceFeedUnavailableException;
+import com.pichebanking.exception.InsufficientFundsException;
+import com.pichebanking.exception.TransferInboxUnavailableException;
+import com.pichebanking.util.enums.TransferStatus;
+import com.pichebanking.util.model.Money;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ledger_engine_mode_test;DB_CLOSE_DELAY=-1",
+        "piche.engine.mode=in-memory-ledger"
+})
+class LedgerEngineModeTest {
+
+    private static final String USER_FULL_NAME = "Test Name";
+
+    @TempDir
+    static Path ledgerDirectory;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private PicheTransactionRepository transactionRepository;
+
+    @Autowired
+    private TransferInboxService transferInboxService;
+
+    @Autowired
+    private BalanceFeed balanceFeed;
+
+    @DynamicPropertySource
+    static void ledgerProperties(DynamicPropertyRegistry registry) {
+        registry.add("piche.engine.ledger.directory", ledgerDirectory::toString);
+    }
+
+    @Test
+    void ledgerReplacesJpaEngineTest() {
+        assertInstanceOf(LedgerTransactionService.class, transactionService);
+    }
+
+    @Test
+    void depositWithdrawAndTransferFundsTest() {
+        var sourceId = createAccount(Money.of("10"));
+        var targetId = createAccount(Money.of("1"));
+        accountService.getAccountSnapshot(sourceId);
+        var transactionsBefore = transactionRepository.count();
+
+        transactionService.depositFunds(sourceId, Money.of("5.25"));
+        transactionService.withdrawFunds(sourceId, Money.of("0.25"));
+        transactionService.transferFunds(new TransferFundsRequest(sourceId, targetId, Money.of("10")));
+
+        assertEquals(Money.of("5.00"), accountService.getAccountSnapshot(sourceId).balance());
+        assertEquals(Money.of("11.00"), accountService.getAccountSnapshot(targetId).balance());
+        assertEquals(Money.of("11.00"), accountService.toResponses(
+                List.of(accountService.getAccount(targetId))).get(0).balance());
+        assertEquals(0, Money.of("10").compareTo(accountService.getAccount(sourceId).getBalance()));
+        assertEquals(transactionsBefore, transactionRepository.count());
+    }
+
+    @Test
+    void createdAccountsAreOpenedInLedgerTest() {
+        var accounts = accountService.createAccounts(List.of(
+                new CreateAccountRequest(USER_FULL_NAME, Money.of("3")),
+                new CreateAccountRequest(USER_FULL_NAME, Money.of("4"))));
+        var sourceId = accounts.get(0).getId();
+        var targetId = accounts.get(1).getId();
+
+        transactionService.transferFunds(new TransferFundsRequest(sourceId, targetId, Money.of("3")));
+
+        assertEquals(Money.ZERO, accountService.getAccountSnapshot(sourceId).balance());
+        assertEquals(Money.of("7"), accountService.getAccountSnapshot(targetId).balance());
+    }
+
+    @Test
+    void withdrawAndTransferFundsWithInsufficientExceptionTest() {
+        var sourceId = createAccount(Money.of("1"));
+        var targetId = createAccount(Money.of("1"));
+
+        assertThrows(InsufficientFundsException.class, () -> transactionService.withdrawFunds(sourceId, Money.of("10")));
+        assertThrows(InsufficientFundsException.class, () -> transactionService.transferFunds(
+                new TransferFundsRequest(sourceId, targetId, Money.of("10"))));
+
+        assertEquals(Money.of("1.00"), accountService.getAccountSnapshot(sourceId).balance());
+        assertEquals(Money.of("1.00"), accountService.getAccountSnapshot(targetId).balance());
+    }
+
+    @Test
+    void depositWithdrawAndTransferFundsWithNotFoundExceptionTest() {
+        var id = createAccount(Money.of("1"));
+
+        assertThrows(AccountNotFoundException.class, () -> transactionService.depositFunds(-1L, Money.of("10")));
+        assertThrows(AccountNotFoundException.class, () -> transactionService.withdrawFunds(-1L, Money.of("10")));
+        assertThrows(AccountNotFoundException.class, () -> transactionService.transferFunds(
+                new TransferFundsRequest(id, -1L, Money.of("1"))));
+    }
+
+    @Test
+    void transferFundsChunkReportsFailedItemsTest() {
+        var sourceId = createAccount(Money.of("10"));
+        var targetId = createAccount(Money.of("1"));
+
+        var items = transactionService.transferFundsChunk(List.of(
+                new TransferFundsRequest(sourceId, targetId, Money.of("1")),
+                new TransferFundsRequest(sourceId, targetId, Money.of("10")),
+                new TransferFundsRequest(sourceId, -1L, Money.of("1"))), 0);
+
+        assertEquals(List.of(TransferStatus.COMPLETED, TransferStatus.FAILED, TransferStatus.FAILED),
+                items.stream().map(BatchTransferItemResponse::status).toList());
+        assertEquals(Money.of("9.00"), accountService.getAccountSnapshot(sourceId).balance());
+        assertEquals(Money.of("2.00"), accountService.getAccountSnapshot(targetId).balance());
+    }
+
+    @Test
+    void transferInboxIsNotAvailableTest() {
+        var sourceId = createAccount(Money.of("10"));
+        var targetId = createAccount(Money.of("1"));
+
+        assertThrows(TransferInboxUnavailableException.class, () -> transferInboxService.submit(
+                new TransferFundsRequest(sourceId, targetId, Money.of("1"))));
+        assertEquals(Money.of("10.00"), accountService.getAccountSnapshot(sourceId).balance());
+    }
+
+    @Test
+    void balanceFeedIsNotAvailableTest() {
+        var id = createAccount(Money.of("10"));
+
+        assertThrows(BalanceFeedUnavailableException.class, () -> balanceFeed.subscribe(id));
+        assertEquals(0, balanceFeed.subscriberCount());
+    }
+
+    private Long createAccount(Money balance) {
+        return accountService.createAccount(new CreateAccountRequest(USER_FULL_NAME, balance)).getId();
+    }
+}
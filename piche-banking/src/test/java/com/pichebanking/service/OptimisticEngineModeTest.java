@@ -0,0 +1,88 @@
+package com.pichebanking.service;
+
+import com.pichebanking.api.dto.request.CreateAccountRequest;
+import com.pichebanking.api.dto.request.TransferFundsRequest;
+import com.pichebanking.dao.repository.AccountRepository;
+import com.pichebanking.exception.InsufficientFundsException;
+import com.pichebanking.util.model.Money;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:optimistic_engine_test;DB_CLOSE_DELAY=-1",
+        "piche.engine.mode=optimistic",
+        "piche.engine.optimistic.minimum-attempts=5",
+        "piche.engine.optimistic.conflict-threshold=0.1",
+        "piche.transaction.retry.max-attempts=50",
+        "piche.transaction.retry.max-delay=20"
+})
+class OptimisticEngineModeTest {
+
+    private static final int THREADS = 8;
+    private static final int DEPOSITS = 200;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountContentionTracker contentionTracker;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void movementsIncrementAccountVersionTest() {
+        var sourceId = createAccount(Money.of("10"));
+        var targetId = createAccount(Money.of("1"));
+
+        transactionService.depositFunds(sourceId, Money.of("5"));
+        transactionService.withdrawFunds(sourceId, Money.of("2"));
+        transactionService.transferFunds(new TransferFundsRequest(sourceId, targetId, Money.of("3")));
+
+        var source = accountRepository.findById(sourceId).orElseThrow();
+        var target = accountRepository.findById(targetId).orElseThrow();
+        assertEquals(Money.of("10"), source.getBalance());
+        assertEquals(Money.of("4"), target.getBalance());
+        assertEquals(3, source.getVersion());
+        assertEquals(1, target.getVersion());
+        assertFalse(contentionTracker.isPessimistic(sourceId));
+        assertThrows(InsufficientFundsException.class, () -> transactionService.withdrawFunds(targetId, Money.of("5")));
+    }
+
+    @Test
+    void contendedAccountFallsBackToRowLocksTest() throws InterruptedException {
+        var hotId = createAccount(Money.of("1"));
+        var quietId = createAccount(Money.of("1"));
+
+        try (var executor = Executors.newFixedThreadPool(THREADS)) {
+            IntStream.range(0, DEPOSITS).forEach(i ->
+                    executor.submit(() -> transactionService.depositFunds(hotId, Money.of("1"))));
+        }
+        transactionService.depositFunds(quietId, Money.of("1"));
+
+        assertEquals(Money.of("201"), accountRepository.findById(hotId).orElseThrow().getBalance());
+        assertTrue(contentionTracker.isPessimistic(hotId));
+        assertFalse(contentionTracker.isPessimistic(quietId));
+        assertTrue(meterRegistry.get(AccountContentionTracker.CONFLICTS_COUNTER).counter().count() > 0);
+    }
+
+    private long createAccount(Money balance) {
+        return accountService.createAccount(new CreateAccountRequest("Optimistic", balance)).getId();
+    }
+}
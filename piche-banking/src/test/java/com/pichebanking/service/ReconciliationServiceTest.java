@@ -0,0 +1,97 @@
+package com.pichebanking.service;
+
+import com.pichebanking.api.dto.request.CreateAccountRequest;
+import com.pichebanking.api.dto.request.TransferFundsRequest;
+import com.pichebanking.dao.repository.AccountRepository;
+import com.pichebanking.util.model.Money;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reconciliation_test;DB_CLOSE_DELAY=-1",
+        "piche.reconciliation.settle-time=0s"
+})
+class ReconciliationServiceTest {
+
+    @Autowired
+    private ReconciliationService reconciliationService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void runCoversOnlyNewTransactionsTest() {
+        var sourceId = createAccount(Money.of("100"));
+        var targetId = createAccount(Money.of("10"));
+        transactionService.depositFunds(sourceId, Money.of("5"));
+        reconciliationService.reconcile();
+
+        transactionService.withdrawFunds(sourceId, Money.of("20"));
+        transactionService.transferFunds(new TransferFundsRequest(sourceId, targetId, Money.of("30.55")));
+        var run = reconciliationService.reconcile();
+
+        assertEquals(2, run.getTransactions());
+        assertEquals(2, run.getAccounts());
+        assertEquals(0, run.getMismatches());
+
+        var idle = reconciliationService.reconcile();
+        assertEquals(0, idle.getTransactions());
+        assertEquals(run.getWatermark(), idle.getWatermark());
+    }
+
+    @Test
+    void shardedAccountIsReconciledTest() {
+        var id = createAccount(Money.of("100"));
+        accountService.shardAccount(id, 4);
+        reconciliationService.reconcile();
+
+        transactionService.depositFunds(id, Money.of("1.01"));
+        transactionService.withdrawFunds(id, Money.of("50"));
+        var run = reconciliationService.reconcile();
+
+        assertEquals(0, run.getMismatches());
+    }
+
+    @Test
+    void balanceChangedWithoutTransactionIsReportedTest() {
+        var id = createAccount(Money.of("100"));
+        reconciliationService.reconcile();
+        var reported = meterRegistry.get(ReconciliationService.MISMATCHES_COUNTER).counter().count();
+
+        transactionTemplate.executeWithoutResult(status -> accountRepository.increaseBalance(id, Money.of("7")));
+        transactionService.depositFunds(id, Money.of("1"));
+        var run = reconciliationService.reconcile();
+
+        assertEquals(1, run.getMismatches());
+        var mismatch = reconciliationService.getMismatches(1).getFirst();
+        assertEquals(id, mismatch.getAccountId());
+        assertEquals(run.getWatermark(), mismatch.getWatermark());
+        assertEquals(Money.of("101"), mismatch.getExpectedBalance());
+        assertEquals(Money.of("108"), mismatch.getActualBalance());
+        assertEquals(reported + 1, meterRegistry.get(ReconciliationService.MISMATCHES_COUNTER).counter().count());
+
+        transactionService.depositFunds(id, Money.of("1"));
+        assertEquals(0, reconciliationService.reconcile().getMismatches());
+    }
+
+    private long createAccount(Money balance) {
+        return accountService.createAccount(new CreateAccountRequest("Treasury", balance)).getId();
+    }
+}
@@ -0,0 +1,169 @@
+package com.pichebanking.service;
+
+import com.pichebanking.api.dto.request.CreateAccountRequest;
+import com.pichebanking.api.dto.request.TransferFundsRequest;
+import com.pichebanking.dao.repository.AccountBalanceShardRepository;
+import com.pichebanking.dao.repository.AccountRepository;
+import com.pichebanking.exception.InsufficientFundsException;
+import com.pichebanking.util.model.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sharded_account_test;DB_CLOSE_DELAY=-1"
+})
+class ShardedAccountTest {
+
+    private static final int SHARDS = 4;
+    private static final int THREADS = 8;
+    private static final int DEPOSITS_PER_THREAD = 25;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountBalanceShardRepository shardRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void shardingKeepsTheBalanceTest() {
+        var id = createAccount(Money.of("100.03"));
+
+        var response = accountService.shardAccount(id, SHARDS);
+
+        assertEquals(Money.of("100.03"), response.balance());
+        assertEquals(SHARDS, accountService.getAccount(id).getShardCount());
+        assertEquals(Money.ZERO, accountService.getAccount(id).getBalance());
+        assertEquals(Money.of("25.03"), shardBalance(id, 0));
+        assertEquals(Money.of("25.00"), shardBalance(id, 3));
+    }
+
+    @Test
+    void concurrentDepositsAreSpreadOverShardsTest() throws InterruptedException, ExecutionException {
+        var id = createAccount(Money.of("1"));
+        accountService.shardAccount(id, SHARDS);
+
+        var tasks = new ArrayList<Callable<Void>>();
+        for (var thread = 0; thread < THREADS; thread++) {
+            tasks.add(() -> {
+                for (var i = 0; i < DEPOSITS_PER_THREAD; i++) {
+                    transactionService.depositFunds(id, Money.of("1"));
+                }
+                return null;
+            });
+        }
+        try (var executor = Executors.newFixedThreadPool(THREADS)) {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        }
+
+        var expected = Money.of(String.valueOf(1 + THREADS * DEPOSITS_PER_THREAD));
+        assertEquals(expected, accountService.getAccountSnapshot(id).balance());
+        assertEquals(expected, streamedBalance(id));
+    }
+
+    @Test
+    void depositDoesNotWaitForAccountRowLockTest() throws InterruptedException, ExecutionException {
+        var id = createAccount(Money.of("1"));
+        accountService.shardAccount(id, SHARDS);
+        var locked = new CountDownLatch(1);
+        var deposited = new CountDownLatch(1);
+
+        try (var executor = Executors.newSingleThreadExecutor()) {
+            var lockHolder = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                accountRepository.findByIdWithLock(id);
+                locked.countDown();
+                awaitQuietly(deposited);
+            }));
+            locked.await();
+            transactionService.depositFunds(id, Money.of("1"));
+            deposited.countDown();
+            lockHolder.get();
+        }
+
+        assertEquals(Money.of("2.00"), accountService.getAccountSnapshot(id).balance());
+    }
+
+    @Test
+    void withdrawalAndTransferConsumeAcrossShardsTest() {
+        var sharded = createAccount(Money.of("40.00"));
+        var regular = createAccount(Money.of("1"));
+        accountService.shardAccount(sharded, SHARDS);
+
+        transactionService.withdrawFunds(sharded, Money.of("15.00"));
+        transactionService.transferFunds(new TransferFundsRequest(sharded, regular, Money.of("24.00")));
+
+        assertEquals(Money.of("1.00"), accountService.getAccountSnapshot(sharded).balance());
+        assertEquals(Money.of("25.00"), accountService.getAccountSnapshot(regular).balance());
+        assertThrows(InsufficientFundsException.class,
+                () -> transactionService.withdrawFunds(sharded, Money.of("1.01")));
+    }
+
+    @Test
+    void unshardingFoldsShardsBackTest() {
+        var id = createAccount(Money.of("10.00"));
+        accountService.shardAccount(id, SHARDS);
+        transactionService.depositFunds(id, Money.of("5.00"));
+
+        var response = accountService.shardAccount(id, 1);
+
+        assertEquals(Money.of("15.00"), response.balance());
+        assertEquals(0, accountService.getAccount(id).getShardCount());
+        assertEquals(List.of(), shardRepository.findAll().stream()
+                .filter(shard -> shard.getId().getAccountId() == id)
+                .toList());
+    }
+
+    private long createAccount(Money balance) {
+        return accountService.createAccount(new CreateAccountRequest("Treasury", balance)).getId();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Money shardBalance(long accountId, int shardNo) {
+        return shardRepository.findAll().stream()
+                .filter(shard -> shard.getId().getAccountId() == accountId && shard.getId().getShardNo() == shardNo)
+                .findFirst()
+                .orElseThrow()
+                .getBalance();
+    }
+
+    private Money streamedBalance(long accountId) {
+        var balance = new Money[1];
+        accountService.streamAccounts(account -> {
+            if (account.accountNumber() == accountId) {
+                balance[0] = account.balance();
+            }
+        });
+        return balance[0];
+    }
+}
@@ -0,0 +1,73 @@
+package com.pichebanking.service;
+
+import com.pichebanking.api.dto.request.CreateAccountRequest;
+import com.pichebanking.api.dto.request.TransferFundsRequest;
+import com.pichebanking.api.dto.response.TransactionResponse;
+import com.pichebanking.util.enums.TransactionType;
+import com.pichebanking.util.model.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:statement_export_test;DB_CLOSE_DELAY=-1")
+class StatementExportTest {
+
+    @Autowired
+    private StatementService statementService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Test
+    void statementMergesOutgoingAndIncomingTransactionsTest() {
+        var accountId = createAccount(Money.of("100"));
+        var otherId = createAccount(Money.of("100"));
+        transactionService.depositFunds(accountId, Money.of("5"));
+        transactionService.transferFunds(new TransferFundsRequest(otherId, accountId, Money.of("7")));
+        transactionService.withdrawFunds(otherId, Money.of("1"));
+        transactionService.transferFunds(new TransferFundsRequest(accountId, otherId, Money.of("3")));
+
+        var statement = new ArrayList<TransactionResponse>();
+        statementService.exportStatement(accountId, null, null, statement::add);
+
+        assertEquals(List.of(TransactionType.DEPOSIT, TransactionType.TRANSFER, TransactionType.TRANSFER),
+                statement.stream().map(TransactionResponse::transactionType).toList());
+        assertEquals(List.of(Money.of("5"), Money.of("7"), Money.of("3")),
+                statement.stream().map(TransactionResponse::funds).toList());
+        assertEquals(statement.stream().map(TransactionResponse::transactionId).sorted().toList(),
+                statement.stream().map(TransactionResponse::transactionId).toList());
+    }
+
+    @Test
+    void statementsAreLimitedToCreationRangeTest() {
+        var accountId = createAccount(Money.of("100"));
+        var from = LocalDateTime.now().minusSeconds(1);
+        transactionService.depositFunds(accountId, Money.of("1"));
+        transactionService.depositFunds(accountId, Money.of("2"));
+        var to = LocalDateTime.now().plusSeconds(1);
+
+        var statements = new ArrayList<TransactionResponse>();
+        statementService.exportStatements(from, to, statements::add);
+        var empty = new ArrayList<TransactionResponse>();
+        statementService.exportStatement(accountId, to, null, empty::add);
+
+        assertTrue(statements.size() >= 2);
+        assertTrue(statements.stream().allMatch(transaction ->
+                !transaction.createdAt().isBefore(from) && transaction.createdAt().isBefore(to)));
+        assertTrue(empty.isEmpty());
+    }
+
+    private long createAccount(Money balance) {
+        return accountService.createAccount(new CreateAccountRequest("Statement", balance)).getId();
+    }
+}
@@ -0,0 +1,101 @@
+package com.pichebanking.service;
+
+import com.pichebanking.api.dto.request.CreateAccountRequest;
+import com.pichebanking.api.dto.request.TransferFundsRequest;
+import com.pichebanking.dao.repository.OutboxEventRepository;
+import com.pichebanking.exception.InsufficientFundsException;
+import com.pichebanking.service.outbox.InMemoryOutboxSink;
+import com.pichebanking.service.outbox.OutboxSink;
+import com.pichebanking.service.outbox.TransactionEvent;
+import com.pichebanking.util.enums.TransactionType;
+import com.pichebanking.util.model.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.pichebanking.util.enums.TransactionType.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:transaction_outbox_test;DB_CLOSE_DELAY=-1",
+        "piche.outbox.sink=memory",
+        "piche.outbox.poll-interval=20ms"
+})
+class TransactionOutboxTest {
+
+    private static final long TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(20);
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private OutboxSink outboxSink;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Test
+    void recordedMovementsArePublishedInOrderTest() throws InterruptedException {
+        var sourceId = createAccount(Money.of("100"));
+        var targetId = createAccount(Money.ZERO);
+
+        transactionService.depositFunds(sourceId, Money.of("10"));
+        transactionService.withdrawFunds(sourceId, Money.of("20"));
+        transactionService.transferFunds(new TransferFundsRequest(sourceId, targetId, Money.of("30")));
+
+        var events = awaitEvents(sourceId, 3);
+        assertEquals(List.of(DEPOSIT, WITHDRAW, TRANSFER),
+                events.stream().map(TransactionEvent::transactionType).toList());
+        assertEquals(List.of(Money.of("10"), Money.of("20"), Money.of("30")),
+                events.stream().map(TransactionEvent::funds).toList());
+        assertEquals(targetId, events.getLast().targetAccountId());
+    }
+
+    @Test
+    void failedMovementQueuesNoEventTest() throws InterruptedException {
+        var id = createAccount(Money.of("5"));
+
+        assertThrows(InsufficientFundsException.class, () -> transactionService.withdrawFunds(id, Money.of("10")));
+        transactionService.depositFunds(id, Money.of("1"));
+
+        var events = awaitEvents(id, 1);
+        assertEquals(TransactionType.DEPOSIT, events.getFirst().transactionType());
+        awaitEmptyOutbox();
+    }
+
+    private List<TransactionEvent> awaitEvents(Long accountId, int count) throws InterruptedException {
+        var deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            var events = ((InMemoryOutboxSink) outboxSink).getEvents().stream()
+                    .filter(event -> event.sourceAccountId().equals(accountId))
+                    .toList();
+            if (events.size() >= count) {
+                assertEquals(count, events.size());
+                return events;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Events of account " + accountId + " not published");
+    }
+
+    private void awaitEmptyOutbox() throws InterruptedException {
+        var deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (outboxEventRepository.count() > 0) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Outbox not drained");
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    private long createAccount(Money balance) {
+        return accountService.createAccount(new CreateAccountRequest("Treasury", balance)).getId();
+    }
+}
@@ -0,0 +1,65 @@
+package com.pichebanking.service;
+
+import com.pichebanking.api.dto.request.CreateAccountRequest;
+import com.pichebanking.api.dto.request.TransferFundsRequest;
+import com.pichebanking.util.model.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:transfer_concurrency_test;DB_CLOSE_DELAY=-1"
+})
+class TransferConcurrencyTest {
+
+    private static final String USER_FULL_NAME = "Test Name";
+    private static final Money INITIAL_BALANCE = Money.of("1000000");
+    private static final int THREADS = 16;
+    private static final int TRANSFERS_PER_THREAD = 250;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Test
+    void oppositeTransfersDoNotDeadlockAndKeepTotalBalanceTest() throws Exception {
+        var accountIds = List.of(createAccount(), createAccount(), createAccount());
+        var tasks = new ArrayList<Callable<Void>>();
+        for (var thread = 0; thread < THREADS; thread++) {
+            var offset = thread;
+            tasks.add(() -> {
+                for (var i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                    var source = accountIds.get((offset + i) % accountIds.size());
+                    var target = accountIds.get((offset + i + 1 + offset % 2) % accountIds.size());
+                    transactionService.transferFunds(new TransferFundsRequest(source, target, Money.of("1")));
+                }
+                return null;
+            });
+        }
+
+        try (var executor = Executors.newFixedThreadPool(THREADS)) {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        }
+
+        var total = accountIds.stream()
+                .map(id -> accountService.getAccount(id).getBalance())
+                .reduce(Money.ZERO, Money::add);
+        assertEquals(0, Money.ofMinorUnits(INITIAL_BALANCE.minorUnits() * accountIds.size()).compareTo(total));
+    }
+
+    private Long createAccount() {
+        return accountService.createAccount(new CreateAccountRequest(USER_FULL_NAME, INITIAL_BALANCE)).getId();
+    }
+}
@@ -0,0 +1,170 @@
+package com.pichebanking.service;
+
+import com.pichebanking.api.dto.request.CreateAccountRequest;
+import com.pichebanking.api.dto.request.TransferFundsRequest;
+import com.pichebanking.dao.entity.TransferInboxEntry;
+import com.pichebanking.util.enums.TransferStatus;
+import com.pichebanking.util.model.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.pichebanking.util.constant.ExceptionMessage.INSUFFICIENT_FUNDS_MSG;
+import static com.pichebanking.util.constant.ExceptionMessage.TRANSFER_REJECTED_MSG;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:transfer_inbox_test;DB_CLOSE_DELAY=-1",
+        "piche.transaction.inbox.workers=3",
+        "piche.transaction.inbox.batch-size=4"
+})
+class TransferInboxTest {
+
+    private static final long TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(20);
+
+    @Autowired
+    private TransferInboxService transferInboxService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransferInboxProcessor transferInboxProcessor;
+
+    @Autowired
+    private TransferInboxWorkers transferInboxWorkers;
+
+    @Test
+    void acceptedTransferIsAppliedTest() throws InterruptedException {
+        var sourceId = createAccount(Money.of("100"));
+        var targetId = createAccount(Money.of("0"));
+
+        var accepted = transferInboxService.submit(new TransferFundsRequest(sourceId, targetId, Money.of("40")));
+        assertEquals(TransferStatus.PENDING, accepted.getStatus());
+
+        var processed = awaitProcessed(accepted.getId());
+        assertEquals(TransferStatus.COMPLETED, processed.getStatus());
+        assertNull(processed.getErrorMessage());
+        assertEquals(Money.of("60"), accountService.getAccount(sourceId).getBalance());
+        assertEquals(Money.of("40"), accountService.getAccount(targetId).getBalance());
+    }
+
+    @Test
+    void finishedTransferIsNotAppliedAgainTest() throws InterruptedException {
+        var sourceId = createAccount(Money.of("100"));
+        var targetId = createAccount(Money.of("0"));
+        var accepted = transferInboxService.submit(new TransferFundsRequest(sourceId, targetId, Money.of("40")));
+        var processed = awaitProcessed(accepted.getId());
+
+        transferInboxProcessor.complete(processed);
+
+        assertEquals(TransferStatus.COMPLETED, transferInboxService.getTransfer(accepted.getId()).getStatus());
+        assertEquals(Money.of("60"), accountService.getAccount(sourceId).getBalance());
+        assertEquals(Money.of("40"), accountService.getAccount(targetId).getBalance());
+    }
+
+    @Test
+    void transfersFromOneAccountAreAppliedInOrderTest() throws InterruptedException {
+        var sourceId = createAccount(Money.of("100"));
+        var targetId = createAccount(Money.of("0"));
+
+        var ids = new ArrayList<Long>();
+        for (var i = 0; i < 10; i++) {
+            ids.add(transferInboxService.submit(new TransferFundsRequest(sourceId, targetId, Money.of("15"))).getId());
+        }
+
+        var statuses = new ArrayList<TransferStatus>();
+        for (var id : ids) {
+            statuses.add(awaitProcessed(id).getStatus());
+        }
+        var completed = TransferStatus.COMPLETED;
+        var failed = TransferStatus.FAILED;
+        assertEquals(List.of(completed, completed, completed, completed, completed, completed,
+                failed, failed, failed, failed), statuses);
+        assertEquals(INSUFFICIENT_FUNDS_MSG, transferInboxService.getTransfer(ids.getLast()).getErrorMessage());
+        assertEquals(Money.of("10"), accountService.getAccount(sourceId).getBalance());
+        assertEquals(Money.of("90"), accountService.getAccount(targetId).getBalance());
+    }
+
+    @Test
+    void creditIsAppliedBeforeLaterDebitOfTargetTest() throws InterruptedException {
+        var ids = new ArrayList<Long>();
+        transferInboxWorkers.stop();
+        try {
+            for (var i = 0; i < 10; i++) {
+                var firstId = createAccount(Money.of("50"));
+                var secondId = createAccount(Money.of("0"));
+                var thirdId = createAccount(Money.of("0"));
+                ids.add(submit(firstId, secondId));
+                ids.add(submit(secondId, thirdId));
+                ids.add(submit(thirdId, firstId));
+            }
+        } finally {
+            transferInboxWorkers.start();
+        }
+
+        for (var id : ids) {
+            assertEquals(TransferStatus.COMPLETED, awaitProcessed(id).getStatus());
+        }
+    }
+
+    @Test
+    void transfersOfDifferentAccountsAreAllAppliedTest() throws InterruptedException {
+        var targetId = createAccount(Money.of("0"));
+        var ids = new ArrayList<Long>();
+        for (var i = 0; i < 12; i++) {
+            var sourceId = createAccount(Money.of("5"));
+            ids.add(transferInboxService.submit(new TransferFundsRequest(sourceId, targetId, Money.of("5"))).getId());
+        }
+
+        for (var id : ids) {
+            assertEquals(TransferStatus.COMPLETED, awaitProcessed(id).getStatus());
+        }
+        assertEquals(Money.of("60"), accountService.getAccount(targetId).getBalance());
+    }
+
+    @Test
+    void rejectedTransferDoesNotHoldBackItsPartitionTest() throws InterruptedException {
+        var sourceId = createAccount(Money.of("100"));
+        var fullTargetId = createAccount(new Money(Long.MAX_VALUE));
+        var targetId = createAccount(Money.of("0"));
+
+        var poison = transferInboxService.submit(new TransferFundsRequest(sourceId, fullTargetId, Money.of("1")));
+        var valid = transferInboxService.submit(new TransferFundsRequest(sourceId, targetId, Money.of("30")));
+
+        var failed = awaitProcessed(poison.getId());
+        assertEquals(TransferStatus.FAILED, failed.getStatus());
+        assertEquals(TRANSFER_REJECTED_MSG, failed.getErrorMessage());
+        assertEquals(TransferStatus.COMPLETED, awaitProcessed(valid.getId()).getStatus());
+        assertEquals(Money.of("70"), accountService.getAccount(sourceId).getBalance());
+        assertEquals(new Money(Long.MAX_VALUE), accountService.getAccount(fullTargetId).getBalance());
+        assertEquals(Money.of("30"), accountService.getAccount(targetId).getBalance());
+    }
+
+    private long submit(long sourceId, long targetId) {
+        return transferInboxService.submit(new TransferFundsRequest(sourceId, targetId, Money.of("50"))).getId();
+    }
+
+    private TransferInboxEntry awaitProcessed(Long id) throws InterruptedException {
+        var deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            var entry = transferInboxService.getTransfer(id);
+            if (entry.getStatus() != TransferStatus.PENDING) {
+                assertTrue(entry.getProcessedAt() != null);
+                return entry;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Transfer " + id + " still pending");
+    }
+
+    private long createAccount(Money balance) {
+        return accountService.createAccount(new CreateAccountRequest("Treasury", balance)).getId();
+    }
+}
@@ -0,0 +1,281 @@
+package com.pichebanking.service.feed;
+
+import com.pichebanking.api.dto.request.CreateAccountRequest;
+import com.pichebanking.api.dto.request.TransferFundsRequest;
+import com.pichebanking.api.dto.response.BalanceChangeResponse;
+import com.pichebanking.exception.BalanceFeedFullException;
+import com.pichebanking.service.AccountService;
+import com.pichebanking.service.TransactionService;
+import com.pichebanking.util.enums.TransactionType;
+import com.pichebanking.util.model.Money;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.pichebanking.service.feed.BalanceFeed.EVICTED_COUNTER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:balance_feed_test;DB_CLOSE_DELAY=-1",
+        "piche.balance-feed.buffer-size=4",
+        "piche.balance-feed.max-subscribers=" + BalanceFeedTest.MAX_SUBSCRIBERS,
+        "piche.balance-feed.heartbeat-interval=PT1H"
+})
+class BalanceFeedTest {
+
+    static final int MAX_SUBSCRIBERS = 8;
+
+    @Autowired
+    private BalanceFeed balanceFeed;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        emitters.forEach(RecordingEmitter::disconnect);
+    }
+
+    @Test
+    void committedTransferIsSentToBothAccountsTest() throws InterruptedException {
+        var source = createAccount(Money.of("100"));
+        var target = createAccount(Money.of("5"));
+        var sourceEmitter = new RecordingEmitter();
+        var targetEmitter = new RecordingEmitter();
+        subscribe(source, sourceEmitter);
+        subscribe(target, targetEmitter);
+        var sourceCurrent = sourceEmitter.next();
+        assertNull(sourceCurrent.transaction());
+        assertEquals(Money.of("100"), sourceCurrent.balance());
+        assertNull(targetEmitter.next().transaction());
+
+        transactionService.transferFunds(new TransferFundsRequest(source, target, Money.of("30")));
+
+        var sourceChange = sourceEmitter.next();
+        var targetChange = targetEmitter.next();
+        assertEquals(Money.of("70"), sourceChange.balance());
+        assertEquals(Money.of("35"), targetChange.balance());
+        assertEquals(TransactionType.TRANSFER, sourceChange.transaction().transactionType());
+        assertEquals(Money.of("30"), sourceChange.transaction().funds());
+        assertEquals(sourceChange.transaction(), targetChange.transaction());
+    }
+
+    @Test
+    void rolledBackDepositIsNotSentTest() throws InterruptedException {
+        var id = createAccount(Money.of("10"));
+        var emitter = new RecordingEmitter();
+        subscribe(id, emitter);
+        emitter.next();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            transactionService.depositFunds(id, Money.of("1"));
+            status.setRollbackOnly();
+        });
+        transactionService.depositFunds(id, Money.of("2"));
+
+        var change = emitter.next();
+        assertEquals(Money.of("12"), change.balance());
+        assertEquals(Money.of("2"), change.transaction().funds());
+        assertNull(emitter.events.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void depositCommittingWhileSubscribingIsNotLostTest() throws Exception {
+        var id = createAccount(Money.of("10"));
+        var subscribersBefore = balanceFeed.subscriberCount();
+        var emitter = new RecordingEmitter();
+        var deposited = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        try (var executor = Executors.newFixedThreadPool(2)) {
+            var deposit = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                transactionService.depositFunds(id, Money.of("5"));
+                deposited.countDown();
+                await(release);
+            }));
+            await(deposited);
+            var subscription = executor.submit(() -> subscribe(id, emitter));
+            while (balanceFeed.subscriberCount() == subscribersBefore) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            deposit.get(10, TimeUnit.SECONDS);
+            subscription.get(10, TimeUnit.SECONDS);
+        }
+
+        assertEquals(Money.of("15"), emitter.next().balance());
+        assertNull(emitter.events.poll(200, TimeUnit.MILLISECONDS));
+        transactionService.depositFunds(id, Money.of("1"));
+        assertEquals(Money.of("16"), emitter.next().balance());
+    }
+
+    @Test
+    void concurrentDepositsEndOnTheLatestBalanceTest() throws Exception {
+        var id = createAccount(Money.of("0"));
+        var emitter = new RecordingEmitter();
+        subscribe(id, emitter);
+        emitter.next();
+
+        try (var executor = Executors.newFixedThreadPool(4)) {
+            var futures = new ArrayList<Future<?>>();
+            for (var i = 0; i < 4; i++) {
+                futures.add(executor.submit(() -> transactionService.depositFunds(id, Money.of("1"))));
+            }
+            for (var future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        }
+
+        var last = emitter.next();
+        BalanceChangeResponse change;
+        while ((change = emitter.events.poll(200, TimeUnit.MILLISECONDS)) != null) {
+            assertTrue(change.transaction().transactionId() > last.transaction().transactionId());
+            last = change;
+        }
+        assertEquals(Money.of("4"), last.balance());
+    }
+
+    @Test
+    void slowSubscriberIsEvictedTest() throws InterruptedException {
+        var id = createAccount(Money.of("10"));
+        var evictedBefore = registry.get(EVICTED_COUNTER).counter().count();
+        var subscribersBefore = balanceFeed.subscriberCount();
+        var slowEmitter = new BlockingEmitter();
+        var emitter = new RecordingEmitter();
+        subscribe(id, slowEmitter);
+        subscribe(id, emitter);
+        assertEquals(subscribersBefore + 2, balanceFeed.subscriberCount());
+        emitter.next();
+
+        var deposits = 6;
+        for (var i = 1; i <= deposits; i++) {
+            transactionService.depositFunds(id, Money.of("1"));
+        }
+
+        var balances = new ArrayList<Money>();
+        for (var i = 0; i < deposits; i++) {
+            balances.add(emitter.next().balance());
+        }
+        assertEquals(Money.of("16"), balances.getLast());
+        while (balanceFeed.subscriberCount() > subscribersBefore + 1) {
+            Thread.onSpinWait();
+        }
+        assertEquals(evictedBefore + 1, registry.get(EVICTED_COUNTER).counter().count());
+    }
+
+    @Test
+    void subscriptionsAboveMaximumAreRejectedTest() {
+        var id = createAccount(Money.of("10"));
+        while (balanceFeed.subscriberCount() < MAX_SUBSCRIBERS) {
+            subscribe(id, new RecordingEmitter());
+        }
+
+        assertThrows(BalanceFeedFullException.class, () -> subscribe(id, new RecordingEmitter()));
+        assertEquals(MAX_SUBSCRIBERS, balanceFeed.subscriberCount());
+    }
+
+    private void subscribe(long id, RecordingEmitter emitter) {
+        emitters.add(emitter);
+        balanceFeed.subscribe(id, emitter);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private long createAccount(Money balance) {
+        return accountService.createAccount(new CreateAccountRequest("Feed Holder", balance)).getId();
+    }
+
+    /**
+     * Keeps the balance events instead of writing them. The emitter is never bound to a response,
+     * {@link #disconnect} runs the completion callback the container would run.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<BalanceChangeResponse> events = new LinkedBlockingQueue<>();
+        private Runnable completionCallback = () -> { };
+
+        @Override
+        public void onCompletion(Runnable callback) {
+            completionCallback = callback;
+            super.onCompletion(callback);
+        }
+
+        void disconnect() {
+            completionCallback.run();
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            for (var data : builder.build()) {
+                if (data.getData() instanceof BalanceChangeResponse change) {
+                    events.add(change);
+                }
+            }
+        }
+
+        private BalanceChangeResponse next() throws InterruptedException {
+            var change = events.poll(5, TimeUnit.SECONDS);
+            assertNotNull(change);
+            return change;
+        }
+    }
+
+    /**
+     * A client that stopped reading, every send blocks until released.
+     */
+    private static class BlockingEmitter extends RecordingEmitter {
+
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        void disconnect() {
+            release.countDown();
+            super.disconnect();
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException("Connection closed");
+        }
+    }
+}
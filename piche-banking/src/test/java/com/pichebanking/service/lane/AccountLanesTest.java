@@ -0,0 +1,189 @@
+package com.pichebanking.service.lane;
+
+import com.pichebanking.config.LaneProperties;
+import com.pichebanking.exception.AccountLaneBusyException;
+import com.pichebanking.exception.InsufficientFundsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.pichebanking.service.lane.AccountLanes.QUEUE_DEPTH_GAUGE;
+import static com.pichebanking.service.lane.AccountLanes.REJECTED_COUNTER;
+import static com.pichebanking.service.lane.AccountLanes.WAIT_TIMER;
+import static com.pichebanking.util.constant.ExceptionMessage.INSUFFICIENT_FUNDS_MSG;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccountLanesTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private AccountLanes accountLanes;
+
+    @AfterEach
+    void tearDown() {
+        if (accountLanes != null) {
+            accountLanes.stop();
+        }
+    }
+
+    @Test
+    void operationsOnOneAccountRunOneAfterAnotherTest() throws Exception {
+        accountLanes = start(4, 1000);
+        var running = new AtomicInteger();
+        var overlapped = new AtomicBoolean();
+        var counter = new int[1];
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            var futures = new ArrayList<Future<?>>();
+            for (var i = 0; i < 400; i++) {
+                futures.add(executor.submit(() -> accountLanes.execute(1L, () -> {
+                    if (running.incrementAndGet() > 1) {
+                        overlapped.set(true);
+                    }
+                    counter[0]++;
+                    running.decrementAndGet();
+                })));
+            }
+            for (var future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        }
+
+        assertFalse(overlapped.get());
+        assertEquals(400, counter[0]);
+        assertEquals(400, registry.get(WAIT_TIMER).tag("lane", String.valueOf(accountLanes.laneIndexOf(1L)))
+                .timer().count());
+    }
+
+    @Test
+    void operationOnTwoLanesParksBothLanesTest() throws Exception {
+        accountLanes = start(4, 1000);
+        long first = 1L;
+        long second = 2L;
+        long other = 3L;
+        assertNotEquals(accountLanes.laneIndexOf(first), accountLanes.laneIndexOf(second));
+        assertNotEquals(accountLanes.laneIndexOf(second), accountLanes.laneIndexOf(other));
+
+        var transferStarted = new CountDownLatch(1);
+        var releaseTransfer = new CountDownLatch(1);
+        var secondAccountChanged = new AtomicBoolean();
+        try (var executor = Executors.newFixedThreadPool(3)) {
+            var transfer = executor.submit(() -> accountLanes.execute(second, first, () -> {
+                transferStarted.countDown();
+                await(releaseTransfer);
+            }));
+            assertTrue(transferStarted.await(5, TimeUnit.SECONDS));
+
+            var deposit = executor.submit(() -> accountLanes.execute(second, () -> secondAccountChanged.set(true)));
+            executor.submit(() -> accountLanes.execute(other, () -> { })).get(5, TimeUnit.SECONDS);
+            Thread.sleep(100);
+            assertFalse(secondAccountChanged.get());
+
+            releaseTransfer.countDown();
+            transfer.get(5, TimeUnit.SECONDS);
+            deposit.get(5, TimeUnit.SECONDS);
+            assertTrue(secondAccountChanged.get());
+        }
+    }
+
+    @Test
+    void opposingOperationsOnTwoLanesDoNotDeadlockTest() throws Exception {
+        accountLanes = start(3, 1000);
+        var pairs = List.of(new long[]{1, 2}, new long[]{2, 1}, new long[]{2, 3}, new long[]{3, 1});
+        var completed = new AtomicInteger();
+        try (var executor = Executors.newFixedThreadPool(16)) {
+            var futures = new ArrayList<Future<?>>();
+            for (var i = 0; i < 2000; i++) {
+                var pair = pairs.get(i % pairs.size());
+                futures.add(executor.submit(() -> accountLanes.execute(pair[0], pair[1], completed::incrementAndGet)));
+            }
+            for (var future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        }
+
+        assertEquals(2000, completed.get());
+    }
+
+    @Test
+    void fullLaneRejectsOperationsTest() throws Exception {
+        accountLanes = start(1, 1);
+        var blockerStarted = new CountDownLatch(1);
+        var releaseBlocker = new CountDownLatch(1);
+        try (var executor = Executors.newFixedThreadPool(2)) {
+            var blocker = executor.submit(() -> accountLanes.execute(1L, () -> {
+                blockerStarted.countDown();
+                await(releaseBlocker);
+            }));
+            assertTrue(blockerStarted.await(5, TimeUnit.SECONDS));
+            var queued = executor.submit(() -> accountLanes.execute(2L, () -> { }));
+            while (registry.get(QUEUE_DEPTH_GAUGE).tag("lane", "0").gauge().value() < 1) {
+                Thread.onSpinWait();
+            }
+
+            assertThrows(AccountLaneBusyException.class, () -> accountLanes.execute(3L, () -> { }));
+            assertThrows(AccountLaneBusyException.class, () -> accountLanes.execute(3L, 4L, () -> { }));
+            assertEquals(2, registry.get(REJECTED_COUNTER).tag("lane", "0").counter().count());
+
+            releaseBlocker.countDown();
+            blocker.get(5, TimeUnit.SECONDS);
+            queued.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void exceptionOfOperationIsRethrownTest() {
+        accountLanes = start(2, 10);
+        var exception = new InsufficientFundsException(INSUFFICIENT_FUNDS_MSG);
+
+        assertSame(exception, assertThrows(InsufficientFundsException.class,
+                () -> accountLanes.execute(1L, () -> {
+                    throw exception;
+                })));
+        assertSame(exception, assertThrows(InsufficientFundsException.class,
+                () -> accountLanes.execute(1L, 2L, () -> {
+                    throw exception;
+                })));
+        accountLanes.execute(2L, () -> { });
+    }
+
+    @Test
+    void disabledLanesRunOnCallingThreadTest() {
+        accountLanes = new AccountLanes(new LaneProperties(false, 4, 10), registry);
+        accountLanes.start();
+        var caller = Thread.currentThread();
+        var threads = new ArrayList<Thread>();
+
+        accountLanes.execute(1L, () -> threads.add(Thread.currentThread()));
+        accountLanes.execute(1L, 2L, () -> threads.add(Thread.currentThread()));
+
+        assertEquals(List.of(caller, caller), threads);
+        assertEquals(0, accountLanes.laneCount());
+    }
+
+    private AccountLanes start(int lanes, int queueCapacity) {
+        var started = new AccountLanes(new LaneProperties(true, lanes, queueCapacity), registry);
+        started.start();
+        return started;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
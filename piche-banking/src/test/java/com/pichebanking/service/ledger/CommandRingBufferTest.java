@@ -0,0 +1,72 @@
+package com.pichebanking.service.ledger;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommandRingBufferTest {
+
+    @Test
+    void offerFailsWhenFullUntilDrainedTest() {
+        var ringBuffer = new CommandRingBuffer<Integer>(4);
+        for (var i = 0; i < 4; i++) {
+            assertTrue(ringBuffer.offer(i));
+        }
+        assertFalse(ringBuffer.offer(4));
+
+        var drained = new ArrayList<Integer>();
+        assertEquals(2, ringBuffer.drain(drained::add, 2));
+        assertTrue(ringBuffer.offer(4));
+        assertEquals(3, ringBuffer.drain(drained::add, 10));
+
+        assertEquals(List.of(0, 1, 2, 3, 4), drained);
+        assertTrue(ringBuffer.isEmpty());
+    }
+
+    @Test
+    void capacityMustBePowerOfTwoTest() {
+        assertThrows(IllegalArgumentException.class, () -> new CommandRingBuffer<Integer>(6));
+    }
+
+    @Test
+    void concurrentProducersKeepTheirOrderTest() throws Exception {
+        var producers = 4;
+        var perProducer = 100_000;
+        var ringBuffer = new CommandRingBuffer<long[]>(256);
+        try (var executor = Executors.newFixedThreadPool(producers)) {
+            var futures = new ArrayList<Future<?>>();
+            for (var producer = 0; producer < producers; producer++) {
+                var producerId = producer;
+                futures.add(executor.submit(() -> {
+                    for (var i = 0; i < perProducer; i++) {
+                        var element = new long[]{producerId, i};
+                        while (!ringBuffer.offer(element)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                }));
+            }
+
+            var next = new long[producers];
+            var received = 0;
+            while (received < producers * perProducer) {
+                received += ringBuffer.drain(element -> {
+                    assertEquals(next[(int) element[0]], element[1]);
+                    next[(int) element[0]]++;
+                }, 64);
+            }
+            for (var future : futures) {
+                future.get();
+            }
+            assertTrue(ringBuffer.isEmpty());
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.pichebanking.service.ledger;
+
+import com.pichebanking.config.LedgerProperties;
+import com.pichebanking.exception.AccountNotFoundException;
+import com.pichebanking.exception.InsufficientFundsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LedgerEngineTest {
+
+    private static final long MISSING = LedgerEngine.MISSING_BALANCE;
+
+    @TempDir
+    private Path directory;
+
+    private LedgerEngine ledgerEngine;
+
+    @AfterEach
+    void stopLedgerEngine() {
+        if (ledgerEngine != null) {
+            ledgerEngine.close();
+        }
+    }
+
+    @Test
+    void depositWithdrawAndTransferTest() {
+        start(DataSize.ofMegabytes(1), false);
+        assertTrue(ledgerEngine.openAccount(1, 1_000));
+        assertTrue(ledgerEngine.openAccount(2, 0));
+        assertFalse(ledgerEngine.openAccount(1, 5));
+
+        ledgerEngine.deposit(1, 500);
+        ledgerEngine.withdraw(1, 200);
+        ledgerEngine.transfer(1, 2, 1_300);
+
+        assertArrayEquals(new long[]{0, 1_300, MISSING}, ledgerEngine.getBalances(1, 2, 3));
+    }
+
+    @Test
+    void rejectedCommandsDontChangeBalancesTest() {
+        start(DataSize.ofMegabytes(1), false);
+        ledgerEngine.openAccount(1, 100);
+        ledgerEngine.openAccount(2, 0);
+
+        assertThrows(InsufficientFundsException.class, () -> ledgerEngine.withdraw(1, 101));
+        assertThrows(InsufficientFundsException.class, () -> ledgerEngine.transfer(1, 2, 101));
+        assertThrows(AccountNotFoundException.class, () -> ledgerEngine.deposit(3, 1));
+        assertThrows(AccountNotFoundException.class, () -> ledgerEngine.withdraw(3, 1));
+        assertThrows(AccountNotFoundException.class, () -> ledgerEngine.transfer(1, 3, 1));
+        assertThrows(AccountNotFoundException.class, () -> ledgerEngine.transfer(3, 1, 1));
+
+        assertArrayEquals(new long[]{100, 0}, ledgerEngine.getBalances(1, 2));
+    }
+
+    @Test
+    void recoverFromJournalTest() {
+        start(DataSize.ofMegabytes(1), false);
+        ledgerEngine.openAccount(1, 100);
+        ledgerEngine.openAccount(2, 0);
+        ledgerEngine.transfer(1, 2, 40);
+        assertThrows(InsufficientFundsException.class, () -> ledgerEngine.withdraw(2, 41));
+        ledgerEngine.close();
+
+        start(DataSize.ofMegabytes(1), false);
+
+        assertArrayEquals(new long[]{60, 40}, ledgerEngine.getBalances(1, 2));
+        assertFalse(Files.exists(directory.resolve("snapshot.bin")));
+    }
+
+    @Test
+    void recoverFromSnapshotAndJournalAfterRolloverTest() {
+        var journalSize = DataSize.ofBytes(LedgerJournal.RECORD_SIZE * 8L);
+        start(journalSize, false);
+        for (var id = 1; id <= 10; id++) {
+            ledgerEngine.openAccount(id, 10);
+        }
+        for (var i = 0; i < 25; i++) {
+            ledgerEngine.transfer(i % 10 + 1, (i + 1) % 10 + 1, 1);
+        }
+        ledgerEngine.deposit(10, 5);
+        ledgerEngine.close();
+
+        start(journalSize, false);
+
+        assertTrue(Files.exists(directory.resolve("snapshot.bin")));
+        assertArrayEquals(new long[]{9, 10, 10, 10, 10, 11, 10, 10, 10, 15},
+                ledgerEngine.getBalances(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+    }
+
+    @Test
+    void snapshotOnShutdownTest() {
+        start(DataSize.ofMegabytes(1), true);
+        ledgerEngine.openAccount(1, 100);
+        ledgerEngine.withdraw(1, 1);
+        ledgerEngine.close();
+
+        start(DataSize.ofMegabytes(1), true);
+
+        assertArrayEquals(new long[]{99}, ledgerEngine.getBalances(1));
+        assertEquals(List.of("journal-1.bin", "snapshot.bin"), listDirectory());
+    }
+
+    @Test
+    void tornJournalRecordIsIgnoredOnRecoveryTest() throws Exception {
+        start(DataSize.ofMegabytes(1), false);
+        ledgerEngine.openAccount(1, 100);
+        ledgerEngine.deposit(1, 1);
+        ledgerEngine.close();
+        try (var journal = new RandomAccessFile(directory.resolve("journal-0.bin").toFile(), "rw")) {
+            journal.seek(LedgerJournal.RECORD_SIZE + 30);
+            journal.write(0x7F);
+        }
+
+        start(DataSize.ofMegabytes(1), false);
+
+        assertArrayEquals(new long[]{100}, ledgerEngine.getBalances(1));
+        ledgerEngine.deposit(1, 2);
+        ledgerEngine.close();
+        start(DataSize.ofMegabytes(1), false);
+        assertArrayEquals(new long[]{102}, ledgerEngine.getBalances(1));
+    }
+
+    @Test
+    void concurrentTransfersKeepTotalBalanceTest() throws Exception {
+        start(DataSize.ofMegabytes(1), false);
+        var accounts = 5_000;
+        for (var id = 1; id <= accounts; id++) {
+            ledgerEngine.openAccount(id, 100);
+        }
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            var futures = new ArrayList<Future<?>>();
+            for (var thread = 0; thread < 8; thread++) {
+                futures.add(executor.submit(() -> {
+                    var random = ThreadLocalRandom.current();
+                    for (var i = 0; i < 5_000; i++) {
+                        try {
+                            ledgerEngine.transfer(random.nextInt(1, accounts + 1), random.nextInt(1, accounts + 1),
+                                    random.nextInt(1, 150));
+                        } catch (InsufficientFundsException ignored) {
+                        }
+                    }
+                }));
+            }
+            for (var future : futures) {
+                future.get();
+            }
+        }
+        ledgerEngine.close();
+        start(DataSize.ofMegabytes(1), false);
+
+        var ids = new long[accounts];
+        for (var i = 0; i < accounts; i++) {
+            ids[i] = i + 1;
+        }
+        var balances = ledgerEngine.getBalances(ids);
+        assertEquals(100L * accounts, Arrays.stream(balances).sum());
+        assertTrue(Arrays.stream(balances).allMatch(balance -> balance >= 0));
+    }
+
+    private void start(DataSize journalSize, boolean snapshotOnShutdown) {
+        ledgerEngine = new LedgerEngine(new LedgerProperties(directory, journalSize, 64, false, snapshotOnShutdown));
+        ledgerEngine.start();
+    }
+
+    private List<String> listDirectory() {
+        try (var files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
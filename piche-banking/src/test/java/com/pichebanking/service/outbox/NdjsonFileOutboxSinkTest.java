@@ -0,0 +1,50 @@
+package com.pichebanking.service.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.pichebanking.util.enums.TransactionType;
+import com.pichebanking.util.model.Money;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NdjsonFileOutboxSinkTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void batchesAreAppendedOneEventPerLineTest() throws IOException {
+        var file = directory.resolve("outbox/transactions.ndjson");
+        var first = event(1L, TransactionType.DEPOSIT, null);
+        var second = event(2L, TransactionType.TRANSFER, 3L);
+        var third = event(3L, TransactionType.WITHDRAW, null);
+
+        try (var sink = new NdjsonFileOutboxSink(file, objectMapper)) {
+            sink.publish(List.of(first, second));
+        }
+        try (var sink = new NdjsonFileOutboxSink(file, objectMapper)) {
+            sink.publish(List.of(third));
+        }
+
+        var lines = Files.readAllLines(file);
+        assertEquals(3, lines.size());
+        assertEquals(first, objectMapper.readValue(lines.get(0), TransactionEvent.class));
+        assertEquals(second, objectMapper.readValue(lines.get(1), TransactionEvent.class));
+        assertEquals(third, objectMapper.readValue(lines.get(2), TransactionEvent.class));
+    }
+
+    private static TransactionEvent event(Long id, TransactionType type, Long targetAccountId) {
+        return new TransactionEvent(id, id, type, 1L, targetAccountId, Money.of("10.25"),
+                LocalDateTime.of(2024, 10, 1, 12, 0));
+    }
+}
@@ -0,0 +1,91 @@
+package com.pichebanking.service.outbox;
+
+import com.pichebanking.config.OutboxProperties;
+import com.pichebanking.dao.entity.OutboxEvent;
+import com.pichebanking.dao.repository.OutboxEventRepository;
+import com.pichebanking.util.enums.OutboxSinkType;
+import com.pichebanking.util.enums.TransactionType;
+import com.pichebanking.util.model.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(SpringExtension.class)
+class OutboxRelayTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxSink outboxSink;
+
+    private SimpleMeterRegistry registry;
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        var properties = new OutboxProperties(OutboxSinkType.MEMORY, Path.of("unused"), BATCH_SIZE,
+                Duration.ofMillis(100));
+        outboxRelay = new OutboxRelay(outboxEventRepository, outboxSink, properties, registry);
+    }
+
+    @Test
+    void relayBatchPublishesThenDeletesTest() {
+        var events = List.of(event(1L), event(2L));
+        Mockito.when(outboxEventRepository.findOldest(Limit.of(BATCH_SIZE))).thenReturn(events);
+
+        assertEquals(2, outboxRelay.relayBatch());
+
+        var inOrder = Mockito.inOrder(outboxSink, outboxEventRepository);
+        inOrder.verify(outboxSink).publish(events.stream().map(TransactionEvent::of).toList());
+        inOrder.verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        assertEquals(2, registry.get(OutboxRelay.PUBLISHED_COUNTER).counter().count());
+        assertEquals(2, registry.get(OutboxRelay.LAG_TIMER).timer().count());
+    }
+
+    @Test
+    void failedPublishKeepsEventsTest() {
+        Mockito.when(outboxEventRepository.findOldest(Limit.of(BATCH_SIZE))).thenReturn(List.of(event(1L)));
+        Mockito.doThrow(new IllegalStateException("sink down")).when(outboxSink).publish(Mockito.any());
+
+        assertThrows(IllegalStateException.class, () -> outboxRelay.relayBatch());
+
+        Mockito.verify(outboxEventRepository, Mockito.never()).deleteAllByIdInBatch(Mockito.any());
+    }
+
+    @Test
+    void emptyOutboxPublishesNothingTest() {
+        Mockito.when(outboxEventRepository.findOldest(Limit.of(BATCH_SIZE))).thenReturn(List.of());
+
+        assertEquals(0, outboxRelay.relayBatch());
+
+        Mockito.verifyNoInteractions(outboxSink);
+    }
+
+    private static OutboxEvent event(Long id) {
+        return new OutboxEvent()
+                .setId(id)
+                .setTransactionId(id)
+                .setTransactionType(TransactionType.DEPOSIT)
+                .setSourceAccountId(1L)
+                .setFunds(Money.of("10"))
+                .setCreatedAt(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,80 @@
+package com.pichebanking.util.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.pichebanking.api.dto.request.FundsRequest;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MoneyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void ofKeepsExactAmountTest() {
+        assertEquals(1_050, Money.of("10.5").minorUnits());
+        assertEquals(1_050, Money.of(new BigDecimal("10.500")).minorUnits());
+        assertEquals(-1, Money.of("-0.01").minorUnits());
+        assertSame(Money.ZERO, Money.of("0.00"));
+        assertEquals(new BigDecimal("10.50"), Money.of("10.5").toBigDecimal());
+        assertEquals("10.50", Money.of("10.5").toString());
+    }
+
+    @Test
+    void ofRejectsAmountThatNeedsRoundingTest() {
+        assertThrows(ArithmeticException.class, () -> Money.of("10.001"));
+        assertThrows(ArithmeticException.class, () -> Money.of("1E+20"));
+    }
+
+    @Test
+    void arithmeticTest() {
+        var ten = Money.of("10");
+        var cent = Money.of("0.01");
+
+        assertEquals(Money.of("10.01"), ten.add(cent));
+        assertEquals(Money.of("9.99"), ten.subtract(cent));
+        assertEquals(cent, ten.min(cent));
+        assertTrue(cent.isLessThan(ten));
+        assertFalse(ten.isLessThan(ten));
+        assertTrue(cent.isPositive());
+        assertFalse(Money.ZERO.isPositive());
+        assertEquals(Money.of("10.02"), Money.sum(ten, List.of(cent, cent)));
+    }
+
+    @Test
+    void arithmeticOverflowTest() {
+        var max = Money.ofMinorUnits(Long.MAX_VALUE);
+        var min = Money.ofMinorUnits(Long.MIN_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> max.add(Money.of("0.01")));
+        assertThrows(ArithmeticException.class, () -> min.subtract(Money.of("0.01")));
+        assertThrows(ArithmeticException.class, () -> Money.sum(max, List.of(Money.of("0.01"))));
+    }
+
+    @Test
+    void jsonRoundTripTest() throws Exception {
+        var json = objectMapper.writeValueAsString(new FundsRequest(Money.of("10.5")));
+
+        assertEquals("{\"funds\":10.50}", json);
+        assertEquals(Money.of("10.50"), objectMapper.readValue(json, FundsRequest.class).funds());
+        assertEquals(Money.of("7"), objectMapper.readValue("{\"funds\":\"7\"}", FundsRequest.class).funds());
+    }
+
+    @Test
+    void jsonRejectsAmountOutsideColumnTest() {
+        assertThrows(InvalidFormatException.class,
+                () -> objectMapper.readValue("{\"funds\":10.001}", FundsRequest.class));
+        assertThrows(InvalidFormatException.class,
+                () -> objectMapper.readValue("{\"funds\":10000000000}", FundsRequest.class));
+        assertThrows(InvalidFormatException.class,
+                () -> objectMapper.readValue("{\"funds\":\"ten\"}", FundsRequest.class));
+    }
+}